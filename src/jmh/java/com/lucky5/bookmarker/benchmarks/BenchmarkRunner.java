@@ -0,0 +1,42 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.BenchmarkRunner.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:00
+ * Description  : Runs benchmarks once per configured thread count with the GC profiler
+ *                attached, so that throughput and allocation rate can be compared.
+ *
+ *                System properties:
+ *                jmh.includes - regex of benchmarks to run
+ *                jmh.threads  - comma separated thread counts
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+
+        String includes = System.getProperty("jmh.includes", ".*Benchmark.*");
+        String[] threadCounts = System.getProperty("jmh.threads", "1").split(",");
+
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount.trim());
+
+            Options options = new OptionsBuilder()
+                    .include(includes)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-result-" + threads + "-threads.json")
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
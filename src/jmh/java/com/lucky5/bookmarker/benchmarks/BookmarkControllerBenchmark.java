@@ -0,0 +1,102 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucky5.bookmarker.controllers.BookmarkController;
+import com.lucky5.bookmarker.services.AsyncBookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.BookmarkControllerBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:00
+ * Description  : Throughput of controller endpoints including request mapping and JSON
+ *                serialisation, without the network and servlet container. Asynchronous
+ *                endpoints are measured up to their dispatched response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookmarkControllerBenchmark {
+
+    @Param({"1000", "100000"})
+    public int storeSize;
+
+    @Param({"100"})
+    public int distinctTags;
+
+    private BookmarkerService bookmarkerService;
+
+    private ExecutorService executor;
+
+    private MockMvc mockMvc;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bookmarkerService = new BookmarkerServiceImpl();
+        executor = Executors.newFixedThreadPool(4);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookmarkController(bookmarkerService,
+                new AsyncBookmarkerService(bookmarkerService, executor), new ObjectMapper())).build();
+        ids = new String[storeSize];
+
+        for (int i = 0; i < storeSize; i++) {
+            ids[i] = bookmarkerService.addRecord("http://www.example.com/" + i,
+                    Arrays.asList("tag-" + i % distinctTags, "tag-" + (i + 1) % distinctTags));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public MvcResult addRecord() throws Exception {
+        MvcResult result = dispatch(mockMvc.perform(post("/records")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"info\": \"http://www.example.com/new\", \"tags\": [\"tag-1\", \"tag-2\"]}"))
+                .andReturn());
+
+        // keep store size stable between iterations
+        String body = result.getResponse().getContentAsString();
+        bookmarkerService.deleteRecord(body.substring(body.indexOf(':') + 3, body.length() - 2));
+
+        return result;
+    }
+
+    @Benchmark
+    public MvcResult getRecord() throws Exception {
+        return dispatch(mockMvc.perform(get("/records/" + ids[ThreadLocalRandom.current().nextInt(storeSize)]))
+                .andReturn());
+    }
+
+    @Benchmark
+    public MvcResult getRecordPage() throws Exception {
+        return dispatch(mockMvc.perform(get("/records").param("limit", "100")).andReturn());
+    }
+
+    private MvcResult dispatch(MvcResult result) throws Exception {
+        return mockMvc.perform(asyncDispatch(result)).andReturn();
+    }
+}
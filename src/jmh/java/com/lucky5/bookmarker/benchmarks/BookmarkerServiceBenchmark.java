@@ -0,0 +1,105 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.BookmarkerServiceBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:00
+ * Description  : Throughput of service operations for different store sizes and tag counts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookmarkerServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int storeSize;
+
+    @Param({"1", "8"})
+    public int tagsPerRecord;
+
+    @Param({"100"})
+    public int distinctTags;
+
+    private BookmarkerService bookmarkerService;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bookmarkerService = new BookmarkerServiceImpl();
+        ids = new String[storeSize];
+
+        for (int i = 0; i < storeSize; i++) {
+            ids[i] = bookmarkerService.addRecord("http://www.example.com/" + i, tags(i));
+        }
+    }
+
+    /**
+     * Ids added by one thread during an iteration, removed again afterwards so that store
+     * size stays at storeSize across iterations.
+     */
+    @State(Scope.Thread)
+    public static class AddedIds {
+
+        private final List<String> ids = new ArrayList<>();
+
+        @TearDown(Level.Iteration)
+        public void removeAdded(BookmarkerServiceBenchmark benchmark) {
+            ids.forEach(benchmark.bookmarkerService::deleteRecord);
+            ids.clear();
+        }
+    }
+
+    @Benchmark
+    public boolean addRecord(AddedIds added) {
+        return added.ids.add(bookmarkerService.addRecord("http://www.example.com/new",
+                tags(ThreadLocalRandom.current().nextInt())));
+    }
+
+    @Benchmark
+    public Record getRecord() {
+        return bookmarkerService.getRecord(ids[ThreadLocalRandom.current().nextInt(storeSize)]);
+    }
+
+    @Benchmark
+    public List<Record> getFilteredRecord() {
+        return bookmarkerService.getFilteredRecord("tag-" + ThreadLocalRandom.current().nextInt(distinctTags));
+    }
+
+    @Benchmark
+    public List<Record> getAllRecords() {
+        return bookmarkerService.getAllRecords();
+    }
+
+    @Benchmark
+    public void getRecordIterator(Blackhole blackhole) {
+        Iterator<Record> iterator = bookmarkerService.getRecordIterator(null);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    private List<String> tags(int seed) {
+        List<String> tags = new ArrayList<>(tagsPerRecord);
+        for (int i = 0; i < tagsPerRecord; i++) {
+            tags.add("tag-" + Math.floorMod(seed + i, distinctTags));
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,38 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.ids.IdGenerator;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.IdGeneratorBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:30
+ * Description  : Cost of producing a record id string, random uuid against time ordered id.
+ *                Run with several thread counts to see contention on the shared generator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator idGenerator = new TimeOrderedIdGenerator(0);
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return RecordIds.encode(idGenerator.nextId());
+    }
+}
@@ -0,0 +1,115 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.RecordVersionBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:00
+ * Description  : Read throughput of frozen record versions, with and without a concurrent
+ *                update load. Readers look a record up and write it as json like a GET does,
+ *                updaters swap in new versions of records. Reads take no lock and copy
+ *                nothing, so readers of the update group should keep close to the throughput
+ *                of the read only group.
+ *
+ *                hotRecords narrows reads and updates down to a few records, so readers and
+ *                updaters meet on the same versions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordVersionBenchmark {
+
+    @Param({"100000"})
+    public int storeSize;
+
+    @Param({"16", "100000"})
+    public int hotRecords;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecordStore store;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        store = new RecordStore();
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        ids = new String[storeSize];
+
+        for (int i = 0; i < storeSize; i++) {
+            Record record = new Record();
+            record.setId(RecordIds.encode(generator.nextId()));
+            record.setInfo("https://www.example.com/articles/" + i + "/some-readable-title");
+            record.setTags(Arrays.asList("tag" + (i % 100), "tag" + (i % 7)));
+            record.setCreationDate(new Date());
+            record.setLastUpdated(record.getCreationDate());
+            store.insert(record);
+            ids[i] = record.getId();
+        }
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public Record readOnly_read() throws IOException {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readWhileUpdating")
+    @GroupThreads(3)
+    public Record readWhileUpdating_read() throws IOException {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readWhileUpdating")
+    @GroupThreads(1)
+    public Record readWhileUpdating_update() {
+        return store.update(id(), (current) -> {
+            Record updated = new Record(current);
+            updated.setInfo(current.getInfo());
+            updated.setTags(Arrays.asList("tag" + ThreadLocalRandom.current().nextInt(100), "updated"));
+            updated.setLastUpdated(new Date());
+            return updated;
+        });
+    }
+
+    private Record read() throws IOException {
+        Record record = store.get(id());
+        objectMapper.writeValue(DISCARD, record);
+        return record;
+    }
+
+    private String id() {
+        return ids[ThreadLocalRandom.current().nextInt(Math.min(hotRecords, ids.length))];
+    }
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+}
@@ -0,0 +1,111 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.Record;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.ResponseEncodingBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:40
+ * Description  : Time taken to write a page of records as json and as Smile, each as is and
+ *                compressed the way the compression filter does. Bytes sent per encoding are
+ *                printed by {@link ResponseSizeReport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    static final List<String> ENCODINGS = Arrays.asList(
+            "json", "json+gzip", "json+deflate", "smile", "smile+gzip", "smile+deflate");
+
+    @Param({"json", "json+gzip", "json+deflate", "smile", "smile+gzip", "smile+deflate"})
+    public String encoding;
+
+    @Param({"10", "1000"})
+    public int pageSize;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+
+    private List<Record> page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        page = records(pageSize);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        body.reset();
+        encode(encoding, page, body, json, smile);
+        return body.size();
+    }
+
+    /**
+     * Write records to out in given encoding, a format optionally followed by +gzip or +deflate.
+     */
+    static void encode(String encoding, List<Record> records, OutputStream out,
+                       ObjectMapper json, ObjectMapper smile) throws IOException {
+        ObjectMapper mapper = encoding.startsWith("smile") ? smile : json;
+        if (encoding.endsWith("+gzip")) {
+            try (OutputStream compressed = new GZIPOutputStream(out, 8192, true)) {
+                mapper.writeValue(compressed, records);
+            }
+        } else if (encoding.endsWith("+deflate")) {
+            try (OutputStream compressed = new DeflaterOutputStream(out, true)) {
+                mapper.writeValue(compressed, records);
+            }
+        } else {
+            mapper.writeValue(out, records);
+        }
+    }
+
+    /**
+     * Records like those added through the api, a url, a few tags of a small vocabulary and dates.
+     */
+    static List<Record> records(int count) {
+        Random random = new Random(42);
+        TimeOrderedIdGenerator ids = new TimeOrderedIdGenerator(1);
+        List<Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> tags = new ArrayList<>();
+            for (int j = 1 + random.nextInt(4); j > 0; j--) {
+                tags.add("tag-" + random.nextInt(100));
+            }
+
+            Record record = new Record();
+            record.setId(RecordIds.encode(ids.nextId()));
+            record.setInfo("https://www.example.com/articles/" + random.nextInt(1000000) + "/bookmark-" + i);
+            record.setTags(tags);
+            Date created = new Date(TimeOrderedIdGenerator.EPOCH + random.nextInt(Integer.MAX_VALUE));
+            record.setCreationDate(created);
+            record.setLastUpdated(created);
+            records.add(record);
+        }
+        return records;
+    }
+}
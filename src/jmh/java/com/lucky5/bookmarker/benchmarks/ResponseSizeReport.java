@@ -0,0 +1,47 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lucky5.bookmarker.model.Record;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.ResponseSizeReport.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:45
+ * Description  : Compares bytes sent for a page of records in every encoding measured by
+ *                {@link ResponseEncodingBenchmark}, against json as is.
+ *
+ *                System properties:
+ *                responseSize.pageSizes - comma separated numbers of records per page
+ */
+public class ResponseSizeReport {
+
+    public static void main(String[] args) throws IOException {
+
+        String[] pageSizes = System.getProperty("responseSize.pageSizes", "1,10,100,1000").split(",");
+
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+        for (String pageSize : pageSizes) {
+            List<Record> records = ResponseEncodingBenchmark.records(Integer.parseInt(pageSize.trim()));
+
+            long plain = 0;
+            System.out.printf("records=%d%n", records.size());
+            for (String encoding : ResponseEncodingBenchmark.ENCODINGS) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                ResponseEncodingBenchmark.encode(encoding, records, body, json, smile);
+                if (plain == 0) {
+                    plain = body.size();
+                }
+                System.out.printf("  %-14s: %,10d bytes (%5.1f%% of json)%n", encoding, body.size(),
+                        100.0 * body.size() / plain);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.SearchBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 16:40
+ * Description  : Latency of full text search. Info of every record is an url built from a
+ *                vocabulary with skewed word frequencies, so queries hit both rare and
+ *                common words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    @Param({"1000000"})
+    public int storeSize;
+
+    @Param({"20000"})
+    public int vocabulary;
+
+    private static final String[] HOSTS = {"apple", "google", "github", "wikipedia", "stackoverflow",
+            "medium", "youtube", "nytimes", "bbc", "reddit"};
+
+    private BookmarkerService bookmarkerService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bookmarkerService = new BookmarkerServiceImpl();
+        Random random = new Random(42);
+
+        for (int i = 0; i < storeSize; i++) {
+            bookmarkerService.addRecord("https://www." + HOSTS[random.nextInt(HOSTS.length)] + ".com/"
+                    + word(random) + "/" + word(random) + "-" + word(random), null);
+        }
+    }
+
+    @Benchmark
+    public List<Record> searchOneWord() {
+        return bookmarkerService.search(word(ThreadLocalRandom.current()), 20);
+    }
+
+    @Benchmark
+    public List<Record> searchHostAndWord() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return bookmarkerService.search(HOSTS[random.nextInt(HOSTS.length)] + " " + word(random), 20);
+    }
+
+    @Benchmark
+    public List<Record> searchPrefix() {
+        String word = word(ThreadLocalRandom.current());
+        return bookmarkerService.search(word.substring(0, word.length() - 1), 20);
+    }
+
+    /**
+     * Word with zipf like frequency, low numbers are far more common.
+     */
+    private String word(Random random) {
+        int rank = (int) Math.pow(vocabulary, random.nextDouble());
+        return "word" + rank;
+    }
+}
@@ -0,0 +1,73 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordStore;
+import com.lucky5.bookmarker.store.StoreEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.StorageEngineBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:10
+ * Description  : Heap against off heap record store under reads and copy on write updates.
+ *                Compare gc.time and gc.count reported by the GC profiler: on the heap every
+ *                update leaves a new record referenced from the old generation, which young
+ *                collections must copy and promote and full collections must mark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1500m")
+public class StorageEngineBenchmark {
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public StoreEngine engine;
+
+    @Param({"1000000"})
+    public int storeSize;
+
+    private RecordStore store;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        store = engine == StoreEngine.OFF_HEAP ? RecordStore.offHeap(64 << 20) : new RecordStore();
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        ids = new String[storeSize];
+
+        for (int i = 0; i < storeSize; i++) {
+            Record record = new Record();
+            record.setId(RecordIds.encode(generator.nextId()));
+            record.setInfo("https://www.example.com/articles/" + i + "/some-readable-title");
+            record.setTags(Arrays.asList("tag" + (i % 100), "tag" + (i % 7)));
+            record.setCreationDate(new Date());
+            record.setLastUpdated(record.getCreationDate());
+            store.insert(record);
+            ids[i] = record.getId();
+        }
+    }
+
+    @Benchmark
+    public Record get() {
+        return store.get(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Record update() {
+        return store.update(ids[ThreadLocalRandom.current().nextInt(ids.length)], (current) -> {
+            Record updated = new Record(current);
+            updated.setLastUpdated(new Date());
+            return updated;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.TagFootprintReport.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 15:50
+ * Description  : Compares retained heap of tags held as a list of strings per record, the way
+ *                Jackson creates them, with tags held as canonical instances of
+ *                {@link TagDictionary}.
+ *
+ *                System properties:
+ *                footprint.records      - number of records
+ *                footprint.tagsPerRecord - tags carried by every record
+ *                footprint.distinctTags - size of tag vocabulary
+ */
+public class TagFootprintReport {
+
+    public static void main(String[] args) {
+
+        int records = Integer.getInteger("footprint.records", 100000);
+        int tagsPerRecord = Integer.getInteger("footprint.tagsPerRecord", 4);
+        int distinctTags = Integer.getInteger("footprint.distinctTags", 100);
+
+        Random random = new Random(42);
+        List<List<String>> stringTags = new ArrayList<>(records);
+        List<Record> encodedTags = new ArrayList<>(records);
+
+        for (int i = 0; i < records; i++) {
+            List<String> tags = new ArrayList<>(tagsPerRecord);
+            for (int j = 0; j < tagsPerRecord; j++) {
+                // every request body yields its own string instances
+                tags.add(new String("tag-" + random.nextInt(distinctTags)));
+            }
+            stringTags.add(tags);
+
+            // tags are acquired once a record is stored
+            Record record = new Record();
+            record.setTags(TagDictionary.global().acquire(tags));
+            encodedTags.add(record);
+        }
+
+        // both sides hold records without tags as well, so only the difference is tags
+        List<Record> bareRecords = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            bareRecords.add(new Record());
+        }
+
+        long bare = GraphLayout.parseInstance(bareRecords).totalSize();
+        long strings = GraphLayout.parseInstance(stringTags).totalSize();
+        long encoded = GraphLayout.parseInstance(encodedTags, TagDictionary.global()).totalSize() - bare;
+
+        System.out.printf("records=%d tagsPerRecord=%d distinctTags=%d%n", records, tagsPerRecord, distinctTags);
+        System.out.printf("list of strings : %,d bytes (%.1f bytes per record)%n", strings, (double) strings / records);
+        System.out.printf("canonical tags  : %,d bytes (%.1f bytes per record)%n", encoded, (double) encoded / records);
+        System.out.printf("saving          : %.1f%%%n", 100.0 * (strings - encoded) / strings);
+    }
+}
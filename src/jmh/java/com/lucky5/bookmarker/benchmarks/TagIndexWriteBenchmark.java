@@ -0,0 +1,83 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+import com.lucky5.bookmarker.store.TagBitmapIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.TagIndexWriteBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:40
+ * Description  : Throughput of tag bitmap index changes, one segment against the default
+ *                segments. With one segment every change takes the same write lock, so
+ *                throughput stays flat as writer threads are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagIndexWriteBenchmark {
+
+    private static final int RECORDS_PER_THREAD = 10000;
+
+    @Param({"1", "16"})
+    public int segments;
+
+    private TagBitmapIndex tagIndex;
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tagIndex = new TagBitmapIndex(segments);
+    }
+
+    /**
+     * Records of one writer thread, every record is added and removed again in turns.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Record[] records;
+        private boolean[] added;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup(TagIndexWriteBenchmark benchmark) {
+            long first = benchmark.threads.getAndIncrement() * (long) RECORDS_PER_THREAD + 1;
+            records = new Record[RECORDS_PER_THREAD];
+            added = new boolean[RECORDS_PER_THREAD];
+            for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                Record record = new Record();
+                record.setId(RecordIds.encode(first + i));
+                record.setInfo("http://www.example.com/" + i);
+                // as a store would before notifying the index
+                record.setTags(TagDictionary.global().acquire(
+                        Arrays.asList("common", "tag" + (i % 100), "tag" + (i % 7))));
+                records[i] = record;
+            }
+        }
+    }
+
+    @Benchmark
+    public void addOrRemove(Writer writer) {
+        int i = writer.next;
+        writer.next = (i + 1) % RECORDS_PER_THREAD;
+
+        if (writer.added[i]) {
+            tagIndex.recordRemoved(writer.records[i]);
+        } else {
+            tagIndex.recordAdded(writer.records[i]);
+        }
+        writer.added[i] = !writer.added[i];
+    }
+}
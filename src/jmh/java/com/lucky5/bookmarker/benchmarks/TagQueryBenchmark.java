@@ -0,0 +1,67 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.TagQueryBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:30
+ * Description  : Latency of boolean tag queries where single tags match a large part of
+ *                the store. Tag "common" is carried by half of all records, "archived" by
+ *                a fifth, "t0" to "t9" by a tenth each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TagQueryBenchmark {
+
+    @Param({"1000000"})
+    public int storeSize;
+
+    private BookmarkerService bookmarkerService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bookmarkerService = new BookmarkerServiceImpl();
+        Random random = new Random(42);
+
+        for (int i = 0; i < storeSize; i++) {
+            List<String> tags = new ArrayList<>(3);
+            if (random.nextBoolean()) {
+                tags.add("common");
+            }
+            if (random.nextInt(5) == 0) {
+                tags.add("archived");
+            }
+            tags.add("t" + random.nextInt(10));
+            bookmarkerService.addRecord("https://www.example.com/" + i, tags);
+        }
+    }
+
+    @Benchmark
+    public TagQueryResult singleTag() {
+        return bookmarkerService.queryByTags("common", 100);
+    }
+
+    @Benchmark
+    public TagQueryResult andOrNot() {
+        return bookmarkerService.queryByTags("common AND (t1 OR t2 OR t3) AND NOT archived", 100);
+    }
+
+    @Benchmark
+    public TagQueryResult notOnly() {
+        return bookmarkerService.queryByTags("NOT common", 100);
+    }
+}
@@ -0,0 +1,91 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.store.RecordStore;
+import com.lucky5.bookmarker.store.TagCounts;
+import com.lucky5.bookmarker.store.TagPrefixIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.TagSuggestBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 22:10
+ * Description  : Latency distribution of tag suggestions as typed keystroke by keystroke, over
+ *                a vocabulary of random lower case tags of which a few are carried by many
+ *                records and most by few. Also measures the cost a tag change adds to writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TagSuggestBenchmark {
+
+    @Param({"300000"})
+    public int distinctTags;
+
+    private RecordStore recordStore;
+
+    private TagPrefixIndex prefixIndex;
+
+    private String[] tags;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        recordStore = new RecordStore();
+        prefixIndex = new TagPrefixIndex(20);
+        recordStore.addListener(new TagCounts(prefixIndex));
+
+        Random random = new Random(42);
+        tags = new String[distinctTags];
+        for (int i = 0; i < distinctTags; i++) {
+            char[] tag = new char[4 + random.nextInt(9)];
+            for (int j = 0; j < tag.length; j++) {
+                tag[j] = (char) ('a' + random.nextInt(26));
+            }
+            tags[i] = new String(tag);
+        }
+
+        // every tag once, then skewed towards low indexes
+        for (int i = 0; i < distinctTags * 2; i++) {
+            String tag = i < distinctTags ? tags[i] : tags[(int) (distinctTags * Math.pow(random.nextDouble(), 4))];
+            recordStore.insert(record("r" + i, tag, tags[random.nextInt(distinctTags)]));
+        }
+    }
+
+    @Benchmark
+    public List<TagCount> suggest() {
+        // prefixes of one to five letters of a known tag, like a user typing it
+        String tag = tags[next++ % tags.length];
+        return prefixIndex.suggest(tag.substring(0, Math.min(tag.length(), 1 + next % 5)), 10);
+    }
+
+    @Benchmark
+    public Record updateTags() {
+        int i = next++ % (distinctTags * 2);
+        return recordStore.update("r" + i, (record) -> {
+            Record updated = new Record(record);
+            updated.setTags(Arrays.asList(tags[i % distinctTags], tags[(i * 31) % distinctTags]));
+            return updated;
+        });
+    }
+
+    private static Record record(String id, String... tags) {
+        Record record = new Record();
+        record.setId(id);
+        record.setInfo("https://www.example.com/" + id);
+        record.setTags(new ArrayList<>(Arrays.asList(tags)));
+        return record;
+    }
+}
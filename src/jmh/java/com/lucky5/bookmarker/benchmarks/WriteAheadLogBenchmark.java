@@ -0,0 +1,71 @@
+package com.lucky5.bookmarker.benchmarks;
+
+import com.lucky5.bookmarker.persistence.FsyncPolicy;
+import com.lucky5.bookmarker.persistence.RecordPersistence;
+import com.lucky5.bookmarker.persistence.WriteAheadLog;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.benchmarks.WriteAheadLogBenchmark.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 13:00
+ * Description  : Write throughput of addRecord with write ahead log disabled and for each
+ *                fsync policy. Run with several threads to see the effect of group commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteAheadLogBenchmark {
+
+    @Param({"DISABLED", "NEVER", "INTERVAL", "ALWAYS"})
+    public String fsync;
+
+    private static final List<String> TAGS = Arrays.asList("apple", "macbook-pro", "ipad");
+
+    private Path directory;
+
+    private WriteAheadLog writeAheadLog;
+
+    private BookmarkerService bookmarkerService;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        if ("DISABLED".equals(fsync)) {
+            bookmarkerService = new BookmarkerServiceImpl();
+            return;
+        }
+        directory = Files.createTempDirectory("bookmarker-wal");
+        writeAheadLog = new WriteAheadLog(directory, FsyncPolicy.valueOf(fsync), 100, 65536);
+        bookmarkerService = new BookmarkerServiceImpl(new RecordPersistence(writeAheadLog, null, 0));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+            writeAheadLog = null;
+            Files.walk(directory)
+                    .sorted(Comparator.reverseOrder())
+                    .forEach((path) -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String addRecord() {
+        return bookmarkerService.addRecord("http://apple.com", TAGS);
+    }
+}
@@ -1,12 +1,18 @@
 package com.lucky5.bookmarker;
 
+import com.lucky5.bookmarker.controllers.SmileHttpMessageConverter;
+import com.lucky5.bookmarker.metrics.RequestMetricsFilter;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.MetricsServlet;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 @SpringBootApplication
 public class BookmarkerApplication {
@@ -25,4 +31,21 @@ public class BookmarkerApplication {
 	ServletRegistrationBean registerPrometheusExporterServlet(CollectorRegistry metricRegistry) {
 		return new ServletRegistrationBean(new MetricsServlet(metricRegistry), "/prometheus");
 	}
+
+	@Bean
+	FilterRegistrationBean registerRequestMetricsFilter() {
+		FilterRegistrationBean registration = new FilterRegistrationBean(new RequestMetricsFilter());
+		// endpoints only, scrapes of /prometheus are not measured
+		registration.addServletNames("dispatcherServlet");
+		// ahead of response compression, sizes are counted as sent
+		registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+		return registration;
+	}
+
+	@Bean
+	SmileHttpMessageConverter smileHttpMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+		// picked up by Boot next to the json converter, slices without web have no builder
+		Jackson2ObjectMapperBuilder configured = builder.getIfAvailable();
+		return new SmileHttpMessageConverter(configured == null ? Jackson2ObjectMapperBuilder.json() : configured);
+	}
 }
@@ -0,0 +1,122 @@
+package com.lucky5.bookmarker.cluster;
+
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import com.lucky5.bookmarker.services.ClusterBookmarkerService;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.ClusterConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:50
+ * Description  : Creates the cluster service in front of the local service when cluster mode
+ *                is enabled, and joins the cluster once the node is ready to serve
+ */
+@Configuration
+@ConditionalOnRecordStore
+@ConditionalOnProperty(prefix = "bookmarker.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterConfiguration.class);
+
+    /**
+     * Unbounded, every request to other nodes is part of a request already admitted by this
+     * node.
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService clusterExecutor(ClusterProperties properties) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "bookmarker-cluster-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Bean
+    RestTemplate clusterRestTemplate(RestTemplateBuilder builder, ClusterProperties properties) {
+        return builder.setConnectTimeout(properties.getConnectTimeout())
+                .setReadTimeout(properties.getReadTimeout())
+                .build();
+    }
+
+    @Bean
+    LocalShard localShard(BookmarkerServiceImpl bookmarkerServiceImpl) {
+        return new LocalShard(bookmarkerServiceImpl);
+    }
+
+    @Bean
+    @Primary
+    ClusterBookmarkerService clusterBookmarkerService(ClusterProperties properties,
+                                                      BookmarkerServiceImpl bookmarkerServiceImpl,
+                                                      RecordStore recordStore,
+                                                      @Qualifier("clusterRestTemplate") RestTemplate restTemplate,
+                                                      @Qualifier("clusterExecutor") ExecutorService clusterExecutor) {
+        if (properties.getSelf() == null) {
+            throw new IllegalArgumentException("bookmarker.cluster.self must be set in cluster mode");
+        }
+
+        List<String> nodes = properties.getNodes().isEmpty()
+                ? Collections.singletonList(properties.getSelf())
+                : properties.getNodes();
+
+        return new ClusterBookmarkerService(properties.getSelf(), nodes, properties.getVirtualNodes(),
+                bookmarkerServiceImpl, recordStore, (node) -> new RemoteShard(node, restTemplate),
+                clusterExecutor);
+    }
+
+    /**
+     * A node missing from configured nodes joins them once it is ready to serve, members
+     * first copy its records to it and then add it to their rings.
+     */
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> clusterJoin(ClusterProperties properties,
+                                                           ClusterBookmarkerService clusterBookmarkerService,
+                                                           @Qualifier("clusterRestTemplate") RestTemplate restTemplate) {
+        return (event) -> {
+            String self = properties.getSelf();
+            if (properties.getNodes().isEmpty() || properties.getNodes().contains(self)) {
+                log.info("cluster of {}", clusterBookmarkerService.getNodes());
+                return;
+            }
+
+            List<RemoteShard> members = new ArrayList<>();
+            for (String node : properties.getNodes()) {
+                members.add(new RemoteShard(node, restTemplate));
+            }
+
+            for (RemoteShard member : members) {
+                log.info("{} copied {} records to {}", member, member.prepareJoin(self), self);
+            }
+            for (RemoteShard member : members) {
+                member.join(self);
+            }
+            clusterBookmarkerService.join(self);
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.lucky5.bookmarker.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.ClusterProperties.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:50
+ * Description  : Settings of cluster mode, bound from bookmarker.cluster.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.cluster")
+public class ClusterProperties {
+
+    /**
+     * Spread records over the nodes of a cluster.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Base url other nodes reach this node at, for example http://localhost:8081.
+     */
+    private String self;
+
+    /**
+     * Base urls of current members. A node not listed here joins them on start up, taking
+     * over its share of records.
+     */
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * Ring positions per node, more positions spread records more evenly.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Threads sending requests to other nodes.
+     */
+    private int threads = 8;
+
+    /**
+     * Milliseconds to wait for a connection to another node.
+     */
+    private int connectTimeout = 1000;
+
+    /**
+     * Milliseconds to wait for an answer of another node.
+     */
+    private int readTimeout = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public void setSelf(String self) {
+        this.self = self;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+}
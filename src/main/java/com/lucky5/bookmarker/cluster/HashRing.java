@@ -0,0 +1,135 @@
+package com.lucky5.bookmarker.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.HashRing.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:20
+ * Description  : Consistent hash ring placing record ids on cluster nodes. Every node is put
+ *                on the ring at a number of virtual node positions, a record id belongs to the
+ *                node of the first position at or after hash of id. Virtual nodes spread ids
+ *                evenly, and a joining node only takes over ids from the positions it lands
+ *                before, about 1 / n of all ids, taken evenly from every other node.
+ *
+ *                Positions are kept in a sorted array, finding the owner of an id is a binary
+ *                search. Rings are immutable, a node joining gives a new ring.
+ */
+public class HashRing {
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+
+    private final long[] positions;
+    private final String[] owners;
+
+    /**
+     * @param nodes - nodes of ring, at least one
+     * @param virtualNodes - number of positions of every node
+     */
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtual nodes must be positive");
+        }
+
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(nodes)));
+        this.virtualNodes = virtualNodes;
+
+        Position[] sorted = new Position[this.nodes.size() * virtualNodes];
+        int i = 0;
+        for (String node : this.nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                sorted[i++] = new Position(hash(node + "#" + v), node);
+            }
+        }
+        // equal hashes of different nodes are ordered by node, so every ring agrees on owner
+        Arrays.sort(sorted, (a, b) -> a.hash != b.hash ? Long.compare(a.hash, b.hash) : a.node.compareTo(b.node));
+
+        this.positions = new long[sorted.length];
+        this.owners = new String[sorted.length];
+        for (i = 0; i < sorted.length; i++) {
+            positions[i] = sorted[i].hash;
+            owners[i] = sorted[i].node;
+        }
+    }
+
+    /**
+     * @param id - record id
+     *
+     * @return - node owning id
+     */
+    public String owner(String id) {
+        int index = Arrays.binarySearch(positions, hash(id));
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // first of equal positions
+            while (index > 0 && positions[index - 1] == positions[index]) {
+                index--;
+            }
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    /**
+     * @return - ring holding also given node, same ring if node is present
+     */
+    public HashRing with(String node) {
+        if (contains(node)) {
+            return this;
+        }
+        List<String> joined = new ArrayList<>(nodes);
+        joined.add(node);
+        return new HashRing(joined, virtualNodes);
+    }
+
+    public boolean contains(String node) {
+        return Collections.binarySearch(nodes, node) >= 0;
+    }
+
+    /**
+     * @return - nodes of ring in order of name
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of UTF-8 bytes, finished with the murmur3 mixer so that ids differing
+     * in last characters land far apart.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Position {
+
+        private final long hash;
+        private final String node;
+
+        private Position(long hash, String node) {
+            this.hash = hash;
+            this.node = node;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.lucky5.bookmarker.cluster;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.LocalShard.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:20
+ * Description  : Records kept by this node, served by its {@link BookmarkerServiceImpl}
+ */
+public class LocalShard implements Shard {
+
+    private final BookmarkerServiceImpl service;
+
+    public LocalShard(BookmarkerServiceImpl service) {
+        this.service = service;
+    }
+
+    @Override
+    public Record get(String id) {
+        return service.getRecord(id);
+    }
+
+    @Override
+    public void put(List<Record> records) {
+        service.putRecords(records);
+    }
+
+    @Override
+    public Record update(Record record, Long expectedVersion) {
+        return service.updateRecord(record, expectedVersion);
+    }
+
+    @Override
+    public boolean updateTags(String id, List<String> tags) {
+        Record record = service.getRecord(id);
+        return record != null && service.updateTags(record, tags);
+    }
+
+    @Override
+    public boolean delete(String id) {
+        return service.deleteRecord(id);
+    }
+
+    @Override
+    public void deleteAll(List<String> ids) {
+        for (String id : ids) {
+            service.deleteRecord(id);
+        }
+    }
+
+    @Override
+    public List<Record> all() {
+        return service.getAllRecords();
+    }
+
+    @Override
+    public RecordPage page(String cursor, int limit) {
+        return service.getRecords(cursor, limit);
+    }
+
+    @Override
+    public List<Record> tagged(String tag) {
+        return service.getFilteredRecord(tag);
+    }
+
+    @Override
+    public TagQueryResult query(String query, int limit) {
+        return service.queryByTags(query, limit);
+    }
+
+    @Override
+    public List<Record> search(String query, int limit) {
+        return service.search(query, limit);
+    }
+
+    @Override
+    public RecordPage created(Date from, Date to, String cursor, int limit) {
+        return service.getRecordsCreated(from, to, cursor, limit);
+    }
+
+    @Override
+    public RecordPage updated(Date from, Date to, String cursor, int limit) {
+        return service.getRecordsUpdated(from, to, cursor, limit);
+    }
+
+    @Override
+    public TagStats tagStats(int limit, List<String> tags) {
+        return service.getTagStats(limit, tags);
+    }
+
+    @Override
+    public List<TagCount> suggest(String prefix, int limit) {
+        return service.suggestTags(prefix, limit);
+    }
+}
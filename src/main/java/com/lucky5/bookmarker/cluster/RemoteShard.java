@@ -0,0 +1,228 @@
+package com.lucky5.bookmarker.cluster;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.services.VersionConflictException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.RemoteShard.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:30
+ * Description  : Records kept by another cluster node, reached through its /cluster endpoints.
+ *                Requests answered with 400 are reported as {@link IllegalArgumentException}
+ *                carrying the message of the node, with 412 as {@link VersionConflictException},
+ *                other failures as thrown by RestTemplate.
+ */
+public class RemoteShard implements Shard {
+
+    private static final ParameterizedTypeReference<List<Record>> RECORDS =
+            new ParameterizedTypeReference<List<Record>>() {
+            };
+
+    private static final ParameterizedTypeReference<List<TagCount>> TAG_COUNTS =
+            new ParameterizedTypeReference<List<TagCount>>() {
+            };
+
+    private static final ParameterizedTypeReference<List<String>> NODES =
+            new ParameterizedTypeReference<List<String>>() {
+            };
+
+    private final String node;
+    private final RestTemplate restTemplate;
+
+    /**
+     * @param node - base url of node, for example http://localhost:8081
+     * @param restTemplate - {@link RestTemplate} sending requests
+     */
+    public RemoteShard(String node, RestTemplate restTemplate) {
+        this.node = node;
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public Record get(String id) {
+        return call(() -> {
+            try {
+                return restTemplate.getForObject(uri("/cluster/records/{id}", id), Record.class);
+            } catch (HttpClientErrorException ex) {
+                if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    return null;
+                }
+                throw ex;
+            }
+        });
+    }
+
+    @Override
+    public void put(List<Record> records) {
+        call(() -> {
+            restTemplate.put(uri("/cluster/records"), records);
+            return null;
+        });
+    }
+
+    @Override
+    public Record update(Record record, Long expectedVersion) {
+        URI uri = builder("/cluster/records/{id}").queryParam("expectedVersion", expectedVersion)
+                .buildAndExpand(record.getId()).encode().toUri();
+        return call(() -> restTemplate.exchange(uri, HttpMethod.PUT, new HttpEntity<>(record), Record.class).getBody());
+    }
+
+    @Override
+    public boolean updateTags(String id, List<String> tags) {
+        return call(() -> restTemplate.exchange(uri("/cluster/records/{id}/tags", id), HttpMethod.PUT,
+                new HttpEntity<>(tags), Boolean.class).getBody());
+    }
+
+    @Override
+    public boolean delete(String id) {
+        return call(() -> restTemplate.exchange(uri("/cluster/records/{id}", id), HttpMethod.DELETE,
+                null, Boolean.class).getBody());
+    }
+
+    @Override
+    public void deleteAll(List<String> ids) {
+        call(() -> {
+            restTemplate.postForObject(uri("/cluster/records/delete"), ids, Void.class);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Record> all() {
+        return call(() -> restTemplate.exchange(uri("/cluster/records"), HttpMethod.GET, null, RECORDS).getBody());
+    }
+
+    @Override
+    public RecordPage page(String cursor, int limit) {
+        return call(() -> restTemplate.getForObject(withQuery("/cluster/records", "cursor", cursor, "limit", limit),
+                RecordPage.class));
+    }
+
+    @Override
+    public List<Record> tagged(String tag) {
+        return call(() -> restTemplate.exchange(withQuery("/cluster/records/tagged", "tag", tag),
+                HttpMethod.GET, null, RECORDS).getBody());
+    }
+
+    @Override
+    public TagQueryResult query(String query, int limit) {
+        return call(() -> restTemplate.getForObject(withQuery("/cluster/records/query", "tags", query, "limit", limit),
+                TagQueryResult.class));
+    }
+
+    @Override
+    public List<Record> search(String query, int limit) {
+        return call(() -> restTemplate.exchange(withQuery("/cluster/records/search", "q", query, "limit", limit),
+                HttpMethod.GET, null, RECORDS).getBody());
+    }
+
+    @Override
+    public RecordPage created(Date from, Date to, String cursor, int limit) {
+        return range("/cluster/records/created", from, to, cursor, limit);
+    }
+
+    @Override
+    public RecordPage updated(Date from, Date to, String cursor, int limit) {
+        return range("/cluster/records/updated", from, to, cursor, limit);
+    }
+
+    @Override
+    public TagStats tagStats(int limit, List<String> tags) {
+        UriComponentsBuilder builder = builder("/cluster/tags/stats").queryParam("limit", limit);
+        if (tags != null && !tags.isEmpty()) {
+            builder.queryParam("tag", tags.toArray());
+        }
+        return call(() -> restTemplate.getForObject(builder.build().encode().toUri(), TagStats.class));
+    }
+
+    @Override
+    public List<TagCount> suggest(String prefix, int limit) {
+        return call(() -> restTemplate.exchange(withQuery("/cluster/tags/suggest", "prefix", prefix, "limit", limit),
+                HttpMethod.GET, null, TAG_COUNTS).getBody());
+    }
+
+    /**
+     * Ask node to copy records a joining node will own to it.
+     *
+     * @return - number of records copied
+     */
+    public int prepareJoin(String joining) {
+        return call(() -> restTemplate.postForObject(withQuery("/cluster/nodes/prepare", "node", joining),
+                null, Integer.class));
+    }
+
+    /**
+     * Ask node to add a joining node to its ring.
+     *
+     * @return - nodes of ring of node
+     */
+    public List<String> join(String joining) {
+        return call(() -> restTemplate.exchange(withQuery("/cluster/nodes", "node", joining),
+                HttpMethod.POST, null, NODES).getBody());
+    }
+
+    @Override
+    public String toString() {
+        return node;
+    }
+
+    private RecordPage range(String path, Date from, Date to, String cursor, int limit) {
+        return call(() -> restTemplate.getForObject(withQuery(path,
+                "from", from == null ? null : from.getTime(),
+                "to", to == null ? null : to.getTime(),
+                "cursor", cursor,
+                "limit", limit), RecordPage.class));
+    }
+
+    private UriComponentsBuilder builder(String path) {
+        return UriComponentsBuilder.fromHttpUrl(node).path(path);
+    }
+
+    /**
+     * @param parameters - names and values of query parameters, parameters without value are left out
+     */
+    private URI withQuery(String path, Object... parameters) {
+        UriComponentsBuilder builder = builder(path);
+        for (int i = 0; i < parameters.length; i += 2) {
+            if (parameters[i + 1] != null) {
+                builder.queryParam((String) parameters[i], parameters[i + 1]);
+            }
+        }
+        return builder.build().encode().toUri();
+    }
+
+    private URI uri(String path, Object... variables) {
+        return builder(path).buildAndExpand(variables).encode().toUri();
+    }
+
+    private static <T> T call(Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                throw new IllegalArgumentException(ex.getResponseBodyAsString(), ex);
+            }
+            if (ex.getStatusCode() == HttpStatus.PRECONDITION_FAILED) {
+                throw new VersionConflictException(ex.getResponseBodyAsString());
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.lucky5.bookmarker.cluster;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.Shard.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:20
+ * Description  : Records kept by one cluster node. Operations only touch records of the node
+ *                itself, they are never routed further. Invalid input is reported with
+ *                {@link IllegalArgumentException} whether node is local or remote.
+ */
+public interface Shard {
+
+    /**
+     * @return - record, null if node does not keep it
+     */
+    Record get(final String id);
+
+    /**
+     * Store records as given, replacing records of same id.
+     */
+    void put(final List<Record> records);
+
+    /**
+     * Update record if it is at expected version, see
+     * {@link com.lucky5.bookmarker.services.BookmarkerService#updateRecord(Record, Long)}.
+     *
+     * @return - new version of record
+     */
+    Record update(final Record record, final Long expectedVersion);
+
+    /**
+     * @return - true if node keeps record and its tags got replaced
+     */
+    boolean updateTags(final String id, final List<String> tags);
+
+    boolean delete(final String id);
+
+    /**
+     * Delete records by id, ids of records node does not keep are skipped.
+     */
+    void deleteAll(final List<String> ids);
+
+    List<Record> all();
+
+    RecordPage page(final String cursor, final int limit);
+
+    List<Record> tagged(final String tag);
+
+    TagQueryResult query(final String query, final int limit);
+
+    List<Record> search(final String query, final int limit);
+
+    RecordPage created(final Date from, final Date to, final String cursor, final int limit);
+
+    RecordPage updated(final Date from, final Date to, final String cursor, final int limit);
+
+    TagStats tagStats(final int limit, final List<String> tags);
+
+    List<TagCount> suggest(final String prefix, final int limit);
+}
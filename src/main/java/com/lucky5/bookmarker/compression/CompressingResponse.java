@@ -0,0 +1,291 @@
+package com.lucky5.bookmarker.compression;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.compression.CompressingResponse.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:20
+ * Description  : Response compressing its body once it grew past a minimum size. The first
+ *                bytes are held back until the minimum is reached, a body finished below it
+ *                is sent as is with its content length. Bodies of other content types pass
+ *                through untouched from the first byte, so event streams are never held back.
+ *                Responses of compressed content types get Vary: Accept-Encoding once their
+ *                content type is known, whether they end up compressed or not.
+ *
+ *                Flushes while holding back are ignored, writers flush after every body.
+ *                Content length set by handler is dropped once body is compressed.
+ */
+class CompressingResponse extends HttpServletResponseWrapper {
+
+    private final String encoding;
+    private final int minSize;
+    private final List<MediaType> mimeTypes;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+    private boolean varied;
+
+    /**
+     * @param encoding - gzip or deflate, null if client accepts neither
+     * @param minSize - bytes a body has to reach to be compressed
+     * @param mimeTypes - content types compressed
+     */
+    CompressingResponse(HttpServletResponse response, String encoding, int minSize, List<MediaType> mimeTypes) {
+        super(response);
+        this.encoding = encoding;
+        this.minSize = minSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    /**
+     * Send what was held back and end compressed body. Called once handler wrote the whole
+     * body.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        // a response without body, e.g. not modified, is not varied yet
+        vary();
+        if (outputStream != null) {
+            outputStream.finish();
+        } else if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    /**
+     * @return - true if body is sent compressed
+     */
+    boolean compressed() {
+        return outputStream != null && outputStream.compressing != null;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream == null || !outputStream.holding()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (outputStream != null && outputStream.holding()) {
+            outputStream.held.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        contentLength = length;
+        if (outputStream != null && !outputStream.holding() && !compressed()) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    private boolean compressible() {
+        return encoding != null && !containsHeader(HttpHeaders.CONTENT_ENCODING) && compressedType();
+    }
+
+    private boolean compressedType() {
+        if (getContentType() == null) {
+            return false;
+        }
+        try {
+            MediaType contentType = MediaType.parseMediaType(getContentType());
+            return mimeTypes.stream().anyMatch((mimeType) -> mimeType.includes(contentType));
+        } catch (InvalidMimeTypeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Add Vary: Accept-Encoding once if content type is compressed, before body is committed.
+     */
+    private void vary() {
+        if (!varied && compressedType()) {
+            varied = true;
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        // body held back until it reaches min size, null once decided
+        private ByteArrayOutputStream held;
+        private DeflaterOutputStream compressing;
+        private OutputStream target;
+
+        private CompressingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        private boolean holding() {
+            return held != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            if (target == null && held == null) {
+                vary();
+                if (compressible()) {
+                    held = new ByteArrayOutputStream(minSize);
+                } else {
+                    passThrough();
+                }
+            }
+            if (held != null) {
+                held.write(buffer, offset, length);
+                if (held.size() >= minSize) {
+                    compress();
+                }
+                return;
+            }
+            target.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (held == null && target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            delegate.close();
+        }
+
+        private void finish() throws IOException {
+            if (held != null) {
+                passThrough();
+            }
+            if (compressing != null) {
+                // ends deflater as well, its native memory is not left to finalization
+                compressing.close();
+            } else if (target != null) {
+                target.flush();
+            }
+        }
+
+        private void passThrough() throws IOException {
+            ByteArrayOutputStream body = held;
+            held = null;
+            target = delegate;
+            if (body != null) {
+                CompressingResponse.super.setContentLengthLong(body.size());
+                body.writeTo(delegate);
+            } else if (contentLength >= 0) {
+                CompressingResponse.super.setContentLengthLong(contentLength);
+            }
+        }
+
+        private void compress() throws IOException {
+            ByteArrayOutputStream body = held;
+            held = null;
+            setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+            compressing = "gzip".equals(encoding)
+                    ? new GZIPOutputStream(delegate, 8192, true)
+                    : new DeflaterOutputStream(delegate, true);
+            target = compressing;
+            body.writeTo(compressing);
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lucky5.bookmarker.compression;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.compression.CompressionConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:20
+ * Description  : Registers response compression for endpoints, inside request metrics so
+ *                response sizes are the bytes sent
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookmarker.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionConfiguration {
+
+    @Bean
+    FilterRegistrationBean registerCompressionFilter(CompressionProperties properties) {
+        FilterRegistrationBean registration = new FilterRegistrationBean(new CompressionFilter(
+                properties.getMinSize(), MediaType.parseMediaTypes(properties.getMimeTypes())));
+        registration.addServletNames("dispatcherServlet");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,106 @@
+package com.lucky5.bookmarker.compression;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.compression.CompressionFilter.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:20
+ * Description  : Compresses response bodies of given content types with gzip or deflate, as
+ *                accepted by the client, once they grew past a minimum size. Small bodies are
+ *                not worth the CPU and header overhead and are sent as is. Responses of these
+ *                content types vary by Accept-Encoding whatever their size, so every one of
+ *                them says so, also to clients not accepting any encoding.
+ *
+ *                Asynchronous responses are written on their async dispatch, the filter runs
+ *                again then to end the compressed body.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final int minSize;
+    private final List<MediaType> mimeTypes;
+
+    /**
+     * @param minSize - bytes a body has to reach to be compressed
+     * @param mimeTypes - content types compressed
+     */
+    public CompressionFilter(int minSize, List<MediaType> mimeTypes) {
+        this.minSize = minSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        CompressingResponse compressingResponse = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressingResponse == null) {
+            String encoding = encoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            compressingResponse = new CompressingResponse(response, encoding, minSize, mimeTypes);
+            response = compressingResponse;
+        }
+
+        filterChain.doFilter(request, response);
+
+        if (!request.isAsyncStarted()) {
+            compressingResponse.finish();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * @return - gzip if accepted, deflate if only that is accepted, null otherwise
+     */
+    static String encoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        boolean deflate = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (rejected(parts)) {
+                continue;
+            }
+            if (name.equals("gzip") || name.equals("*")) {
+                return "gzip";
+            }
+            deflate |= name.equals("deflate");
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    /**
+     * @return - true if coding is given zero quality
+     */
+    private static boolean rejected(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException ex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.lucky5.bookmarker.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.compression.CompressionProperties.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:20
+ * Description  : Settings of response compression, bound from bookmarker.compression.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.compression")
+public class CompressionProperties {
+
+    /**
+     * Compress responses for clients accepting gzip or deflate.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Bytes a response body has to reach to be compressed.
+     */
+    private int minSize = 2048;
+
+    /**
+     * Content types compressed.
+     */
+    private List<String> mimeTypes = new ArrayList<>(Arrays.asList(
+            "application/json", "application/x-jackson-smile", "text/plain"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+}
@@ -1,165 +1,381 @@
 package com.lucky5.bookmarker.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.BatchResult;
 import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.services.AsyncBookmarkerService;
 import com.lucky5.bookmarker.services.BookmarkerService;
-import io.prometheus.client.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Record endpoints. Single record, page, search and query endpoints are asynchronous: the
+ * request thread is released as soon as the operation is handed to the storage executor of
+ * {@link AsyncBookmarkerService}, response is written once the operation completes. Requests
+ * rejected by a saturated executor are answered with 503. Streaming endpoints stay
+ * synchronous, they write while reading from storage.
+ *
+ * Read endpoints answer in Smile, binary JSON of the same structure, when the client accepts
+ * application/x-jackson-smile, and in JSON otherwise. Smile payloads are smaller and faster
+ * to write, as field names and repeated values are back referenced.
+ *
+ * Single records carry their version as weak ETag and vary by Accept. A GET with a matching
+ * If-None-Match is answered with 304 without writing the record, a PUT with If-Match only
+ * updates the record if it is present at that version, and is answered with 412 otherwise.
+ */
 @RestController
 public class BookmarkController {
 
     private BookmarkerService bookmarkerService;
 
+    private AsyncBookmarkerService asyncBookmarkerService;
+
     private Logger log = LoggerFactory.getLogger(BookmarkController.class);
 
-    private static final Histogram operationHistogram =
-            Histogram.build()
-                    .name("bookmark_e2e_operation")
-                    .help("Metrics for tracing supported operation response time")
-                    .labelNames("type", "result", "statusCode")
-                    .register();
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
 
+    private static final int BATCH_SIZE = 1000;
 
-    public BookmarkController(BookmarkerService bookmarkerService) {
+    private final ObjectReader recordReader;
+
+    public BookmarkController(BookmarkerService bookmarkerService, AsyncBookmarkerService asyncBookmarkerService,
+                              ObjectMapper objectMapper) {
         this.bookmarkerService = bookmarkerService;
+        this.asyncBookmarkerService = asyncBookmarkerService;
+        this.recordReader = objectMapper.readerFor(Record.class);
     }
 
     @PostMapping(value = "/records", produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
             consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<String> addRecord(@Valid @RequestBody Record record) {
+    public DeferredResult<ResponseEntity<String>> addRecord(@Valid @RequestBody Record record) {
 
         log.info("entering addRecord");
-        final String responseId;
-        final long startTime = System.nanoTime();
-        try {
-            responseId = bookmarkerService.addRecord(record.getInfo(), record.getTags());
 
-            operationHistogram.labels("add", "pass", HttpStatus.OK.toString())
-                    .observe((System.nanoTime() - startTime) / 1000000);
+        return respond("addRecord",
+                asyncBookmarkerService.addRecord(record.getInfo(), record.getTags(), record.getTtl()),
+                (responseId) -> new ResponseEntity<>("{\"id\": \"" + responseId + "\"}", HttpStatus.OK));
+    }
 
-        } catch (IllegalArgumentException ex) {
+    /**
+     * Adds a JSON array of records. Items are validated one by one, so invalid items are
+     * reported in the result without failing the rest of the batch.
+     */
+    @PostMapping(value = "/records/batch", produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult> addRecords(@RequestBody List<Record> records) {
 
-            log.error("invalid input received {}", ex);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        BatchResult result = new BatchResult();
+
+        for (int offset = 0; offset < records.size(); offset += BATCH_SIZE) {
+            List<Record> batch = records.subList(offset, Math.min(records.size(), offset + BATCH_SIZE));
+            result.addAll(bookmarkerService.addRecords(batch), offset);
         }
 
-        log.info("leaving addRecord");
+        log.info("batch added {} records, {} failed", result.getCreated(), result.getFailed());
 
-        return new ResponseEntity<>("{\"id\": \"" + responseId + "\"}", HttpStatus.OK);
+        return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    /**
+     * Adds records sent as newline delimited JSON. Request body is read incrementally and
+     * inserted in batches, so large imports never have to be held in memory at once. Reading
+     * stops at the first malformed line, which is reported as failed item.
+     */
+    @PostMapping(value = "/records/batch", produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+            consumes = NDJSON_VALUE)
+    public ResponseEntity<BatchResult> addRecordStream(HttpServletRequest request) throws IOException {
+
+        BatchResult result = new BatchResult();
+        List<Record> batch = new ArrayList<>(BATCH_SIZE);
+        int offset = 0;
+
+        try (MappingIterator<Record> iterator = recordReader.readValues(request.getInputStream())) {
+            while (true) {
+                Record record;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    record = iterator.nextValue();
+                } catch (JsonProcessingException ex) {
+                    log.error("malformed record received {}", ex.getOriginalMessage());
+                    result.addAll(bookmarkerService.addRecords(batch), offset);
+                    result.addAll(Collections.singletonList(
+                            BatchItemResult.failed(batch.size(), "malformed record")), offset);
+                    batch.clear();
+                    break;
+                }
+
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    result.addAll(bookmarkerService.addRecords(batch), offset);
+                    offset += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            result.addAll(bookmarkerService.addRecords(batch), offset);
+        }
 
-    @GetMapping(value = "/records/{id}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<Record> getRecord(@PathVariable String id) {
+        log.info("batch added {} records, {} failed", result.getCreated(), result.getFailed());
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/records/{id}", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<Record>> getRecord(@PathVariable String id) {
 
         log.info("entering getRecord");
-        final long startTime = System.nanoTime();
-        Record record;
-        try {
-            record = bookmarkerService.getRecord(id);
 
+        return respond("getRecord", asyncBookmarkerService.getRecord(id), (record) -> {
             // No data found
             if (record == null) {
-                operationHistogram.labels("get", "pass", HttpStatus.NOT_FOUND.toString())
-                        .observe((System.nanoTime() - startTime) / 1000000);
-
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             } else {
-                operationHistogram.labels("get", "pass", HttpStatus.OK.toString())
-                        .observe((System.nanoTime() - startTime) / 1000000);
-
-                return new ResponseEntity<>(record, HttpStatus.OK);
+                return ResponseEntity.ok().eTag(etag(record)).varyBy(HttpHeaders.ACCEPT).body(record);
             }
-        } catch (IllegalArgumentException ex) {
+        });
+    }
 
+    /**
+     * Streams all records, optionally after a continuation token. Records are written to
+     * response one at a time as Jackson walks the iterator, so nothing is copied up front.
+     */
+    @GetMapping(value = "/records", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public ResponseEntity<Iterator<Record>> getAllRecords(@RequestParam(required = false) String cursor) {
+        log.info("entering getAllRecords");
+
+        try {
+            Iterator<Record> results = bookmarkerService.getRecordIterator(cursor);
+
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
             log.error("invalid input received {}", ex);
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        finally {
-            log.info("leaving getRecord");
-        }
     }
 
-    @GetMapping(value = "/records", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<List<Record>> getAllRecords() {
-        final long startTime = System.nanoTime();
-        log.info("entering getAllRecords");
+    @GetMapping(value = "/records", params = "limit", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<RecordPage>> getRecordPage(@RequestParam int limit,
+                                                                    @RequestParam(required = false) String cursor) {
+        log.info("entering getRecordPage");
 
-        List<Record> results = bookmarkerService.getAllRecords();
+        return respond("getRecordPage", asyncBookmarkerService.getRecords(cursor, limit),
+                (page) -> new ResponseEntity<>(page, HttpStatus.OK));
+    }
+
+    /**
+     * Page of records created within a time range, oldest first. Times are ISO 8601, for
+     * example 2026-10-18T10:15:30.000Z, from is inclusive and to exclusive.
+     */
+    @GetMapping(value = "/records/created", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<RecordPage>> getRecordsCreated(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("entering getRecordsCreated");
+
+        return respond("getRecordsCreated", asyncBookmarkerService.getRecordsCreated(date(from), date(to), cursor, limit),
+                (page) -> new ResponseEntity<>(page, HttpStatus.OK));
+    }
 
-        operationHistogram.labels("getAll", "pass", HttpStatus.OK.toString())
-                .observe((System.nanoTime() - startTime) / 1000000);
+    /**
+     * Page of records last updated within a time range, least recently updated first. Sync
+     * clients pass the time of their previous sync as from.
+     */
+    @GetMapping(value = "/records/updated", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<RecordPage>> getRecordsUpdated(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("entering getRecordsUpdated");
+
+        return respond("getRecordsUpdated", asyncBookmarkerService.getRecordsUpdated(date(from), date(to), cursor, limit),
+                (page) -> new ResponseEntity<>(page, HttpStatus.OK));
+    }
+
+    @GetMapping(value = "/records/search", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<List<Record>>> search(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        log.info("entering search");
+
+        return respond("search", asyncBookmarkerService.search(q, limit),
+                (results) -> new ResponseEntity<>(results, HttpStatus.OK));
+    }
 
-        return new ResponseEntity<>(results, HttpStatus.OK);
+    /**
+     * Finds records by a boolean tag expression such as
+     * apple AND (ipad OR macbook-pro) AND NOT archived.
+     */
+    @GetMapping(value = "/records/query", produces = {MediaType.APPLICATION_JSON_UTF8_VALUE, SMILE_VALUE})
+    public DeferredResult<ResponseEntity<TagQueryResult>> queryByTags(@RequestParam String tags,
+                                                                      @RequestParam(defaultValue = "100") int limit) {
+        log.info("entering queryByTags");
+
+        return respond("queryByTags", asyncBookmarkerService.queryByTags(tags, limit),
+                (result) -> new ResponseEntity<>(result, HttpStatus.OK));
     }
 
     @PutMapping(value = "/records/{id}")
-    public ResponseEntity<Record> updateRecord(@PathVariable String id, @Valid @RequestBody Record record) {
+    public DeferredResult<ResponseEntity<Record>> updateRecord(@PathVariable String id,
+                                                               @Valid @RequestBody Record record,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                                       String ifMatch) {
 
         log.info("entering updateRecord");
-        final long startTime = System.nanoTime();
 
+        record.setId(id);
+
+        CompletableFuture<Record> updated;
         try {
-            record.setId(id);
-            boolean result = bookmarkerService.updateRecord(record);
+            updated = asyncBookmarkerService.updateRecord(record, expectedVersion(ifMatch));
+        } catch (IllegalArgumentException ex) {
+            updated = new CompletableFuture<>();
+            updated.completeExceptionally(ex);
+        }
 
+        return respond("updateRecord", updated, (result) -> {
             // No data found
-            if (!result) {
-                operationHistogram.labels("update", "pass", HttpStatus.NOT_FOUND.toString())
-                        .observe((System.nanoTime() - startTime) / 1000000);
-
+            if (result == null) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             } else {
-                operationHistogram.labels("update", "fail", HttpStatus.OK.toString())
-                        .observe((System.nanoTime() - startTime) / 1000000);
-
-                return new ResponseEntity<>(record, HttpStatus.OK);
+                return ResponseEntity.ok().eTag(etag(result)).varyBy(HttpHeaders.ACCEPT).body(result);
             }
-        } catch (IllegalArgumentException ex) {
-            operationHistogram.labels("update", "error", HttpStatus.BAD_REQUEST.toString())
-                    .observe((System.nanoTime() - startTime) / 1000000);
-
-            log.error("invalid input received {}", ex);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-        finally {
-            log.info("leaving updateRecord");
-        }
+        });
     }
 
-
     @DeleteMapping(value = "/records/{id}")
-    public ResponseEntity<String> deleteRecord(@PathVariable String id) {
+    public DeferredResult<ResponseEntity<String>> deleteRecord(@PathVariable String id) {
 
         log.info("entering deleteRecord");
-        final long startTime = System.nanoTime();
-        try {
-            bookmarkerService.deleteRecord(id);
 
-            operationHistogram.labels("delete", "pass", HttpStatus.OK.toString())
-                    .observe((System.nanoTime() - startTime) / 1000000);
-
-            return new ResponseEntity<String>(HttpStatus.OK);
+        return respond("deleteRecord", asyncBookmarkerService.deleteRecord(id), (result) -> {
+            // No data found
+            if (!result) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
 
-        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+    }
 
-            log.error("invalid input received {}", ex);
+    /**
+     * Entity tag of version of record. Tag is weak, JSON, Smile and compressed bodies of a
+     * version are equivalent but not the same bytes.
+     *
+     * @return - entity tag of version of record
+     */
+    private static String etag(Record record) {
+        return "W/\"" + record.getVersion() + "\"";
+    }
 
-            operationHistogram.labels("delete", "fail", HttpStatus.BAD_REQUEST.toString())
-                    .observe((System.nanoTime() - startTime) / 1000000);
+    /**
+     * Version an update expects from its If-Match header. Only a single entity tag or * is
+     * accepted. Tags are compared by the version they carry, weak or not: a version stands
+     * for the same record in every representation, which is what the condition is about.
+     *
+     * @return - expected version, {@link BookmarkerService#ANY_VERSION} for *, null without
+     *           header
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
 
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return BookmarkerService.ANY_VERSION;
         }
-        finally {
-            log.info("leaving deleteRecord");
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
         }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("invalid If-Match " + ifMatch);
+        }
+        long version;
+        try {
+            version = Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid If-Match " + ifMatch, ex);
+        }
+        if (version < 0) {
+            throw new IllegalArgumentException("invalid If-Match " + ifMatch);
+        }
+        return version;
+    }
+
+    private static Date date(Instant instant) {
+        return instant == null ? null : Date.from(instant);
+    }
+
+    /**
+     * Complete a deferred result from an asynchronous operation. Invalid input is answered
+     * with 400 and a saturated storage executor with 503, other failures are handled by
+     * Spring as if thrown by the handler.
+     *
+     * @param operation - name of operation, for logging
+     * @param future - pending operation
+     * @param response - maps result of operation to response
+     */
+    private <T, R> DeferredResult<ResponseEntity<R>> respond(String operation, CompletableFuture<T> future,
+                                                             Function<T, ResponseEntity<R>> response) {
+
+        DeferredResult<ResponseEntity<R>> deferred = new DeferredResult<>();
+
+        future.whenComplete((result, ex) -> {
+            try {
+                if (ex == null) {
+                    deferred.setResult(response.apply(result));
+                    return;
+                }
+
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof IllegalArgumentException) {
+                    log.error("invalid input received {}", cause);
+                    deferred.setResult(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+                } else if (cause instanceof RejectedExecutionException) {
+                    log.warn("{} rejected, storage executor is saturated", operation);
+                    deferred.setResult(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+                } else {
+                    deferred.setErrorResult(cause);
+                }
+            } finally {
+                log.info("leaving {}", operation);
+            }
+        });
+
+        return deferred;
     }
 }
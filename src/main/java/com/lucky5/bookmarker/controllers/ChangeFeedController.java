@@ -0,0 +1,136 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.feed.FeedProperties;
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.ChangeEvent;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Change feed endpoints, so consumers follow changes instead of reloading all records.
+ * Consumers pass the sequence of the last change seen and get the changes following it.
+ * Changes no longer kept by the feed are answered with 410, consumer then reloads records
+ * and continues from the latest sequence.
+ */
+@RestController
+@ConditionalOnRecordStore
+public class ChangeFeedController {
+
+    public static final int MAX_CHANGES = 1000;
+
+    private ChangeFeed changeFeed;
+
+    private FeedProperties properties;
+
+    private ObjectWriter eventWriter;
+
+    private Logger log = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    public ChangeFeedController(ChangeFeed changeFeed, FeedProperties properties, ObjectMapper objectMapper) {
+        this.changeFeed = changeFeed;
+        this.properties = properties;
+        this.eventWriter = objectMapper.writerFor(ChangeEvent.class);
+    }
+
+    /**
+     * Long poll for changes following since. Answers right away if there are changes,
+     * otherwise waits for the next change up to the poll timeout and answers with no changes
+     * when none came. Without since, waits for changes from now on. Consumers needing to know
+     * they are up to date more often, like replication followers, pass a shorter timeout.
+     */
+    @GetMapping(value = "/records/changes", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public DeferredResult<ResponseEntity<ChangeBatch>> getChanges(@RequestParam(required = false) Long since,
+                                                                  @RequestParam(defaultValue = "100") int limit,
+                                                                  @RequestParam(required = false) Long timeout) {
+        log.info("entering getChanges");
+
+        long after = since == null ? changeFeed.lastSequence() : since;
+        long wait = timeout == null ? properties.getPollTimeout() : Math.min(timeout, properties.getPollTimeout());
+        DeferredResult<ResponseEntity<ChangeBatch>> deferred = new DeferredResult<>(wait,
+                new ResponseEntity<>(new ChangeBatch(Collections.emptyList(), after, after, changeFeed.epoch()),
+                        HttpStatus.OK));
+
+        if (limit < 1 || limit > MAX_CHANGES || wait < 1) {
+            log.error("invalid input received, limit {} timeout {}", limit, timeout);
+            deferred.setResult(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            return deferred;
+        }
+
+        Runnable answer = () -> deferred.setResult(read(after, limit));
+        deferred.onCompletion(() -> changeFeed.cancel(answer));
+
+        if (changeFeed.lastSequence() > after || !changeFeed.retains(after)) {
+            answer.run();
+        } else {
+            changeFeed.await(after, answer);
+        }
+
+        return deferred;
+    }
+
+    /**
+     * Stream changes as server sent events. Event id is epoch and sequence as epoch:sequence
+     * and event name the type of change, a consumer reconnecting with Last-Event-ID resumes
+     * after it. A consumer falling behind the feed, or reconnecting with an id of an earlier
+     * start of the service or not of that form, gets a reset event with the latest sequence
+     * and is disconnected. Since is a sequence of the current epoch.
+     */
+    @GetMapping(value = "/records/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamChanges(@RequestParam(required = false) Long since,
+                              @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("entering streamChanges");
+
+        long epoch = changeFeed.epoch();
+        long after = changeFeed.lastSequence();
+        if (since != null) {
+            after = since;
+        } else if (lastEventId != null) {
+            String[] parts = lastEventId.trim().split(":");
+            try {
+                epoch = parts.length == 2 ? Long.parseLong(parts[0]) : -1;
+                after = parts.length == 2 ? Long.parseLong(parts[1]) : after;
+            } catch (NumberFormatException ex) {
+                epoch = -1;
+            }
+        }
+
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(properties.getStreamTimeout());
+        changeFeed.stream(epoch, after, async, eventWriter);
+    }
+
+    private ResponseEntity<ChangeBatch> read(long after, int limit) {
+        try {
+            List<ChangeEvent> events = changeFeed.read(after, limit);
+            long last = events.isEmpty() ? after : events.get(events.size() - 1).getSequence();
+
+            return new ResponseEntity<>(new ChangeBatch(events, last, changeFeed.lastSequence(), changeFeed.epoch()),
+                    HttpStatus.OK);
+        } catch (IllegalStateException ex) {
+            log.info("changes after {} are gone, latest is {}", after, changeFeed.lastSequence());
+            return new ResponseEntity<>(HttpStatus.GONE);
+        } finally {
+            log.info("leaving getChanges");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.lucky5.bookmarker.cluster.LocalShard;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.services.ClusterBookmarkerService;
+import com.lucky5.bookmarker.services.VersionConflictException;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Endpoints cluster nodes call on each other. Record endpoints only serve records kept by
+ * this node and never route further, node endpoints let a node join the cluster. Invalid
+ * input is answered with 400 and version conflicts with 412, both with the message of the
+ * error, so the calling node reports the same error as this node would.
+ */
+@RestController
+@ConditionalOnRecordStore
+@ConditionalOnProperty(prefix = "bookmarker.cluster", name = "enabled", havingValue = "true")
+@RequestMapping("/cluster")
+public class ClusterController {
+
+    private LocalShard shard;
+
+    private ClusterBookmarkerService clusterBookmarkerService;
+
+    private Logger log = LoggerFactory.getLogger(ClusterController.class);
+
+    public ClusterController(LocalShard shard, ClusterBookmarkerService clusterBookmarkerService) {
+        this.shard = shard;
+        this.clusterBookmarkerService = clusterBookmarkerService;
+    }
+
+    @GetMapping("/records/{id}")
+    public ResponseEntity<Record> getRecord(@PathVariable String id) {
+        Record record = shard.get(id);
+        return new ResponseEntity<>(record, record == null ? HttpStatus.NOT_FOUND : HttpStatus.OK);
+    }
+
+    @PutMapping("/records")
+    public void putRecords(@RequestBody List<Record> records) {
+        shard.put(records);
+    }
+
+    @PutMapping("/records/{id}")
+    public Record updateRecord(@PathVariable String id, @RequestBody Record record,
+                               @RequestParam(required = false) Long expectedVersion) {
+        record.setId(id);
+        return shard.update(record, expectedVersion);
+    }
+
+    @PutMapping("/records/{id}/tags")
+    public boolean updateTags(@PathVariable String id, @RequestBody List<String> tags) {
+        return shard.updateTags(id, tags);
+    }
+
+    @DeleteMapping("/records/{id}")
+    public boolean deleteRecord(@PathVariable String id) {
+        return shard.delete(id);
+    }
+
+    @PostMapping("/records/delete")
+    public void deleteRecords(@RequestBody List<String> ids) {
+        shard.deleteAll(ids);
+    }
+
+    @GetMapping(value = "/records", params = "!limit")
+    public List<Record> getAllRecords() {
+        return shard.all();
+    }
+
+    @GetMapping(value = "/records", params = "limit")
+    public RecordPage getRecords(@RequestParam(required = false) String cursor, @RequestParam int limit) {
+        return shard.page(cursor, limit);
+    }
+
+    @GetMapping("/records/tagged")
+    public List<Record> getFilteredRecord(@RequestParam String tag) {
+        return shard.tagged(tag);
+    }
+
+    @GetMapping("/records/query")
+    public TagQueryResult queryByTags(@RequestParam String tags, @RequestParam int limit) {
+        return shard.query(tags, limit);
+    }
+
+    @GetMapping("/records/search")
+    public List<Record> search(@RequestParam String q, @RequestParam int limit) {
+        return shard.search(q, limit);
+    }
+
+    /**
+     * Dates are passed as epoch milliseconds.
+     */
+    @GetMapping("/records/created")
+    public RecordPage getRecordsCreated(@RequestParam(required = false) Long from,
+                                        @RequestParam(required = false) Long to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam int limit) {
+        return shard.created(toDate(from), toDate(to), cursor, limit);
+    }
+
+    @GetMapping("/records/updated")
+    public RecordPage getRecordsUpdated(@RequestParam(required = false) Long from,
+                                        @RequestParam(required = false) Long to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam int limit) {
+        return shard.updated(toDate(from), toDate(to), cursor, limit);
+    }
+
+    @GetMapping("/tags/stats")
+    public TagStats getTagStats(@RequestParam int limit,
+                                @RequestParam(value = "tag", required = false) List<String> tags) {
+        return shard.tagStats(limit, tags);
+    }
+
+    @GetMapping("/tags/suggest")
+    public List<TagCount> suggestTags(@RequestParam String prefix, @RequestParam int limit) {
+        return shard.suggest(prefix, limit);
+    }
+
+    /**
+     * First step of a node joining, copy records it will own to it.
+     */
+    @PostMapping("/nodes/prepare")
+    public int prepareJoin(@RequestParam String node) {
+        log.info("entering prepareJoin of {}", node);
+
+        try {
+            return clusterBookmarkerService.prepareJoin(node);
+        } finally {
+            log.info("leaving prepareJoin of {}", node);
+        }
+    }
+
+    /**
+     * Second step of a node joining, add it to ring of this node.
+     */
+    @PostMapping("/nodes")
+    public List<String> join(@RequestParam String node) {
+        log.info("entering join of {}", node);
+
+        try {
+            return clusterBookmarkerService.join(node);
+        } finally {
+            log.info("leaving join of {}", node);
+        }
+    }
+
+    @GetMapping("/nodes")
+    public List<String> getNodes() {
+        return clusterBookmarkerService.getNodes();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> invalidInput(IllegalArgumentException ex) {
+        log.error("invalid input received {}", ex.getMessage());
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<String> versionConflict(VersionConflictException ex) {
+        log.info("version conflict {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
+
+    private static Date toDate(Long millis) {
+        return millis == null ? null : new Date(millis);
+    }
+}
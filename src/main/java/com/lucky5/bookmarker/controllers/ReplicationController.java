@@ -0,0 +1,94 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+import com.lucky5.bookmarker.replication.LocalLeader;
+import com.lucky5.bookmarker.services.VersionConflictException;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoints replication followers call on their leader. Followers load all records once and
+ * then follow the change feed of the leader, writes made on followers are forwarded here and
+ * answered with the change sequence the follower has to apply to read them. Invalid input is
+ * answered with 400 and version conflicts with 412, both with the message of the error, so
+ * the follower reports the same error.
+ */
+@RestController
+@ConditionalOnRecordStore
+@ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "leader")
+@RequestMapping("/replication")
+public class ReplicationController {
+
+    private LocalLeader leader;
+
+    private Logger log = LoggerFactory.getLogger(ReplicationController.class);
+
+    public ReplicationController(LocalLeader leader) {
+        this.leader = leader;
+    }
+
+    @GetMapping("/snapshot")
+    public ReplicationSnapshot getSnapshot() {
+        log.info("entering getSnapshot");
+
+        try {
+            return leader.snapshot();
+        } finally {
+            log.info("leaving getSnapshot");
+        }
+    }
+
+    @PostMapping("/records")
+    public ReplicatedWrite addRecords(@RequestBody List<Record> records) {
+        return leader.add(records);
+    }
+
+    @PutMapping("/records/{id}")
+    public ReplicatedWrite updateRecord(@PathVariable String id, @RequestBody Record record,
+                                        @RequestParam(required = false) Long expectedVersion) {
+        record.setId(id);
+        return leader.update(record, expectedVersion);
+    }
+
+    @PutMapping("/records/{id}/tags")
+    public ReplicatedWrite updateTags(@PathVariable String id, @RequestBody List<String> tags) {
+        return leader.updateTags(id, tags);
+    }
+
+    @DeleteMapping("/records/{id}")
+    public ReplicatedWrite deleteRecord(@PathVariable String id) {
+        return leader.delete(id);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> invalidInput(IllegalArgumentException ex) {
+        log.error("invalid input received {}", ex.getMessage());
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<String> versionConflict(VersionConflictException ex) {
+        log.info("version conflict {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
+}
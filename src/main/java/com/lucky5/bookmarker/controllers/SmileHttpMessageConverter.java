@@ -0,0 +1,34 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.controllers.SmileHttpMessageConverter.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:35
+ * Description  : Reads and writes Smile, binary JSON of Jackson, for clients accepting
+ *                {@link BookmarkController#SMILE_VALUE}. Mapper is set up by the builder of the
+ *                json mapper, so both carry the same fields.
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /**
+     * @param builder - builder of mapper of json responses
+     */
+    public SmileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(smileMapper(builder), MediaType.valueOf(BookmarkController.SMILE_VALUE));
+        // binary, content type carries no charset
+        setDefaultCharset(null);
+    }
+
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        builder.configure(mapper);
+        return mapper;
+    }
+}
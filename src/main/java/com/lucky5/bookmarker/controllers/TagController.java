@@ -0,0 +1,68 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Tag endpoints. Tag statistics and suggestions are kept up to date by the service on every
+ * change, so they are read on the request thread.
+ */
+@RestController
+public class TagController {
+
+    private BookmarkerService bookmarkerService;
+
+    private Logger log = LoggerFactory.getLogger(TagController.class);
+
+    public TagController(BookmarkerService bookmarkerService) {
+        this.bookmarkerService = bookmarkerService;
+    }
+
+    /**
+     * Number of records and distinct tags along with the most carried tags, plus counts of
+     * every tag passed with the tag parameter.
+     */
+    @GetMapping(value = "/tags/stats", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<TagStats> getTagStats(@RequestParam(defaultValue = "10") int limit,
+                                                @RequestParam(value = "tag", required = false) List<String> tags) {
+        log.info("entering getTagStats");
+
+        try {
+            return new ResponseEntity<>(bookmarkerService.getTagStats(limit, tags), HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            log.error("invalid input received {}", ex);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } finally {
+            log.info("leaving getTagStats");
+        }
+    }
+
+    /**
+     * Suggests tags starting with prefix for tag entry, most carried tags first.
+     */
+    @GetMapping(value = "/tags/suggest", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<List<TagCount>> suggestTags(@RequestParam String prefix,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        log.info("entering suggestTags");
+
+        try {
+            return new ResponseEntity<>(bookmarkerService.suggestTags(prefix, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            log.error("invalid input received {}", ex);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } finally {
+            log.info("leaving suggestTags");
+        }
+    }
+}
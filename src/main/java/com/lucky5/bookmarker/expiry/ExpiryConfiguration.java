@@ -0,0 +1,44 @@
+package com.lucky5.bookmarker.expiry;
+
+import com.lucky5.bookmarker.services.JpaBookmarkerService;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.ExpiryConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:40
+ * Description  : Creates expiry of records kept in record store, or in the database when the
+ *                jpa store engine is selected
+ */
+@Configuration
+@EnableConfigurationProperties(ExpiryProperties.class)
+public class ExpiryConfiguration {
+
+    /**
+     * Expiry starts once service has restored records, so restored records are scheduled
+     * as well.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnRecordStore
+    @DependsOn("bookmarkerServiceImpl")
+    RecordExpiry recordExpiry(RecordStore recordStore, ExpiryProperties properties) {
+        RecordExpiry expiry = new RecordExpiry(recordStore, properties.getTick());
+        expiry.start();
+        return expiry;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "bookmarker.store", name = "engine", havingValue = "jpa")
+    JpaRecordExpiry jpaRecordExpiry(JpaBookmarkerService service, ExpiryProperties properties) {
+        JpaRecordExpiry expiry = new JpaRecordExpiry(service, properties.getTick());
+        expiry.start();
+        return expiry;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lucky5.bookmarker.expiry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.ExpiryProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:40
+ * Description  : Settings of record expiry, bound from bookmarker.expiry.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.expiry")
+public class ExpiryProperties {
+
+    /**
+     * Milliseconds between removals of expired records, records are removed at most this
+     * late.
+     */
+    private long tick = 1000;
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
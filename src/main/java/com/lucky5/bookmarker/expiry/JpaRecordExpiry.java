@@ -0,0 +1,109 @@
+package com.lucky5.bookmarker.expiry;
+
+import com.lucky5.bookmarker.services.JpaBookmarkerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.JpaRecordExpiry.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:30
+ * Description  : Removes records of the jpa engine once their expiry time passed. The database
+ *                keeps records sorted by expiry time, so a background thread deletes the due
+ *                ones every tick instead of scheduling them on a wheel. Each transaction
+ *                deletes at most a batch of records, batches follow each other until none
+ *                are due.
+ */
+public class JpaRecordExpiry implements Closeable {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(JpaRecordExpiry.class);
+
+    private final JpaBookmarkerService service;
+    private final long tickMillis;
+
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    /**
+     * @param service - service to delete expired records through
+     * @param tickMillis - milliseconds between runs, records are removed at most a tick late
+     */
+    public JpaRecordExpiry(JpaBookmarkerService service, long tickMillis) {
+        this.service = service;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Start removing expired records in background.
+     */
+    public synchronized void start() {
+        if (scheduler != null || closed) {
+            throw new IllegalStateException("expiry already started");
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "bookmarker-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledExpire, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove records whose expiry time passed.
+     *
+     * @param now - current time in milliseconds
+     *
+     * @return - number of records removed
+     */
+    public int expire(long now) {
+        Date due = new Date(now);
+
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = service.deleteExpired(due, BATCH_SIZE);
+            removed += deleted;
+        } while (deleted == BATCH_SIZE && !closed);
+
+        if (removed > 0) {
+            RecordExpiry.expired.inc(removed);
+            log.info("removed {} expired records", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Stop removing expired records.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void scheduledExpire() {
+        try {
+            expire(System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            // records still due are deleted on next tick
+            log.error("expiry failed", ex);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.lucky5.bookmarker.expiry;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordListener;
+import com.lucky5.bookmarker.store.RecordStore;
+import io.prometheus.client.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.RecordExpiry.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:40
+ * Description  : Removes records from store once their expiry time passed. Records with an
+ *                expiry time are scheduled on a {@link TimingWheel} when added or when their
+ *                expiry time changes, a background thread advances the wheel every tick and
+ *                removes the records coming out of it. Removal goes through the store, so
+ *                indexes, change feed and write ahead log see it like any other removal.
+ *
+ *                Records removed or given a later expiry time are not taken off the wheel, a
+ *                record coming out is only removed if it still exists and its expiry time
+ *                passed. Store is scanned once on start, for records restored before.
+ */
+public class RecordExpiry implements RecordListener, Closeable {
+
+    // shared with jpa expiry, only one of both runs
+    static final Counter expired =
+            Counter.build()
+                    .name("bookmark_records_expired_total")
+                    .help("Records removed after their expiry time passed")
+                    .register();
+
+    private static final Logger log = LoggerFactory.getLogger(RecordExpiry.class);
+
+    private final RecordStore store;
+    private final TimingWheel wheel;
+    private final long tickMillis;
+
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    /**
+     * @param store - store to remove expired records from
+     * @param tickMillis - milliseconds between runs, records are removed at most a tick late
+     */
+    public RecordExpiry(RecordStore store, long tickMillis) {
+        this.store = store;
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel(tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Schedule records of store and start removing expired ones in background.
+     */
+    public synchronized void start() {
+        if (scheduler != null || closed) {
+            throw new IllegalStateException("expiry already started");
+        }
+
+        // listen first, a record added meanwhile is at worst scheduled twice
+        store.addListener(this);
+        int scheduled = 0;
+        for (Record record : store.values()) {
+            if (schedule(record)) {
+                scheduled++;
+            }
+        }
+        log.info("scheduled expiry of {} records", scheduled);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "bookmarker-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledExpire, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove records whose expiry time passed.
+     *
+     * @param now - current time in milliseconds
+     *
+     * @return - number of records removed
+     */
+    public int expire(long now) {
+        List<String> due = wheel.advance(now);
+
+        int removed = 0;
+        for (String id : due) {
+            Record record = store.removeIf(id, (current) -> isExpired(current, now));
+            if (record != null) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            expired.inc(removed);
+            log.info("removed {} expired records", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * @return - number of records scheduled, including ones already removed or rescheduled
+     */
+    public int scheduled() {
+        return wheel.size();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        schedule(record);
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        if (!Objects.equals(previous.getExpiresAt(), current.getExpiresAt())) {
+            schedule(current);
+        }
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        // left on wheel, skipped when it comes out
+    }
+
+    /**
+     * Stop removing expired records.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private boolean schedule(Record record) {
+        Date expiresAt = record.getExpiresAt();
+        if (expiresAt == null) {
+            return false;
+        }
+        wheel.schedule(record.getId(), expiresAt.getTime());
+        return true;
+    }
+
+    private void scheduledExpire() {
+        try {
+            expire(System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            // records still due stay in store, a later insert or restart schedules them again
+            log.error("expiry failed", ex);
+        }
+    }
+
+    private static boolean isExpired(Record record, long now) {
+        return record.getExpiresAt() != null && record.getExpiresAt().getTime() <= now;
+    }
+}
@@ -0,0 +1,143 @@
+package com.lucky5.bookmarker.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.TimingWheel.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:30
+ * Description  : Hierarchical timing wheel of record ids due at a deadline. Time advances in
+ *                ticks, every level is a wheel of 64 slots and a slot of one level spans a
+ *                whole turn of the level below. An id is put into the lowest level whose
+ *                current turn holds its deadline and moves down one level each time the
+ *                wheel reaches its slot, so scheduling and expiring an id cost O(1) amortized
+ *                whatever the number of scheduled ids. Deadlines beyond the current turn of
+ *                the highest level come out of its slot once per turn and are put back.
+ *
+ *                With 4 levels a turn of the highest level lasts 64^4 ticks, 194 days at one
+ *                second per tick. Ids are never removed before their deadline, callers check whether an
+ *                id is still due when it comes out. Access is synchronized.
+ */
+public class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+
+    private final Entry[][] wheels = new Entry[LEVELS][SLOTS];
+
+    // last tick processed
+    private long now;
+
+    private int size;
+
+    /**
+     * @param tickMillis - milliseconds per tick, deadlines are rounded up to a tick
+     * @param startMillis - current time in milliseconds
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.now = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an id, a deadline already passed is due with the next tick.
+     *
+     * @param id - id to schedule
+     * @param deadlineMillis - time in milliseconds at which id is due
+     */
+    public synchronized void schedule(String id, long deadlineMillis) {
+        long tick = deadlineMillis / tickMillis + (deadlineMillis % tickMillis == 0 ? 0 : 1);
+        put(new Entry(id, tick), now + 1);
+        size++;
+    }
+
+    /**
+     * Advance wheel up to given time.
+     *
+     * @param nowMillis - current time in milliseconds
+     *
+     * @return - ids whose deadline passed, in order of deadline tick
+     */
+    public synchronized List<String> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<String> due = new ArrayList<>();
+
+        while (now < target) {
+            now++;
+
+            // a slot of higher level is reached when all levels below complete a turn, its ids
+            // move down before the lowest slot of this tick is expired
+            int level = 1;
+            while (level < LEVELS && (now & ((1L << (BITS * level)) - 1)) == 0) {
+                level++;
+            }
+            for (level--; level > 0; level--) {
+                int slot = (int) ((now >>> (BITS * level)) & MASK);
+                Entry entry = wheels[level][slot];
+                wheels[level][slot] = null;
+                while (entry != null) {
+                    Entry next = entry.next;
+                    put(entry, now);
+                    entry = next;
+                }
+            }
+
+            int slot = (int) (now & MASK);
+            Entry entry = wheels[0][slot];
+            wheels[0][slot] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                due.add(entry.id);
+                size--;
+                entry = next;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * @return - number of scheduled ids
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param earliest - earliest tick entry may be put at, ticks before were processed
+     */
+    private void put(Entry entry, long earliest) {
+        long tick = Math.max(entry.tick, earliest);
+
+        // lowest level whose slots of the current turn include tick, slot is then reached
+        // exactly at tick or, for the highest level, once per turn until tick is near
+        int level = 0;
+        while (level < LEVELS - 1 && (tick >>> (BITS * (level + 1))) != (now >>> (BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = (int) ((tick >>> (BITS * level)) & MASK);
+        entry.next = wheels[level][slot];
+        wheels[level][slot] = entry;
+    }
+
+    private static final class Entry {
+
+        private final String id;
+        private final long tick;
+        private Entry next;
+
+        private Entry(String id, long tick) {
+            this.id = id;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.lucky5.bookmarker.feed;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lucky5.bookmarker.model.ChangeEvent;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.feed.ChangeFeed.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Feed of record store changes. Every add, update and remove becomes an event
+ *                numbered with a sequence increasing by one. The latest capacity events are
+ *                kept in a ring shared by all consumers, each consumer reads from its own
+ *                sequence at its own pace.
+ *
+ *                Writers only put an event into the ring, they never wait for consumers.
+ *                A consumer falling further behind than the ring holds can not resume, it has
+ *                to reload records and continue from the current sequence. Consumers waiting
+ *                for new events are notified on the given executor, never on the writing
+ *                thread.
+ *
+ *                Sequences start at 1 with every start of the service, the epoch of the feed
+ *                tells consumers sequences started over.
+ */
+public class ChangeFeed implements RecordListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final ChangeEvent[] ring;
+    private final Executor executor;
+    private final long epoch = System.currentTimeMillis();
+
+    // written under lock of feed, read without
+    private volatile long last;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean notifying = new AtomicBoolean();
+
+    /**
+     * @param capacity - number of latest events kept
+     * @param executor - executor notifying waiting consumers
+     */
+    public ChangeFeed(int capacity, Executor executor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.ring = new ChangeEvent[capacity];
+        this.executor = executor;
+    }
+
+    /**
+     * @return - start time of feed, differs between starts of the service
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return - sequence of latest event, 0 if there was no change yet
+     */
+    public long lastSequence() {
+        return last;
+    }
+
+    /**
+     * @param after - sequence of last event seen by consumer
+     *
+     * @return - true if every event following after is still kept
+     */
+    public synchronized boolean retains(long after) {
+        return after >= 0 && after <= last && after >= last - ring.length;
+    }
+
+    /**
+     * Read events following a sequence.
+     *
+     * @param after - sequence of last event seen by consumer, 0 to read from start
+     * @param max - maximum number of events read
+     *
+     * @return - consecutive events following after, empty if there are none yet
+     *
+     * @throws IllegalStateException - if events following after are no longer kept, or
+     *                                 after is beyond latest sequence
+     */
+    public List<ChangeEvent> read(long after, int max) {
+        synchronized (this) {
+            if (!retains(after)) {
+                throw new IllegalStateException("events after " + after + " are not available, latest is " + last);
+            }
+            int count = (int) Math.min(max, last - after);
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            List<ChangeEvent> events = new ArrayList<>(count);
+            for (long sequence = after + 1; sequence <= after + count; sequence++) {
+                events.add(ring[slot(sequence)]);
+            }
+            return events;
+        }
+    }
+
+    /**
+     * Run callback once an event following a sequence is present, right away if there is one
+     * already. Callback runs on executor of feed and must not block.
+     *
+     * @param after - sequence of last event seen by consumer
+     * @param callback - callback to run
+     */
+    public void await(long after, Runnable callback) {
+        waiters.add(new Waiter(after, callback));
+        if (last > after) {
+            notifyWaiters();
+        }
+    }
+
+    /**
+     * Forget a callback passed to {@link #await}, if it did not run yet.
+     */
+    public void cancel(Runnable callback) {
+        waiters.removeIf((waiter) -> waiter.callback == callback);
+    }
+
+    /**
+     * Stream events following a sequence as server sent events, see {@link ChangeStream}.
+     *
+     * @param epoch - epoch of feed consumer saw after in, stream of another epoch only sends
+     *                a reset event, sequences started over since
+     * @param after - sequence of last event seen by consumer
+     * @param async - started asynchronous request, stream ends on its timeout and consumer
+     *                then reconnects
+     * @param eventWriter - writer of event data
+     */
+    public void stream(long epoch, long after, AsyncContext async, ObjectWriter eventWriter) throws IOException {
+        new ChangeStream(this, async, eventWriter, executor, after, epoch != this.epoch).start();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        append(ChangeEvent.Type.ADDED, record.getId(), record);
+    }
+
+    @Override
+    public void recordsAdded(List<Record> records) {
+        synchronized (this) {
+            for (Record record : records) {
+                put(ChangeEvent.Type.ADDED, record.getId(), record);
+            }
+        }
+        notifyWaiters();
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        append(ChangeEvent.Type.UPDATED, current.getId(), current);
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        append(ChangeEvent.Type.REMOVED, record.getId(), null);
+    }
+
+    private void append(ChangeEvent.Type type, String id, Record record) {
+        synchronized (this) {
+            put(type, id, record);
+        }
+        notifyWaiters();
+    }
+
+    private void put(ChangeEvent.Type type, String id, Record record) {
+        long sequence = last + 1;
+        ring[slot(sequence)] = new ChangeEvent(sequence, type, id, record, new Date());
+        last = sequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    /**
+     * Hand waiters to executor, at most one hand over is pending at a time. Runs on writing
+     * threads, so a saturated executor is not waited for, waiters are then notified with the
+     * next change.
+     */
+    private void notifyWaiters() {
+        if (waiters.isEmpty() || !notifying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::runWaiters);
+        } catch (RejectedExecutionException ex) {
+            notifying.set(false);
+        }
+    }
+
+    private void runWaiters() {
+        // cleared first, changes from now on schedule another run
+        notifying.set(false);
+        long current = last;
+        for (Waiter waiter : waiters) {
+            if (waiter.after < current && waiters.remove(waiter)) {
+                try {
+                    waiter.callback.run();
+                } catch (RuntimeException ex) {
+                    log.error("change feed consumer failed", ex);
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long after;
+        private final Runnable callback;
+
+        private Waiter(long after, Runnable callback) {
+            this.after = after;
+            this.callback = callback;
+        }
+    }
+}
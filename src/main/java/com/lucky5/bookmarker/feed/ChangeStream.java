@@ -0,0 +1,269 @@
+package com.lucky5.bookmarker.feed;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lucky5.bookmarker.model.ChangeEvent;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.feed.ChangeStream.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Sends events of a {@link ChangeFeed} to one server sent events consumer.
+ *                Events are sent in batches on the feed executor, the next batch is read only
+ *                after the previous one was written, so a slow consumer is served at its own
+ *                pace from the ring of the feed and holds no events of its own. Event id is
+ *                epoch and sequence as epoch:sequence, a consumer reconnecting with
+ *                Last-Event-ID resumes after it.
+ *
+ *                Events are written without blocking. Before every event the stream checks
+ *                the output can take it, if not the run ends and the container resumes the
+ *                stream once the consumer read what was written, so a slow consumer never
+ *                holds a feed thread and has at most one event buffered. Containers before
+ *                servlet 3.1 have no non blocking output, writes block there.
+ *
+ *                A consumer falling behind the ring, or resuming in an earlier epoch of the
+ *                feed, gets a reset event carrying the latest sequence and is disconnected.
+ *                Id of the reset event is the latest sequence, so a consumer reloading
+ *                records and reconnecting continues from there. A consumer not reading at all
+ *                is disconnected without it, it falls behind on reconnecting.
+ */
+class ChangeStream implements Runnable, WriteListener, AsyncListener {
+
+    static final int BATCH_SIZE = 100;
+
+    static final String RESET = "reset";
+
+    private static final Gauge streams =
+            Gauge.build()
+                    .name("bookmark_feed_streams")
+                    .help("Number of connected change stream consumers")
+                    .register();
+
+    private static final Counter resets =
+            Counter.build()
+                    .name("bookmark_feed_stream_resets_total")
+                    .help("Consumers disconnected for falling behind the change feed")
+                    .register();
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStream.class);
+
+    private final ChangeFeed feed;
+    private final AsyncContext async;
+    private final ObjectWriter eventWriter;
+    private final Executor executor;
+    private final Runnable schedule = this::schedule;
+
+    // set while a run is pending, wake ups meanwhile are covered by it
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ServletOutputStream output;
+    private boolean nonBlocking;
+
+    // only touched by runs, which are serialized
+    private long after;
+    private boolean stale;
+
+    /**
+     * @param async - started asynchronous request, completed once stream ends
+     * @param eventWriter - writer of event data
+     * @param after - sequence of last event seen by consumer
+     * @param stale - true if after is from another epoch of feed, stream is reset right away
+     */
+    ChangeStream(ChangeFeed feed, AsyncContext async, ObjectWriter eventWriter, Executor executor, long after,
+                 boolean stale) {
+        this.feed = feed;
+        this.async = async;
+        this.eventWriter = eventWriter;
+        this.executor = executor;
+        this.after = after;
+        this.stale = stale;
+    }
+
+    /**
+     * @return - id of event of sequence in epoch
+     */
+    static String eventId(long epoch, long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    void start() throws IOException {
+        streams.inc();
+        async.addListener(this);
+
+        ServletResponse response = async.getResponse();
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        output = response.getOutputStream();
+
+        ServletContext context = async.getRequest().getServletContext();
+        nonBlocking = context.getMajorVersion() > 3 || context.getMajorVersion() == 3 && context.getMinorVersion() > 0;
+        if (nonBlocking) {
+            // container calls onWritePossible once output is ready, which schedules first run
+            output.setWriteListener(this);
+        } else {
+            schedule();
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        // cleared first, wake ups from now on schedule another run
+        scheduled.set(false);
+        if (closed.get()) {
+            return;
+        }
+
+        if (stale) {
+            reset();
+            return;
+        }
+
+        List<ChangeEvent> events;
+        try {
+            events = feed.read(after, BATCH_SIZE);
+        } catch (IllegalStateException ex) {
+            reset();
+            return;
+        }
+
+        try {
+            for (ChangeEvent event : events) {
+                if (!writable()) {
+                    return;
+                }
+                write(eventId(feed.epoch(), event.getSequence()), event.getType().name().toLowerCase(Locale.ROOT),
+                        eventWriter.writeValueAsString(event));
+                after = event.getSequence();
+            }
+            if (!writable()) {
+                return;
+            }
+            output.flush();
+        } catch (IOException ex) {
+            // consumer went away
+            log.debug("change stream closed {}", ex.getMessage());
+            close();
+            return;
+        }
+
+        if (events.size() == BATCH_SIZE) {
+            schedule();
+        } else {
+            feed.await(after, schedule);
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        log.debug("change stream closed {}", throwable.getMessage());
+        close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        release();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void schedule() {
+        if (closed.get() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException ex) {
+            log.warn("change stream dropped, feed executor is saturated");
+            close();
+        }
+    }
+
+    /**
+     * @return - true if output takes more without blocking, if not the container calls
+     *           {@link #onWritePossible()} once it does
+     */
+    private boolean writable() {
+        return !nonBlocking || output.isReady();
+    }
+
+    private void write(String id, String name, String data) throws IOException {
+        output.write(("id:" + id + "\nevent:" + name + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void reset() {
+        resets.inc();
+        log.info("change stream consumer {} sequence {}, resetting", stale ? "resumed in earlier epoch at" : "fell behind",
+                after);
+        long latest = feed.lastSequence();
+        try {
+            if (writable()) {
+                write(eventId(feed.epoch(), latest), RESET, Long.toString(latest));
+                output.flush();
+            }
+        } catch (IOException ex) {
+            log.debug("change stream closed {}", ex.getMessage());
+        }
+        close();
+    }
+
+    private void close() {
+        if (release()) {
+            try {
+                async.complete();
+            } catch (IllegalStateException ex) {
+                // completed by container meanwhile
+                log.debug("change stream already completed {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return - true if stream was open
+     */
+    private boolean release() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        feed.cancel(schedule);
+        streams.dec();
+        return true;
+    }
+}
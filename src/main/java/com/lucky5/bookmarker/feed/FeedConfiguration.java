@@ -0,0 +1,54 @@
+package com.lucky5.bookmarker.feed;
+
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.feed.FeedConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Creates the change feed of the record store and executor serving its consumers
+ */
+@Configuration
+@ConditionalOnRecordStore
+@EnableConfigurationProperties(FeedProperties.class)
+public class FeedConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService feedExecutor(FeedProperties properties) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "bookmarker-feed-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Feed starts listening once service has restored records, restored records are no
+     * changes.
+     */
+    @Bean
+    @DependsOn("bookmarkerServiceImpl")
+    ChangeFeed changeFeed(RecordStore recordStore, FeedProperties properties,
+                          @Qualifier("feedExecutor") ExecutorService feedExecutor) {
+        ChangeFeed feed = new ChangeFeed(properties.getCapacity(), feedExecutor);
+        recordStore.addListener(feed);
+        return feed;
+    }
+}
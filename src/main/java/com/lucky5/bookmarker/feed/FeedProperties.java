@@ -0,0 +1,67 @@
+package com.lucky5.bookmarker.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.feed.FeedProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Settings of change feed, bound from bookmarker.feed.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.feed")
+public class FeedProperties {
+
+    /**
+     * Number of latest changes kept for consumers to resume from.
+     */
+    private int capacity = 100000;
+
+    /**
+     * Threads sending changes to consumers.
+     */
+    private int threads = 4;
+
+    /**
+     * Milliseconds a long poll waits for changes before answering with none.
+     */
+    private long pollTimeout = 25000;
+
+    /**
+     * Milliseconds after which an event stream is closed, consumers reconnect with
+     * Last-Event-ID.
+     */
+    private long streamTimeout = 600000;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(long pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public long getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(long streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+}
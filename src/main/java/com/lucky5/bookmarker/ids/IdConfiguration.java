@@ -0,0 +1,48 @@
+package com.lucky5.bookmarker.ids;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.IdConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:00
+ * Description  : Creates the id generator, an {@link IdGenerator} bean defined elsewhere
+ *                replaces the default time ordered generator
+ */
+@Configuration
+@EnableConfigurationProperties(IdProperties.class)
+public class IdConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(IdConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean(IdGenerator.class)
+    IdGenerator idGenerator(IdProperties properties) {
+
+        int node = properties.getNode();
+        if (node < 0) {
+            node = hostNode();
+            log.info("bookmarker.id.node not set, using node {} derived from host name", node);
+        }
+        return new TimeOrderedIdGenerator(node);
+    }
+
+    private static int hostNode() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "localhost";
+        }
+        return Math.floorMod(host.hashCode(), TimeOrderedIdGenerator.MAX_NODE + 1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.lucky5.bookmarker.ids;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.IdGenerator.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:00
+ * Description  : Source of record ids. Implementations must be thread safe and return
+ *                positive, unique ids, see {@link RecordIds} for their string form.
+ */
+public interface IdGenerator {
+
+    /**
+     * @return - next unique positive id
+     */
+    long nextId();
+}
@@ -0,0 +1,28 @@
+package com.lucky5.bookmarker.ids;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.IdProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:00
+ * Description  : Settings of id generation, bound from bookmarker.id.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.id")
+public class IdProperties {
+
+    /**
+     * Node id between 0 and 1023, unique among nodes writing to the same data. Negative
+     * derives node id from host name.
+     */
+    private int node = -1;
+
+    public int getNode() {
+        return node;
+    }
+
+    public void setNode(int node) {
+        this.node = node;
+    }
+}
@@ -0,0 +1,101 @@
+package com.lucky5.bookmarker.ids;
+
+import java.util.Arrays;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.RecordIds.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:00
+ * Description  : String form of record ids and mapping of record ids to store keys.
+ *
+ *                Generated ids are written as 13 characters of Crockford base32, fixed width
+ *                so that string order matches numeric order. Every other id, e.g. the uuids
+ *                given to records before ids were generated, maps to a negative key derived
+ *                from a 64 bit hash of the string, so such records still resolve. Generated
+ *                ids never collide, two legacy ids share a key with a chance of about n^2 / 2^64.
+ */
+public final class RecordIds {
+
+    public static final int LENGTH = 13;
+
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private RecordIds() {
+    }
+
+    /**
+     * @param id - positive generated id
+     *
+     * @return - compact string form of id
+     */
+    public static String encode(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("generated ids must be positive");
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param id - string form of id
+     *
+     * @return - generated id, or -1 if string is not the canonical form of a generated id
+     */
+    public static long decode(String id) {
+        if (id == null || id.length() != LENGTH) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = id.charAt(i);
+            int digit = c < 128 ? VALUES[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 5 | digit;
+        }
+        // first character carries three bits only, larger values do not fit a positive long
+        return id.charAt(0) <= '7' && value > 0 ? value : -1;
+    }
+
+    /**
+     * Store key of a record id, positive for generated ids and negative for any other id.
+     *
+     * @param id - string form of id
+     *
+     * @return - store key, never 0
+     */
+    public static long key(String id) {
+        long generated = decode(id);
+        if (generated > 0) {
+            return generated;
+        }
+
+        // 64 bit FNV-1a, finished with murmur3 mixing to spread similar strings
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash | Long.MIN_VALUE;
+    }
+}
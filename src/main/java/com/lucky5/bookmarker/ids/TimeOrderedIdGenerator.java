@@ -0,0 +1,87 @@
+package com.lucky5.bookmarker.ids;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.TimeOrderedIdGenerator.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:00
+ * Description  : Lock free generator of 64 bit ids ordered by creation time.
+ *
+ *                Layout : sign (1 bit, always 0), milliseconds since 2026-01-01 (41 bits),
+ *                         node (10 bits), sequence within millisecond (12 bits)
+ *
+ *                Last millisecond and sequence are packed into a single atomic long updated
+ *                by compare and set, so no thread ever blocks. Once 4096 ids are handed out
+ *                within a millisecond, or if the clock moves backwards, the generator runs
+ *                ahead of the clock instead of waiting, which keeps ids unique and increasing.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final long EPOCH = 1767225600000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    // milliseconds since epoch << SEQUENCE_BITS | sequence, of last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param node - id of this node, unique among nodes sharing a store, 0 to {@link #MAX_NODE}
+     */
+    public TimeOrderedIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+
+            // a sequence overflow carries into the millisecond, running ahead of the clock
+            long next = now > current ? now : current + 1;
+
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return millis << (NODE_BITS + SEQUENCE_BITS)
+                        | node << SEQUENCE_BITS
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * @param id - id created by this generator
+     *
+     * @return - creation time of id in milliseconds since 1970
+     */
+    public static long timestamp(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * @param id - id created by this generator
+     *
+     * @return - node which created id
+     */
+    public static int node(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE;
+    }
+}
@@ -0,0 +1,132 @@
+package com.lucky5.bookmarker.metrics;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import io.prometheus.client.Summary;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.metrics.RequestMetricsFilter.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:40
+ * Description  : Records latency, request and response size and number of requests in flight
+ *                for every endpoint. Requests are labelled by the matched handler pattern
+ *                instead of the raw path, so record ids do not end up as label values.
+ *                Latency is kept in seconds as a double, so sub-millisecond calls keep their
+ *                microseconds. Asynchronous requests are observed when they complete.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED = "unmatched";
+
+    // most calls are served from memory well below a millisecond, batches and streams take longer
+    private static final double[] LATENCY_BUCKETS = {
+            0.000025, 0.00005, 0.0001, 0.00025, 0.0005,
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 10};
+
+    private static final Histogram requestLatency =
+            Histogram.build()
+                    .name("bookmark_http_request_duration_seconds")
+                    .help("Time taken to serve a request")
+                    .labelNames("method", "path", "status")
+                    .buckets(LATENCY_BUCKETS)
+                    .register();
+
+    private static final Summary requestSize =
+            Summary.build()
+                    .name("bookmark_http_request_size_bytes")
+                    .help("Size of request body read by handler")
+                    .labelNames("method", "path")
+                    .register();
+
+    private static final Summary responseSize =
+            Summary.build()
+                    .name("bookmark_http_response_size_bytes")
+                    .help("Size of response body sent, compressed if it was")
+                    .labelNames("method", "path", "status")
+                    .register();
+
+    private static final Gauge requestsInFlight =
+            Gauge.build()
+                    .name("bookmark_http_requests_in_flight")
+                    .help("Number of requests being served")
+                    .register();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        final long startTime = System.nanoTime();
+        CountingRequest countingRequest = new CountingRequest(request);
+        CountingResponse countingResponse = new CountingResponse(response);
+
+        requestsInFlight.inc();
+        boolean async = false;
+        try {
+            filterChain.doFilter(countingRequest, countingResponse);
+
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) throws IOException {
+                        countingResponse.flushWriter();
+                        observe(countingRequest, countingResponse, countingResponse.getStatus(), startTime);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } catch (IOException | ServletException | RuntimeException ex) {
+            // container turns the exception into an error response after this filter returns
+            observe(countingRequest, countingResponse, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, startTime);
+            throw ex;
+        }
+
+        if (!async) {
+            countingResponse.flushWriter();
+            observe(countingRequest, countingResponse, countingResponse.getStatus(), startTime);
+        }
+    }
+
+    private static void observe(CountingRequest request, CountingResponse response, int status, long startTime) {
+
+        String method = request.getMethod();
+        String path = path(request);
+        String statusCode = Integer.toString(status);
+
+        requestLatency.labels(method, path, statusCode).observe((System.nanoTime() - startTime) / 1e9);
+        requestSize.labels(method, path).observe(request.bytesRead());
+        responseSize.labels(method, path, statusCode).observe(response.bytesWritten());
+        requestsInFlight.dec();
+    }
+
+    /**
+     * @return - handler pattern which served request, fixed value for requests no handler matched
+     */
+    private static String path(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED : pattern.toString();
+    }
+}
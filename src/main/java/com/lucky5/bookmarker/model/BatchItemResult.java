@@ -0,0 +1,74 @@
+package com.lucky5.bookmarker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.BatchItemResult.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 15:00
+ * Description  : Model class for outcome of one item of a batch, either id of created record
+ *                or reason the item was rejected
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private int index;
+
+    private String id;
+
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, String id, String error) {
+        this.index = index;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResult created(int index, String id) {
+        return new BatchItemResult(index, id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    /**
+     * @return - position of item in request
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "index=" + getIndex() +
+                ", id='" + getId() + '\'' +
+                ", error='" + getError() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.BatchResult.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 15:00
+ * Description  : Model class for outcome of a batch request, one result per item in request order
+ */
+public class BatchResult {
+
+    private int created;
+
+    private int failed;
+
+    private List<BatchItemResult> results = new ArrayList<>();
+
+    /**
+     * Append results of a part of the batch.
+     *
+     * @param items - results with index relative to the part
+     * @param offset - index of first item of the part within the batch
+     */
+    public void addAll(List<BatchItemResult> items, int offset) {
+        for (BatchItemResult item : items) {
+            item.setIndex(item.getIndex() + offset);
+            if (item.getError() == null) {
+                created++;
+            } else {
+                failed++;
+            }
+            results.add(item);
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "created=" + getCreated() +
+                ", failed=" + getFailed() +
+                ", results=" + getResults() +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.ChangeBatch.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Model class for consecutive change events along with sequence to resume from
+ */
+public class ChangeBatch {
+
+    private List<ChangeEvent> events;
+
+    private long last;
+
+    private long latest;
+
+    private long epoch;
+
+    public ChangeBatch() {
+    }
+
+    public ChangeBatch(List<ChangeEvent> events, long last, long latest, long epoch) {
+        this.events = events;
+        this.last = last;
+        this.latest = latest;
+        this.epoch = epoch;
+    }
+
+    public List<ChangeEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ChangeEvent> events) {
+        this.events = events;
+    }
+
+    /**
+     * @return - sequence of last event in batch, or sequence asked for if batch is empty,
+     *           passed as since to get the following events
+     */
+    public long getLast() {
+        return last;
+    }
+
+    public void setLast(long last) {
+        this.last = last;
+    }
+
+    /**
+     * @return - sequence of latest event of feed when batch was read
+     */
+    public long getLatest() {
+        return latest;
+    }
+
+    public void setLatest(long latest) {
+        this.latest = latest;
+    }
+
+    /**
+     * @return - epoch of feed, sequences of batches of different epochs are unrelated
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeBatch{" +
+                "events=" + getEvents() +
+                ", last=" + getLast() +
+                ", latest=" + getLatest() +
+                ", epoch=" + getEpoch() +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.lucky5.bookmarker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Date;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.ChangeEvent.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Model class for one change of the record store, numbered with a sequence
+ *                increasing by one with every change
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private long sequence;
+
+    private Type type;
+
+    private String id;
+
+    private Record record;
+
+    private Date time;
+
+    public ChangeEvent() {
+    }
+
+    public ChangeEvent(long sequence, Type type, String id, Record record, Date time) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.record = record;
+        this.time = time;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * @return - id of changed record
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return - record after the change, null for removed records
+     */
+    public Record getRecord() {
+        return record;
+    }
+
+    public void setRecord(Record record) {
+        this.record = record;
+    }
+
+    public Date getTime() {
+        return time;
+    }
+
+    public void setTime(Date time) {
+        this.time = time;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "sequence=" + getSequence() +
+                ", type=" + getType() +
+                ", id='" + getId() + '\'' +
+                '}';
+    }
+}
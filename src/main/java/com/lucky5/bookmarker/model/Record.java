@@ -1,37 +1,113 @@
 package com.lucky5.bookmarker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.NotEmpty;
 
-import javax.persistence.Entity;
-import javax.persistence.Id;
+import javax.persistence.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Project      : bookmarker
  * Name         : com.lucky5.bookmarker.model.Record.java
  * Author       : yashpalrawat
  * Created      : 7/09/2018 22:10
- * Description  : Model class for information record
+ * Description  : Model class for information record. Mapped as entity for the jpa engine,
+ *                tags are stored in a collection table. Entities and their tags are kept in
+ *                the second level cache.
+ *
+ *                Versions held by a {@link com.lucky5.bookmarker.store.RecordStore} are
+ *                frozen, so readers can use them without locking or copying. Their setters
+ *                fail, a change is made on a copy which then replaces the stored version.
+ *                Dates are shared between versions and never modified.
+ *
+ *                Version counts changes of a record, it starts at 1 and every update stores
+ *                the next version. It is sent as ETag, so a client can make an update
+ *                conditional on the version it read.
  */
+@Entity
+@Table(name = "records", indexes = {
+        @Index(name = "records_creation_date", columnList = "creationDate, id"),
+        @Index(name = "records_last_updated", columnList = "lastUpdated, id"),
+        @Index(name = "records_expires_at", columnList = "expiresAt")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Record {
 
     @Id
     private String id;
 
     @NotEmpty(message = "info cant be blank")
+    @Column(nullable = false, length = 4096)
     private String info;
 
-    private List<String> tags;
+    // canonical instances of TagDictionary once stored, never modified so versions can share them
+    @Transient
+    private String[] tags;
+
+    // stored copy of tags, only present on records of the jpa engine
+    @ElementCollection
+    @CollectionTable(name = "record_tags", joinColumns = @JoinColumn(name = "record_id"))
+    @OrderColumn(name = "tag_index")
+    @Column(name = "tag")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private List<String> storedTags;
+
+    @Temporal(TemporalType.TIMESTAMP)
     private Date lastUpdated;
+
+    @Temporal(TemporalType.TIMESTAMP)
     private Date creationDate;
 
+    // record is removed once expired, null for records kept until deleted
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt;
+
+    // time to live in seconds asked for when adding, only read from requests
+    @Transient
+    private Long ttl;
+
+    // default lets the column be added to a table already holding records
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    // set before version is published by a store, never cleared
+    @Transient
+    private boolean frozen;
+
+    public Record() {
+    }
+
+    /**
+     * Copy constructor, used to create a new version of a stored record. Copy is not frozen.
+     *
+     * @param other - record to copy
+     */
+    public Record(Record other) {
+        this.id = other.id;
+        this.info = other.info;
+        this.tags = other.tags == null && other.storedTags != null
+                ? other.storedTags.toArray(new String[0]) : other.tags;
+        this.lastUpdated = other.lastUpdated;
+        this.creationDate = other.creationDate;
+        this.expiresAt = other.expiresAt;
+        this.version = other.version;
+    }
+
     public String getId() {
         return id;
     }
 
     public void setId(String id) {
+        checkNotFrozen();
         this.id = id;
     }
 
@@ -40,15 +116,83 @@ public class Record {
     }
 
     public void setInfo(String info) {
+        checkNotFrozen();
         this.info = info;
     }
 
+    /**
+     * @return - read only view of tags, null if record has no tag list
+     */
     public List<String> getTags() {
-        return tags;
+        if (tags != null) {
+            return Collections.unmodifiableList(Arrays.asList(tags));
+        }
+        return storedTags == null ? null : Collections.unmodifiableList(storedTags);
     }
 
+    /**
+     * Replace tags, tags are copied. A store replaces them by canonical instances of
+     * {@link TagDictionary} when storing the record. Stored tags of a jpa entity are replaced
+     * in place.
+     *
+     * @param tags - tags, null to clear tag list
+     */
     public void setTags(List<String> tags) {
-        this.tags = tags;
+        checkNotFrozen();
+        if (storedTags != null) {
+            List<String> copy = tags == null ? Collections.emptyList() : new ArrayList<>(tags);
+            storedTags.clear();
+            storedTags.addAll(copy);
+        }
+        this.tags = tags == null ? null : tags.toArray(new String[0]);
+    }
+
+    /**
+     * @param other - record to compare with
+     *
+     * @return - true if both records carry the same tags in same order
+     */
+    public boolean hasSameTags(Record other) {
+        if (tags != null && other.tags != null) {
+            return tags == other.tags || Arrays.equals(tags, other.tags);
+        }
+        return Objects.equals(getTags(), other.getTags());
+    }
+
+    /**
+     * Make record immutable, any later call of a setter fails. Called by a store before it
+     * publishes a version, readers seeing the version also see it frozen.
+     *
+     * @return - this record
+     */
+    public Record freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * @return - true if record is a stored version which can no longer be changed
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("record " + id + " is a stored version, change a copy instead");
+        }
+    }
+
+    /**
+     * Copy tags into the stored tag collection before a record is first persisted.
+     */
+    @PrePersist
+    void storeTags() {
+        if (storedTags == null) {
+            List<String> tags = getTags();
+            storedTags = tags == null ? new ArrayList<>() : new ArrayList<>(tags);
+        }
     }
 
     public Date getLastUpdated() {
@@ -56,6 +200,7 @@ public class Record {
     }
 
     public void setLastUpdated(Date lastUpdated) {
+        checkNotFrozen();
         this.lastUpdated = lastUpdated;
     }
 
@@ -64,9 +209,45 @@ public class Record {
     }
 
     public void setCreationDate(Date creationDate) {
+        checkNotFrozen();
         this.creationDate = creationDate;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        checkNotFrozen();
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return - time to live in seconds given when record was added, not stored
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    public Long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Long ttl) {
+        checkNotFrozen();
+        this.ttl = ttl;
+    }
+
+    /**
+     * @return - number of changes of record, 0 for records stored before versions were kept
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        checkNotFrozen();
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Record{" +
@@ -75,6 +256,8 @@ public class Record {
                 ", tags=" + getTags() +
                 ", lastUpdated=" + getLastUpdated() +
                 ", creationDate=" + getCreationDate() +
+                ", expiresAt=" + getExpiresAt() +
+                ", version=" + getVersion() +
                 '}';
     }
 
@@ -0,0 +1,52 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.RecordPage.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 11:40
+ * Description  : Model class for one page of records along with token to fetch next page
+ */
+public class RecordPage {
+
+    private List<Record> records;
+
+    private String next;
+
+    public RecordPage() {
+    }
+
+    public RecordPage(List<Record> records, String next) {
+        this.records = records;
+        this.next = next;
+    }
+
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<Record> records) {
+        this.records = records;
+    }
+
+    /**
+     * @return - opaque continuation token, null if this is the last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordPage{" +
+                "records=" + getRecords() +
+                ", next='" + getNext() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package com.lucky5.bookmarker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.ReplicatedWrite.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : Model class for outcome of a write forwarded to a replication leader, along
+ *                with the change feed epoch and sequence a follower has to reach to read it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplicatedWrite {
+
+    private long epoch;
+
+    private long sequence;
+
+    private boolean found;
+
+    private List<BatchItemResult> results;
+
+    private Record record;
+
+    public ReplicatedWrite() {
+    }
+
+    public ReplicatedWrite(long epoch, long sequence, boolean found, List<BatchItemResult> results) {
+        this(epoch, sequence, found, results, null);
+    }
+
+    public ReplicatedWrite(long epoch, long sequence, boolean found, List<BatchItemResult> results,
+                           Record record) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.found = found;
+        this.results = results;
+        this.record = record;
+    }
+
+    /**
+     * @return - epoch of change feed of leader sequence belongs to
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return - true if updated or deleted record was present
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    /**
+     * @return - results of added records, null for other writes
+     */
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * @return - new version of updated record, null for other writes
+     */
+    public Record getRecord() {
+        return record;
+    }
+
+    public void setRecord(Record record) {
+        this.record = record;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicatedWrite{" +
+                "epoch=" + getEpoch() +
+                ", sequence=" + getSequence() +
+                ", found=" + isFound() +
+                ", results=" + getResults() +
+                ", record=" + getRecord() +
+                '}';
+    }
+}
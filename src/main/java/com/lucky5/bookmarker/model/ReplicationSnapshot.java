@@ -0,0 +1,69 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.ReplicationSnapshot.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : Model class for all records of a replication leader along with the change
+ *                feed sequence they contain every change up to
+ */
+public class ReplicationSnapshot {
+
+    private long epoch;
+
+    private long sequence;
+
+    private List<Record> records;
+
+    public ReplicationSnapshot() {
+    }
+
+    public ReplicationSnapshot(long epoch, long sequence, List<Record> records) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.records = records;
+    }
+
+    /**
+     * @return - epoch of change feed of leader
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * @return - sequence to follow change feed of leader from. Records may also hold later
+     *           changes, applying those again leaves them as they are
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<Record> records) {
+        this.records = records;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicationSnapshot{" +
+                "epoch=" + getEpoch() +
+                ", sequence=" + getSequence() +
+                ", records=" + (getRecords() == null ? 0 : getRecords().size()) +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.lucky5.bookmarker.model;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.TagCount.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 21:30
+ * Description  : Model class for a tag along with number of records carrying it
+ */
+public class TagCount {
+
+    private String tag;
+
+    private long count;
+
+    public TagCount() {
+    }
+
+    public TagCount(String tag, long count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return tag + "=" + count;
+    }
+}
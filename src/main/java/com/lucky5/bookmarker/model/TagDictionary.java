@@ -0,0 +1,185 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.TagDictionary.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 15:40
+ * Description  : Global dictionary assigning every distinct tag of stored records a dense int
+ *                id and one canonical string instance. Stored records hold canonical tags, so
+ *                each distinct tag string is held once however many records carry it, indexes
+ *                refer to tags by id.
+ *
+ *                Dictionary counts the stored versions holding every tag. A store acquires the
+ *                tags of a version when storing it and releases them once the version is
+ *                replaced or removed. A tag no stored version holds any more is dropped, and
+ *                its id is handed out again, oldest dropped first. Older versions still being
+ *                read keep their canonical strings, so they never see a tag of a reused id.
+ *                Tags of records only read from requests are never acquired.
+ *
+ *                Counts are changed without locking, only assigning and dropping ids is
+ *                synchronized.
+ */
+public final class TagDictionary {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final TagDictionary GLOBAL = new TagDictionary();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // chunks of ids handed out so far, never moved, so counts can be changed while chunks are added
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    // ids of dropped tags, handed out again oldest first
+    private final ArrayDeque<Integer> free = new ArrayDeque<>();
+
+    private int size;
+
+    TagDictionary() {
+    }
+
+    /**
+     * @return - dictionary shared by all records
+     */
+    public static TagDictionary global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Count a stored version holding tags, tags seen for the first time get an id.
+     *
+     * @param tags - tags of version, may contain null
+     *
+     * @return - canonical instances of tags in same order, null tags kept
+     */
+    public List<String> acquire(List<String> tags) {
+        List<String> canonical = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            canonical.add(tag == null ? null : acquire(tag));
+        }
+        return canonical;
+    }
+
+    /**
+     * Count a stored version no longer holding tags, tags no version holds any more are
+     * dropped.
+     *
+     * @param tags - tags passed to {@link #acquire(List)} before
+     */
+    public void release(List<String> tags) {
+        for (String tag : tags) {
+            if (tag != null) {
+                Integer id = ids.get(tag);
+                if (id != null) {
+                    release(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get id of tag without assigning one.
+     *
+     * @param tag - tag
+     *
+     * @return - id of tag, -1 if no stored version holds tag
+     */
+    public int find(String tag) {
+        if (tag == null) {
+            return -1;
+        }
+        Integer id = ids.get(tag);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id - id returned by {@link #find(String)}
+     *
+     * @return - tag of id, tag last holding it if it got dropped since
+     */
+    public String tag(int id) {
+        return chunks[id / CHUNK_SIZE].tags.get(id % CHUNK_SIZE);
+    }
+
+    /**
+     * @return - number of tags held by stored versions
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    private String acquire(String tag) {
+        Integer id = ids.get(tag);
+        if (id != null) {
+            Chunk chunk = chunks[id / CHUNK_SIZE];
+            int index = id % CHUNK_SIZE;
+            for (int held = chunk.references.get(index); held > 0; held = chunk.references.get(index)) {
+                if (chunk.references.compareAndSet(index, held, held + 1)) {
+                    // id may have been dropped and handed to another tag since it was looked up
+                    String canonical = chunk.tags.get(index);
+                    if (canonical.equals(tag)) {
+                        return canonical;
+                    }
+                    release(id);
+                    break;
+                }
+            }
+        }
+
+        synchronized (this) {
+            id = ids.get(tag);
+            if (id != null) {
+                // count may have dropped to 0 without the tag being dropped yet, it stays
+                Chunk chunk = chunks[id / CHUNK_SIZE];
+                chunk.references.incrementAndGet(id % CHUNK_SIZE);
+                return chunk.tags.get(id % CHUNK_SIZE);
+            }
+
+            int next = free.isEmpty() ? size++ : free.poll();
+            if (next / CHUNK_SIZE == chunks.length) {
+                Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+                grown[chunks.length] = new Chunk();
+                chunks = grown;
+            }
+            // publish tag and count before id, readers resolving the id must find both
+            Chunk chunk = chunks[next / CHUNK_SIZE];
+            chunk.tags.set(next % CHUNK_SIZE, tag);
+            chunk.references.set(next % CHUNK_SIZE, 1);
+            ids.put(tag, next);
+            return tag;
+        }
+    }
+
+    private void release(int id) {
+        if (chunks[id / CHUNK_SIZE].references.decrementAndGet(id % CHUNK_SIZE) == 0) {
+            drop(id);
+        }
+    }
+
+    private synchronized void drop(int id) {
+        Chunk chunk = chunks[id / CHUNK_SIZE];
+        String tag = chunk.tags.get(id % CHUNK_SIZE);
+        // tag may have been acquired again, or dropped by another release already
+        if (chunk.references.get(id % CHUNK_SIZE) == 0 && ids.remove(tag, id)) {
+            free.add(id);
+        }
+    }
+
+    /**
+     * Tags and version counts of CHUNK_SIZE consecutive ids.
+     */
+    private static final class Chunk {
+
+        private final AtomicReferenceArray<String> tags = new AtomicReferenceArray<>(CHUNK_SIZE);
+        private final AtomicIntegerArray references = new AtomicIntegerArray(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,42 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.TagQueryResult.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:00
+ * Description  : Model class for result of a tag query, total number of matching records along
+ *                with the first of them
+ */
+public class TagQueryResult {
+
+    private long count;
+
+    private List<Record> records;
+
+    public TagQueryResult() {
+    }
+
+    public TagQueryResult(long count, List<Record> records) {
+        this.count = count;
+        this.records = records;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<Record> records) {
+        this.records = records;
+    }
+}
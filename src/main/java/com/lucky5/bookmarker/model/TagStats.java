@@ -0,0 +1,67 @@
+package com.lucky5.bookmarker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.TagStats.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 21:30
+ * Description  : Model class for tag statistics, number of records and distinct tags, the most
+ *                carried tags and counts of tags asked for
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TagStats {
+
+    private long records;
+
+    private int tags;
+
+    private List<TagCount> top;
+
+    private List<TagCount> counts;
+
+    public TagStats() {
+    }
+
+    public TagStats(long records, int tags, List<TagCount> top, List<TagCount> counts) {
+        this.records = records;
+        this.tags = tags;
+        this.top = top;
+        this.counts = counts;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public int getTags() {
+        return tags;
+    }
+
+    public void setTags(int tags) {
+        this.tags = tags;
+    }
+
+    public List<TagCount> getTop() {
+        return top;
+    }
+
+    public void setTop(List<TagCount> top) {
+        this.top = top;
+    }
+
+    public List<TagCount> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(List<TagCount> counts) {
+        this.counts = counts;
+    }
+}
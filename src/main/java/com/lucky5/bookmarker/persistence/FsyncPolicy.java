@@ -0,0 +1,27 @@
+package com.lucky5.bookmarker.persistence;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.FsyncPolicy.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:30
+ * Description  : When write ahead log forces written entries to disk. Only ALWAYS makes
+ *                writers wait, other policies may lose the most recent changes on a crash.
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Writers wait for fsync of the batch holding their entry.
+     */
+    ALWAYS,
+
+    /**
+     * Log is forced at a fixed interval, a crash loses at most about one interval of changes.
+     */
+    INTERVAL,
+
+    /**
+     * Log is never forced, flushing is left to the operating system.
+     */
+    NEVER
+}
@@ -0,0 +1,40 @@
+package com.lucky5.bookmarker.persistence;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.PersistenceConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:30
+ * Description  : Creates persistence components enabled through configuration
+ */
+@Configuration
+@EnableConfigurationProperties({WriteAheadLogProperties.class, SnapshotProperties.class})
+public class PersistenceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    RecordPersistence recordPersistence(WriteAheadLogProperties walProperties,
+                                        SnapshotProperties snapshotProperties) throws IOException {
+
+        WriteAheadLog writeAheadLog = null;
+        if (walProperties.isEnabled()) {
+            writeAheadLog = new WriteAheadLog(Paths.get(walProperties.getDirectory()), walProperties.getFsync(),
+                    walProperties.getFsyncInterval(), walProperties.getQueueCapacity());
+        }
+
+        Snapshotter snapshotter = null;
+        if (snapshotProperties.isEnabled()) {
+            snapshotter = new Snapshotter(Paths.get(snapshotProperties.getDirectory()));
+        }
+
+        return new RecordPersistence(writeAheadLog, snapshotter,
+                TimeUnit.SECONDS.toMillis(snapshotProperties.getInterval()));
+    }
+}
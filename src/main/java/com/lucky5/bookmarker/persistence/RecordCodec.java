@@ -0,0 +1,115 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.RecordCodec.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:30
+ * Description  : Binary encoding of records shared by the persistence formats
+ *
+ *                Record : id, info, created, updated, tag count (int, -1 for null), tags,
+ *                         expires (since version 2), version (long, since version 3)
+ */
+public final class RecordCodec {
+
+    /**
+     * Version of record encoding written, version 1 records carry no expiry, version 2
+     * records no record version.
+     */
+    public static final int VERSION = 3;
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private RecordCodec() {
+    }
+
+    public static void writeRecord(DataOutput out, Record record) throws IOException {
+        writeString(out, record.getId());
+        writeString(out, record.getInfo());
+        writeDate(out, record.getCreationDate());
+        writeDate(out, record.getLastUpdated());
+
+        List<String> tags = record.getTags();
+        if (tags == null) {
+            out.writeInt(NULL_LENGTH);
+        } else {
+            out.writeInt(tags.size());
+            for (String tag : tags) {
+                writeString(out, tag);
+            }
+        }
+        writeDate(out, record.getExpiresAt());
+        out.writeLong(record.getVersion());
+    }
+
+    public static Record readRecord(ByteBuffer in) {
+        return readRecord(in, VERSION);
+    }
+
+    /**
+     * @param version - version of record encoding, see {@link #VERSION}
+     */
+    public static Record readRecord(ByteBuffer in, int version) {
+        Record record = new Record();
+        record.setId(readString(in));
+        record.setInfo(readString(in));
+        record.setCreationDate(readDate(in));
+        record.setLastUpdated(readDate(in));
+
+        int tagCount = in.getInt();
+        if (tagCount != NULL_LENGTH) {
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(readString(in));
+            }
+            record.setTags(tags);
+        }
+        if (version >= 2) {
+            record.setExpiresAt(readDate(in));
+        }
+        if (version >= 3) {
+            record.setVersion(in.getLong());
+        }
+        return record;
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeDate(DataOutput out, Date date) throws IOException {
+        out.writeLong(date == null ? NULL_DATE : date.getTime());
+    }
+
+    public static Date readDate(ByteBuffer in) {
+        long time = in.getLong();
+        return time == NULL_DATE ? null : new Date(time);
+    }
+}
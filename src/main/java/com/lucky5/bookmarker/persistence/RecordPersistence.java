@@ -0,0 +1,166 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.store.RecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.RecordPersistence.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 14:10
+ * Description  : Combines snapshots and write ahead log. Startup loads latest snapshot and
+ *                replays only log entries written after it, snapshots are taken periodically
+ *                in background after which log segments covered by the snapshot are deleted.
+ *                Either part may be absent.
+ */
+public class RecordPersistence implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordPersistence.class);
+
+    private final WriteAheadLog writeAheadLog;
+    private final Snapshotter snapshotter;
+    private final long snapshotIntervalMillis;
+
+    private RecordStore store;
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    /**
+     * @param writeAheadLog - {@link WriteAheadLog}, null if disabled
+     * @param snapshotter - {@link Snapshotter}, null if disabled
+     * @param snapshotIntervalMillis - interval between background snapshots, 0 to disable
+     */
+    public RecordPersistence(WriteAheadLog writeAheadLog, Snapshotter snapshotter, long snapshotIntervalMillis) {
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotter = snapshotter;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    /**
+     * Restore records into store and start persisting its changes.
+     *
+     * @param store - store to restore, listeners which need restored records must be
+     *                registered already
+     */
+    public synchronized void recover(RecordStore store) throws IOException {
+
+        if (this.store != null) {
+            throw new IllegalStateException("records already recovered");
+        }
+
+        long start = System.nanoTime();
+        long sequence = 0;
+
+        if (snapshotter != null) {
+            sequence = snapshotter.load(store);
+            log.info("loaded {} records from snapshot in {} ms", store.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        if (writeAheadLog != null) {
+            writeAheadLog.recover(store, sequence);
+            store.addListener(writeAheadLog);
+        }
+
+        this.store = store;
+
+        log.info("restored {} records in {} ms", store.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (snapshotter != null && snapshotIntervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(runnable, "bookmarker-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotIntervalMillis,
+                    snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write a snapshot of store without blocking writers and delete log segments it covers.
+     *
+     * @return - number of records in snapshot
+     */
+    public synchronized long snapshot() throws IOException {
+
+        if (snapshotter == null) {
+            throw new IllegalStateException("snapshots are disabled");
+        }
+        if (store == null) {
+            throw new IllegalStateException("records not recovered");
+        }
+
+        long start = System.nanoTime();
+
+        // every change after this sequence goes to a new segment and is replayed on top
+        long sequence = writeAheadLog == null ? 0 : writeAheadLog.roll();
+        long count = snapshotter.write(store.values(), sequence);
+
+        int deleted = 0;
+        if (writeAheadLog != null) {
+            deleted = writeAheadLog.deleteSegmentsUpTo(sequence);
+        }
+
+        log.info("wrote snapshot of {} records in {} ms, deleted {} log segments", count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), deleted);
+
+        return count;
+    }
+
+    /**
+     * Wait until changes made by calling thread are durable as required by log fsync policy.
+     */
+    public void sync() {
+        if (writeAheadLog != null) {
+            writeAheadLog.sync();
+        }
+    }
+
+    /**
+     * Stop background snapshots, take a final snapshot and close log.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+
+        try {
+            if (snapshotter != null && store != null) {
+                snapshot();
+            }
+        } finally {
+            if (writeAheadLog != null) {
+                writeAheadLog.close();
+            }
+        }
+    }
+
+    private synchronized void scheduledSnapshot() {
+        if (closed) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            // log still holds every change, retry on next run
+            log.error("snapshot failed", ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.lucky5.bookmarker.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.SnapshotProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 14:10
+ * Description  : Settings of record snapshots, bound from bookmarker.snapshot.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Load snapshot on startup and write snapshots periodically and on shutdown.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding snapshot file.
+     */
+    private String directory = "data";
+
+    /**
+     * Seconds between background snapshots, 0 to only snapshot on shutdown.
+     */
+    private long interval = 600;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public void setInterval(long interval) {
+        this.interval = interval;
+    }
+}
@@ -0,0 +1,269 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.Snapshotter.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 14:10
+ * Description  : Compact binary snapshot of all records. Tags are replaced by ids into a
+ *                dictionary stored once at the end of the file, so a tag used by a million
+ *                records costs four bytes per record. Snapshot is written to a temporary
+ *                file and moved in place once complete, a crash while writing leaves the
+ *                previous snapshot untouched. Loading maps the file read only instead of
+ *                streaming it through a heap buffer.
+ *
+ *                File layout : magic (int), format version (int), wal sequence (long),
+ *                              record count (long), dictionary offset (long),
+ *                              records, dictionary, magic (int)
+ *                Record      : length (int), id, info, created, updated,
+ *                              tag count (int, -1 for null), tag ids (int),
+ *                              expires (since version 2), version (long, since version 3)
+ *                Dictionary  : tag count (int), tags
+ */
+public class Snapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(Snapshotter.class);
+
+    static final String FILE_NAME = "bookmarks.snapshot";
+    private static final String TEMP_FILE_NAME = FILE_NAME + ".tmp";
+
+    private static final int MAGIC = 0x424d534e;
+    private static final int FORMAT_VERSION = 3;
+    // oldest format still loaded
+    private static final int MIN_FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int NULL_LENGTH = -1;
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    private final Path directory;
+
+    /**
+     * @param directory - directory holding snapshot file, created if missing
+     */
+    public Snapshotter(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+    }
+
+    /**
+     * Write snapshot of given records. Records are read one by one while writers carry on,
+     * so snapshot holds for every record some version at least as recent as the one stored
+     * when this method was called. Log entries after walSequence must be replayed on top.
+     *
+     * @param records - records to write, may change while being written
+     * @param walSequence - sequence of last log entry already applied to records
+     *
+     * @return - number of records written
+     */
+    public long write(Iterable<Record> records, long walSequence) throws IOException {
+
+        Path temp = directory.resolve(TEMP_FILE_NAME);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> tags = new ArrayList<>();
+        long count = 0;
+        long position = HEADER_SIZE;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel.position(HEADER_SIZE)), 1 << 16));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream entry = new DataOutputStream(bytes);
+
+            for (Record record : records) {
+                bytes.reset();
+                RecordCodec.writeString(entry, record.getId());
+                RecordCodec.writeString(entry, record.getInfo());
+                RecordCodec.writeDate(entry, record.getCreationDate());
+                RecordCodec.writeDate(entry, record.getLastUpdated());
+
+                List<String> recordTags = record.getTags();
+                if (recordTags == null) {
+                    entry.writeInt(NULL_LENGTH);
+                } else {
+                    entry.writeInt(recordTags.size());
+                    for (String tag : recordTags) {
+                        Integer tagId = dictionary.get(tag);
+                        if (tagId == null) {
+                            tagId = tags.size();
+                            dictionary.put(tag, tagId);
+                            tags.add(tag);
+                        }
+                        entry.writeInt(tagId);
+                    }
+                }
+                RecordCodec.writeDate(entry, record.getExpiresAt());
+                entry.writeLong(record.getVersion());
+
+                out.writeInt(bytes.size());
+                bytes.writeTo(out);
+                position += 4 + bytes.size();
+                count++;
+            }
+
+            long dictionaryOffset = position;
+            out.writeInt(tags.size());
+            for (String tag : tags) {
+                RecordCodec.writeString(out, tag);
+            }
+            out.writeInt(MAGIC);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(walSequence)
+                    .putLong(count).putLong(dictionaryOffset).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        return count;
+    }
+
+    /**
+     * Load latest snapshot into store.
+     *
+     * @param store - store to restore records into
+     *
+     * @return - sequence of last log entry covered by snapshot, 0 if there is no snapshot
+     */
+    public long load(RecordStore store) throws IOException {
+
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            MappedReader reader = new MappedReader(channel);
+
+            ByteBuffer header = reader.window(0, HEADER_SIZE);
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != MAGIC || version < MIN_FORMAT_VERSION || version > FORMAT_VERSION) {
+                throw new IOException("unsupported snapshot " + file);
+            }
+            long walSequence = header.getLong();
+            long count = header.getLong();
+            long dictionaryOffset = header.getLong();
+
+            if (reader.window(channel.size() - 4, 4).getInt() != MAGIC) {
+                throw new IOException("incomplete snapshot " + file);
+            }
+
+            // dictionary first, so records can share a single instance of every tag
+            long position = dictionaryOffset;
+            String[] tags = new String[reader.window(position, 4).getInt()];
+            position += 4;
+            for (int i = 0; i < tags.length; i++) {
+                int length = reader.window(position, 4).getInt();
+                position += 4;
+                if (length != NULL_LENGTH) {
+                    tags[i] = readString(reader.window(position, length), length);
+                    position += length;
+                }
+            }
+
+            position = HEADER_SIZE;
+            for (long i = 0; i < count; i++) {
+                int length = reader.window(position, 4).getInt();
+                store.put(readRecord(reader.window(position + 4, length), tags, version));
+                position += 4 + length;
+            }
+
+            return walSequence;
+        }
+    }
+
+    private static Record readRecord(ByteBuffer in, String[] tags, int version) {
+
+        Record record = new Record();
+        record.setId(RecordCodec.readString(in));
+        record.setInfo(RecordCodec.readString(in));
+        record.setCreationDate(RecordCodec.readDate(in));
+        record.setLastUpdated(RecordCodec.readDate(in));
+
+        int tagCount = in.getInt();
+        if (tagCount != NULL_LENGTH) {
+            String[] recordTags = new String[tagCount];
+            for (int i = 0; i < tagCount; i++) {
+                recordTags[i] = tags[in.getInt()];
+            }
+            record.setTags(Arrays.asList(recordTags));
+        }
+        if (version >= 2) {
+            record.setExpiresAt(RecordCodec.readDate(in));
+        }
+        if (version >= 3) {
+            record.setVersion(in.getLong());
+        }
+        return record;
+    }
+
+    private static String readString(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps a file through a sliding read only window, a single mapping is limited to 2GB.
+     */
+    private static final class MappedReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer mapped;
+        private long start;
+
+        private MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /**
+         * @return - buffer positioned at given file offset with at least length bytes remaining
+         */
+        private ByteBuffer window(long position, int length) throws IOException {
+
+            if (length < 0 || position < 0 || position + length > size) {
+                throw new EOFException("snapshot entry out of bounds at " + position);
+            }
+
+            if (mapped == null || position < start || position + length > start + mapped.capacity()) {
+                start = position;
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(size - start, Math.max(WINDOW_SIZE, length)));
+            }
+
+            mapped.position((int) (position - start));
+            return mapped;
+        }
+    }
+}
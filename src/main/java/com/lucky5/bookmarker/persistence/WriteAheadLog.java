@@ -0,0 +1,572 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordListener;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.WriteAheadLog.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:30
+ * Description  : Append only log of record store changes. Entries are appended in store order
+ *                while the record write lock is held, a single writer thread drains them in
+ *                batches into the log file so that one write and one fsync cover every entry
+ *                queued meanwhile (group commit). Every entry carries the full record, which
+ *                makes replay idempotent.
+ *
+ *                Log is split into segments named after sequence of their first entry, so
+ *                that segments covered by a snapshot can be deleted as a whole.
+ *
+ *                Segment layout : magic (int), format version (int), entries
+ *                                 version 1 segments hold records without expiry,
+ *                                 version 2 segments records without record version
+ *                Entry layout   : payload length (int), crc32 of payload (int),
+ *                                 payload = sequence (long), type (byte), body
+ */
+public class WriteAheadLog implements RecordListener, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "bookmarks-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private static final int MAGIC = 0x424d574c;
+    private static final int FORMAT_VERSION = 3;
+    // oldest format still replayed
+    private static final int MIN_FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int MIN_PAYLOAD_SIZE = 9;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte PUT_BATCH = 3;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+
+    private final Object appendLock = new Object();
+    private final Object progressLock = new Object();
+    private final ThreadLocal<long[]> lastAppended = ThreadLocal.withInitial(() -> new long[1]);
+
+    // guarded by appendLock
+    private long nextSequence;
+
+    // owned by writer thread once recovered
+    private FileChannel channel;
+    private Path segment;
+
+    private volatile long segmentStart;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * @param directory - directory holding log segments, created if missing
+     * @param fsyncPolicy - {@link FsyncPolicy}
+     * @param fsyncIntervalMillis - interval between forces for {@link FsyncPolicy#INTERVAL}
+     * @param queueCapacity - entries buffered before appending threads are blocked
+     */
+    public WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                         int queueCapacity) throws IOException {
+
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, fsyncIntervalMillis));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Replay log into store and start accepting entries. A torn or corrupt tail, left by a
+     * crash in the middle of a write, is cut off.
+     *
+     * @param store - store to restore records into
+     * @param afterSequence - entries up to this sequence are already part of store
+     *
+     * @return - number of entries replayed
+     */
+    public long recover(RecordStore store, long afterSequence) throws IOException {
+
+        if (running) {
+            throw new IllegalStateException("write ahead log already recovered");
+        }
+
+        TreeMap<Long, Path> segments = segments();
+        long lastSequence = afterSequence;
+        long entries = 0;
+
+        for (Path path : segments.values()) {
+            try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+
+                long[] result = replay(path, segmentChannel, store, afterSequence);
+                entries += result[0];
+                lastSequence = Math.max(lastSequence, result[1]);
+            }
+        }
+
+        if (!segments.isEmpty()) {
+            lastSequence = Math.max(lastSequence, segments.lastKey() - 1);
+        }
+
+        nextSequence = lastSequence;
+        writtenSequence = lastSequence;
+        durableSequence = lastSequence;
+
+        openSegment(lastSequence + 1);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "bookmarker-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("replayed {} entries from {}", entries, directory);
+
+        return entries;
+    }
+
+    /**
+     * Block until the last entry appended by calling thread is forced to disk. Only policy
+     * {@link FsyncPolicy#ALWAYS} waits, other policies accept losing recent entries in
+     * exchange for not paying a hand off to writer thread on every change.
+     */
+    public void sync() {
+
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+            checkFailure();
+            return;
+        }
+
+        awaitDurable(lastAppended.get()[0]);
+    }
+
+    /**
+     * Start a new segment for entries appended from now on, returns once previous segment
+     * is closed.
+     *
+     * @return - sequence of last entry in previous segments
+     */
+    public long roll() {
+
+        if (!running) {
+            throw new IllegalStateException("write ahead log is not open");
+        }
+
+        long sequence;
+        synchronized (appendLock) {
+            sequence = nextSequence;
+            enqueue(new Pending(null, sequence));
+        }
+
+        synchronized (progressLock) {
+            while (segmentStart <= sequence) {
+                checkFailure();
+                try {
+                    progressLock.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted waiting for write ahead log", ex);
+                }
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Delete segments holding only entries up to given sequence, e.g. once they are covered
+     * by a snapshot. Segment currently appended to is never deleted.
+     *
+     * @param sequence - sequence up to which entries are no longer needed
+     *
+     * @return - number of deleted segments
+     */
+    public int deleteSegmentsUpTo(long sequence) throws IOException {
+
+        TreeMap<Long, Path> segments = segments();
+        int deleted = 0;
+
+        for (Long first : segments.keySet()) {
+            Long next = segments.higherKey(first);
+            if (next == null || next > sequence + 1) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(first));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * @return - sequence of last entry appended to log
+     */
+    public long lastSequence() {
+        synchronized (appendLock) {
+            return nextSequence;
+        }
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        append(PUT, (out) -> RecordCodec.writeRecord(out, record));
+    }
+
+    @Override
+    public void recordsAdded(List<Record> records) {
+        append(PUT_BATCH, (out) -> {
+            out.writeInt(records.size());
+            for (Record record : records) {
+                RecordCodec.writeRecord(out, record);
+            }
+        });
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        append(PUT, (out) -> RecordCodec.writeRecord(out, current));
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        append(REMOVE, (out) -> RecordCodec.writeString(out, record.getId()));
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (running) {
+            running = false;
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (channel != null && channel.isOpen()) {
+            if (failure == null && fsyncPolicy != FsyncPolicy.NEVER) {
+                channel.force(false);
+            }
+            channel.close();
+        }
+    }
+
+    private long[] replay(Path path, FileChannel segmentChannel, RecordStore store,
+                          long afterSequence) throws IOException {
+
+        long size = segmentChannel.size();
+        long entries = 0;
+        long lastSequence = 0;
+        long position = FILE_HEADER_SIZE;
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(segmentChannel.position(0)), 1 << 16));
+
+        int version = FORMAT_VERSION;
+        if (size < FILE_HEADER_SIZE) {
+            position = 0;
+        } else if (in.readInt() != MAGIC || (version = in.readInt()) < MIN_FORMAT_VERSION
+                || version > FORMAT_VERSION) {
+            throw new IOException("unsupported write ahead log segment " + path);
+        }
+
+        CRC32 crc = new CRC32();
+
+        while (position > 0 && position + ENTRY_HEADER_SIZE <= size) {
+
+            int length = in.readInt();
+            int checksum = in.readInt();
+
+            if (length < MIN_PAYLOAD_SIZE || position + ENTRY_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            ByteBuffer entry = ByteBuffer.wrap(payload);
+            lastSequence = entry.getLong();
+            byte type = entry.get();
+
+            if (lastSequence > afterSequence) {
+                if (type == PUT) {
+                    store.put(RecordCodec.readRecord(entry, version));
+                } else if (type == REMOVE) {
+                    store.remove(RecordCodec.readString(entry));
+                } else if (type == PUT_BATCH) {
+                    for (int count = entry.getInt(); count > 0; count--) {
+                        store.put(RecordCodec.readRecord(entry, version));
+                    }
+                } else {
+                    throw new IOException("unknown entry type " + type + " in " + path);
+                }
+                entries++;
+            }
+
+            position += ENTRY_HEADER_SIZE + length;
+        }
+
+        if (position < size) {
+            log.warn("truncating {} bytes of incomplete entries from {}", size - position, path);
+            segmentChannel.truncate(position);
+            segmentChannel.force(true);
+        }
+
+        return new long[]{entries, lastSequence};
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // a segment without entries may be left by an older version, its header is rewritten
+        if (segmentChannel.size() <= FILE_HEADER_SIZE) {
+            segmentChannel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            segmentChannel.write(header, 0);
+            segmentChannel.force(true);
+        }
+        segmentChannel.position(segmentChannel.size());
+
+        if (channel != null) {
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                channel.force(false);
+            }
+            channel.close();
+        }
+
+        channel = segmentChannel;
+        segment = path;
+        segmentStart = firstSequence;
+    }
+
+    private TreeMap<Long, Path> segments() throws IOException {
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                String sequence = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    segments.put(Long.parseLong(sequence), path);
+                } catch (NumberFormatException ex) {
+                    log.warn("ignoring unexpected file {} in write ahead log directory", path);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private void append(byte type, EntryBody body) {
+
+        if (!running) {
+            throw new IllegalStateException("write ahead log is not open");
+        }
+        checkFailure();
+
+        ByteBuffer entry;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeLong(0);
+            out.writeByte(type);
+            body.write(out);
+            entry = ByteBuffer.wrap(bytes.toByteArray());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        entry.putInt(0, entry.capacity() - ENTRY_HEADER_SIZE);
+
+        long sequence;
+        synchronized (appendLock) {
+            sequence = ++nextSequence;
+            entry.putLong(ENTRY_HEADER_SIZE, sequence);
+            enqueue(new Pending(entry, sequence));
+        }
+
+        lastAppended.get()[0] = sequence;
+    }
+
+    private void enqueue(Pending pending) {
+        try {
+            // blocks appending threads once writer falls behind by a full queue
+            queue.put(pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted appending to write ahead log", ex);
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+
+        if (durableSequence >= sequence) {
+            return;
+        }
+
+        synchronized (progressLock) {
+            while (durableSequence < sequence) {
+                checkFailure();
+                try {
+                    progressLock.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted waiting for write ahead log", ex);
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+
+        List<Pending> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        List<ByteBuffer> buffers = new ArrayList<>(MAX_BATCH_SIZE);
+        CRC32 crc = new CRC32();
+        long pollNanos = fsyncPolicy == FsyncPolicy.INTERVAL ? fsyncIntervalNanos : IDLE_POLL_NANOS;
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+
+        try {
+            while (running || !queue.isEmpty()) {
+
+                Pending first = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                    for (Pending pending : batch) {
+                        if (pending.entry != null) {
+                            ByteBuffer entry = pending.entry;
+                            crc.reset();
+                            crc.update(entry.array(), ENTRY_HEADER_SIZE, entry.capacity() - ENTRY_HEADER_SIZE);
+                            entry.putInt(4, (int) crc.getValue());
+                            buffers.add(entry);
+                            continue;
+                        }
+
+                        // roll marker, entries queued before it belong to current segment
+                        write(buffers);
+                        openSegment(pending.sequence + 1);
+                        lastForce = System.nanoTime();
+                        dirty = false;
+                        publish(pending.sequence, pending.sequence);
+                    }
+
+                    write(buffers);
+
+                    long sequence = batch.get(batch.size() - 1).sequence;
+                    batch.clear();
+
+                    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                        channel.force(false);
+                        lastForce = System.nanoTime();
+                        publish(sequence, sequence);
+                    } else {
+                        dirty = true;
+                        publish(sequence, durableSequence);
+                    }
+                }
+
+                if (dirty && fsyncPolicy == FsyncPolicy.INTERVAL
+                        && System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+                    channel.force(false);
+                    lastForce = System.nanoTime();
+                    dirty = false;
+                    publish(writtenSequence, writtenSequence);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("write ahead log {} failed, no further changes can be persisted", segment, ex);
+            failure = ex;
+            publish(writtenSequence, durableSequence);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<ByteBuffer> buffers) throws IOException {
+
+        if (buffers.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[buffers.size()]);
+        ByteBuffer last = array[array.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(array);
+        }
+        buffers.clear();
+    }
+
+    private void publish(long written, long durable) {
+        synchronized (progressLock) {
+            writtenSequence = written;
+            durableSequence = durable;
+            progressLock.notifyAll();
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("write ahead log failed", failure);
+        }
+    }
+
+    /**
+     * Entry waiting for writer thread, entry is null for a request to roll segment.
+     */
+    private static final class Pending {
+
+        private final ByteBuffer entry;
+        private final long sequence;
+
+        private Pending(ByteBuffer entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
+    }
+
+    private interface EntryBody {
+        void write(DataOutput out) throws IOException;
+    }
+}
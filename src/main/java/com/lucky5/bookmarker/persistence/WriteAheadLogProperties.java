@@ -0,0 +1,79 @@
+package com.lucky5.bookmarker.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.WriteAheadLogProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:30
+ * Description  : Settings of write ahead log, bound from bookmarker.wal.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.wal")
+public class WriteAheadLogProperties {
+
+    /**
+     * Persist changes to write ahead log and replay it on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding log files.
+     */
+    private String directory = "data";
+
+    /**
+     * When log is forced to disk, one of always, interval or never.
+     */
+    private FsyncPolicy fsync = FsyncPolicy.INTERVAL;
+
+    /**
+     * Milliseconds between forces when fsync is interval.
+     */
+    private long fsyncInterval = 100;
+
+    /**
+     * Entries buffered before writers are blocked.
+     */
+    private int queueCapacity = 65536;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public FsyncPolicy getFsync() {
+        return fsync;
+    }
+
+    public void setFsync(FsyncPolicy fsync) {
+        this.fsync = fsync;
+    }
+
+    public long getFsyncInterval() {
+        return fsyncInterval;
+    }
+
+    public void setFsyncInterval(long fsyncInterval) {
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,51 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.Leader.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : Replication leader as seen by followers. Followers load a snapshot once,
+ *                then follow the change feed of the leader. Writes made on a follower are
+ *                forwarded to the leader, the returned epoch and sequence tell when the
+ *                follower can read them. Invalid input is reported with {@link IllegalArgumentException}
+ *                whether leader is local or remote.
+ */
+public interface Leader {
+
+    /**
+     * @return - all records of leader
+     */
+    ReplicationSnapshot snapshot();
+
+    /**
+     * Read changes following a sequence, waiting up to timeout for one if there are none yet.
+     *
+     * @throws IllegalStateException - if changes following after are no longer kept by leader
+     */
+    ChangeBatch changes(final long after, final int limit, final long timeout);
+
+    /**
+     * Add records, see {@link com.lucky5.bookmarker.services.BookmarkerService#addRecords}.
+     */
+    ReplicatedWrite add(final List<Record> records);
+
+    /**
+     * Update record if it is at expected version, see
+     * {@link com.lucky5.bookmarker.services.BookmarkerService#updateRecord(Record, Long)}.
+     * Version conflicts are reported with
+     * {@link com.lucky5.bookmarker.services.VersionConflictException}.
+     */
+    ReplicatedWrite update(final Record record, final Long expectedVersion);
+
+    ReplicatedWrite updateTags(final String id, final List<String> tags);
+
+    ReplicatedWrite delete(final String id);
+}
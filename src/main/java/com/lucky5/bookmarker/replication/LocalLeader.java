@@ -0,0 +1,91 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.ChangeEvent;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.LocalLeader.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : This node as replication leader, records served by its
+ *                {@link BookmarkerServiceImpl} and changes by its {@link ChangeFeed}.
+ *                Sequences of writes are read after the write, they may also cover later
+ *                writes of other clients.
+ */
+public class LocalLeader implements Leader {
+
+    private final BookmarkerServiceImpl service;
+    private final ChangeFeed changeFeed;
+
+    public LocalLeader(BookmarkerServiceImpl service, ChangeFeed changeFeed) {
+        this.service = service;
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Sequence is read before records, every change up to it is visible in records.
+     */
+    @Override
+    public ReplicationSnapshot snapshot() {
+        long sequence = changeFeed.lastSequence();
+        return new ReplicationSnapshot(changeFeed.epoch(), sequence, service.getAllRecords());
+    }
+
+    @Override
+    public ChangeBatch changes(long after, int limit, long timeout) {
+        List<ChangeEvent> events = changeFeed.read(after, limit);
+
+        if (events.isEmpty() && timeout > 0) {
+            CountDownLatch changed = new CountDownLatch(1);
+            Runnable callback = changed::countDown;
+            changeFeed.await(after, callback);
+            try {
+                changed.await(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                changeFeed.cancel(callback);
+            }
+            events = changeFeed.read(after, limit);
+        }
+
+        long last = events.isEmpty() ? after : events.get(events.size() - 1).getSequence();
+        return new ChangeBatch(events, last, changeFeed.lastSequence(), changeFeed.epoch());
+    }
+
+    @Override
+    public ReplicatedWrite add(List<Record> records) {
+        List<BatchItemResult> results = service.addRecords(records);
+        return new ReplicatedWrite(changeFeed.epoch(), changeFeed.lastSequence(), true, results);
+    }
+
+    @Override
+    public ReplicatedWrite update(Record record, Long expectedVersion) {
+        Record updated = service.updateRecord(record, expectedVersion);
+        return new ReplicatedWrite(changeFeed.epoch(), changeFeed.lastSequence(), true, null, updated);
+    }
+
+    @Override
+    public ReplicatedWrite updateTags(String id, List<String> tags) {
+        Record record = service.getRecord(id);
+        boolean found = record != null && service.updateTags(record, tags);
+        return new ReplicatedWrite(changeFeed.epoch(), changeFeed.lastSequence(), found, null);
+    }
+
+    @Override
+    public ReplicatedWrite delete(String id) {
+        boolean found = service.deleteRecord(id);
+        return new ReplicatedWrite(changeFeed.epoch(), changeFeed.lastSequence(), found, null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+import com.lucky5.bookmarker.services.VersionConflictException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.RemoteLeader.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : Replication leader reached through its change feed and /replication
+ *                endpoints. Requests answered with 400 are reported as
+ *                {@link IllegalArgumentException} carrying the message of the leader, with 412
+ *                as {@link VersionConflictException}, changes answered with 410 as
+ *                {@link IllegalStateException}.
+ */
+public class RemoteLeader implements Leader {
+
+    private final String leader;
+    private final RestTemplate restTemplate;
+
+    /**
+     * @param leader - base url of leader, for example http://localhost:8080
+     * @param restTemplate - {@link RestTemplate} sending requests, read timeout longer than
+     *                       the timeout changes are waited for
+     */
+    public RemoteLeader(String leader, RestTemplate restTemplate) {
+        this.leader = leader;
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public ReplicationSnapshot snapshot() {
+        return call(() -> restTemplate.getForObject(uri("/replication/snapshot"), ReplicationSnapshot.class));
+    }
+
+    @Override
+    public ChangeBatch changes(long after, int limit, long timeout) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(leader).path("/records/changes")
+                .queryParam("since", after)
+                .queryParam("limit", limit)
+                .queryParam("timeout", timeout)
+                .build().toUri();
+        return call(() -> {
+            try {
+                return restTemplate.getForObject(uri, ChangeBatch.class);
+            } catch (HttpClientErrorException ex) {
+                if (ex.getStatusCode() == HttpStatus.GONE) {
+                    throw new IllegalStateException("changes after " + after + " are gone on " + leader, ex);
+                }
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * Records are sent as maps, ttl of a record is never written as JSON.
+     */
+    @Override
+    public ReplicatedWrite add(List<Record> records) {
+        List<Map<String, Object>> body = new ArrayList<>(records.size());
+        for (Record record : records) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            if (record != null) {
+                item.put("info", record.getInfo());
+                item.put("tags", record.getTags());
+                item.put("ttl", record.getTtl());
+            }
+            body.add(record == null ? null : item);
+        }
+        return call(() -> restTemplate.postForObject(uri("/replication/records"), body, ReplicatedWrite.class));
+    }
+
+    @Override
+    public ReplicatedWrite update(Record record, Long expectedVersion) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(leader).path("/replication/records/{id}")
+                .queryParam("expectedVersion", expectedVersion)
+                .buildAndExpand(record.getId()).encode().toUri();
+        return exchange(uri, HttpMethod.PUT, new HttpEntity<>(record));
+    }
+
+    @Override
+    public ReplicatedWrite updateTags(String id, List<String> tags) {
+        return exchange(uri("/replication/records/{id}/tags", id), HttpMethod.PUT, new HttpEntity<>(tags));
+    }
+
+    @Override
+    public ReplicatedWrite delete(String id) {
+        return exchange(uri("/replication/records/{id}", id), HttpMethod.DELETE, null);
+    }
+
+    @Override
+    public String toString() {
+        return leader;
+    }
+
+    private ReplicatedWrite exchange(URI uri, HttpMethod method, HttpEntity<?> body) {
+        return call(() -> restTemplate.exchange(uri, method, body, ReplicatedWrite.class).getBody());
+    }
+
+    private URI uri(String path, Object... variables) {
+        return UriComponentsBuilder.fromHttpUrl(leader).path(path).buildAndExpand(variables).encode().toUri();
+    }
+
+    private static <T> T call(Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                throw new IllegalArgumentException(ex.getResponseBodyAsString(), ex);
+            }
+            if (ex.getStatusCode() == HttpStatus.PRECONDITION_FAILED) {
+                throw new VersionConflictException(ex.getResponseBodyAsString());
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import com.lucky5.bookmarker.services.ReplicaBookmarkerService;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.ReplicationConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:50
+ * Description  : Creates the leader serving followers, or the follower and the replica
+ *                service in front of the local service, depending on role of this node
+ */
+@Configuration
+@ConditionalOnRecordStore
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "leader")
+    LocalLeader localLeader(BookmarkerServiceImpl bookmarkerServiceImpl, ChangeFeed changeFeed) {
+        return new LocalLeader(bookmarkerServiceImpl, changeFeed);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "follower")
+    RestTemplate replicationRestTemplate(RestTemplateBuilder builder, ReplicationProperties properties) {
+        return builder.setConnectTimeout(properties.getConnectTimeout())
+                .setReadTimeout(properties.getReadTimeout())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "follower")
+    RemoteLeader remoteLeader(ReplicationProperties properties,
+                              @Qualifier("replicationRestTemplate") RestTemplate restTemplate) {
+        if (properties.getLeader() == null) {
+            throw new IllegalArgumentException("bookmarker.replication.leader must be set on followers");
+        }
+        return new RemoteLeader(properties.getLeader(), restTemplate);
+    }
+
+    /**
+     * Follower starts once service has restored records, restored records no longer on the
+     * leader are removed by the first load.
+     */
+    @Bean(destroyMethod = "close")
+    @DependsOn("bookmarkerServiceImpl")
+    @ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "follower")
+    ReplicationFollower replicationFollower(RemoteLeader remoteLeader, BookmarkerServiceImpl bookmarkerServiceImpl,
+                                            RecordStore recordStore, ReplicationProperties properties) {
+        ReplicationFollower follower = new ReplicationFollower(remoteLeader, bookmarkerServiceImpl, recordStore,
+                properties.getBatchSize(), properties.getPollTimeout());
+        follower.start();
+        return follower;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "bookmarker.replication", name = "role", havingValue = "follower")
+    ReplicaBookmarkerService replicaBookmarkerService(BookmarkerServiceImpl bookmarkerServiceImpl,
+                                                      RemoteLeader remoteLeader,
+                                                      ReplicationFollower replicationFollower,
+                                                      ReplicationProperties properties) {
+        return new ReplicaBookmarkerService(bookmarkerServiceImpl, remoteLeader, replicationFollower,
+                properties.getConsistency(), properties.getMaxStaleness(), properties.getWaitTimeout());
+    }
+}
@@ -0,0 +1,303 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.ChangeEvent;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import com.lucky5.bookmarker.store.RecordStore;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.ReplicationFollower.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:40
+ * Description  : Keeps records of this node a copy of the records of a leader. Records of the
+ *                leader are loaded once, then a background thread long polls the change feed
+ *                of the leader and applies changes in order through the local service, so
+ *                indexes, change feed and write ahead log of the follower see them like any
+ *                other change. Changes carry the whole record, applying a change twice leaves
+ *                the record as it is.
+ *
+ *                Records are loaded again when the leader no longer keeps the changes
+ *                following the last applied one, or when its feed started over.
+ *
+ *                Follower is caught up when a poll returned every change of the leader up to
+ *                its latest, and is as old as the start of that poll. Polls wait at most the
+ *                poll timeout, so an idle follower is never older than about poll timeout.
+ */
+public class ReplicationFollower implements Closeable {
+
+    private static final Gauge lagSeconds =
+            Gauge.build()
+                    .name("bookmark_replication_lag_seconds")
+                    .help("Seconds since follower last had every change of its leader")
+                    .register();
+
+    private static final Gauge lagChanges =
+            Gauge.build()
+                    .name("bookmark_replication_lag_changes")
+                    .help("Changes of leader not applied by follower yet")
+                    .register();
+
+    private static final Counter loads =
+            Counter.build()
+                    .name("bookmark_replication_loads_total")
+                    .help("Loads of all records of leader")
+                    .register();
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    private final Leader leader;
+    private final BookmarkerServiceImpl local;
+    private final RecordStore store;
+    private final int batchSize;
+    private final long pollTimeout;
+    private final long created = System.currentTimeMillis();
+
+    // written under progress lock, waiters are notified of every change
+    private final Object progress = new Object();
+    private volatile long epoch;
+    private volatile long applied = -1;
+    private volatile long latest;
+    private volatile long caughtUpAt;
+
+    private ExecutorService poller;
+    private volatile boolean closed;
+
+    /**
+     * @param leader - leader to follow
+     * @param local - service of this node changes are applied through
+     * @param store - store of local service
+     * @param batchSize - maximum number of changes read per poll
+     * @param pollTimeout - milliseconds a poll waits for changes
+     */
+    public ReplicationFollower(Leader leader, BookmarkerServiceImpl local, RecordStore store,
+                               int batchSize, long pollTimeout) {
+        this.leader = leader;
+        this.local = local;
+        this.store = store;
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * Start following leader in background. Failed polls are retried after poll timeout.
+     */
+    public synchronized void start() {
+        if (poller != null || closed) {
+            throw new IllegalStateException("follower already started");
+        }
+
+        poller = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "bookmarker-replication");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.execute(() -> {
+            while (!closed) {
+                try {
+                    replicate();
+                } catch (RuntimeException ex) {
+                    log.warn("replication from {} failed, retrying {}", leader, ex.toString());
+                    pause();
+                } finally {
+                    report();
+                }
+            }
+        });
+
+        log.info("following {}", leader);
+    }
+
+    /**
+     * Apply next changes of leader, or load all its records if changes can not be followed.
+     * Waits up to poll timeout if there are no changes.
+     */
+    public void replicate() {
+        if (epoch == 0) {
+            load();
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        ChangeBatch batch;
+        try {
+            batch = leader.changes(applied, batchSize, pollTimeout);
+        } catch (IllegalStateException ex) {
+            log.info("leader no longer keeps changes after {}, loading records", applied);
+            load();
+            return;
+        }
+
+        if (batch.getEpoch() != epoch) {
+            log.info("change feed of leader started over, loading records");
+            load();
+            return;
+        }
+
+        apply(batch.getEvents());
+        advance(epoch, batch.getLast(), batch.getLatest(), batch.getLast() >= batch.getLatest() ? started : caughtUpAt);
+    }
+
+    /**
+     * Wait until every change up to sequence of epoch is applied. Epochs are start times of
+     * the change feed of leader, records loaded from a later epoch hold every change of an
+     * earlier one the leader kept, so the wait is over once such records are loaded.
+     *
+     * @return - false if timeout passed first
+     */
+    public boolean awaitSequence(long epoch, long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progress) {
+            while (this.epoch == 0 || this.epoch < epoch || (this.epoch == epoch && applied < sequence)) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    return false;
+                }
+                progress.wait(left);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Wait until records are no older than max staleness.
+     *
+     * @return - false if timeout passed first
+     */
+    public boolean awaitFresh(long maxStalenessMillis, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progress) {
+            while (staleness(System.currentTimeMillis()) > maxStalenessMillis) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    return false;
+                }
+                progress.wait(left);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return - epoch of change feed of leader records are loaded from, 0 while loading
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return - sequence of leader every change up to is applied, -1 until records are loaded
+     */
+    public long applied() {
+        return applied;
+    }
+
+    /**
+     * @return - milliseconds since follower last had every change of leader, Long.MAX_VALUE
+     *           while records are being loaded
+     */
+    public long staleness(long now) {
+        return epoch == 0 ? Long.MAX_VALUE : now - caughtUpAt;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (poller != null) {
+                poller.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Replace records with those of leader. Reads waiting for consistency wait while loading.
+     */
+    private void load() {
+        advance(0, -1, latest, caughtUpAt);
+
+        long started = System.currentTimeMillis();
+        ReplicationSnapshot snapshot = leader.snapshot();
+
+        Set<String> ids = new HashSet<>();
+        for (Record record : snapshot.getRecords()) {
+            ids.add(record.getId());
+        }
+        for (Record record : store.values()) {
+            if (!ids.contains(record.getId())) {
+                local.deleteRecord(record.getId());
+            }
+        }
+        List<Record> records = snapshot.getRecords();
+        for (int offset = 0; offset < records.size(); offset += batchSize) {
+            local.putRecords(records.subList(offset, Math.min(records.size(), offset + batchSize)));
+        }
+
+        loads.inc();
+        log.info("loaded {} records of {} up to change {}", records.size(), leader, snapshot.getSequence());
+
+        advance(snapshot.getEpoch(), snapshot.getSequence(), snapshot.getSequence(), started);
+    }
+
+    /**
+     * Apply changes in order, consecutive adds and updates are put together.
+     */
+    private void apply(List<ChangeEvent> events) {
+        List<Record> puts = new ArrayList<>();
+        for (ChangeEvent event : events) {
+            if (event.getType() == ChangeEvent.Type.REMOVED) {
+                if (!puts.isEmpty()) {
+                    local.putRecords(puts);
+                    puts = new ArrayList<>();
+                }
+                local.deleteRecord(event.getId());
+            } else {
+                puts.add(event.getRecord());
+            }
+        }
+        if (!puts.isEmpty()) {
+            local.putRecords(puts);
+        }
+    }
+
+    private void advance(long epoch, long applied, long latest, long caughtUpAt) {
+        synchronized (progress) {
+            this.epoch = epoch;
+            this.applied = applied;
+            this.latest = latest;
+            this.caughtUpAt = caughtUpAt;
+            progress.notifyAll();
+        }
+    }
+
+    private void report() {
+        long now = System.currentTimeMillis();
+        long stale = epoch == 0 ? now - (caughtUpAt == 0 ? created : caughtUpAt) : staleness(now);
+        lagSeconds.set(stale / 1000.0);
+        lagChanges.set(Math.max(0, latest - applied));
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pollTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+}
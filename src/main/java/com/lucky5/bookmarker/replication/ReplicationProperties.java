@@ -0,0 +1,149 @@
+package com.lucky5.bookmarker.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.ReplicationProperties.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:40
+ * Description  : Settings of replication, bound from bookmarker.replication.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.replication")
+public class ReplicationProperties {
+
+    public enum Role {
+        NONE, LEADER, FOLLOWER
+    }
+
+    public enum Consistency {
+
+        /**
+         * Reads on a follower see every write made through the same follower.
+         */
+        READ_YOUR_WRITES,
+
+        /**
+         * Reads on a follower see every write made on the leader up to max staleness ago.
+         */
+        BOUNDED_STALENESS
+    }
+
+    /**
+     * Role of this node, leader serves its records and changes to followers.
+     */
+    private Role role = Role.NONE;
+
+    /**
+     * Base url of leader, for example http://localhost:8080, followers only.
+     */
+    private String leader;
+
+    /**
+     * Guarantee reads on a follower are served with.
+     */
+    private Consistency consistency = Consistency.READ_YOUR_WRITES;
+
+    /**
+     * Milliseconds records of a follower may lag behind the leader, bounded staleness only.
+     * Should exceed poll timeout, an idle follower is up to poll timeout old.
+     */
+    private long maxStaleness = 5000;
+
+    /**
+     * Milliseconds a read waits for the follower to catch up before it is answered with 503.
+     */
+    private long waitTimeout = 2000;
+
+    /**
+     * Milliseconds a follower poll waits for changes of the leader.
+     */
+    private long pollTimeout = 1000;
+
+    /**
+     * Maximum number of changes read per poll.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Milliseconds to wait for a connection to the leader.
+     */
+    private int connectTimeout = 1000;
+
+    /**
+     * Milliseconds to wait for an answer of the leader, more than poll timeout.
+     */
+    private int readTimeout = 10000;
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public String getLeader() {
+        return leader;
+    }
+
+    public void setLeader(String leader) {
+        this.leader = leader;
+    }
+
+    public Consistency getConsistency() {
+        return consistency;
+    }
+
+    public void setConsistency(Consistency consistency) {
+        this.consistency = consistency;
+    }
+
+    public long getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(long maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public long getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(long waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(long pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+}
@@ -0,0 +1,21 @@
+package com.lucky5.bookmarker.replication;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.StaleReplicaException.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:30
+ * Description  : Thrown when a follower did not catch up with its leader in time to serve a
+ *                read with the configured consistency. Answered with 503, clients retry or
+ *                read from the leader.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "replica is behind its leader")
+public class StaleReplicaException extends RuntimeException {
+
+    public StaleReplicaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagQueryResult;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.AsyncBookmarkerService.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:30
+ * Description  : Asynchronous view of {@link BookmarkerService}. Every operation runs on a
+ *                dedicated bounded executor and completes a {@link CompletableFuture}, so
+ *                request threads are free while storage works. When the executor queue is
+ *                full, futures fail with {@link RejectedExecutionException} instead of
+ *                queueing without bound.
+ */
+public class AsyncBookmarkerService {
+
+    private final BookmarkerService bookmarkerService;
+    private final Executor executor;
+
+    /**
+     * @param bookmarkerService - service doing the work
+     * @param executor - executor running storage operations
+     */
+    public AsyncBookmarkerService(BookmarkerService bookmarkerService, Executor executor) {
+        this.bookmarkerService = bookmarkerService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<String> addRecord(String info, List<String> tags, Long ttl) {
+        return submit(() -> bookmarkerService.addRecord(info, tags, ttl));
+    }
+
+    public CompletableFuture<Boolean> deleteRecord(String id) {
+        return submit(() -> bookmarkerService.deleteRecord(id));
+    }
+
+    public CompletableFuture<RecordPage> getRecords(String cursor, int limit) {
+        return submit(() -> bookmarkerService.getRecords(cursor, limit));
+    }
+
+    public CompletableFuture<RecordPage> getRecordsCreated(Date from, Date to, String cursor, int limit) {
+        return submit(() -> bookmarkerService.getRecordsCreated(from, to, cursor, limit));
+    }
+
+    public CompletableFuture<RecordPage> getRecordsUpdated(Date from, Date to, String cursor, int limit) {
+        return submit(() -> bookmarkerService.getRecordsUpdated(from, to, cursor, limit));
+    }
+
+    public CompletableFuture<TagQueryResult> queryByTags(String query, int limit) {
+        return submit(() -> bookmarkerService.queryByTags(query, limit));
+    }
+
+    public CompletableFuture<List<Record>> search(String query, int limit) {
+        return submit(() -> bookmarkerService.search(query, limit));
+    }
+
+    public CompletableFuture<Record> updateRecord(Record record, Long expectedVersion) {
+        return submit(() -> bookmarkerService.updateRecord(record, expectedVersion));
+    }
+
+    public CompletableFuture<Record> getRecord(String id) {
+        return submit(() -> bookmarkerService.getRecord(id));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException ex) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(ex);
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.lucky5.bookmarker.services;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.AsyncConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:30
+ * Description  : Creates the bounded executor for storage operations and the asynchronous
+ *                service running on it
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService bookmarkerExecutor(AsyncProperties properties) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "bookmarker-storage-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    AsyncBookmarkerService asyncBookmarkerService(BookmarkerService bookmarkerService,
+                                                  @Qualifier("bookmarkerExecutor") ExecutorService bookmarkerExecutor) {
+        return new AsyncBookmarkerService(bookmarkerService, bookmarkerExecutor);
+    }
+}
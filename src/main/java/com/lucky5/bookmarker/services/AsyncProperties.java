@@ -0,0 +1,41 @@
+package com.lucky5.bookmarker.services;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.AsyncProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:30
+ * Description  : Settings of executor running storage operations of asynchronous requests,
+ *                bound from bookmarker.async.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.async")
+public class AsyncProperties {
+
+    /**
+     * Threads running storage operations.
+     */
+    private int threads = 16;
+
+    /**
+     * Operations waiting for a thread before further requests are rejected.
+     */
+    private int queueCapacity = 1024;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
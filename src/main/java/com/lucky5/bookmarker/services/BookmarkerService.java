@@ -1,8 +1,15 @@
 package com.lucky5.bookmarker.services;
 
+import com.lucky5.bookmarker.model.BatchItemResult;
 import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
 
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -17,15 +24,57 @@ public interface BookmarkerService {
 
     String addRecord(final String info, final List<String> tags);
 
+    /**
+     * @param ttl - seconds after which record expires, null if it never does
+     */
+    String addRecord(final String info, final List<String> tags, final Long ttl);
+
+    List<BatchItemResult> addRecords(final List<Record> records);
+
     boolean deleteRecord(final String id);
 
     List<Record> getAllRecords();
 
+    RecordPage getRecords(final String cursor, final int limit);
+
+    Iterator<Record> getRecordIterator(final String cursor);
+
     List<Record> getFilteredRecord(final String tag);
 
+    TagQueryResult queryByTags(final String query, final int limit);
+
+    List<Record> search(final String query, final int limit);
+
+    /**
+     * Expected version of an update matching any version of a present record.
+     */
+    long ANY_VERSION = -1;
+
     boolean updateRecord(final Record record);
 
+    /**
+     * Update record only if it is still at expected version, info and tags of record replace
+     * those stored like with {@link #updateRecord(Record)}.
+     *
+     * @param expectedVersion - version record must be at, {@link #ANY_VERSION} for any version
+     *                          of a present record, null to update without condition
+     *
+     * @return - new version of record
+     *
+     * @throws VersionConflictException - if record is at another version, or not present while
+     *                                    a version is expected
+     */
+    Record updateRecord(final Record record, final Long expectedVersion);
+
     Record getRecord(final String id);
 
     boolean updateTags(Record record, List<String> tags);
+
+    TagStats getTagStats(final int limit, final List<String> tags);
+
+    List<TagCount> suggestTags(final String prefix, final int limit);
+
+    RecordPage getRecordsCreated(final Date from, final Date to, final String cursor, final int limit);
+
+    RecordPage getRecordsUpdated(final Date from, final Date to, final String cursor, final int limit);
 }
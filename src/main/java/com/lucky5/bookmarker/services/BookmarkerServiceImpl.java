@@ -1,12 +1,34 @@
 package com.lucky5.bookmarker.services;
 
+import com.lucky5.bookmarker.ids.IdGenerator;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.BatchItemResult;
 import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.persistence.RecordPersistence;
+import com.lucky5.bookmarker.store.ConditionalOnRecordStore;
+import com.lucky5.bookmarker.store.InfoIndex;
+import com.lucky5.bookmarker.store.RecordStore;
+import com.lucky5.bookmarker.store.TagBitmapIndex;
+import com.lucky5.bookmarker.store.TagCounts;
+import com.lucky5.bookmarker.store.TagPrefixIndex;
+import com.lucky5.bookmarker.store.TagQuery;
+import com.lucky5.bookmarker.store.TimeIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -14,16 +36,95 @@ import java.util.stream.Collectors;
  * Name         : com.lucky5.bookmarker.services.BookmarkerServiceImpl.java
  * Author       : yashpalrawat
  * Created      : 7/09/2018 22:22
- * Description  : Book marker service implementation
+ * Description  : Book marker service implementation keeping records in a {@link RecordStore},
+ *                used unless the jpa store engine is selected
  */
 @Service
+@ConditionalOnRecordStore
 public class BookmarkerServiceImpl implements BookmarkerService {
 
-    private final Map<String, Record> records = new HashMap<>();
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    public static final int MAX_QUERY_RESULTS = 1000;
+
+    public static final int MAX_TOP_TAGS = 100;
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final RecordStore records;
+    private final TagBitmapIndex tagIndex = new TagBitmapIndex();
+    private final InfoIndex infoIndex = new InfoIndex();
+    private final TagPrefixIndex tagPrefixIndex = new TagPrefixIndex(MAX_SUGGESTIONS);
+    private final TagCounts tagCounts = new TagCounts(tagPrefixIndex);
+    private final TimeIndex creationIndex = new TimeIndex(Record::getCreationDate);
+    private final TimeIndex updateIndex = new TimeIndex(Record::getLastUpdated);
+    private final RecordPersistence persistence;
+    private final IdGenerator idGenerator;
     private static final Logger log = LoggerFactory.getLogger(BookmarkerServiceImpl.class);
 
+    public BookmarkerServiceImpl() {
+        this.records = new RecordStore();
+        records.addListener(tagIndex);
+        records.addListener(infoIndex);
+        records.addListener(tagCounts);
+        records.addListener(creationIndex);
+        records.addListener(updateIndex);
+        this.persistence = null;
+        this.idGenerator = new TimeOrderedIdGenerator(0);
+    }
+
     /**
-     * Add a bookmark record to inventory.
+     * Create service persisting every change. Records present in latest snapshot and write
+     * ahead log are restored before service is used.
+     *
+     * @param persistence - {@link RecordPersistence}
+     */
+    public BookmarkerServiceImpl(RecordPersistence persistence) throws IOException {
+        this(persistence, new TimeOrderedIdGenerator(0));
+    }
+
+    /**
+     * Create service persisting every change and naming new records with given generator.
+     * Records present in latest snapshot and write ahead log are restored before service
+     * is used.
+     *
+     * @param persistence - {@link RecordPersistence}
+     * @param idGenerator - {@link IdGenerator}
+     */
+    public BookmarkerServiceImpl(RecordPersistence persistence, IdGenerator idGenerator) throws IOException {
+        this(persistence, idGenerator, new RecordStore());
+    }
+
+    /**
+     * Create service keeping records in given store, persisting every change and naming new
+     * records with given generator. Records present in latest snapshot and write ahead log
+     * are restored before service is used.
+     *
+     * @param persistence - {@link RecordPersistence}
+     * @param idGenerator - {@link IdGenerator}
+     * @param records - empty {@link RecordStore}
+     */
+    @Autowired
+    public BookmarkerServiceImpl(RecordPersistence persistence, IdGenerator idGenerator,
+                                 RecordStore records) throws IOException {
+        this.records = records;
+        records.addListener(tagIndex);
+        records.addListener(infoIndex);
+        records.addListener(tagCounts);
+        records.addListener(creationIndex);
+        records.addListener(updateIndex);
+        this.persistence = persistence;
+        this.idGenerator = idGenerator;
+
+        persistence.recover(records);
+
+        log.info("restored {} records", records.size());
+    }
+
+    /**
+     * Add a bookmark record to inventory, kept until deleted.
      *
      * @param info - Information to be stored
      * @param tags - Information tags
@@ -32,32 +133,171 @@ public class BookmarkerServiceImpl implements BookmarkerService {
      */
     @Override
     public String addRecord(String info, List<String> tags) {
+        return addRecord(info, tags, null);
+    }
+
+    /**
+     * Add a bookmark record to inventory.
+     *
+     * @param info - Information to be stored
+     * @param tags - Information tags
+     * @param ttl - seconds after which record is removed, null to keep it until deleted
+     *
+     * @return Id of newly created record.
+     */
+    @Override
+    public String addRecord(String info, List<String> tags, Long ttl) {
+
+        Record record = createRecord(info, tags, ttl);
+
+        // generated ids never clash, but never overwrite an existing record
+        while (!records.insert(record)) {
+            record.setId(nextId());
+        }
+
+        syncPersistence();
+
+        log.debug("record {} added successfully", record);
+
+        return record.getId();
+    }
+
+
+    /**
+     * Create a bookmark record with a new id, without adding it to inventory. Records of a
+     * cluster are created by the node receiving them and added to the node owning their id.
+     *
+     * @param info - Information to be stored
+     * @param tags - Information tags
+     * @param ttl - seconds after which record is removed, null to keep it until deleted
+     *
+     * @return - new record
+     */
+    public Record createRecord(String info, List<String> tags, Long ttl) {
 
         // If no valid information present then it should not be added to bookmark store
         if ( null == info || info.trim().length() == 0 )
             throw new IllegalArgumentException("info cant be blank or null");
-        
+
+        if (ttl != null && ttl < 1)
+            throw new IllegalArgumentException("ttl must be positive");
+
         Record record = new Record();
-        record.setId(UUID.randomUUID().toString());
+        record.setId(nextId());
         record.setInfo(info);
 
         Date date = new Date();
 
         record.setCreationDate(date);
         record.setLastUpdated(date);
+        record.setExpiresAt(expiresAt(date, ttl));
+        record.setVersion(1);
 
+        // tags are interned and copied into the record
         if (tags == null)
-            record.setTags(new ArrayList<>());
+            record.setTags(Collections.emptyList());
         else
             record.setTags(tags);
 
-        records.put(record.getId(), record);
+        return record;
+    }
 
-        log.debug("record {} added successfully", record);
+    /**
+     * Add a batch of bookmark records. Every item is validated on its own, valid items are
+     * inserted together so that index and persistence are updated once for the batch.
+     *
+     * @param batch - records to add, only info, tags and ttl are used
+     *
+     * @return - one result per item in input order, holding either new id or error
+     */
+    @Override
+    public List<BatchItemResult> addRecords(List<Record> batch) {
 
-        return record.getId();
+        if (batch == null) {
+            throw new IllegalArgumentException("records cant be null");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[batch.size()];
+        List<Integer> positions = new ArrayList<>(batch.size());
+        List<Record> valid = new ArrayList<>(batch.size());
+        Date date = new Date();
+
+        for (int i = 0; i < batch.size(); i++) {
+            Record item = batch.get(i);
+
+            if (item == null) {
+                results[i] = BatchItemResult.failed(i, "record cant be null");
+                continue;
+            }
+            if (item.getInfo() == null || item.getInfo().trim().length() == 0) {
+                results[i] = BatchItemResult.failed(i, "info cant be blank or null");
+                continue;
+            }
+            if (item.getTtl() != null && item.getTtl() < 1) {
+                results[i] = BatchItemResult.failed(i, "ttl must be positive");
+                continue;
+            }
+
+            Record record = new Record();
+            record.setId(nextId());
+            record.setInfo(item.getInfo());
+            record.setCreationDate(date);
+            record.setLastUpdated(date);
+            record.setExpiresAt(expiresAt(date, item.getTtl()));
+            record.setVersion(1);
+            record.setTags(item.getTags() == null ? Collections.emptyList() : item.getTags());
+
+            positions.add(i);
+            valid.add(record);
+        }
+
+        List<Record> rejected = valid.isEmpty() ? Collections.emptyList() : records.insertAll(valid);
+
+        // generated ids never clash, but retry rejected records one by one with a fresh id
+        for (Record record : rejected) {
+            while (!records.insert(record)) {
+                record.setId(nextId());
+            }
+        }
+
+        for (int i = 0; i < valid.size(); i++) {
+            int position = positions.get(i);
+            results[position] = BatchItemResult.created(position, valid.get(i).getId());
+        }
+
+        syncPersistence();
+
+        log.debug("batch of {} records added, {} rejected", valid.size(), batch.size() - valid.size());
+
+        return Arrays.asList(results);
     }
 
+    /**
+     * Store records as given, replacing records of same id. Used for records created or
+     * moved by other nodes of a cluster, which already carry id and dates.
+     *
+     * @param batch - complete records
+     */
+    public void putRecords(List<Record> batch) {
+
+        if (batch == null) {
+            throw new IllegalArgumentException("records cant be null");
+        }
+
+        for (Record record : batch) {
+            if (record == null || StringUtils.isEmpty(record.getId()) || StringUtils.isEmpty(record.getInfo())) {
+                throw new IllegalArgumentException("invalid record");
+            }
+        }
+
+        for (Record record : batch) {
+            records.put(new Record(record));
+        }
+
+        syncPersistence();
+
+        log.debug("put {} records", batch.size());
+    }
 
     /**
      * Delete record from inventory
@@ -68,12 +308,13 @@ public class BookmarkerServiceImpl implements BookmarkerService {
      */
     @Override
     public boolean deleteRecord(String id) {
-        if (records.containsKey(id)) {
-            records.remove(id);
-            return true;
-        } else {
+        if (records.remove(id) == null) {
             return false;
         }
+
+        syncPersistence();
+
+        return true;
     }
 
     /**
@@ -87,6 +328,46 @@ public class BookmarkerServiceImpl implements BookmarkerService {
     }
 
 
+    /**
+     * Returns one page of records. Pages follow a stable order so that walking all pages
+     * visits every record present for the whole walk exactly once.
+     *
+     * @param cursor - continuation token returned with previous page, null for first page
+     * @param limit - maximum number of records in page
+     *
+     * @return - {@link RecordPage} page of records {@link Record} along with next token
+     */
+    @Override
+    public RecordPage getRecords(String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Iterator<Record> iterator = getRecordIterator(cursor);
+        List<Record> page = new ArrayList<>(Math.min(limit, records.size()));
+
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+
+        String next = iterator.hasNext() ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+
+        return new RecordPage(page, next);
+    }
+
+    /**
+     * Returns iterator over records, records are looked up lazily while iterating.
+     *
+     * @param cursor - continuation token to start after, null to start from first record
+     *
+     * @return - {@link Iterator} over records {@link Record}
+     */
+    @Override
+    public Iterator<Record> getRecordIterator(String cursor) {
+        return records.iterator(StringUtils.isEmpty(cursor) ? null : decodeCursor(cursor));
+    }
+
     /**
      * Filter records based on input tag.
      *
@@ -100,12 +381,71 @@ public class BookmarkerServiceImpl implements BookmarkerService {
         if (null == tag || tag.trim().length() == 0) {
             return getAllRecords();
         } else {
-            return records.values().stream()
-                    .filter((value) -> value.getTags().contains(tag))
+            // only visit records carrying the tag, re-check tag as record may change meanwhile
+            TagQuery query = TagQuery.tag(tag);
+            return tagIndex.query(query, Integer.MAX_VALUE).getIds().stream()
+                    .map(records::get)
+                    .filter((value) -> value != null && query.matches(value.getTags()))
                     .collect(Collectors.toList());
         }
     }
 
+    /**
+     * Find records by a boolean expression over their tags, for example
+     * apple AND (ipad OR macbook-pro) AND NOT archived.
+     *
+     * @param query - tag expression, see {@link TagQuery}
+     * @param limit - maximum number of records returned
+     *
+     * @return - {@link TagQueryResult} number of matching records and first limit of them
+     */
+    @Override
+    public TagQueryResult queryByTags(String query, int limit) {
+
+        if (limit < 1 || limit > MAX_QUERY_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_QUERY_RESULTS);
+        }
+
+        TagQuery tagQuery = TagQuery.parse(query);
+        TagBitmapIndex.Matches matches = tagIndex.query(tagQuery, limit);
+
+        // re-check query as record may change after it was matched
+        List<Record> found = matches.getIds().stream()
+                .map(records::get)
+                .filter((value) -> value != null && tagQuery.matches(value.getTags()))
+                .collect(Collectors.toList());
+
+        return new TagQueryResult(matches.getCount(), found);
+    }
+
+
+    /**
+     * Search records by words of their info. Every query word must be present in info,
+     * either as whole word or as prefix of a word.
+     *
+     * @param query - free text query
+     * @param limit - maximum number of records returned
+     *
+     * @return - {@link List} matching records {@link Record}, best match first
+     */
+    @Override
+    public List<Record> search(String query, int limit) {
+
+        if (null == query || query.trim().length() == 0) {
+            throw new IllegalArgumentException("query cant be blank or null");
+        }
+
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        // record may be removed between index lookup and read
+        return infoIndex.search(query, limit).stream()
+                .map(records::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
 
     /**
      * Update record information
@@ -116,29 +456,86 @@ public class BookmarkerServiceImpl implements BookmarkerService {
      */
     @Override
     public boolean updateRecord(Record record) {
+        updateRecord(record, null);
+        return true;
+    }
 
-        if (record == null || StringUtils.isEmpty(record.getId())
-                || records.get(record.getId()) == null) {
+    /**
+     * Update record information if record is at expected version. Version is compared and
+     * new version stored while the write lock of the record is held.
+     *
+     * @param record - {@link Record}
+     * @param expectedVersion - version record must be at, {@link #ANY_VERSION} for any version,
+     *                          null to update without condition
+     *
+     * @return - new version of record
+     */
+    @Override
+    public Record updateRecord(Record record, Long expectedVersion) {
+
+        if (record == null || StringUtils.isEmpty(record.getId())) {
             throw new IllegalArgumentException("invalid record");
         }
+        checkVersion(record.getId(), records.get(record.getId()), expectedVersion);
+
+        Record updatedRecord = records.update(record.getId(), (originalRecord) -> {
+
+            log.debug("original record {}", originalRecord);
+
+            checkVersion(originalRecord.getId(), originalRecord, expectedVersion);
+
+            Record newRecord = new Record(originalRecord);
+            newRecord.setVersion(originalRecord.getVersion() + 1);
+
+            if (!StringUtils.isEmpty(record.getInfo())) {
 
-        Record originalRecord = records.get(record.getId());
+                newRecord.setInfo(record.getInfo());
 
-        log.debug("original record {}", originalRecord);
+            }
 
-        if (!StringUtils.isEmpty(record.getInfo())) {
+            if (record.getTags() != null && record.getTags().size() > 0) {
 
-            originalRecord.setInfo(record.getInfo());
+                newRecord.setTags(record.getTags());
 
+            }
+
+            newRecord.setLastUpdated(new Date());
+
+            return newRecord;
+        });
+
+        // record was deleted by another request in the meantime
+        if (updatedRecord == null) {
+            checkVersion(record.getId(), null, expectedVersion);
         }
 
-        updateTags(originalRecord, record.getTags());
+        syncPersistence();
 
-        originalRecord.setLastUpdated(new Date());
+        log.debug("updated record {}", updatedRecord);
 
-        log.debug("updated record {}", originalRecord);
+        return updatedRecord;
+    }
 
-        return true;
+    /**
+     * Check stored record meets the expected version of an update.
+     *
+     * @param current - stored record, null if not present
+     *
+     * @throws VersionConflictException - if record is at another version, or not present while
+     *                                    a version is expected
+     * @throws IllegalArgumentException - if record is not present for an update without condition
+     */
+    static void checkVersion(String id, Record current, Long expectedVersion) {
+        if (current == null) {
+            if (expectedVersion != null) {
+                throw new VersionConflictException("record " + id + " is not present");
+            }
+            throw new IllegalArgumentException("invalid record");
+        }
+        if (expectedVersion != null && expectedVersion != ANY_VERSION && current.getVersion() != expectedVersion) {
+            throw new VersionConflictException("record " + id + " is at version " + current.getVersion()
+                    + ", expected " + expectedVersion);
+        }
     }
 
     /**
@@ -174,12 +571,193 @@ public class BookmarkerServiceImpl implements BookmarkerService {
             throw new IllegalArgumentException("invalid record id");
         }
 
-        if (tags != null && tags.size() > 0) {
-            record.setTags(tags);
-            return true;
-        } else {
+        if (tags == null || tags.size() == 0) {
             return false;
         }
 
+        final List<String> newTags = new ArrayList<>(tags);
+
+        Record updatedRecord = records.update(record.getId(), (originalRecord) -> {
+            Record newRecord = new Record(originalRecord);
+            newRecord.setTags(newTags);
+            newRecord.setVersion(originalRecord.getVersion() + 1);
+            return newRecord;
+        });
+
+        // record is not part of inventory, only update the input object, unless it is a
+        // stored version removed meanwhile
+        if (updatedRecord == null) {
+            if (!record.isFrozen()) {
+                record.setTags(newTags);
+            }
+        } else {
+            syncPersistence();
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Tag statistics, kept up to date with every change so that reading them takes time
+     * independent of the number of records and tags.
+     *
+     * @param limit - number of most carried tags returned
+     * @param tags - tags to return counts of, may be null
+     *
+     * @return - {@link TagStats} number of records and tags, most carried tags and counts asked for
+     */
+    @Override
+    public TagStats getTagStats(int limit, List<String> tags) {
+
+        if (limit < 1 || limit > MAX_TOP_TAGS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_TAGS);
+        }
+
+        if (tags != null && tags.size() > MAX_TOP_TAGS) {
+            throw new IllegalArgumentException("at most " + MAX_TOP_TAGS + " tags can be counted");
+        }
+
+        List<TagCount> counts = null;
+        if (tags != null && !tags.isEmpty()) {
+            counts = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                counts.add(new TagCount(tag, tagCounts.count(tag)));
+            }
+        }
+
+        return new TagStats(tagCounts.records(), tagCounts.size(), tagCounts.top(limit), counts);
+    }
+
+    /**
+     * Suggest tags for tag entry, most carried tags first.
+     *
+     * @param prefix - prefix of suggested tags, case sensitive, empty for most carried tags
+     * @param limit - maximum number of suggestions
+     *
+     * @return - {@link List} tags {@link TagCount} starting with prefix along with their counts
+     */
+    @Override
+    public List<TagCount> suggestTags(String prefix, int limit) {
+
+        if (prefix == null) {
+            throw new IllegalArgumentException("prefix cant be null");
+        }
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        return tagPrefixIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Returns one page of records created within a time range, oldest first.
+     *
+     * @param from - start of range, inclusive, null for no lower bound
+     * @param to - end of range, exclusive, null for no upper bound
+     * @param cursor - continuation token returned with previous page, null for first page
+     * @param limit - maximum number of records in page
+     *
+     * @return - {@link RecordPage} page of records {@link Record} along with next token
+     */
+    @Override
+    public RecordPage getRecordsCreated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween(creationIndex, Record::getCreationDate, from, to, cursor, limit);
+    }
+
+    /**
+     * Returns one page of records last updated within a time range, least recently updated
+     * first. A client syncing changes asks for records updated from the time of its previous
+     * sync, records updated while it pages show up again on a later page.
+     *
+     * @param from - start of range, inclusive, null for no lower bound
+     * @param to - end of range, exclusive, null for no upper bound
+     * @param cursor - continuation token returned with previous page, null for first page
+     * @param limit - maximum number of records in page
+     *
+     * @return - {@link RecordPage} page of records {@link Record} along with next token
+     */
+    @Override
+    public RecordPage getRecordsUpdated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween(updateIndex, Record::getLastUpdated, from, to, cursor, limit);
+    }
+
+    private RecordPage getRecordsBetween(TimeIndex index, Function<Record, Date> timestamp,
+                                         Date from, Date to, String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (from != null && to != null && from.after(to)) {
+            throw new IllegalArgumentException("from cant be after to");
+        }
+
+        // one position more than asked tells whether another page follows
+        List<TimeIndex.Position> positions = index.range(from == null ? Long.MIN_VALUE : from.getTime(),
+                to == null ? Long.MAX_VALUE : to.getTime(),
+                StringUtils.isEmpty(cursor) ? null : decodePosition(cursor), limit + 1);
+
+        List<Record> page = new ArrayList<>(Math.min(limit, positions.size()));
+        for (TimeIndex.Position position : positions.subList(0, Math.min(limit, positions.size()))) {
+            // record changed after it was found is read at its new position, if within range
+            Record record = records.get(position.getId());
+            Date time = record == null ? null : timestamp.apply(record);
+            if (time != null && time.getTime() == position.getTime()) {
+                page.add(record);
+            }
+        }
+
+        String next = positions.size() > limit ? encodePosition(positions.get(limit - 1)) : null;
+
+        return new RecordPage(page, next);
+    }
+
+    private String nextId() {
+        return RecordIds.encode(idGenerator.nextId());
+    }
+
+    /**
+     * Wait until changes made by current thread are persisted, if persistence is enabled.
+     */
+    private void syncPersistence() {
+        if (persistence != null) {
+            persistence.sync();
+        }
+    }
+
+    /**
+     * @return - time at which a record created at date expires, null if ttl is null
+     */
+    static Date expiresAt(Date date, Long ttl) {
+        return ttl == null ? null : new Date(date.getTime() + TimeUnit.SECONDS.toMillis(ttl));
+    }
+
+    static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String encodePosition(TimeIndex.Position position) {
+        return encodeCursor(position.getTime() + ":" + position.getId());
+    }
+
+    static TimeIndex.Position decodePosition(String cursor) {
+        String position = decodeCursor(cursor);
+        int separator = position.indexOf(':');
+        try {
+            return new TimeIndex.Position(Long.parseLong(position.substring(0, separator)),
+                    position.substring(separator + 1));
+        } catch (IndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid cursor", ex);
+        }
+    }
+
+    static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("invalid cursor", ex);
+        }
     }
 }
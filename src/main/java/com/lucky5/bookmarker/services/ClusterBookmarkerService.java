@@ -0,0 +1,630 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.cluster.HashRing;
+import com.lucky5.bookmarker.cluster.LocalShard;
+import com.lucky5.bookmarker.cluster.Shard;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.store.RecordListener;
+import com.lucky5.bookmarker.store.RecordStore;
+import com.lucky5.bookmarker.store.TimeIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_PAGE_SIZE;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_SUGGESTIONS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_TOP_TAGS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.decodeCursor;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.encodeCursor;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.encodePosition;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.ClusterBookmarkerService.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 00:40
+ * Description  : Book marker service spreading records over the nodes of a cluster, used when
+ *                cluster mode is enabled. Record ids are placed on a {@link HashRing}, operations
+ *                on one record run on the node owning its id, locally or through its /cluster
+ *                endpoints. New records get their id on the node receiving them and are stored
+ *                by the owner of that id.
+ *
+ *                Lists, pages, tag queries, searches and statistics are asked from every node
+ *                at once and merged. Pages merge in id or time order, so cursors stay valid
+ *                across nodes. Top tags and suggestions sum the best tags of every node, a tag
+ *                ranking low on every node may be missing from them; tag count of statistics
+ *                is the highest count of any node.
+ *
+ *                A node joins in two steps. Every member first copies records the joining
+ *                node will own to it and notes changes made meanwhile. Members then copy
+ *                changed records again while holding local operations back, add the node to
+ *                their ring and drop the records they no longer own. Until every member
+ *                switched, a record may be served by either node and lists drop duplicates.
+ */
+public class ClusterBookmarkerService implements BookmarkerService, RecordListener {
+
+    private static final int MOVE_BATCH_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterBookmarkerService.class);
+
+    private final String self;
+    private final BookmarkerServiceImpl local;
+    private final Shard localShard;
+    private final RecordStore store;
+    private final Function<String, Shard> connector;
+    private final Executor executor;
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+
+    // local operations hold read lock, so none is in flight while ring changes
+    private final ReadWriteLock routing = new ReentrantReadWriteLock();
+    private volatile HashRing ring;
+
+    // node records are being copied to and ids changed since copying started
+    private volatile String joining;
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param self - name of this node, as known to other nodes
+     * @param nodes - current members of cluster, without this node if it is joining
+     * @param virtualNodes - ring positions per node
+     * @param local - service keeping records of this node
+     * @param store - store of local service
+     * @param connector - opens shard of another node by name
+     * @param executor - runs requests to other nodes
+     */
+    public ClusterBookmarkerService(String self, Collection<String> nodes, int virtualNodes,
+                                    BookmarkerServiceImpl local, RecordStore store,
+                                    Function<String, Shard> connector, Executor executor) {
+        this.self = self;
+        this.local = local;
+        this.localShard = new LocalShard(local);
+        this.store = store;
+        this.connector = connector;
+        this.executor = executor;
+        this.ring = new HashRing(nodes, virtualNodes);
+        store.addListener(this);
+    }
+
+    @Override
+    public String addRecord(String info, List<String> tags) {
+        return addRecord(info, tags, null);
+    }
+
+    @Override
+    public String addRecord(String info, List<String> tags, Long ttl) {
+        Record record = local.createRecord(info, tags, ttl);
+        route(record.getId(), (shard) -> {
+            shard.put(Collections.singletonList(record));
+            return null;
+        });
+        return record.getId();
+    }
+
+    /**
+     * Add a batch of records, every node gets the records it owns in one request.
+     */
+    @Override
+    public List<BatchItemResult> addRecords(List<Record> batch) {
+
+        if (batch == null) {
+            throw new IllegalArgumentException("records cant be null");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[batch.size()];
+        Map<String, List<Record>> placed = new HashMap<>();
+        HashRing current = ring;
+
+        for (int i = 0; i < batch.size(); i++) {
+            Record item = batch.get(i);
+            if (item == null) {
+                results[i] = BatchItemResult.failed(i, "record cant be null");
+                continue;
+            }
+            try {
+                Record record = local.createRecord(item.getInfo(), item.getTags(), item.getTtl());
+                placed.computeIfAbsent(current.owner(record.getId()), (node) -> new ArrayList<>()).add(record);
+                results[i] = BatchItemResult.created(i, record.getId());
+            } catch (IllegalArgumentException ex) {
+                results[i] = BatchItemResult.failed(i, ex.getMessage());
+            }
+        }
+
+        List<CompletableFuture<Void>> puts = new ArrayList<>();
+        for (Map.Entry<String, List<Record>> entry : placed.entrySet()) {
+            puts.add(CompletableFuture.runAsync(() -> putOn(entry.getKey(), entry.getValue()), executor));
+        }
+        join(puts);
+
+        log.debug("batch of {} records added on {} nodes", batch.size(), placed.size());
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public boolean deleteRecord(String id) {
+        if (StringUtils.isEmpty(id)) {
+            return local.deleteRecord(id);
+        }
+        return route(id, (shard) -> shard.delete(id));
+    }
+
+    @Override
+    public List<Record> getAllRecords() {
+        return distinct(gather(Shard::all).stream().flatMap(List::stream));
+    }
+
+    @Override
+    public RecordPage getRecords(String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!StringUtils.isEmpty(cursor)) {
+            decodeCursor(cursor);
+        }
+
+        return merge(gather((shard) -> shard.page(cursor, limit)), limit,
+                Comparator.comparingLong((Record record) -> RecordIds.key(record.getId())),
+                (record) -> encodeCursor(record.getId()));
+    }
+
+    /**
+     * Walks records of all nodes in id order, one merged page at a time.
+     */
+    @Override
+    public Iterator<Record> getRecordIterator(String cursor) {
+        RecordPage first = getRecords(cursor, MAX_PAGE_SIZE);
+
+        return new Iterator<Record>() {
+
+            private RecordPage page = first;
+            private Iterator<Record> records = first.getRecords().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!records.hasNext() && page.getNext() != null) {
+                    page = getRecords(page.getNext(), MAX_PAGE_SIZE);
+                    records = page.getRecords().iterator();
+                }
+                return records.hasNext();
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return records.next();
+            }
+        };
+    }
+
+    @Override
+    public List<Record> getFilteredRecord(String tag) {
+        return distinct(gather((shard) -> shard.tagged(tag)).stream().flatMap(List::stream));
+    }
+
+    @Override
+    public TagQueryResult queryByTags(String query, int limit) {
+        List<TagQueryResult> results = gather((shard) -> shard.query(query, limit));
+
+        long count = results.stream().mapToLong(TagQueryResult::getCount).sum();
+        List<Record> found = distinct(results.stream().flatMap((result) -> result.getRecords().stream()));
+
+        return new TagQueryResult(count, found.subList(0, Math.min(limit, found.size())));
+    }
+
+    /**
+     * Best matches of every node, taken in turns, first match of every node first.
+     */
+    @Override
+    public List<Record> search(String query, int limit) {
+        List<List<Record>> results = gather((shard) -> shard.search(query, limit));
+
+        List<Record> interleaved = new ArrayList<>();
+        for (int rank = 0; interleaved.size() < results.size() * limit; rank++) {
+            boolean any = false;
+            for (List<Record> result : results) {
+                if (rank < result.size()) {
+                    interleaved.add(result.get(rank));
+                    any = true;
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+
+        List<Record> found = distinct(interleaved.stream());
+        return found.subList(0, Math.min(limit, found.size()));
+    }
+
+    @Override
+    public boolean updateRecord(Record record) {
+        updateRecord(record, null);
+        return true;
+    }
+
+    @Override
+    public Record updateRecord(Record record, Long expectedVersion) {
+        if (record == null || StringUtils.isEmpty(record.getId())) {
+            return local.updateRecord(record, expectedVersion);
+        }
+        return route(record.getId(), (shard) -> shard.update(record, expectedVersion));
+    }
+
+    @Override
+    public Record getRecord(String id) {
+        if (StringUtils.isEmpty(id)) {
+            return local.getRecord(id);
+        }
+        return route(id, (shard) -> shard.get(id));
+    }
+
+    @Override
+    public boolean updateTags(Record record, List<String> tags) {
+
+        if (record == null || StringUtils.isEmpty(record.getId())
+                || StringUtils.isEmpty(record.getInfo())) {
+            throw new IllegalArgumentException("invalid record id");
+        }
+
+        if (tags == null || tags.size() == 0) {
+            return false;
+        }
+
+        // record is not part of inventory, only update the input object, unless it is a
+        // stored version removed meanwhile
+        if (!route(record.getId(), (shard) -> shard.updateTags(record.getId(), tags)) && !record.isFrozen()) {
+            record.setTags(new ArrayList<>(tags));
+        }
+        return true;
+    }
+
+    @Override
+    public TagStats getTagStats(int limit, List<String> tags) {
+
+        if (limit < 1 || limit > MAX_TOP_TAGS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_TAGS);
+        }
+
+        List<TagStats> results = gather((shard) -> shard.tagStats(MAX_TOP_TAGS, tags));
+
+        long records = results.stream().mapToLong(TagStats::getRecords).sum();
+        int distinctTags = results.stream().mapToInt(TagStats::getTags).max().orElse(0);
+        List<TagCount> top = sum(results.stream().flatMap((result) -> result.getTop().stream()), limit);
+
+        List<TagCount> counts = null;
+        if (tags != null && !tags.isEmpty()) {
+            Map<String, Long> totals = new HashMap<>();
+            results.stream()
+                    .filter((result) -> result.getCounts() != null)
+                    .flatMap((result) -> result.getCounts().stream())
+                    .forEach((count) -> totals.merge(count.getTag(), count.getCount(), Long::sum));
+            counts = tags.stream()
+                    .map((tag) -> new TagCount(tag, totals.getOrDefault(tag, 0L)))
+                    .collect(Collectors.toList());
+        }
+
+        return new TagStats(records, distinctTags, top, counts);
+    }
+
+    @Override
+    public List<TagCount> suggestTags(String prefix, int limit) {
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        return sum(gather((shard) -> shard.suggest(prefix, MAX_SUGGESTIONS)).stream().flatMap(List::stream), limit);
+    }
+
+    @Override
+    public RecordPage getRecordsCreated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween(Record::getCreationDate, from, to, cursor, limit, Shard::created);
+    }
+
+    @Override
+    public RecordPage getRecordsUpdated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween(Record::getLastUpdated, from, to, cursor, limit, Shard::updated);
+    }
+
+    /**
+     * @return - nodes of ring of this node
+     */
+    public List<String> getNodes() {
+        return ring.nodes();
+    }
+
+    /**
+     * First step of a node joining, copy records it will own to it. Changes made from now on
+     * are copied again once it joined.
+     *
+     * @param node - joining node
+     *
+     * @return - number of records copied
+     */
+    public synchronized int prepareJoin(String node) {
+        if (ring.contains(node)) {
+            return 0;
+        }
+
+        changed.clear();
+        joining = node;
+
+        HashRing next = ring.with(node);
+        Shard target = shard(node);
+        List<Record> batch = new ArrayList<>(MOVE_BATCH_SIZE);
+        int copied = 0;
+
+        for (Record record : store.values()) {
+            if (node.equals(next.owner(record.getId()))) {
+                batch.add(record);
+                if (batch.size() == MOVE_BATCH_SIZE) {
+                    target.put(batch);
+                    copied += batch.size();
+                    batch = new ArrayList<>(MOVE_BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            target.put(batch);
+            copied += batch.size();
+        }
+
+        log.info("copied {} records to joining node {}", copied, node);
+
+        return copied;
+    }
+
+    /**
+     * Second step of a node joining, add it to ring and drop records it owns from now on.
+     * Copies records first if this node was not prepared for it.
+     *
+     * @param node - joining node, this node itself once all members added it
+     *
+     * @return - nodes of ring
+     */
+    public synchronized List<String> join(String node) {
+        if (ring.contains(node)) {
+            return ring.nodes();
+        }
+        if (!node.equals(self) && !node.equals(joining)) {
+            prepareJoin(node);
+        }
+
+        HashRing next = ring.with(node);
+        Lock lock = routing.writeLock();
+        lock.lock();
+        try {
+            // changes made while copying, routed here by the previous ring. Copied again
+            // before the ring changes, so no later write routed to the node is overwritten
+            if (!node.equals(self)) {
+                Shard target = shard(node);
+                List<Record> puts = new ArrayList<>();
+                List<String> deletes = new ArrayList<>();
+                for (String id : changed) {
+                    if (node.equals(next.owner(id))) {
+                        Record record = store.get(id);
+                        if (record != null) {
+                            puts.add(record);
+                        } else {
+                            deletes.add(id);
+                        }
+                    }
+                    if (puts.size() == MOVE_BATCH_SIZE) {
+                        target.put(puts);
+                        puts = new ArrayList<>();
+                    }
+                    if (deletes.size() == MOVE_BATCH_SIZE) {
+                        target.deleteAll(deletes);
+                        deletes = new ArrayList<>();
+                    }
+                }
+                if (!puts.isEmpty()) {
+                    target.put(puts);
+                }
+                if (!deletes.isEmpty()) {
+                    target.deleteAll(deletes);
+                }
+            }
+            changed.clear();
+
+            ring = next;
+            joining = null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (node.equals(self)) {
+            log.info("joined cluster of {}", next.nodes());
+            return next.nodes();
+        }
+
+        int dropped = 0;
+        for (Record record : store.values()) {
+            if (!self.equals(next.owner(record.getId())) && local.deleteRecord(record.getId())) {
+                dropped++;
+            }
+        }
+
+        log.info("node {} joined, moved {} records to it", node, dropped);
+
+        return next.nodes();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        track(record);
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        track(current);
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        track(record);
+    }
+
+    private void track(Record record) {
+        if (joining != null) {
+            changed.add(record.getId());
+        }
+    }
+
+    private RecordPage getRecordsBetween(Function<Record, Date> timestamp, Date from, Date to, String cursor,
+                                         int limit, RangeQuery query) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Function<Record, TimeIndex.Position> position =
+                (record) -> new TimeIndex.Position(timestamp.apply(record).getTime(), record.getId());
+
+        return merge(gather((shard) -> query.range(shard, from, to, cursor, limit)), limit,
+                Comparator.comparing(position), (record) -> encodePosition(position.apply(record)));
+    }
+
+    /**
+     * Merge pages of nodes into one page. Every node returned its first records in given
+     * order, the first limit of all of them are the first limit of the whole cluster.
+     */
+    private static RecordPage merge(List<RecordPage> pages, int limit, Comparator<Record> order,
+                                    Function<Record, String> cursor) {
+        boolean more = pages.stream().anyMatch((page) -> page.getNext() != null);
+
+        List<Record> records = distinct(pages.stream().flatMap((page) -> page.getRecords().stream()).sorted(order));
+        if (records.size() > limit) {
+            records = new ArrayList<>(records.subList(0, limit));
+            more = true;
+        }
+
+        String next = more && !records.isEmpty() ? cursor.apply(records.get(records.size() - 1)) : null;
+        return new RecordPage(records, next);
+    }
+
+    /**
+     * @return - counts summed by tag, highest first
+     */
+    private static List<TagCount> sum(Stream<TagCount> counts, int limit) {
+        Map<String, Long> totals = new HashMap<>();
+        counts.forEach((count) -> totals.merge(count.getTag(), count.getCount(), Long::sum));
+
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map((entry) -> new TagCount(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return - records in given order, later records with an id seen before left out
+     */
+    private static List<Record> distinct(Stream<Record> records) {
+        Set<String> seen = new HashSet<>();
+        return records.filter((record) -> seen.add(record.getId())).collect(Collectors.toList());
+    }
+
+    /**
+     * Run operation on node owning id.
+     */
+    private <T> T route(String id, Function<Shard, T> operation) {
+        String owner;
+        Lock lock = routing.readLock();
+        lock.lock();
+        try {
+            owner = ring.owner(id);
+            if (owner.equals(self)) {
+                return operation.apply(localShard);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return operation.apply(shard(owner));
+    }
+
+    /**
+     * Run operation on every node of ring at once.
+     *
+     * @return - results in order of nodes
+     */
+    private <T> List<T> gather(Function<Shard, T> operation) {
+        List<CompletableFuture<T>> results = new ArrayList<>();
+        for (String node : ring.nodes()) {
+            Shard shard = node.equals(self) ? localShard : shard(node);
+            results.add(CompletableFuture.supplyAsync(() -> operation.apply(shard), executor));
+        }
+        return join(results);
+    }
+
+    private void putOn(String node, List<Record> records) {
+        route(records.get(0).getId(), (shard) -> {
+            // ring may have changed since records were placed, send every record to its owner
+            HashRing current = ring;
+            if (records.stream().allMatch((record) -> node.equals(current.owner(record.getId())))) {
+                shard.put(records);
+            } else {
+                for (Record record : records) {
+                    route(record.getId(), (owner) -> {
+                        owner.put(Collections.singletonList(record));
+                        return null;
+                    });
+                }
+            }
+            return null;
+        });
+    }
+
+    private Shard shard(String node) {
+        return shards.computeIfAbsent(node, connector);
+    }
+
+    /**
+     * Time range query of a shard, records created or updated between two dates.
+     */
+    private interface RangeQuery {
+
+        RecordPage range(Shard shard, Date from, Date to, String cursor, int limit);
+    }
+
+    /**
+     * Wait for all results, failure of any node fails the operation with its cause.
+     */
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw ex;
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,618 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.ids.IdGenerator;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.store.InfoIndex;
+import com.lucky5.bookmarker.store.TagQuery;
+import com.lucky5.bookmarker.store.TimeIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
+import java.util.*;
+
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_PAGE_SIZE;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_QUERY_RESULTS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_SEARCH_RESULTS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_SUGGESTIONS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.MAX_TOP_TAGS;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.checkVersion;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.decodeCursor;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.decodePosition;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.encodeCursor;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.encodePosition;
+import static com.lucky5.bookmarker.services.BookmarkerServiceImpl.expiresAt;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.JpaBookmarkerService.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:10
+ * Description  : Book marker service keeping records in a relational database through JPA,
+ *                used when the jpa store engine is selected
+ *
+ *                Bulk adds are flushed in JDBC batches. Single records are read through the
+ *                second level cache. Lists of records load tags with a fetch join, pages first
+ *                select ids and then fetch records of those ids, so neither tags are loaded
+ *                one record at a time nor pages cut in memory. Validation and paging follow
+ *                {@link BookmarkerServiceImpl}.
+ *
+ *                Text search matches every query word as part of info without ranking and
+ *                tag queries scan all records a page at a time, the database keeps no word or
+ *                tag bitmap index.
+ *                Tag statistics and suggestions are counted by the database on every call.
+ *                Expired records are deleted in bounded batches by
+ *                {@link com.lucky5.bookmarker.expiry.JpaRecordExpiry}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "bookmarker.store", name = "engine", havingValue = "jpa")
+public class JpaBookmarkerService implements BookmarkerService {
+
+    // same as hibernate.jdbc.batch_size, a full batch is flushed in one round trip
+    static final int BATCH_SIZE = 50;
+
+    private static final String SELECT_RECORDS = "select distinct r from Record r left join fetch r.storedTags ";
+
+    private static final Logger log = LoggerFactory.getLogger(JpaBookmarkerService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final IdGenerator idGenerator;
+
+    public JpaBookmarkerService(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    @Transactional
+    public String addRecord(String info, List<String> tags) {
+        return addRecord(info, tags, null);
+    }
+
+    /**
+     * Records with a ttl are removed once expired, see {@link #deleteExpired(Date, int)}.
+     */
+    @Override
+    @Transactional
+    public String addRecord(String info, List<String> tags, Long ttl) {
+
+        // If no valid information present then it should not be added to bookmark store
+        if (null == info || info.trim().length() == 0)
+            throw new IllegalArgumentException("info cant be blank or null");
+
+        if (ttl != null && ttl < 1)
+            throw new IllegalArgumentException("ttl must be positive");
+
+        Record record = newRecord(info, tags, ttl, new Date());
+        entityManager.persist(record);
+
+        log.debug("record {} added successfully", record);
+
+        return record.getId();
+    }
+
+    /**
+     * Add a batch of bookmark records. Every item is validated on its own, valid items are
+     * inserted in JDBC batches of {@link #BATCH_SIZE}.
+     *
+     * @param batch - records to add, only info, tags and ttl are used
+     *
+     * @return - one result per item in input order, holding either new id or error
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> addRecords(List<Record> batch) {
+
+        if (batch == null) {
+            throw new IllegalArgumentException("records cant be null");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(batch.size());
+        Date date = new Date();
+        int pending = 0;
+
+        for (int i = 0; i < batch.size(); i++) {
+            Record item = batch.get(i);
+
+            if (item == null) {
+                results.add(BatchItemResult.failed(i, "record cant be null"));
+                continue;
+            }
+            if (item.getInfo() == null || item.getInfo().trim().length() == 0) {
+                results.add(BatchItemResult.failed(i, "info cant be blank or null"));
+                continue;
+            }
+            if (item.getTtl() != null && item.getTtl() < 1) {
+                results.add(BatchItemResult.failed(i, "ttl must be positive"));
+                continue;
+            }
+
+            Record record = newRecord(item.getInfo(), item.getTags(), item.getTtl(), date);
+            entityManager.persist(record);
+            results.add(BatchItemResult.created(i, record.getId()));
+
+            // send full batch and let go of persisted records, keeps persistence context small
+            if (++pending == BATCH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+
+        log.debug("batch of {} records added", batch.size());
+
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteRecord(String id) {
+        Record record = entityManager.find(Record.class, id);
+        if (record == null) {
+            return false;
+        }
+        entityManager.remove(record);
+        return true;
+    }
+
+    /**
+     * Delete records whose expiry time passed, at most limit of them, so a single transaction
+     * never grows with the number of expired records.
+     *
+     * @param now - current time
+     * @param limit - maximum number of records deleted
+     *
+     * @return - number of records deleted
+     */
+    @Transactional
+    public int deleteExpired(Date now, int limit) {
+        List<Record> expired = entityManager
+                .createQuery("select r from Record r where r.expiresAt <= :now order by r.expiresAt", Record.class)
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .setMaxResults(limit)
+                .getResultList();
+
+        // removed one by one, so tags and cached entries are removed along with records
+        for (Record record : expired) {
+            entityManager.remove(record);
+        }
+        return expired.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Record> getAllRecords() {
+        return entityManager.createQuery(SELECT_RECORDS + "order by r.id", Record.class).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecordPage getRecords(String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // one id more than asked tells whether another page follows
+        List<String> ids = ids(StringUtils.isEmpty(cursor) ? null : decodeCursor(cursor), limit + 1);
+        List<Record> page = fetch(ids.subList(0, Math.min(limit, ids.size())));
+
+        String next = ids.size() > limit ? encodeCursor(ids.get(limit - 1)) : null;
+
+        return new RecordPage(page, next);
+    }
+
+    /**
+     * Returns iterator over records, records are fetched a page at a time while iterating.
+     */
+    @Override
+    public Iterator<Record> getRecordIterator(String cursor) {
+
+        String start = StringUtils.isEmpty(cursor) ? null : decodeCursor(cursor);
+
+        return new Iterator<Record>() {
+
+            private Iterator<Record> page = Collections.emptyIterator();
+            private String last = start;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !exhausted) {
+                    List<String> ids = ids(last, MAX_PAGE_SIZE);
+                    exhausted = ids.size() < MAX_PAGE_SIZE;
+                    if (!ids.isEmpty()) {
+                        last = ids.get(ids.size() - 1);
+                    }
+                    page = fetch(ids).iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Record> getFilteredRecord(String tag) {
+
+        if (null == tag || tag.trim().length() == 0) {
+            return getAllRecords();
+        }
+
+        // tag is matched in a sub query, so fetched records still carry all of their tags
+        return entityManager.createQuery(SELECT_RECORDS
+                + "where r.id in (select t.id from Record t join t.storedTags tag where tag = :tag) "
+                + "order by r.id", Record.class)
+                .setParameter("tag", tag)
+                .getResultList();
+    }
+
+    /**
+     * Scans all records in id order a page at a time, the database keeps no tag bitmap index
+     * to answer the query from, so time grows with the number of records. Persistence context
+     * is cleared after every page, only matched records up to limit stay in memory.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TagQueryResult queryByTags(String query, int limit) {
+
+        if (limit < 1 || limit > MAX_QUERY_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_QUERY_RESULTS);
+        }
+
+        TagQuery tagQuery = TagQuery.parse(query);
+        List<Record> found = new ArrayList<>();
+        long count = 0;
+
+        String last = null;
+        boolean exhausted = false;
+        while (!exhausted) {
+            List<String> ids = ids(last, MAX_PAGE_SIZE);
+            exhausted = ids.size() < MAX_PAGE_SIZE;
+            if (!ids.isEmpty()) {
+                last = ids.get(ids.size() - 1);
+            }
+            for (Record record : fetch(ids)) {
+                if (tagQuery.matches(record.getTags())) {
+                    if (count++ < limit) {
+                        found.add(record);
+                    }
+                }
+            }
+            // records scanned so far are not needed any more, found records keep their fetched tags
+            entityManager.clear();
+        }
+
+        return new TagQueryResult(count, found);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Record> search(String query, int limit) {
+
+        if (null == query || query.trim().length() == 0) {
+            throw new IllegalArgumentException("query cant be blank or null");
+        }
+
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        // words only hold letters and digits, nothing to escape in like patterns
+        List<String> words = new ArrayList<>(InfoIndex.words(query));
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder jpql = new StringBuilder("select r.id from Record r where ");
+        for (int i = 0; i < words.size(); i++) {
+            jpql.append(i == 0 ? "" : " and ").append("lower(r.info) like :word").append(i);
+        }
+        TypedQuery<String> ids = entityManager.createQuery(jpql.append(" order by r.id").toString(), String.class);
+        for (int i = 0; i < words.size(); i++) {
+            ids.setParameter("word" + i, "%" + words.get(i) + "%");
+        }
+
+        return fetch(ids.setMaxResults(limit).getResultList());
+    }
+
+    @Override
+    @Transactional
+    public boolean updateRecord(Record record) {
+        updateRecord(record, null);
+        return true;
+    }
+
+    /**
+     * Row of record is locked while version is compared, so concurrent updates of the record
+     * are compared against the version each other stored.
+     */
+    @Override
+    @Transactional
+    public Record updateRecord(Record record, Long expectedVersion) {
+
+        if (record == null || StringUtils.isEmpty(record.getId())) {
+            throw new IllegalArgumentException("invalid record");
+        }
+
+        Record stored = entityManager.find(Record.class, record.getId(), LockModeType.PESSIMISTIC_WRITE);
+        checkVersion(record.getId(), stored, expectedVersion);
+        stored.setVersion(stored.getVersion() + 1);
+
+        if (!StringUtils.isEmpty(record.getInfo())) {
+            stored.setInfo(record.getInfo());
+        }
+
+        if (record.getTags() != null && record.getTags().size() > 0) {
+            stored.setTags(record.getTags());
+        }
+
+        stored.setLastUpdated(new Date());
+
+        log.debug("updated record {}", stored);
+
+        // load tags while session is open
+        stored.getTags().size();
+        return stored;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Record getRecord(String id) {
+
+        if (StringUtils.isEmpty(id)) {
+            throw new IllegalArgumentException("info cant be blank or null");
+        }
+
+        Record record = entityManager.find(Record.class, id);
+        if (record != null) {
+            // load tags while session is open, from collection cache when cached
+            record.getTags().size();
+        }
+        return record;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateTags(Record record, List<String> tags) {
+
+        if (record == null || StringUtils.isEmpty(record.getId())
+                || StringUtils.isEmpty(record.getInfo())) {
+            throw new IllegalArgumentException("invalid record id");
+        }
+
+        if (tags == null || tags.size() == 0) {
+            return false;
+        }
+
+        Record stored = entityManager.find(Record.class, record.getId(), LockModeType.PESSIMISTIC_WRITE);
+
+        // record is not part of inventory, only update the input object
+        if (stored == null) {
+            record.setTags(tags);
+        } else {
+            stored.setTags(tags);
+            stored.setVersion(stored.getVersion() + 1);
+        }
+
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TagStats getTagStats(int limit, List<String> tags) {
+
+        if (limit < 1 || limit > MAX_TOP_TAGS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_TAGS);
+        }
+
+        if (tags != null && tags.size() > MAX_TOP_TAGS) {
+            throw new IllegalArgumentException("at most " + MAX_TOP_TAGS + " tags can be counted");
+        }
+
+        long records = entityManager.createQuery("select count(r) from Record r", Long.class).getSingleResult();
+        long distinct = entityManager.createQuery(
+                "select count(distinct tag) from Record r join r.storedTags tag", Long.class).getSingleResult();
+
+        List<TagCount> top = tagCounts(entityManager.createQuery(
+                "select tag, count(distinct r.id) from Record r join r.storedTags tag "
+                        + "group by tag order by count(distinct r.id) desc", Object[].class)
+                .setMaxResults(limit)
+                .getResultList());
+
+        List<TagCount> counts = null;
+        if (tags != null && !tags.isEmpty()) {
+            Map<String, Long> found = new HashMap<>();
+            for (TagCount count : tagCounts(entityManager.createQuery(
+                    "select tag, count(distinct r.id) from Record r join r.storedTags tag "
+                            + "where tag in :tags group by tag", Object[].class)
+                    .setParameter("tags", tags)
+                    .getResultList())) {
+                found.put(count.getTag(), count.getCount());
+            }
+
+            counts = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                counts.add(new TagCount(tag, found.getOrDefault(tag, 0L)));
+            }
+        }
+
+        return new TagStats(records, (int) distinct, top, counts);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TagCount> suggestTags(String prefix, int limit) {
+
+        if (prefix == null) {
+            throw new IllegalArgumentException("prefix cant be null");
+        }
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        // prefix is matched literally, like wildcards in it are escaped
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+
+        return tagCounts(entityManager.createQuery(
+                "select tag, count(distinct r.id) from Record r join r.storedTags tag "
+                        + "where tag like :pattern escape '!' group by tag "
+                        + "order by count(distinct r.id) desc, tag", Object[].class)
+                .setParameter("pattern", pattern)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecordPage getRecordsCreated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween("creationDate", from, to, cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecordPage getRecordsUpdated(Date from, Date to, String cursor, int limit) {
+        return getRecordsBetween("lastUpdated", from, to, cursor, limit);
+    }
+
+    /**
+     * Page of records by a timestamp, ids are selected through the index of timestamp and id
+     * and then fetched.
+     *
+     * @param field - timestamp field of record
+     */
+    private RecordPage getRecordsBetween(String field, Date from, Date to, String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (from != null && to != null && from.after(to)) {
+            throw new IllegalArgumentException("from cant be after to");
+        }
+
+        TimeIndex.Position after = StringUtils.isEmpty(cursor) ? null : decodePosition(cursor);
+        String time = "r." + field;
+
+        StringBuilder jpql = new StringBuilder("select r.id, ").append(time).append(" from Record r where 1 = 1");
+        if (from != null) {
+            jpql.append(" and ").append(time).append(" >= :from");
+        }
+        if (to != null) {
+            jpql.append(" and ").append(time).append(" < :to");
+        }
+        if (after != null) {
+            jpql.append(" and (").append(time).append(" > :time or (")
+                    .append(time).append(" = :time and r.id > :id))");
+        }
+        jpql.append(" order by ").append(time).append(", r.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (from != null) {
+            query.setParameter("from", from, TemporalType.TIMESTAMP);
+        }
+        if (to != null) {
+            query.setParameter("to", to, TemporalType.TIMESTAMP);
+        }
+        if (after != null) {
+            query.setParameter("time", new Date(after.getTime()), TemporalType.TIMESTAMP);
+            query.setParameter("id", after.getId());
+        }
+
+        // one row more than asked tells whether another page follows
+        List<Object[]> rows = query.setMaxResults(limit + 1).getResultList();
+        List<String> ids = new ArrayList<>(Math.min(limit, rows.size()));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            ids.add((String) rows.get(i)[0]);
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            Object[] last = rows.get(limit - 1);
+            next = encodePosition(new TimeIndex.Position(((Date) last[1]).getTime(), (String) last[0]));
+        }
+
+        return new RecordPage(fetch(ids), next);
+    }
+
+    private static List<TagCount> tagCounts(List<Object[]> rows) {
+        List<TagCount> counts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            counts.add(new TagCount((String) row[0], ((Number) row[1]).longValue()));
+        }
+        return counts;
+    }
+
+    private Record newRecord(String info, List<String> tags, Long ttl, Date date) {
+        Record record = new Record();
+        record.setId(RecordIds.encode(idGenerator.nextId()));
+        record.setInfo(info);
+        record.setCreationDate(date);
+        record.setLastUpdated(date);
+        record.setExpiresAt(expiresAt(date, ttl));
+        record.setVersion(1);
+        record.setTags(tags == null ? Collections.emptyList() : tags);
+        return record;
+    }
+
+    /**
+     * @return - ids following after in id order, at most limit of them
+     */
+    private List<String> ids(String after, int limit) {
+        TypedQuery<String> query = after == null
+                ? entityManager.createQuery("select r.id from Record r order by r.id", String.class)
+                : entityManager.createQuery("select r.id from Record r where r.id > :after order by r.id", String.class)
+                        .setParameter("after", after);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * @return - records of ids along with their tags in one query, in order of ids
+     */
+    private List<Record> fetch(List<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Record> fetched = new HashMap<>(ids.size() * 2);
+        for (Record record : entityManager.createQuery(SELECT_RECORDS + "where r.id in :ids", Record.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            fetched.put(record.getId(), record);
+        }
+
+        // record may be removed between id and record query
+        List<Record> records = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Record record = fetched.get(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
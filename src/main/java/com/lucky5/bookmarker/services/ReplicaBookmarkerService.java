@@ -0,0 +1,247 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.replication.Leader;
+import com.lucky5.bookmarker.replication.ReplicationFollower;
+import com.lucky5.bookmarker.replication.ReplicationProperties.Consistency;
+import com.lucky5.bookmarker.replication.StaleReplicaException;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.ReplicaBookmarkerService.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:50
+ * Description  : Book marker service of a replication follower. Reads are served from the
+ *                records of this node, kept up to date by {@link ReplicationFollower}, writes
+ *                are forwarded to the leader.
+ *
+ *                With read your writes, a read waits until the follower applied every write
+ *                made through it. Writes made directly on the leader or through other
+ *                followers may not be seen yet. With bounded staleness, a read waits until
+ *                records of the follower are no older than max staleness, whoever wrote.
+ *                Reads still waiting after the wait timeout fail with
+ *                {@link StaleReplicaException}.
+ */
+public class ReplicaBookmarkerService implements BookmarkerService {
+
+    private final BookmarkerServiceImpl local;
+    private final Leader leader;
+    private final ReplicationFollower follower;
+    private final Consistency consistency;
+    private final long maxStaleness;
+    private final long waitTimeout;
+
+    // epoch and sequence of leader covering every write made through this follower
+    private final AtomicReference<Position> written = new AtomicReference<>(new Position(0, 0));
+
+    /**
+     * @param local - service keeping records of this node
+     * @param leader - leader writes are forwarded to
+     * @param follower - follower applying changes of leader to local service
+     * @param consistency - guarantee reads are served with
+     * @param maxStaleness - milliseconds records may lag behind, bounded staleness only
+     * @param waitTimeout - milliseconds a read waits for follower to catch up
+     */
+    public ReplicaBookmarkerService(BookmarkerServiceImpl local, Leader leader, ReplicationFollower follower,
+                                    Consistency consistency, long maxStaleness, long waitTimeout) {
+        this.local = local;
+        this.leader = leader;
+        this.follower = follower;
+        this.consistency = consistency;
+        this.maxStaleness = maxStaleness;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public String addRecord(String info, List<String> tags) {
+        return addRecord(info, tags, null);
+    }
+
+    @Override
+    public String addRecord(String info, List<String> tags, Long ttl) {
+        Record record = new Record();
+        record.setInfo(info);
+        record.setTags(tags);
+        record.setTtl(ttl);
+
+        BatchItemResult result = addRecords(Collections.singletonList(record)).get(0);
+        if (result.getError() != null) {
+            throw new IllegalArgumentException(result.getError());
+        }
+        return result.getId();
+    }
+
+    @Override
+    public List<BatchItemResult> addRecords(List<Record> records) {
+        if (records == null) {
+            throw new IllegalArgumentException("records cant be null");
+        }
+        return written(leader.add(records)).getResults();
+    }
+
+    @Override
+    public boolean deleteRecord(String id) {
+        if (StringUtils.isEmpty(id)) {
+            return local.deleteRecord(id);
+        }
+        return written(leader.delete(id)).isFound();
+    }
+
+    @Override
+    public boolean updateRecord(Record record) {
+        updateRecord(record, null);
+        return true;
+    }
+
+    @Override
+    public Record updateRecord(Record record, Long expectedVersion) {
+        if (record == null || StringUtils.isEmpty(record.getId())) {
+            return local.updateRecord(record, expectedVersion);
+        }
+        return written(leader.update(record, expectedVersion)).getRecord();
+    }
+
+    @Override
+    public boolean updateTags(Record record, List<String> tags) {
+
+        if (record == null || StringUtils.isEmpty(record.getId())
+                || StringUtils.isEmpty(record.getInfo())) {
+            throw new IllegalArgumentException("invalid record id");
+        }
+
+        if (tags == null || tags.size() == 0) {
+            return false;
+        }
+
+        // record is not part of inventory, only update the input object, unless it is a
+        // stored version removed meanwhile
+        if (!written(leader.updateTags(record.getId(), tags)).isFound() && !record.isFrozen()) {
+            record.setTags(new ArrayList<>(tags));
+        }
+        return true;
+    }
+
+    @Override
+    public List<Record> getAllRecords() {
+        awaitConsistency();
+        return local.getAllRecords();
+    }
+
+    @Override
+    public RecordPage getRecords(String cursor, int limit) {
+        awaitConsistency();
+        return local.getRecords(cursor, limit);
+    }
+
+    @Override
+    public Iterator<Record> getRecordIterator(String cursor) {
+        awaitConsistency();
+        return local.getRecordIterator(cursor);
+    }
+
+    @Override
+    public List<Record> getFilteredRecord(String tag) {
+        awaitConsistency();
+        return local.getFilteredRecord(tag);
+    }
+
+    @Override
+    public TagQueryResult queryByTags(String query, int limit) {
+        awaitConsistency();
+        return local.queryByTags(query, limit);
+    }
+
+    @Override
+    public List<Record> search(String query, int limit) {
+        awaitConsistency();
+        return local.search(query, limit);
+    }
+
+    @Override
+    public Record getRecord(String id) {
+        awaitConsistency();
+        return local.getRecord(id);
+    }
+
+    @Override
+    public TagStats getTagStats(int limit, List<String> tags) {
+        awaitConsistency();
+        return local.getTagStats(limit, tags);
+    }
+
+    @Override
+    public List<TagCount> suggestTags(String prefix, int limit) {
+        awaitConsistency();
+        return local.suggestTags(prefix, limit);
+    }
+
+    @Override
+    public RecordPage getRecordsCreated(Date from, Date to, String cursor, int limit) {
+        awaitConsistency();
+        return local.getRecordsCreated(from, to, cursor, limit);
+    }
+
+    @Override
+    public RecordPage getRecordsUpdated(Date from, Date to, String cursor, int limit) {
+        awaitConsistency();
+        return local.getRecordsUpdated(from, to, cursor, limit);
+    }
+
+    private ReplicatedWrite written(ReplicatedWrite write) {
+        written.accumulateAndGet(new Position(write.getEpoch(), write.getSequence()), Position::later);
+        return write;
+    }
+
+    private void awaitConsistency() {
+        boolean consistent;
+        try {
+            Position position = written.get();
+            consistent = consistency == Consistency.READ_YOUR_WRITES
+                    ? follower.awaitSequence(position.epoch, position.sequence, waitTimeout)
+                    : follower.awaitFresh(maxStaleness, waitTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            consistent = false;
+        }
+
+        if (!consistent) {
+            throw new StaleReplicaException("replica did not catch up within " + waitTimeout + " ms, "
+                    + "applied change " + follower.applied());
+        }
+    }
+
+    /**
+     * Position in change feed of leader, sequences of a later epoch follow all of an earlier one.
+     */
+    private static final class Position {
+
+        private final long epoch;
+        private final long sequence;
+
+        private Position(long epoch, long sequence) {
+            this.epoch = epoch;
+            this.sequence = sequence;
+        }
+
+        private static Position later(Position a, Position b) {
+            if (a.epoch != b.epoch) {
+                return a.epoch > b.epoch ? a : b;
+            }
+            return a.sequence >= b.sequence ? a : b;
+        }
+    }
+}
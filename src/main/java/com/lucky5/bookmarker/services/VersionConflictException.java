@@ -0,0 +1,21 @@
+package com.lucky5.bookmarker.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.VersionConflictException.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:10
+ * Description  : Thrown when a conditional update finds a record at another version than the
+ *                one expected, as another update came first. Answered with 412, clients read
+ *                the record again and retry.
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "record was changed meanwhile")
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.lucky5.bookmarker.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.ConditionalOnRecordStore.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Matches when records are kept in a {@link RecordStore}, that is unless the jpa
+ *                store engine is selected
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+@ConditionalOnExpression("!'${bookmarker.store.engine:heap}'.equalsIgnoreCase('jpa')")
+public @interface ConditionalOnRecordStore {
+}
@@ -0,0 +1,353 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.InfoIndex.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 16:10
+ * Description  : Full text inverted index over record info. Info is split into lower case
+ *                words, so urls are searchable by host and path segments. Words are kept
+ *                sorted, which lets a query word also match as prefix of indexed words
+ *                without storing n-grams. Index is kept up to date by listening to record
+ *                store changes.
+ *
+ *                Every query word must match. Records matching more words exactly rank first,
+ *                ties are broken by the sum of inverse document frequency of matched words,
+ *                prefix matches counting half. Only postings of the most selective word are
+ *                walked, the others are probed. Records matching every word exactly share
+ *                the best score, so walking stops once limit of them is found. Otherwise
+ *                postings of the most selective word are walked in full, so no match is left
+ *                out, at a cost bounded by the size of its postings.
+ */
+public class InfoIndex implements RecordListener {
+
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final int MAX_WORD_LENGTH = 64;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_WEIGHT = 0.5;
+    // exact matches of a word always outrank prefix matches
+    private static final double EXACT_MATCH = 1000;
+
+    // parts of nearly every url, they only cost memory and never narrow a search
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList("http", "https", "www"));
+
+    private final ConcurrentHashMap<String, Set<String>> index = new ConcurrentHashMap<>();
+
+    // sorted copy of index keys for prefix lookups, changed only inside compute of the word
+    private final ConcurrentSkipListSet<String> sortedWords = new ConcurrentSkipListSet<>();
+    private final AtomicInteger documents = new AtomicInteger();
+
+    /**
+     * Split text into distinct searchable words.
+     *
+     * @param text - text to split, may be null
+     *
+     * @return - distinct lower case words in order of first occurrence
+     */
+    public static Set<String> words(String text) {
+
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return words;
+        }
+
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean letter = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                int end = Math.min(i, start + MAX_WORD_LENGTH);
+                if (end - start >= MIN_WORD_LENGTH) {
+                    String word = text.substring(start, end).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(word)) {
+                        words.add(word);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Find ids of records matching every word of query, best match first.
+     *
+     * @param query - free text query
+     * @param limit - maximum number of ids returned
+     *
+     * @return - ranked record ids
+     */
+    public List<String> search(String query, int limit) {
+
+        Set<String> queryWords = words(query);
+        if (queryWords.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        int total = Math.max(1, documents.get());
+        List<Term> terms = new ArrayList<>(queryWords.size());
+        boolean allExact = true;
+        for (String word : queryWords) {
+            Term term = term(word, total);
+            if (term.size == 0) {
+                return Collections.emptyList();
+            }
+            allExact &= term.exact != null;
+            terms.add(term);
+        }
+
+        // most selective word drives, the others are only probed
+        terms.sort(Comparator.comparingLong((term) -> term.size));
+
+        Set<String> found = new LinkedHashSet<>();
+        if (allExact) {
+            collectExactMatches(terms, limit, found);
+        }
+        if (found.size() < limit) {
+            if (terms.size() == 1) {
+                collectPrefixMatches(terms.get(0), limit, found);
+            } else {
+                collectRanked(terms, limit, found);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Records matching every word exactly share the best possible score, so walking stops
+     * as soon as limit of them is found.
+     */
+    private void collectExactMatches(List<Term> terms, int limit, Set<String> found) {
+
+        Term driver = Collections.min(terms, Comparator.comparingInt((term) -> term.exact.size()));
+
+        for (String id : driver.exact) {
+            if (found.size() >= limit) {
+                return;
+            }
+            boolean matches = true;
+            for (Term term : terms) {
+                if (term != driver && !term.exact.contains(id)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                found.add(id);
+            }
+        }
+    }
+
+    /**
+     * With a single word, every prefix expansion is one score level, rarest first.
+     */
+    private void collectPrefixMatches(Term term, int limit, Set<String> found) {
+        for (Set<String> postings : term.prefixes) {
+            for (String id : postings) {
+                if (found.size() >= limit) {
+                    return;
+                }
+                found.add(id);
+            }
+        }
+    }
+
+    /**
+     * Rank remaining records matching some words only as prefix, walking every posting of the
+     * most selective word. Only the best limit hits are kept while walking.
+     */
+    private void collectRanked(List<Term> terms, int limit, Set<String> found) {
+
+        int wanted = limit - found.size();
+        Term driver = terms.get(0);
+        PriorityQueue<Hit> best = new PriorityQueue<>(wanted + 1, Comparator.comparingDouble((hit) -> hit.score));
+        Set<String> seen = new HashSet<>(found);
+
+        for (Set<String> postings : driver.postings()) {
+            for (String id : postings) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+
+                double score = 0;
+                for (Term term : terms) {
+                    double weight = term.weight(id);
+                    if (weight == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += weight;
+                }
+                if (score == 0) {
+                    continue;
+                }
+
+                best.add(new Hit(id, score));
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble((Hit hit) -> hit.score).reversed());
+        for (Hit hit : hits) {
+            found.add(hit.id);
+        }
+    }
+
+    /**
+     * @return - number of distinct words present in index
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        documents.incrementAndGet();
+        addAll(record.getId(), words(record.getInfo()));
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        if (Objects.equals(previous.getInfo(), current.getInfo())) {
+            return;
+        }
+
+        Set<String> removed = words(previous.getInfo());
+        Set<String> added = words(current.getInfo());
+        Set<String> kept = new HashSet<>(removed);
+        kept.retainAll(added);
+        removed.removeAll(kept);
+        added.removeAll(kept);
+
+        removeAll(previous.getId(), removed);
+        addAll(current.getId(), added);
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        documents.decrementAndGet();
+        removeAll(record.getId(), words(record.getInfo()));
+    }
+
+    private Term term(String word, int total) {
+
+        Term term = new Term();
+
+        Set<String> exact = index.get(word);
+        if (exact != null) {
+            term.exact = exact;
+            term.exactWeight = EXACT_MATCH + idf(exact.size(), total);
+            term.size = exact.size();
+        }
+
+        int expanded = 0;
+        for (String expansion : sortedWords.subSet(word, false, word + Character.MAX_VALUE, false)) {
+            if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Set<String> postings = index.get(expansion);
+            if (postings != null) {
+                term.prefixes.add(postings);
+                term.size += postings.size();
+            }
+        }
+
+        // rarest expansion first, it carries the highest weight
+        term.prefixes.sort(Comparator.comparingInt(Set::size));
+        term.prefixWeights = new double[term.prefixes.size()];
+        for (int i = 0; i < term.prefixWeights.length; i++) {
+            term.prefixWeights[i] = PREFIX_WEIGHT * idf(term.prefixes.get(i).size(), total);
+        }
+        return term;
+    }
+
+    private static double idf(int matching, int total) {
+        return Math.log(1 + (double) total / Math.max(1, matching));
+    }
+
+    private void addAll(String id, Collection<String> words) {
+        for (String word : words) {
+            index.compute(word, (key, ids) -> {
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                    sortedWords.add(word);
+                }
+                ids.add(id);
+                return ids;
+            });
+        }
+    }
+
+    private void removeAll(String id, Collection<String> words) {
+        for (String word : words) {
+            // drop the entry of word once last record is gone, so index does not keep dead words
+            index.computeIfPresent(word, (key, ids) -> {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    sortedWords.remove(word);
+                    return null;
+                }
+                return ids;
+            });
+        }
+    }
+
+    /**
+     * Posting sets matching one query word, exact match along with prefix matches.
+     */
+    private static final class Term {
+
+        private Set<String> exact;
+        private double exactWeight;
+        private final List<Set<String>> prefixes = new ArrayList<>();
+        private double[] prefixWeights;
+        private long size;
+
+        private List<Set<String>> postings() {
+            List<Set<String>> postings = new ArrayList<>(prefixes.size() + 1);
+            if (exact != null) {
+                postings.add(exact);
+            }
+            postings.addAll(prefixes);
+            return postings;
+        }
+
+        /**
+         * @return - weight of best match of record, 0 if record does not match
+         */
+        private double weight(String id) {
+            if (exact != null && exact.contains(id)) {
+                return exactWeight;
+            }
+            for (int i = 0; i < prefixes.size(); i++) {
+                if (prefixes.get(i).contains(id)) {
+                    return prefixWeights[i];
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Hit {
+
+        private final String id;
+        private final double score;
+
+        private Hit(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
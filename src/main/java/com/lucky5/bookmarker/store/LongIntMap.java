@@ -0,0 +1,125 @@
+package com.lucky5.bookmarker.store;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.LongIntMap.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:00
+ * Description  : Map from primitive long to primitive int with open addressing, twelve bytes
+ *                per slot and no boxing. Removal shifts following entries back instead of
+ *                leaving tombstones. Not thread safe, callers guard it.
+ *
+ *                Key 0 marks an empty slot and can not be stored.
+ */
+class LongIntMap {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys = new long[16];
+    private int[] values = new int[16];
+    private int size;
+
+    /**
+     * @return - value of key, -1 if key is not present
+     */
+    int get(long key) {
+        // arrays read once, so a caller reading optimistically during a resize still terminates
+        long[] keys = this.keys;
+        int[] values = this.values;
+        int slotMask = keys.length - 1;
+        for (int slot = slot(key, slotMask); keys[slot] != EMPTY; slot = (slot + 1) & slotMask) {
+            if (keys[slot] == key) {
+                return slot < values.length ? values[slot] : -1;
+            }
+        }
+        return -1;
+    }
+
+    void put(long key, int value) {
+        if (size + 1 > keys.length * 3 / 4) {
+            resize(keys.length * 2);
+        }
+        int slotMask = keys.length - 1;
+        int slot = slot(key, slotMask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & slotMask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @return - removed value, -1 if key was not present
+     */
+    int remove(long key) {
+        int slotMask = keys.length - 1;
+        int slot = slot(key, slotMask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        int removed = values[slot];
+
+        // move back every following entry of the run which may no longer be reachable
+        int gap = slot;
+        for (int next = (gap + 1) & slotMask; keys[next] != EMPTY; next = (next + 1) & slotMask) {
+            int home = slot(keys[next], slotMask);
+            if (((next - home) & slotMask) >= ((next - gap) & slotMask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return - copy of all keys
+     */
+    long[] keys() {
+        long[] copy = new long[size];
+        int i = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                copy[i++] = key;
+            }
+        }
+        return copy;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int slotMask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], slotMask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & slotMask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int slotMask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & slotMask;
+    }
+}
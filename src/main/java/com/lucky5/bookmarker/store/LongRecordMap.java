@@ -0,0 +1,262 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.LongRecordMap.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:10
+ * Description  : Concurrent map from primitive long key to record. Keys and values live in
+ *                parallel arrays with open addressing, so an entry costs a long and a
+ *                reference instead of a node object and a boxed or string key. Map is split
+ *                into segments, each guarded by a {@link StampedLock}: reads are optimistic
+ *                and take no lock unless a write to the same segment interleaves.
+ *
+ *                Key 0 marks an empty slot and can not be stored. Removed entries keep their
+ *                key with a null value until the segment is rehashed.
+ */
+class LongRecordMap implements RecordMap {
+
+    private static final long EMPTY = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final int mask;
+
+    /**
+     * @param segments - number of segments, rounded up to a power of two
+     */
+    LongRecordMap(int segments) {
+        int size = Integer.highestOneBit(Math.max(1, segments - 1)) << 1;
+        this.segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            this.segments[i] = new Segment();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Record get(long key) {
+        return segmentFor(key).get(key);
+    }
+
+    @Override
+    public Record put(long key, Record record) {
+        return segmentFor(key).put(key, record);
+    }
+
+    @Override
+    public Record remove(long key) {
+        return segmentFor(key).remove(key);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return - weakly consistent iterator, every segment is copied when reached
+     */
+    @Override
+    public Iterator<Record> values() {
+        return new Iterator<Record>() {
+
+            private int segment;
+            private Iterator<Record> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && segment < segments.length) {
+                    current = segments[segment++].values().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int) (mix(key) >>> 32) & mask];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final Record[] values;
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new Record[capacity];
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        // live entries, and slots holding a key including removed entries
+        private volatile int size;
+        private int used;
+
+        private Record get(long key) {
+            long stamp = lock.tryOptimisticRead();
+            Record record = find(table, key);
+            if (lock.validate(stamp)) {
+                return record;
+            }
+
+            stamp = lock.readLock();
+            try {
+                return find(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private Record put(long key, Record record) {
+            long stamp = lock.writeLock();
+            try {
+                if (used + 1 > table.keys.length * 3 / 4) {
+                    rehash();
+                }
+
+                long[] keys = table.keys;
+                int slotMask = keys.length - 1;
+                int slot = (int) mix(key) & slotMask;
+
+                while (keys[slot] != EMPTY && keys[slot] != key) {
+                    slot = (slot + 1) & slotMask;
+                }
+
+                Record previous = table.values[slot];
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = key;
+                    used++;
+                }
+                table.values[slot] = record;
+                if (previous == null) {
+                    size++;
+                }
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private Record remove(long key) {
+            long stamp = lock.writeLock();
+            try {
+                long[] keys = table.keys;
+                int slotMask = keys.length - 1;
+                int slot = (int) mix(key) & slotMask;
+
+                while (keys[slot] != EMPTY) {
+                    if (keys[slot] == key) {
+                        Record previous = table.values[slot];
+                        if (previous != null) {
+                            table.values[slot] = null;
+                            size--;
+                        }
+                        return previous;
+                    }
+                    slot = (slot + 1) & slotMask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private List<Record> values() {
+            long stamp = lock.readLock();
+            try {
+                List<Record> values = new ArrayList<>(size);
+                for (Record record : table.values) {
+                    if (record != null) {
+                        values.add(record);
+                    }
+                }
+                return values;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Copy live entries into a table sized for them, dropping removed entries.
+         */
+        private void rehash() {
+            int capacity = INITIAL_CAPACITY;
+            while ((size + 1) > capacity / 2) {
+                capacity <<= 1;
+            }
+
+            Table rehashed = new Table(capacity);
+            int slotMask = capacity - 1;
+            for (int i = 0; i < table.keys.length; i++) {
+                Record record = table.values[i];
+                if (record == null) {
+                    continue;
+                }
+                int slot = (int) mix(table.keys[i]) & slotMask;
+                while (rehashed.keys[slot] != EMPTY) {
+                    slot = (slot + 1) & slotMask;
+                }
+                rehashed.keys[slot] = table.keys[i];
+                rehashed.values[slot] = record;
+            }
+
+            table = rehashed;
+            used = size;
+        }
+
+        /**
+         * Probe table for key. May run on a table being modified when called optimistically,
+         * result is then discarded, so it only has to terminate.
+         */
+        private static Record find(Table table, long key) {
+            long[] keys = table.keys;
+            int slotMask = keys.length - 1;
+            int slot = (int) mix(key) & slotMask;
+
+            for (int probes = 0; probes < keys.length; probes++) {
+                long current = keys[slot];
+                if (current == EMPTY) {
+                    return null;
+                }
+                if (current == key) {
+                    return table.values[slot];
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            return null;
+        }
+    }
+}
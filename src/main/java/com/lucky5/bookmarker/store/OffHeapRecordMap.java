@@ -0,0 +1,405 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.OffHeapRecordMap.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:40
+ * Description  : Record storage keeping serialized records in direct memory slabs, outside of
+ *                the garbage collected heap. Only a primitive key to address index lives on the
+ *                heap, so a million stored records are a few arrays to the collector instead of
+ *                millions of objects. Every read decodes a fresh short lived copy.
+ *
+ *                Records are appended to the active slab. Replaced and removed entries become
+ *                dead space, a slab whose dead space exceeds half of it is compacted by copying
+ *                its live entries to the active slab, after which the slab is reused. Writers
+ *                share one lock, they only copy bytes. Readers take no lock unless a writer
+ *                interleaves.
+ *
+ *                Entry  : key (long), length (int), id, info, created, updated, expires,
+ *                         version (long), tag count (int, -1 for null), tag ids (int)
+ *                Tag ids refer to {@link com.lucky5.bookmarker.model.TagDictionary}, entries
+ *                only live as long as the process. Tags of a record must be acquired before it
+ *                is put and released only once it is replaced or removed, so ids of an entry
+ *                are held as long as a reader can see it.
+ */
+class OffHeapRecordMap implements RecordMap {
+
+    static final int MIN_SLAB_SIZE = 1 << 16;
+    static final int MAX_SLAB_SIZE = 1 << 30;
+
+    // entries start at multiples of eight bytes, addresses count in these units
+    private static final int ALIGNMENT = 8;
+    private static final int HEADER_SIZE = 12;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_TAG = -1;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final int slabSize;
+    private final int unitsPerSlab;
+    private final StampedLock lock = new StampedLock();
+
+    // key to address, address is slab * unitsPerSlab + offset / ALIGNMENT
+    private final LongIntMap index = new LongIntMap();
+
+    private ByteBuffer[] slabs = new ByteBuffer[16];
+    private int[] used = new int[16];
+    private int[] dead = new int[16];
+    private int slabCount;
+    private int active = -1;
+    private int[] freeSlabs = new int[16];
+    private int freeCount;
+
+    /**
+     * @param slabSize - bytes per slab, power of two between 64KB and 1GB, limits size of a
+     *                   single record, total capacity is 16GB
+     */
+    OffHeapRecordMap(int slabSize) {
+        if (slabSize < MIN_SLAB_SIZE || slabSize > MAX_SLAB_SIZE || Integer.bitCount(slabSize) != 1) {
+            throw new IllegalArgumentException("slab size must be a power of two between "
+                    + MIN_SLAB_SIZE + " and " + MAX_SLAB_SIZE);
+        }
+        this.slabSize = slabSize;
+        this.unitsPerSlab = slabSize / ALIGNMENT;
+    }
+
+    @Override
+    public Record get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Record record = find(key);
+                if (lock.validate(stamp)) {
+                    return record;
+                }
+            } catch (RuntimeException ex) {
+                // entry was moved or overwritten while being read, read again under lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return find(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Record put(long key, Record record) {
+
+        // encode before taking the lock, writers then only copy bytes
+        byte[] entry = encode(key, record);
+
+        long stamp = lock.writeLock();
+        try {
+            int previousAddress = index.get(key);
+            Record previous = previousAddress < 0 ? null : read(previousAddress);
+
+            index.put(key, append(entry, 0, entry.length));
+            if (previousAddress >= 0) {
+                release(previousAddress);
+            }
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Record remove(long key) {
+        long stamp = lock.writeLock();
+        try {
+            int address = index.remove(key);
+            if (address < 0) {
+                return null;
+            }
+            Record removed = read(address);
+            release(address);
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return - weakly consistent iterator, keys are copied up front and records decoded
+     *           one by one as iterator advances
+     */
+    @Override
+    public Iterator<Record> values() {
+        long[] keys;
+        long stamp = lock.readLock();
+        try {
+            keys = index.keys();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        return new Iterator<Record>() {
+
+            private int position;
+            private Record next;
+
+            @Override
+            public boolean hasNext() {
+                // skip keys whose record got removed after keys were copied
+                while (next == null && position < keys.length) {
+                    next = get(keys[position++]);
+                }
+                return next != null;
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Record result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * @return - bytes of direct memory held by slabs
+     */
+    long capacity() {
+        long stamp = lock.readLock();
+        try {
+            return (long) slabCount * slabSize;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Record find(long key) {
+        int address = index.get(key);
+        return address < 0 ? null : read(address);
+    }
+
+    /**
+     * Copy an entry to the end of the active slab, starting a new slab when it is full.
+     *
+     * @return - address of copied entry
+     */
+    private int append(byte[] entry, int offset, int length) {
+        if (length > slabSize) {
+            throw new IllegalArgumentException("record of " + length + " bytes does not fit slab of "
+                    + slabSize + " bytes");
+        }
+        if (active < 0 || used[active] + length > slabSize) {
+            active = allocateSlab();
+        }
+
+        ByteBuffer slab = slabs[active];
+        int position = used[active];
+        slab.position(position);
+        slab.put(entry, offset, length);
+        used[active] = position + align(length);
+
+        return active * unitsPerSlab + position / ALIGNMENT;
+    }
+
+    /**
+     * Mark entry at address as dead, compacting its slab once mostly dead.
+     */
+    private void release(int address) {
+        int slab = address / unitsPerSlab;
+        int position = (address % unitsPerSlab) * ALIGNMENT;
+        dead[slab] += align(slabs[slab].getInt(position + 8));
+
+        if (slab != active && dead[slab] >= used[slab] * COMPACTION_THRESHOLD) {
+            compact(slab);
+        }
+    }
+
+    /**
+     * Move live entries of slab to active slab and make slab reusable. Entries are copied
+     * as they are, without decoding.
+     */
+    private void compact(int slab) {
+        ByteBuffer buffer = slabs[slab];
+        byte[] entry = new byte[256];
+
+        for (int position = 0; position < used[slab] && dead[slab] < used[slab]; ) {
+            long key = buffer.getLong(position);
+            int length = buffer.getInt(position + 8);
+            int address = slab * unitsPerSlab + position / ALIGNMENT;
+
+            if (index.get(key) == address) {
+                if (entry.length < length) {
+                    entry = new byte[length];
+                }
+                buffer.position(position);
+                buffer.get(entry, 0, length);
+                index.put(key, append(entry, 0, length));
+                dead[slab] += align(length);
+            }
+            position += align(length);
+        }
+
+        used[slab] = 0;
+        dead[slab] = 0;
+        if (freeCount == freeSlabs.length) {
+            freeSlabs = Arrays.copyOf(freeSlabs, freeCount * 2);
+        }
+        freeSlabs[freeCount++] = slab;
+    }
+
+    private int allocateSlab() {
+        if (freeCount > 0) {
+            return freeSlabs[--freeCount];
+        }
+        if ((long) (slabCount + 1) * unitsPerSlab > Integer.MAX_VALUE) {
+            throw new IllegalStateException("off heap store is full");
+        }
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabCount * 2);
+            used = Arrays.copyOf(used, slabCount * 2);
+            dead = Arrays.copyOf(dead, slabCount * 2);
+        }
+        slabs[slabCount] = ByteBuffer.allocateDirect(slabSize);
+        return slabCount++;
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static byte[] encode(long key, Record record) {
+
+        byte[] id = bytes(record.getId());
+        byte[] info = bytes(record.getInfo());
+        int[] tagIds = tagIds(record.getTags());
+
+        int length = HEADER_SIZE + 4 + (id == null ? 0 : id.length) + 4 + (info == null ? 0 : info.length)
+                + 8 + 8 + 8 + 8 + 4 + (tagIds == null ? 0 : tagIds.length * 4);
+        ByteBuffer out = ByteBuffer.allocate(length);
+
+        out.putLong(key).putInt(length);
+        writeBytes(out, id);
+        writeBytes(out, info);
+        out.putLong(record.getCreationDate() == null ? NULL_DATE : record.getCreationDate().getTime());
+        out.putLong(record.getLastUpdated() == null ? NULL_DATE : record.getLastUpdated().getTime());
+        out.putLong(record.getExpiresAt() == null ? NULL_DATE : record.getExpiresAt().getTime());
+        out.putLong(record.getVersion());
+        if (tagIds == null) {
+            out.putInt(NULL_LENGTH);
+        } else {
+            out.putInt(tagIds.length);
+            for (int tagId : tagIds) {
+                out.putInt(tagId);
+            }
+        }
+        return out.array();
+    }
+
+    /**
+     * Decode entry at address. Lengths are checked, as an optimistic reader may see an entry
+     * being overwritten.
+     */
+    private Record read(int address) {
+        ByteBuffer in = slabs[address / unitsPerSlab].duplicate();
+        int position = (address % unitsPerSlab) * ALIGNMENT;
+        in.limit(position + in.getInt(position + 8));
+        in.position(position + HEADER_SIZE);
+
+        Record record = new Record();
+        record.setId(readString(in));
+        record.setInfo(readString(in));
+        record.setCreationDate(readDate(in));
+        record.setLastUpdated(readDate(in));
+        record.setExpiresAt(readDate(in));
+        record.setVersion(in.getLong());
+
+        int tagCount = in.getInt();
+        if (tagCount != NULL_LENGTH) {
+            if (tagCount < 0 || tagCount > in.remaining() / 4) {
+                throw new IllegalStateException("corrupt entry at " + address);
+            }
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                int tagId = in.getInt();
+                tags.add(tagId == NULL_TAG ? null : TagDictionary.global().tag(tagId));
+            }
+            record.setTags(tags);
+        }
+        // a copy, still frozen like versions of the heap store
+        return record.freeze();
+    }
+
+    /**
+     * @throws IllegalStateException - if a tag is not acquired, see {@link TagDictionary}
+     */
+    private static int[] tagIds(List<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        int[] tagIds = new int[tags.size()];
+        for (int i = 0; i < tagIds.length; i++) {
+            String tag = tags.get(i);
+            tagIds[i] = tag == null ? NULL_TAG : TagDictionary.global().find(tag);
+            if (tag != null && tagIds[i] < 0) {
+                throw new IllegalStateException("tag " + tag + " is not acquired");
+            }
+        }
+        return tagIds;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(NULL_LENGTH);
+        } else {
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalStateException("corrupt entry");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Date readDate(ByteBuffer in) {
+        long time = in.getLong();
+        return time == NULL_DATE ? null : new Date(time);
+    }
+}
@@ -0,0 +1,292 @@
+package com.lucky5.bookmarker.store;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.OrderedKeys.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:20
+ * Description  : Sorted set of primitive long keys, eight bytes per key and no boxing. Keys
+ *                are split into the same stripes as the write locks of {@link RecordStore},
+ *                every stripe keeps its keys in sorted chunks of at most CHUNK_SIZE keys.
+ *                Writes of a stripe are serialised by the caller holding its lock, reads take
+ *                no lock: a changed chunk is published as a new array, so a reader sees either
+ *                the old or the new chunk, both sorted.
+ *
+ *                Iterators merge the stripes in key order and are weakly consistent, a stripe
+ *                is looked up again by key whenever its current chunk is used up.
+ */
+class OrderedKeys {
+
+    static final int CHUNK_SIZE = 128;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param stripes - number of stripes, same as write locks of caller
+     */
+    OrderedKeys(int stripes) {
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Add key to stripe, caller holds write lock of stripe.
+     */
+    void add(int stripe, long key) {
+        stripes[stripe].add(key);
+    }
+
+    /**
+     * Remove key from stripe, caller holds write lock of stripe.
+     */
+    void remove(int stripe, long key) {
+        stripes[stripe].remove(key);
+    }
+
+    /**
+     * @return - all keys in ascending order
+     */
+    PrimitiveIterator.OfLong iterator() {
+        return new Merge(Long.MIN_VALUE, true);
+    }
+
+    /**
+     * @return - keys greater than after in ascending order
+     */
+    PrimitiveIterator.OfLong iterator(long after) {
+        return new Merge(after, false);
+    }
+
+    private static final class Stripe {
+
+        // chunks in key order, replaced as a whole only when chunks are split or dropped
+        private volatile AtomicReferenceArray<long[]> chunks = new AtomicReferenceArray<>(0);
+
+        private void add(long key) {
+            AtomicReferenceArray<long[]> current = chunks;
+            if (current.length() == 0) {
+                chunks = new AtomicReferenceArray<>(new long[][]{{key}});
+                return;
+            }
+
+            int index = chunkFor(current, key);
+            long[] chunk = current.get(index);
+            int position = Arrays.binarySearch(chunk, key);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+
+            if (chunk.length < CHUNK_SIZE) {
+                long[] grown = new long[chunk.length + 1];
+                System.arraycopy(chunk, 0, grown, 0, position);
+                grown[position] = key;
+                System.arraycopy(chunk, position, grown, position + 1, chunk.length - position);
+                current.set(index, grown);
+                return;
+            }
+
+            // full chunk, keys appended past its end start a new chunk, others split it in half
+            long[][] split;
+            if (position == chunk.length) {
+                split = new long[][]{chunk, {key}};
+            } else {
+                long[] grown = new long[chunk.length + 1];
+                System.arraycopy(chunk, 0, grown, 0, position);
+                grown[position] = key;
+                System.arraycopy(chunk, position, grown, position + 1, chunk.length - position);
+                int half = grown.length / 2;
+                split = new long[][]{Arrays.copyOfRange(grown, 0, half), Arrays.copyOfRange(grown, half, grown.length)};
+            }
+            chunks = replace(current, index, split);
+        }
+
+        private void remove(long key) {
+            AtomicReferenceArray<long[]> current = chunks;
+            if (current.length() == 0) {
+                return;
+            }
+
+            int index = chunkFor(current, key);
+            long[] chunk = current.get(index);
+            int position = Arrays.binarySearch(chunk, key);
+            if (position < 0) {
+                return;
+            }
+
+            if (chunk.length == 1) {
+                chunks = replace(current, index, new long[0][]);
+                return;
+            }
+            long[] shrunk = new long[chunk.length - 1];
+            System.arraycopy(chunk, 0, shrunk, 0, position);
+            System.arraycopy(chunk, position + 1, shrunk, position, shrunk.length - position);
+            current.set(index, shrunk);
+        }
+
+        /**
+         * @return - index of last chunk starting at or before key, 0 if key precedes all chunks
+         */
+        private static int chunkFor(AtomicReferenceArray<long[]> chunks, long key) {
+            int low = 0;
+            int high = chunks.length() - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (chunks.get(middle)[0] <= key) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        private static AtomicReferenceArray<long[]> replace(AtomicReferenceArray<long[]> chunks, int index,
+                                                            long[][] replacement) {
+            long[][] copy = new long[chunks.length() - 1 + replacement.length][];
+            int to = 0;
+            for (int i = 0; i < chunks.length(); i++) {
+                if (i != index) {
+                    copy[to++] = chunks.get(i);
+                    continue;
+                }
+                for (long[] chunk : replacement) {
+                    copy[to++] = chunk;
+                }
+            }
+            return new AtomicReferenceArray<>(copy);
+        }
+    }
+
+    /**
+     * Keys of one stripe following a key, a chunk at a time.
+     */
+    private static final class Cursor {
+
+        private final Stripe stripe;
+        private long[] chunk;
+        private int position;
+        private long key;
+
+        private Cursor(Stripe stripe) {
+            this.stripe = stripe;
+        }
+
+        /**
+         * Move to first key greater than after, or equal to it if inclusive.
+         *
+         * @return - false if there is no such key
+         */
+        private boolean seek(long after, boolean inclusive) {
+            AtomicReferenceArray<long[]> chunks = stripe.chunks;
+            if (chunks.length() == 0) {
+                return false;
+            }
+            for (int index = Stripe.chunkFor(chunks, after); index < chunks.length(); index++) {
+                long[] candidate = chunks.get(index);
+                int found = Arrays.binarySearch(candidate, after);
+                int first = found >= 0 ? (inclusive ? found : found + 1) : -found - 1;
+                if (first < candidate.length) {
+                    chunk = candidate;
+                    position = first;
+                    key = candidate[first];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean advance() {
+            if (++position < chunk.length) {
+                key = chunk[position];
+                return true;
+            }
+            return seek(key, false);
+        }
+    }
+
+    /**
+     * Merge of stripe cursors, a binary heap ordered by current key of each cursor.
+     */
+    private final class Merge implements PrimitiveIterator.OfLong {
+
+        private final Cursor[] heap;
+        private int size;
+
+        private Merge(long from, boolean inclusive) {
+            heap = new Cursor[stripes.length];
+            for (Stripe stripe : stripes) {
+                Cursor cursor = new Cursor(stripe);
+                if (cursor.seek(from, inclusive)) {
+                    heap[size] = cursor;
+                    up(size++);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            Cursor first = heap[0];
+            long key = first.key;
+            if (!first.advance()) {
+                heap[0] = heap[--size];
+                heap[size] = null;
+            }
+            if (size > 0) {
+                down(0);
+            }
+            return key;
+        }
+
+        private void up(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent].key <= heap[index].key) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void down(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left].key < heap[smallest].key) {
+                    smallest = left;
+                }
+                if (right < size && heap[right].key < heap[smallest].key) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            Cursor cursor = heap[a];
+            heap[a] = heap[b];
+            heap[b] = cursor;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.RecordListener.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 11:20
+ * Description  : Callback for changes applied to {@link RecordStore}. Callbacks for the same
+ *                record id are invoked in order, while the store holds the write lock of id.
+ */
+public interface RecordListener {
+
+    void recordAdded(Record record);
+
+    /**
+     * Several records added at once, invoked while store holds write locks of all their ids.
+     * Listeners able to apply a batch cheaper than record by record should override this.
+     *
+     * @param records - added records
+     */
+    default void recordsAdded(List<Record> records) {
+        for (Record record : records) {
+            recordAdded(record);
+        }
+    }
+
+    void recordUpdated(Record previous, Record current);
+
+    void recordRemoved(Record record);
+}
@@ -0,0 +1,35 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.util.Iterator;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.RecordMap.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:40
+ * Description  : Storage of records by primitive long key, used by {@link RecordStore}.
+ *                Implementations are thread safe. Key 0 can not be stored.
+ */
+interface RecordMap {
+
+    Record get(long key);
+
+    /**
+     * @return - previous record of key, null if there was none
+     */
+    Record put(long key, Record record);
+
+    /**
+     * @return - removed record, null if key was not present
+     */
+    Record remove(long key);
+
+    int size();
+
+    /**
+     * @return - weakly consistent iterator over all records
+     */
+    Iterator<Record> values();
+}
@@ -0,0 +1,375 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.RecordStore.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 10:45
+ * Description  : Thread safe record store. Reads are lock free, writes on the same id are
+ *                serialised through a striped lock so that read-modify-write cycles never
+ *                lose updates. Stored records are frozen, see {@link Record#freeze()}, so a
+ *                reader never sees a version change under it. Updates swap in a new copy.
+ *                Keys are additionally kept sorted, see {@link OrderedKeys}, so that records
+ *                can be walked in a stable order from any position. Tags of a version are
+ *                acquired from {@link TagDictionary} when it is stored and released once it is
+ *                replaced or removed, after listeners are notified, so listeners can still
+ *                look up ids of the tags of both versions.
+ *
+ *                Records are keyed by the primitive long key of their id, see
+ *                {@link RecordIds#key(String)}, so walking order is creation order for
+ *                generated ids, with records of legacy ids first. Records are held on the
+ *                heap by default, or serialized outside of it, see {@link #offHeap(int)}.
+ */
+public class RecordStore {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final RecordMap records;
+    private final OrderedKeys orderedKeys;
+    private final List<RecordListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object[] locks;
+    private final int mask;
+
+    public RecordStore() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes - number of write locks, rounded up to a power of two
+     */
+    public RecordStore(int stripes) {
+        this(stripes, new LongRecordMap(stripes));
+    }
+
+    private RecordStore(int stripes, RecordMap records) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+        }
+        this.mask = size - 1;
+        this.records = records;
+        this.orderedKeys = new OrderedKeys(size);
+    }
+
+    /**
+     * Create store keeping records serialized in direct memory slabs, so stored records add
+     * nothing to garbage collection work. Every read decodes a new copy of the record.
+     *
+     * @param slabSize - bytes per slab, power of two between 64KB and 1GB, slabs are
+     *                   allocated as needed and reused after compaction
+     *
+     * @return - empty off heap store
+     */
+    public static RecordStore offHeap(int slabSize) {
+        return new RecordStore(DEFAULT_STRIPES, new OffHeapRecordMap(slabSize));
+    }
+
+    /**
+     * Register listener to be notified of every change made to the store.
+     *
+     * @param listener - {@link RecordListener}
+     */
+    public void addListener(RecordListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Get record by id without taking any lock.
+     *
+     * @param id - Id of record
+     *
+     * @return - current version of record or null if not present
+     */
+    public Record get(String id) {
+        if (id == null) {
+            return null;
+        }
+        return matching(records.get(RecordIds.key(id)), id);
+    }
+
+    /**
+     * Insert a new record. Record is frozen once inserted, a rejected record is left as it is.
+     *
+     * @param record - record with id already assigned
+     *
+     * @return - true if inserted, false if a record with same id is already present
+     */
+    public boolean insert(Record record) {
+        long key = RecordIds.key(record.getId());
+        acquireTags(record);
+        synchronized (lockFor(key)) {
+            // writes of key hold its lock, so nothing can be stored between check and put
+            if (records.get(key) != null) {
+                releaseTags(record);
+                return false;
+            }
+            records.put(key, record.freeze());
+            orderedKeys.add(stripe(key), key);
+            for (RecordListener listener : listeners) {
+                listener.recordAdded(record);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Insert a batch of new records. Write locks of all ids are held together, so listeners
+     * are notified once for the whole batch before any record of it can change again.
+     *
+     * @param batch - records with ids already assigned, frozen once inserted
+     *
+     * @return - records not inserted because a record with same id is already present, left
+     *           as they are
+     */
+    public List<Record> insertAll(List<Record> batch) {
+
+        long[] keys = batch.stream().mapToLong((record) -> RecordIds.key(record.getId())).toArray();
+        int[] stripes = Arrays.stream(keys).mapToInt(this::stripe).distinct().sorted().toArray();
+        List<Record> inserted = new ArrayList<>(batch.size());
+        List<Record> rejected = new ArrayList<>();
+        batch.forEach(RecordStore::acquireTags);
+
+        withLocks(stripes, 0, () -> {
+            for (int i = 0; i < keys.length; i++) {
+                Record record = batch.get(i);
+                if (records.get(keys[i]) != null) {
+                    releaseTags(record);
+                    rejected.add(record);
+                    continue;
+                }
+                records.put(keys[i], record.freeze());
+                orderedKeys.add(stripe(keys[i]), keys[i]);
+                inserted.add(record);
+            }
+            if (!inserted.isEmpty()) {
+                for (RecordListener listener : listeners) {
+                    listener.recordsAdded(inserted);
+                }
+            }
+        });
+
+        return rejected;
+    }
+
+    /**
+     * Insert record or replace the version currently stored under same id. Used to restore
+     * records whose full state is known, e.g. while replaying a log.
+     *
+     * @param record - record with id already assigned, frozen once stored
+     *
+     * @return - previous version of record or null if it was not present
+     */
+    public Record put(Record record) {
+        long key = RecordIds.key(record.getId());
+        acquireTags(record);
+        synchronized (lockFor(key)) {
+            Record current = records.get(key);
+            if (current != null && !current.getId().equals(record.getId())) {
+                releaseTags(record);
+                throw new IllegalStateException("id " + record.getId() + " collides with " + current.getId());
+            }
+            Record previous = records.put(key, record.freeze());
+            if (previous == null) {
+                orderedKeys.add(stripe(key), key);
+                for (RecordListener listener : listeners) {
+                    listener.recordAdded(record);
+                }
+            } else {
+                for (RecordListener listener : listeners) {
+                    listener.recordUpdated(previous, record);
+                }
+                releaseTags(previous);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Atomically replace a record with the version returned by mutation. Record passed to
+     * mutation is frozen, mutation returns a modified copy which is frozen in turn.
+     *
+     * @param id - Id of record
+     * @param mutation - function producing new version from the current one
+     *
+     * @return - new version of record, or null if no record is present for id
+     */
+    public Record update(String id, UnaryOperator<Record> mutation) {
+        if (id == null) {
+            return null;
+        }
+        long key = RecordIds.key(id);
+        synchronized (lockFor(key)) {
+            Record current = matching(records.get(key), id);
+            if (current == null) {
+                return null;
+            }
+            Record updated = mutation.apply(current);
+            acquireTags(updated);
+            records.put(key, updated.freeze());
+            for (RecordListener listener : listeners) {
+                listener.recordUpdated(current, updated);
+            }
+            releaseTags(current);
+            return updated;
+        }
+    }
+
+    /**
+     * Remove record by id.
+     *
+     * @param id - Id of record
+     *
+     * @return - removed record or null if not present
+     */
+    public Record remove(String id) {
+        return removeIf(id, (record) -> true);
+    }
+
+    /**
+     * Atomically remove record by id if it matches a condition.
+     *
+     * @param id - Id of record
+     * @param condition - condition current record must meet to be removed
+     *
+     * @return - removed record or null if not present or not matching
+     */
+    public Record removeIf(String id, Predicate<Record> condition) {
+        if (id == null) {
+            return null;
+        }
+        long key = RecordIds.key(id);
+        synchronized (lockFor(key)) {
+            Record current = matching(records.get(key), id);
+            if (current == null || !condition.test(current)) {
+                return null;
+            }
+            Record removed = records.remove(key);
+            if (removed != null) {
+                orderedKeys.remove(stripe(key), key);
+                for (RecordListener listener : listeners) {
+                    listener.recordRemoved(removed);
+                }
+                releaseTags(removed);
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * @return - weakly consistent read only view of all records
+     */
+    public Collection<Record> values() {
+        return new AbstractCollection<Record>() {
+            @Override
+            public Iterator<Record> iterator() {
+                return records.values();
+            }
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+        };
+    }
+
+    /**
+     * Walk records in id order, starting after given id. Iterator is weakly consistent, it
+     * never fails on concurrent changes and holds no copy of the records.
+     *
+     * @param afterId - id to start after, null to start from first record
+     *
+     * @return - iterator over current versions of records
+     */
+    public Iterator<Record> iterator(String afterId) {
+        final PrimitiveIterator.OfLong keys = afterId == null
+                ? orderedKeys.iterator()
+                : orderedKeys.iterator(RecordIds.key(afterId));
+
+        return new Iterator<Record>() {
+
+            private Record next;
+
+            @Override
+            public boolean hasNext() {
+                // skip keys whose record got removed after the key was read
+                while (next == null && keys.hasNext()) {
+                    next = records.get(keys.nextLong());
+                }
+                return next != null;
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Record result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Acquire tags of a version about to be stored, tags of a version not stored before are
+     * replaced by their canonical instances.
+     */
+    private static void acquireTags(Record record) {
+        if (record.getTags() != null) {
+            List<String> canonical = TagDictionary.global().acquire(record.getTags());
+            if (!record.isFrozen()) {
+                record.setTags(canonical);
+            }
+        }
+    }
+
+    private static void releaseTags(Record record) {
+        if (record.getTags() != null) {
+            TagDictionary.global().release(record.getTags());
+        }
+    }
+
+    private Object lockFor(long key) {
+        return locks[stripe(key)];
+    }
+
+    private int stripe(long key) {
+        int h = Long.hashCode(key);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return - record if it carries given id, null otherwise, guards against legacy ids
+     *           sharing a key
+     */
+    private static Record matching(Record record, String id) {
+        return record != null && id.equals(record.getId()) ? record : null;
+    }
+
+    /**
+     * Run action holding given locks, always taken in ascending order to avoid deadlocks.
+     */
+    private void withLocks(int[] stripes, int from, Runnable action) {
+        if (from == stripes.length) {
+            action.run();
+            return;
+        }
+        synchronized (locks[stripes[from]]) {
+            withLocks(stripes, from + 1, action);
+        }
+    }
+}
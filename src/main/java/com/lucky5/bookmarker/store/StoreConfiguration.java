@@ -0,0 +1,30 @@
+package com.lucky5.bookmarker.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.StoreConfiguration.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:40
+ * Description  : Creates the record store with engine selected through configuration
+ */
+@Configuration
+@EnableConfigurationProperties(StoreProperties.class)
+public class StoreConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreConfiguration.class);
+
+    @Bean
+    RecordStore recordStore(StoreProperties properties) {
+        if (properties.getEngine() == StoreEngine.OFF_HEAP) {
+            log.info("keeping records off heap in slabs of {} MB", properties.getSlabSize());
+            return RecordStore.offHeap(properties.getSlabSize() << 20);
+        }
+        return new RecordStore();
+    }
+}
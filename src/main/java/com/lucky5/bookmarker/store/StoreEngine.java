@@ -0,0 +1,27 @@
+package com.lucky5.bookmarker.store;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.StoreEngine.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:40
+ * Description  : Where {@link RecordStore} keeps records
+ */
+public enum StoreEngine {
+
+    /**
+     * Record objects on the heap, fastest reads.
+     */
+    HEAP,
+
+    /**
+     * Serialized records in direct memory slabs, stored records cost the collector nothing.
+     */
+    OFF_HEAP,
+
+    /**
+     * Records in a relational database through JPA, served by
+     * {@link com.lucky5.bookmarker.services.JpaBookmarkerService} instead of a record store.
+     */
+    JPA
+}
@@ -0,0 +1,40 @@
+package com.lucky5.bookmarker.store;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.StoreProperties.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:40
+ * Description  : Settings of record store, bound from bookmarker.store.* properties
+ */
+@ConfigurationProperties(prefix = "bookmarker.store")
+public class StoreProperties {
+
+    /**
+     * Storage engine, one of heap, off-heap or jpa.
+     */
+    private StoreEngine engine = StoreEngine.HEAP;
+
+    /**
+     * Size in megabytes of direct memory slabs of off-heap engine, power of two.
+     */
+    private int slabSize = 64;
+
+    public StoreEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(StoreEngine engine) {
+        this.engine = engine;
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    public void setSlabSize(int slabSize) {
+        this.slabSize = slabSize;
+    }
+}
@@ -0,0 +1,357 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagBitmapIndex.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:00
+ * Description  : Index from tag to compressed bitmap of records carrying the tag. Every record
+ *                gets a dense int ordinal, ordinals of removed records are handed out again,
+ *                so bitmaps stay dense and compress well even when a tag is carried by
+ *                millions of records. Bitmaps are indexed by {@link TagDictionary} id of tag.
+ *                Boolean {@link TagQuery} expressions are evaluated with bitmap AND, OR and
+ *                ANDNOT. Index is kept up to date by listening to record store changes.
+ *
+ *                Records are split into segments by key, the same way {@link RecordStore}
+ *                splits them into lock stripes, so writes under different store locks mostly
+ *                touch different segments. Every segment has its own ordinals, bitmaps and
+ *                read write lock. Changes take the write lock of their segment only, queries
+ *                are evaluated one segment at a time under its read lock and the matches of
+ *                all segments are added up, so a query holds back writers of one segment at
+ *                a time.
+ */
+public class TagBitmapIndex implements RecordListener {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Segment[] segments;
+    private final int mask;
+
+    public TagBitmapIndex() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param segments - number of segments, rounded up to a power of two
+     */
+    public TagBitmapIndex(int segments) {
+        int size = Integer.highestOneBit(Math.max(1, segments - 1)) << 1;
+        this.segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            this.segments[i] = new Segment();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Find records matching a tag query.
+     *
+     * @param query - query to evaluate
+     * @param limit - maximum number of ids returned
+     *
+     * @return - number of matching records and ids of at most limit of them
+     */
+    public Matches query(TagQuery query, int limit) {
+        long count = 0;
+        List<String> found = new ArrayList<>();
+        for (Segment segment : segments) {
+            count += segment.query(query, limit, found);
+        }
+        return new Matches(count, found);
+    }
+
+    /**
+     * @return - number of records carrying tag
+     */
+    public long count(String tag) {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.count(tag);
+        }
+        return count;
+    }
+
+    /**
+     * @return - number of distinct tags carried by at least one record
+     */
+    public int size() {
+        BitSet tags = new BitSet();
+        for (Segment segment : segments) {
+            segment.collectTags(tags);
+        }
+        return tags.cardinality();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        segmentFor(record).added(Collections.singletonList(record));
+    }
+
+    @Override
+    public void recordsAdded(List<Record> records) {
+        if (segments.length == 1) {
+            segments[0].added(records);
+            return;
+        }
+
+        Map<Segment, List<Record>> bySegment = new HashMap<>();
+        for (Record record : records) {
+            bySegment.computeIfAbsent(segmentFor(record), (segment) -> new ArrayList<>()).add(record);
+        }
+        bySegment.forEach(Segment::added);
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        if (previous.hasSameTags(current)) {
+            return;
+        }
+
+        Set<String> removed = distinct(previous.getTags());
+        Set<String> added = distinct(current.getTags());
+        Set<String> kept = new HashSet<>(removed);
+        kept.retainAll(added);
+        removed.removeAll(kept);
+        added.removeAll(kept);
+
+        segmentFor(current).updated(RecordIds.key(current.getId()), removed, added);
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        segmentFor(record).removed(record);
+    }
+
+    private Segment segmentFor(Record record) {
+        int h = Long.hashCode(RecordIds.key(record.getId()));
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static Set<String> distinct(Collection<String> tags) {
+        Set<String> distinct = new HashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null) {
+                    distinct.add(tag);
+                }
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Ordinals and bitmaps of the records of one segment, guarded by its lock.
+     */
+    private static final class Segment {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // ordinal of every indexed record by record key, and record id by ordinal
+        private final LongIntMap ordinals = new LongIntMap();
+        private String[] ids = new String[64];
+        private int nextOrdinal;
+        private int[] freeOrdinals = new int[16];
+        private int freeCount;
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private RoaringBitmap[] bitmaps = new RoaringBitmap[64];
+
+        private final TagQuery.Bitmaps source = new TagQuery.Bitmaps() {
+            @Override
+            public RoaringBitmap tag(String tag) {
+                return bitmap(tag);
+            }
+
+            @Override
+            public RoaringBitmap all() {
+                return all;
+            }
+        };
+
+        /**
+         * Add ids of matching records to found, until it holds limit ids.
+         *
+         * @return - number of matching records of segment
+         */
+        private long query(TagQuery query, int limit, List<String> found) {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap matching = query.evaluate(source);
+
+                IntIterator iterator = matching.getIntIterator();
+                while (iterator.hasNext() && found.size() < limit) {
+                    found.add(ids[iterator.next()]);
+                }
+                return matching.getLongCardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long count(String tag) {
+            lock.readLock().lock();
+            try {
+                return bitmap(tag).getLongCardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Set dictionary ids of tags carried by at least one record of segment.
+         */
+        private void collectTags(BitSet tags) {
+            lock.readLock().lock();
+            try {
+                for (int id = 0; id < bitmaps.length; id++) {
+                    if (bitmaps[id] != null && !bitmaps[id].isEmpty()) {
+                        tags.set(id);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void added(List<Record> records) {
+            lock.writeLock().lock();
+            try {
+                for (Record record : records) {
+                    add(record);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void updated(long key, Set<String> removed, Set<String> added) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinals.get(key);
+                if (ordinal < 0) {
+                    return;
+                }
+                for (String tag : removed) {
+                    bitmap(tag).remove(ordinal);
+                }
+                for (String tag : added) {
+                    writableBitmap(tag).add(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removed(Record record) {
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinals.remove(RecordIds.key(record.getId()));
+                if (ordinal < 0) {
+                    return;
+                }
+                for (String tag : distinct(record.getTags())) {
+                    bitmap(tag).remove(ordinal);
+                }
+                all.remove(ordinal);
+                ids[ordinal] = null;
+
+                if (freeCount == freeOrdinals.length) {
+                    freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+                }
+                freeOrdinals[freeCount++] = ordinal;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void add(Record record) {
+            long key = RecordIds.key(record.getId());
+            if (ordinals.get(key) >= 0) {
+                return;
+            }
+
+            int ordinal;
+            if (freeCount > 0) {
+                ordinal = freeOrdinals[--freeCount];
+            } else {
+                ordinal = nextOrdinal++;
+                if (ordinal == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+            }
+
+            ordinals.put(key, ordinal);
+            ids[ordinal] = record.getId();
+            all.add(ordinal);
+            for (String tag : distinct(record.getTags())) {
+                writableBitmap(tag).add(ordinal);
+            }
+        }
+
+        /**
+         * @return - bitmap of tag, shared empty bitmap if tag is not indexed, not to be modified
+         */
+        private RoaringBitmap bitmap(String tag) {
+            int id = TagDictionary.global().find(tag);
+            RoaringBitmap bitmap = id < 0 || id >= bitmaps.length ? null : bitmaps[id];
+            return bitmap == null ? EMPTY : bitmap;
+        }
+
+        /**
+         * @throws IllegalStateException - if tag is not acquired, see {@link TagDictionary}
+         */
+        private RoaringBitmap writableBitmap(String tag) {
+            int id = TagDictionary.global().find(tag);
+            if (id < 0) {
+                throw new IllegalStateException("tag " + tag + " is not acquired");
+            }
+            if (id >= bitmaps.length) {
+                bitmaps = Arrays.copyOf(bitmaps, Math.max(id + 1, bitmaps.length * 2));
+            }
+            if (bitmaps[id] == null) {
+                bitmaps[id] = new RoaringBitmap();
+            }
+            return bitmaps[id];
+        }
+    }
+
+    /**
+     * Result of a tag query.
+     */
+    public static final class Matches {
+
+        private final long count;
+        private final List<String> ids;
+
+        private Matches(long count, List<String> ids) {
+            this.count = count;
+            this.ids = ids;
+        }
+
+        /**
+         * @return - number of matching records
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return - ids of matching records, segment by segment in ordinal order
+         */
+        public List<String> getIds() {
+            return ids;
+        }
+    }
+}
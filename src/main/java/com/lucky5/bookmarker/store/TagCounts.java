@@ -0,0 +1,375 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagCounts.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 21:30
+ * Description  : Number of records carrying every tag, along with the most carried tags.
+ *                Counters are indexed by {@link TagDictionary} id of tag and kept up to date by
+ *                listening to record store changes.
+ *
+ *                Tags are also linked into buckets of equal count, buckets are linked in count
+ *                order. A change moves a tag to the neighbouring bucket, so both changes and
+ *                reading the k most carried tags take time independent of the number of tags
+ *                and records. Order of tags with equal count is unspecified.
+ *
+ *                Every changed count is also handed to an optional {@link TagPrefixIndex}.
+ *
+ *                Listeners run under the write locks of the store, so they do not touch the
+ *                counters. They queue a change of one per tag, which takes no lock. Queued
+ *                changes are applied in queue order under one lock, by the writer that finds
+ *                it free, and by every read before it answers. A writer never waits for the
+ *                lock, and reads see every change of writes completed before them.
+ *                Suggestions of the prefix index follow once a writer has applied the queue.
+ */
+public class TagCounts implements RecordListener {
+
+    private static final int NONE = -1;
+
+    private final ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+
+    // guards everything below, held while queued changes are applied
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int[] counts = new int[64];
+
+    // tag last counted under every id, ids of dropped tags are reused by the dictionary
+    private String[] names = new String[64];
+
+    // bucket of every counted tag and links between tags of same bucket
+    private Bucket[] buckets = new Bucket[64];
+    private int[] next = new int[64];
+    private int[] previous = new int[64];
+
+    private Bucket lowest;
+    private Bucket highest;
+
+    private final LongAdder records = new LongAdder();
+    private int tags;
+
+    private final TagPrefixIndex prefixIndex;
+
+    public TagCounts() {
+        this(null);
+    }
+
+    /**
+     * @param prefixIndex - index kept up to date with counts, may be null
+     */
+    public TagCounts(TagPrefixIndex prefixIndex) {
+        this.prefixIndex = prefixIndex;
+    }
+
+    /**
+     * @return - number of records carrying tag
+     */
+    public long count(String tag) {
+        lock.lock();
+        try {
+            apply();
+            int id = TagDictionary.global().find(tag);
+            return id < 0 || id >= counts.length || !tag.equals(names[id]) ? 0 : counts[id];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param limit - maximum number of tags returned
+     *
+     * @return - most carried tags, highest count first
+     */
+    public List<TagCount> top(int limit) {
+        lock.lock();
+        try {
+            apply();
+            List<TagCount> top = new ArrayList<>(Math.min(limit, tags));
+            for (Bucket bucket = highest; bucket != null && top.size() < limit; bucket = bucket.lower) {
+                for (int id = bucket.head; id != NONE && top.size() < limit; id = next[id]) {
+                    top.add(new TagCount(names[id], bucket.count));
+                }
+            }
+            return top;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return - number of counted records
+     */
+    public long records() {
+        return records.sum();
+    }
+
+    /**
+     * @return - number of distinct tags carried by at least one record
+     */
+    public int size() {
+        lock.lock();
+        try {
+            apply();
+            return tags;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        records.increment();
+        for (int id : distinct(record.getTags())) {
+            changes.add(new Change(id, 1));
+        }
+        tryApply();
+    }
+
+    @Override
+    public void recordsAdded(List<Record> added) {
+        records.add(added.size());
+        for (Record record : added) {
+            for (int id : distinct(record.getTags())) {
+                changes.add(new Change(id, 1));
+            }
+        }
+        tryApply();
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        if (previous.hasSameTags(current)) {
+            return;
+        }
+
+        int[] removed = distinct(previous.getTags());
+        int[] added = distinct(current.getTags());
+
+        for (int id : removed) {
+            if (Arrays.binarySearch(added, id) < 0) {
+                changes.add(new Change(id, -1));
+            }
+        }
+        for (int id : added) {
+            if (Arrays.binarySearch(removed, id) < 0) {
+                changes.add(new Change(id, 1));
+            }
+        }
+        tryApply();
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        records.decrement();
+        for (int id : distinct(record.getTags())) {
+            changes.add(new Change(id, -1));
+        }
+        tryApply();
+    }
+
+    /**
+     * Apply queued changes unless another thread is applying them. Changes queued while the
+     * lock is released are picked up by looking at the queue again.
+     */
+    private void tryApply() {
+        while (!changes.isEmpty() && lock.tryLock()) {
+            try {
+                apply();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Apply queued changes, caller holds the lock.
+     */
+    private void apply() {
+        for (Change change = changes.poll(); change != null; change = changes.poll()) {
+            if (change.delta > 0) {
+                increment(change.id, change.tag);
+            } else {
+                decrement(change.id, change.tag);
+            }
+        }
+    }
+
+    private void increment(int id, String tag) {
+        if (id >= counts.length) {
+            grow(id);
+        }
+
+        int count = counts[id];
+        Bucket from = buckets[id];
+        Bucket to;
+        if (from == null) {
+            to = lowest != null && lowest.count == 1 ? lowest : insertAbove(null, 1);
+            tags++;
+        } else {
+            to = from.higher != null && from.higher.count == count + 1 ? from.higher : insertAbove(from, count + 1);
+            unlink(from, id);
+        }
+
+        link(to, id);
+        counts[id] = count + 1;
+        names[id] = tag;
+        changed(id, tag);
+    }
+
+    private void decrement(int id, String tag) {
+        if (id >= counts.length || counts[id] == 0) {
+            return;
+        }
+
+        int count = counts[id];
+        Bucket from = buckets[id];
+        Bucket to = null;
+        if (count == 1) {
+            tags--;
+        } else {
+            to = from.lower != null && from.lower.count == count - 1 ? from.lower : insertAbove(from.lower, count - 1);
+        }
+
+        unlink(from, id);
+        if (to != null) {
+            link(to, id);
+        }
+        counts[id] = count - 1;
+        changed(id, tag);
+    }
+
+    private void changed(int id, String tag) {
+        if (prefixIndex != null) {
+            prefixIndex.update(tag, counts[id]);
+        }
+    }
+
+    /**
+     * @param below - bucket to insert above, null to insert as lowest bucket
+     */
+    private Bucket insertAbove(Bucket below, int count) {
+        Bucket bucket = new Bucket(count);
+        bucket.lower = below;
+        bucket.higher = below == null ? lowest : below.higher;
+
+        if (bucket.lower == null) {
+            lowest = bucket;
+        } else {
+            bucket.lower.higher = bucket;
+        }
+        if (bucket.higher == null) {
+            highest = bucket;
+        } else {
+            bucket.higher.lower = bucket;
+        }
+        return bucket;
+    }
+
+    private void link(Bucket bucket, int id) {
+        buckets[id] = bucket;
+        previous[id] = NONE;
+        next[id] = bucket.head;
+        if (bucket.head != NONE) {
+            previous[bucket.head] = id;
+        }
+        bucket.head = id;
+    }
+
+    private void unlink(Bucket bucket, int id) {
+        if (previous[id] == NONE) {
+            bucket.head = next[id];
+        } else {
+            next[previous[id]] = next[id];
+        }
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+        buckets[id] = null;
+
+        // empty buckets are dropped, every linked bucket holds at least one tag
+        if (bucket.head == NONE) {
+            if (bucket.lower == null) {
+                lowest = bucket.higher;
+            } else {
+                bucket.lower.higher = bucket.higher;
+            }
+            if (bucket.higher == null) {
+                highest = bucket.lower;
+            } else {
+                bucket.higher.lower = bucket.lower;
+            }
+        }
+    }
+
+    private void grow(int id) {
+        int length = Math.max(id + 1, counts.length * 2);
+        counts = Arrays.copyOf(counts, length);
+        names = Arrays.copyOf(names, length);
+        buckets = Arrays.copyOf(buckets, length);
+        next = Arrays.copyOf(next, length);
+        previous = Arrays.copyOf(previous, length);
+    }
+
+    /**
+     * @return - sorted {@link TagDictionary} ids of tags without null tags and duplicates, tags
+     *           of records being stored or removed are held by the store, so all have an id
+     */
+    private static int[] distinct(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] sorted = new int[tags.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = TagDictionary.global().find(tags.get(i));
+        }
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int id : sorted) {
+            if (id >= 0 && (size == 0 || sorted[size - 1] != id)) {
+                sorted[size++] = id;
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    /**
+     * Change of the count of one tag, tag is resolved when queued, while the store still holds
+     * it, as its id may be reused before the change is applied.
+     */
+    private static final class Change {
+
+        private final int id;
+        private final String tag;
+        private final int delta;
+
+        private Change(int id, int delta) {
+            this.id = id;
+            this.tag = TagDictionary.global().tag(id);
+            this.delta = delta;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final int count;
+        private int head = NONE;
+        private Bucket lower;
+        private Bucket higher;
+
+        private Bucket(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.TagCount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagPrefixIndex.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 22:10
+ * Description  : Prefix index of tags for suggestions, most carried tags first. Tags are kept
+ *                in a path compressed trie, every node holds the best entries of all tags
+ *                below it, ranked by count and then by tag. A suggestion walks the prefix and
+ *                copies entries of the node reached, so it takes time independent of the
+ *                number of tags.
+ *
+ *                Counts are handed over by {@link TagCounts} on every change. A change only
+ *                visits nodes on path of the tag, and stops at the first node whose entries
+ *                are not affected. Tags carried by no record are removed from the trie, along
+ *                with nodes left without tags below them.
+ *
+ *                Changes are synchronized, nodes and their entries are replaced rather than
+ *                modified, so suggestions are read without locking.
+ */
+public class TagPrefixIndex {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Comparator<Entry> RANK =
+            Comparator.comparingInt((Entry entry) -> entry.count).reversed().thenComparing((entry) -> entry.tag);
+
+    private final int capacity;
+
+    private final Node root = new Node("");
+
+    /**
+     * @param capacity - number of entries kept per node, maximum number of suggestions
+     */
+    public TagPrefixIndex(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param prefix - prefix of suggested tags, empty for most carried tags overall
+     * @param limit - maximum number of suggestions, at most capacity of index
+     *
+     * @return - tags starting with prefix, highest count first
+     */
+    public List<TagCount> suggest(String prefix, int limit) {
+        Node node = root;
+        int matched = 0;
+
+        while (matched < prefix.length()) {
+            Node child = node.child(prefix.charAt(matched));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+
+            String label = child.label;
+            int remaining = prefix.length() - matched;
+            if (remaining <= label.length()) {
+                // prefix ends within label of child
+                if (!label.regionMatches(0, prefix, matched, remaining)) {
+                    return Collections.emptyList();
+                }
+            } else if (!prefix.regionMatches(matched, label, 0, label.length())) {
+                return Collections.emptyList();
+            }
+
+            matched += Math.min(remaining, label.length());
+            node = child;
+        }
+
+        Entry[] entries = node.entries;
+        List<TagCount> suggestions = new ArrayList<>(Math.min(limit, entries.length));
+        for (int i = 0; i < entries.length && suggestions.size() < limit; i++) {
+            suggestions.add(new TagCount(entries[i].tag, entries[i].count));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Set count of a tag, tag is added to index if not present yet and removed once its count
+     * drops to 0.
+     *
+     * @param tag - tag
+     * @param count - number of records carrying tag
+     */
+    public synchronized void update(String tag, int count) {
+        List<Node> path = path(tag);
+        Node node = path.get(path.size() - 1);
+        Entry entry = new Entry(tag, count);
+        node.own = count > 0 ? entry : null;
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            node = path.get(i);
+            Entry[] entries = rank(node, entry);
+            if (entries == node.entries) {
+                // entries of a node are drawn from its descendants, ancestors are not affected either
+                break;
+            }
+            node.entries = entries;
+        }
+
+        // nodes without tags below them hold no entries, so entries of their parents stay
+        for (int i = path.size() - 1; i > 0 && path.get(i).own == null && path.get(i).children.length == 0; i--) {
+            path.get(i - 1).remove(path.get(i));
+        }
+    }
+
+    /**
+     * @return - new entries of node after entry changed below it, same entries if not affected
+     */
+    private Entry[] rank(Node node, Entry entry) {
+        Entry[] entries = node.entries;
+
+        int position = -1;
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].tag.equals(entry.tag)) {
+                position = i;
+                break;
+            }
+        }
+
+        if (position < 0) {
+            boolean ranked = entry.count > 0 && (entries.length < capacity
+                    || RANK.compare(entry, entries[entries.length - 1]) < 0);
+            if (!ranked) {
+                return entries;
+            }
+            Entry[] ranking = Arrays.copyOf(entries, Math.min(entries.length + 1, capacity));
+            ranking[ranking.length - 1] = entry;
+            Arrays.sort(ranking, RANK);
+            return ranking;
+        }
+
+        if (entry.count > entries[position].count) {
+            Entry[] ranking = entries.clone();
+            ranking[position] = entry;
+            Arrays.sort(ranking, RANK);
+            return ranking;
+        }
+
+        // count went down, a tag not ranked so far may now rank, rank all children again
+        return merge(node);
+    }
+
+    private Entry[] merge(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.own != null && node.own.count > 0) {
+            candidates.add(node.own);
+        }
+        for (Node child : node.children) {
+            Collections.addAll(candidates, child.entries);
+        }
+        candidates.sort(RANK);
+        return candidates.subList(0, Math.min(capacity, candidates.size())).toArray(NO_ENTRIES);
+    }
+
+    /**
+     * @return - nodes from root to node of tag, nodes are added and labels split as needed
+     */
+    private List<Node> path(String tag) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+
+        int matched = 0;
+        while (matched < tag.length()) {
+            Node child = node.child(tag.charAt(matched));
+
+            if (child == null) {
+                child = new Node(tag.substring(matched));
+                node.add(child);
+                path.add(child);
+                return path;
+            }
+
+            String label = child.label;
+            int common = 1;
+            while (common < label.length() && matched + common < tag.length()
+                    && label.charAt(common) == tag.charAt(matched + common)) {
+                common++;
+            }
+
+            if (common < label.length()) {
+                // tag leaves label of child, child is replaced by a node of the common part
+                Node rest = new Node(label.substring(common));
+                rest.children = child.children;
+                rest.own = child.own;
+                rest.entries = child.entries;
+
+                Node split = new Node(label.substring(0, common));
+                split.children = new Node[]{rest};
+                split.entries = child.entries;
+                node.replace(child, split);
+                child = split;
+            }
+
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static final class Node {
+
+        private final String label;
+
+        private volatile Node[] children = NO_CHILDREN;
+
+        // entry of tag ending at node, null if none does
+        private Entry own;
+
+        private volatile Entry[] entries = NO_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return - child whose label starts with c, null if there is none
+         */
+        private Node child(char c) {
+            Node[] nodes = children;
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char first = nodes[middle].label.charAt(0);
+                if (first < c) {
+                    low = middle + 1;
+                } else if (first > c) {
+                    high = middle - 1;
+                } else {
+                    return nodes[middle];
+                }
+            }
+            return null;
+        }
+
+        private void add(Node child) {
+            Node[] nodes = Arrays.copyOf(children, children.length + 1);
+            int position = nodes.length - 1;
+            while (position > 0 && nodes[position - 1].label.charAt(0) > child.label.charAt(0)) {
+                nodes[position] = nodes[position - 1];
+                position--;
+            }
+            nodes[position] = child;
+            children = nodes;
+        }
+
+        private void remove(Node child) {
+            Node[] nodes = new Node[children.length - 1];
+            int position = 0;
+            for (Node node : children) {
+                if (node != child) {
+                    nodes[position++] = node;
+                }
+            }
+            children = nodes;
+        }
+
+        private void replace(Node child, Node replacement) {
+            Node[] nodes = children.clone();
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] == child) {
+                    nodes[i] = replacement;
+                }
+            }
+            children = nodes;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String tag;
+        private final int count;
+
+        private Entry(String tag, int count) {
+            this.tag = tag;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.lucky5.bookmarker.store;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagQuery.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:00
+ * Description  : Boolean expression over record tags, for example
+ *                apple AND (ipad OR macbook-pro) AND NOT archived
+ *
+ *                Operators are AND, OR and NOT in any case, NOT binds tightest and AND binds
+ *                tighter than OR. Terms next to each other without operator are combined
+ *                with AND. A tag which is an operator or contains white space or brackets
+ *                is written in double quotes.
+ *
+ *                Expression is evaluated on bitmaps of record ordinals. Bitmaps handed in
+ *                by {@link Bitmaps} are never modified.
+ */
+public abstract class TagQuery {
+
+    private static final int MAX_TERMS = 64;
+
+    // NOT and parentheses nest the parser and evaluation, bounded so neither runs out of stack
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * Source of bitmaps a query is evaluated on.
+     */
+    interface Bitmaps {
+
+        /**
+         * @return - ordinals of records carrying tag, empty if none
+         */
+        RoaringBitmap tag(String tag);
+
+        /**
+         * @return - ordinals of all records
+         */
+        RoaringBitmap all();
+    }
+
+    private TagQuery() {
+    }
+
+    /**
+     * @param tag - single tag
+     *
+     * @return - query matching records carrying tag
+     */
+    public static TagQuery tag(String tag) {
+        return new Tag(tag);
+    }
+
+    /**
+     * Parse a boolean tag expression.
+     *
+     * @param expression - expression to parse
+     *
+     * @return - parsed query
+     *
+     * @throws IllegalArgumentException - if expression is blank or malformed
+     */
+    public static TagQuery parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("query cant be blank or null");
+        }
+        return new Parser(expression).parse();
+    }
+
+    /**
+     * @param tags - tags of a record, may be null
+     *
+     * @return - true if record carrying tags matches query
+     */
+    public abstract boolean matches(Collection<String> tags);
+
+    /**
+     * @return - ordinals of matching records, may be one of the bitmaps handed in
+     */
+    abstract RoaringBitmap evaluate(Bitmaps bitmaps);
+
+    private static final class Tag extends TagQuery {
+
+        private final String tag;
+
+        private Tag(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public boolean matches(Collection<String> tags) {
+            return tags != null && tags.contains(tag);
+        }
+
+        @Override
+        RoaringBitmap evaluate(Bitmaps bitmaps) {
+            return bitmaps.tag(tag);
+        }
+
+        @Override
+        public String toString() {
+            return '"' + tag + '"';
+        }
+    }
+
+    private static final class Not extends TagQuery {
+
+        private final TagQuery query;
+
+        private Not(TagQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean matches(Collection<String> tags) {
+            return !query.matches(tags);
+        }
+
+        @Override
+        RoaringBitmap evaluate(Bitmaps bitmaps) {
+            return RoaringBitmap.andNot(bitmaps.all(), query.evaluate(bitmaps));
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + query;
+        }
+    }
+
+    private static final class And extends TagQuery {
+
+        private final List<TagQuery> queries;
+
+        private And(List<TagQuery> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public boolean matches(Collection<String> tags) {
+            for (TagQuery query : queries) {
+                if (!query.matches(tags)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Intersect smallest operands first, so intermediate results only shrink, and
+         * subtract negated operands instead of complementing them.
+         */
+        @Override
+        RoaringBitmap evaluate(Bitmaps bitmaps) {
+
+            List<RoaringBitmap> included = new ArrayList<>(queries.size());
+            List<RoaringBitmap> excluded = new ArrayList<>();
+            for (TagQuery query : queries) {
+                if (query instanceof Not) {
+                    excluded.add(((Not) query).query.evaluate(bitmaps));
+                } else {
+                    included.add(query.evaluate(bitmaps));
+                }
+            }
+            if (included.isEmpty()) {
+                included.add(bitmaps.all());
+            }
+            included.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+
+            RoaringBitmap result = included.size() == 1
+                    ? included.get(0).clone()
+                    : RoaringBitmap.and(included.get(0), included.get(1));
+            for (int i = 2; i < included.size() && !result.isEmpty(); i++) {
+                result.and(included.get(i));
+            }
+            for (int i = 0; i < excluded.size() && !result.isEmpty(); i++) {
+                result.andNot(excluded.get(i));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return join(" AND ");
+        }
+
+        private String join(String operator) {
+            StringBuilder builder = new StringBuilder("(");
+            for (TagQuery query : queries) {
+                if (builder.length() > 1) {
+                    builder.append(operator);
+                }
+                builder.append(query);
+            }
+            return builder.append(')').toString();
+        }
+    }
+
+    private static final class Or extends TagQuery {
+
+        private final List<TagQuery> queries;
+
+        private Or(List<TagQuery> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public boolean matches(Collection<String> tags) {
+            for (TagQuery query : queries) {
+                if (query.matches(tags)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        RoaringBitmap evaluate(Bitmaps bitmaps) {
+            RoaringBitmap[] operands = new RoaringBitmap[queries.size()];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = queries.get(i).evaluate(bitmaps);
+            }
+            return FastAggregation.or(operands);
+        }
+
+        @Override
+        public String toString() {
+            return new And(queries).join(" OR ");
+        }
+    }
+
+    /**
+     * Recursive descent parser.
+     *
+     * expression : and (OR and)*
+     * and        : unary (AND? unary)*
+     * unary      : NOT unary | '(' expression ')' | tag
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+        private int terms;
+        private int depth;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private TagQuery parse() {
+            TagQuery query = expression();
+            if (peek() != null) {
+                throw error("unexpected " + peek());
+            }
+            return query;
+        }
+
+        private TagQuery expression() {
+            List<TagQuery> queries = new ArrayList<>();
+            queries.add(and());
+            while ("OR".equals(keyword(peek()))) {
+                next();
+                queries.add(and());
+            }
+            return queries.size() == 1 ? queries.get(0) : new Or(queries);
+        }
+
+        private TagQuery and() {
+            List<TagQuery> queries = new ArrayList<>();
+            queries.add(unary());
+            while (true) {
+                String token = peek();
+                if (token == null || ")".equals(token) || "OR".equals(keyword(token))) {
+                    break;
+                }
+                if ("AND".equals(keyword(token))) {
+                    next();
+                }
+                queries.add(unary());
+            }
+            return queries.size() == 1 ? queries.get(0) : new And(queries);
+        }
+
+        private TagQuery unary() {
+            String token = next();
+            if (token == null) {
+                throw error("unexpected end of query");
+            }
+            if ("NOT".equals(keyword(token))) {
+                enter();
+                TagQuery query = new Not(unary());
+                depth--;
+                return query;
+            }
+            if ("(".equals(token)) {
+                enter();
+                TagQuery query = expression();
+                if (!")".equals(next())) {
+                    throw error("missing )");
+                }
+                depth--;
+                return query;
+            }
+            if (")".equals(token) || keyword(token) != null) {
+                throw error("unexpected " + token);
+            }
+            if (++terms > MAX_TERMS) {
+                throw error("more than " + MAX_TERMS + " tags");
+            }
+            return new Tag(token.startsWith("\"") ? token.substring(1, token.length() - 1) : token);
+        }
+
+        /**
+         * @return - operator name if token is an unquoted operator, null otherwise
+         */
+        private static String keyword(String token) {
+            if (token == null) {
+                return null;
+            }
+            String upper = token.toUpperCase(Locale.ROOT);
+            return "AND".equals(upper) || "OR".equals(upper) || "NOT".equals(upper) ? upper : null;
+        }
+
+        private String peek() {
+            int start = position;
+            String token = next();
+            position = start;
+            return token;
+        }
+
+        /**
+         * @return - next token, quoted tags keep their quotes, null at end of text
+         */
+        private String next() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            if (position == text.length()) {
+                return null;
+            }
+
+            int start = position;
+            char first = text.charAt(position);
+            if (first == '(' || first == ')') {
+                position++;
+            } else if (first == '"') {
+                int end = text.indexOf('"', start + 1);
+                if (end < 0) {
+                    throw error("unterminated quote");
+                }
+                position = end + 1;
+            } else {
+                while (position < text.length() && !Character.isWhitespace(text.charAt(position))
+                        && "()\"".indexOf(text.charAt(position)) < 0) {
+                    position++;
+                }
+            }
+            return text.substring(start, position);
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw error("query nested too deeply");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("invalid tag query at " + position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TimeIndex.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 22:50
+ * Description  : Sorted index of records by one of their timestamps, for example creation date
+ *                or last update. Records are kept in a concurrent skip list ordered by time and
+ *                then id, a range of k records is found in O(log n + k) without locking.
+ *                Index is kept up to date by listening to record store changes, a record whose
+ *                timestamp changes moves to its new position.
+ *
+ *                While a record moves, a concurrent range may briefly see it at both or at
+ *                neither position, callers re-check timestamps of records they read.
+ */
+public class TimeIndex implements RecordListener {
+
+    private final Function<Record, Date> timestamp;
+
+    private final ConcurrentSkipListSet<Position> positions = new ConcurrentSkipListSet<>();
+
+    /**
+     * @param timestamp - timestamp of record to index by, may return null for records not indexed
+     */
+    public TimeIndex(Function<Record, Date> timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Find records with timestamp within a range, in order of time and then id.
+     *
+     * @param from - first millisecond of range, inclusive
+     * @param to - end of range in milliseconds, exclusive
+     * @param after - position to continue after, null to start at from
+     * @param limit - maximum number of positions returned
+     *
+     * @return - positions of records within range
+     */
+    public List<Position> range(long from, long to, Position after, int limit) {
+        Position start = new Position(from, "");
+        NavigableSet<Position> tail = after != null && after.compareTo(start) >= 0
+                ? positions.tailSet(after, false)
+                : positions.tailSet(start, true);
+
+        List<Position> found = new ArrayList<>(Math.min(limit, 64));
+        for (Position position : tail) {
+            if (position.time >= to || found.size() == limit) {
+                break;
+            }
+            found.add(position);
+        }
+        return found;
+    }
+
+    /**
+     * @return - number of indexed records
+     */
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public void recordAdded(Record record) {
+        Position position = position(record);
+        if (position != null) {
+            positions.add(position);
+        }
+    }
+
+    @Override
+    public void recordUpdated(Record previous, Record current) {
+        Position before = position(previous);
+        Position after = position(current);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        if (after != null) {
+            positions.add(after);
+        }
+        if (before != null) {
+            positions.remove(before);
+        }
+    }
+
+    @Override
+    public void recordRemoved(Record record) {
+        Position position = position(record);
+        if (position != null) {
+            positions.remove(position);
+        }
+    }
+
+    private Position position(Record record) {
+        Date time = timestamp.apply(record);
+        return time == null ? null : new Position(time.getTime(), record.getId());
+    }
+
+    /**
+     * Position of a record in index, timestamp in milliseconds along with record id.
+     */
+    public static final class Position implements Comparable<Position> {
+
+        private final long time;
+        private final String id;
+
+        public Position(long time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int compared = Long.compare(time, other.time);
+            return compared != 0 ? compared : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Position)) {
+                return false;
+            }
+            Position position = (Position) other;
+            return time == position.time && id.equals(position.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(time) * 31 + id.hashCode();
+        }
+    }
+}
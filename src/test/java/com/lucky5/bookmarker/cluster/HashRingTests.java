@@ -0,0 +1,66 @@
+package com.lucky5.bookmarker.cluster;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.cluster.HashRingTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:00
+ * Description  : Junit test cases for placing record ids on cluster nodes
+ */
+@RunWith(JUnit4.class)
+public class HashRingTests {
+
+    private static final int IDS = 100000;
+
+    private final HashRing ring = new HashRing(Arrays.asList("http://c", "http://a", "http://b"), 128);
+
+    @Test
+    public void owner_ShouldSpreadIdsEvenly() {
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < IDS; i++) {
+            owned.merge(ring.owner(Integer.toString(i)), 1, Integer::sum);
+        }
+
+        Assert.assertEquals(Arrays.asList("http://a", "http://b", "http://c"), ring.nodes());
+        Assert.assertEquals(3, owned.size());
+        for (int count : owned.values()) {
+            Assert.assertTrue("uneven share " + count, Math.abs(count - IDS / 3) < IDS / 3 * 0.15);
+        }
+    }
+
+    @Test
+    public void with_ShouldOnlyMoveIdsToJoiningNode() {
+        HashRing joined = ring.with("http://d");
+
+        int moved = 0;
+        for (int i = 0; i < IDS; i++) {
+            String id = Integer.toString(i);
+            String owner = joined.owner(id);
+            if (!owner.equals(ring.owner(id))) {
+                Assert.assertEquals("http://d", owner);
+                moved++;
+            }
+        }
+
+        Assert.assertTrue(joined.contains("http://d"));
+        Assert.assertFalse(ring.contains("http://d"));
+        Assert.assertTrue("moved " + moved, Math.abs(moved - IDS / 4) < IDS / 4 * 0.15);
+    }
+
+    @Test
+    public void owner_ShouldNotDependOnOrderOfNodes() {
+        HashRing reordered = new HashRing(Arrays.asList("http://b", "http://c", "http://a"), 128);
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(ring.owner(Integer.toString(i)), reordered.owner(Integer.toString(i)));
+        }
+        Assert.assertSame(ring, ring.with("http://a"));
+    }
+}
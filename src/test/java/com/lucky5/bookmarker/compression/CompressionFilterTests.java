@@ -0,0 +1,141 @@
+package com.lucky5.bookmarker.compression;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.compression.CompressionFilterTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:30
+ * Description  : Junit test cases for response compression filter
+ */
+@RunWith(JUnit4.class)
+public class CompressionFilterTests {
+
+    private static final int MIN_SIZE = 1024;
+
+    private final CompressionFilter filter = new CompressionFilter(MIN_SIZE,
+            Arrays.asList(MediaType.APPLICATION_JSON, MediaType.valueOf("application/x-jackson-smile")));
+
+    @Test
+    public void filter_ShouldGzipBodiesPastMinSize() throws Exception {
+        String body = json(MIN_SIZE * 4);
+
+        MockHttpServletResponse response = serve("gzip, deflate", MediaType.APPLICATION_JSON_UTF8_VALUE, body);
+
+        Assert.assertEquals("gzip", response.getHeader("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        Assert.assertTrue("not compressed", response.getContentAsByteArray().length < body.length() / 4);
+        Assert.assertEquals(body, read(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    public void filter_ShouldDeflateWhenGzipIsNotAccepted() throws Exception {
+        String body = json(MIN_SIZE * 4);
+
+        MockHttpServletResponse response = serve("gzip;q=0, deflate", "application/x-jackson-smile", body);
+
+        Assert.assertEquals("deflate", response.getHeader("Content-Encoding"));
+        Assert.assertEquals(body,
+                read(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    public void filter_ShouldSendSmallBodiesAsIs() throws Exception {
+        String body = json(MIN_SIZE / 2);
+
+        MockHttpServletResponse response = serve("gzip", MediaType.APPLICATION_JSON_UTF8_VALUE, body);
+
+        Assert.assertNull(response.getHeader("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        Assert.assertEquals(body.length(), response.getContentLength());
+        Assert.assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    public void filter_ShouldNotCompressOtherContentTypesOrClients() throws Exception {
+        String body = json(MIN_SIZE * 4);
+
+        MockHttpServletResponse stream = serve("gzip", MediaType.TEXT_EVENT_STREAM_VALUE, body);
+        Assert.assertNull(stream.getHeader("Content-Encoding"));
+        Assert.assertNull("event stream varied", stream.getHeader("Vary"));
+        Assert.assertEquals(body, stream.getContentAsString());
+
+        MockHttpServletResponse identity = serve(null, MediaType.APPLICATION_JSON_UTF8_VALUE, body);
+        Assert.assertNull(identity.getHeader("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", identity.getHeader("Vary"));
+        Assert.assertEquals(body, identity.getContentAsString());
+    }
+
+    @Test
+    public void filter_ShouldVaryResponsesWithoutBody() throws Exception {
+
+        MockHttpServletResponse response = serve("gzip", MediaType.APPLICATION_JSON_UTF8_VALUE, "");
+
+        Assert.assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        Assert.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void encoding_ShouldPreferGzipAndSkipRejectedCodings() {
+        Assert.assertEquals("gzip", CompressionFilter.encoding("deflate, gzip"));
+        Assert.assertEquals("gzip", CompressionFilter.encoding("*"));
+        Assert.assertEquals("deflate", CompressionFilter.encoding("gzip;q=0, deflate;q=0.5"));
+        Assert.assertNull(CompressionFilter.encoding("identity"));
+        Assert.assertNull(CompressionFilter.encoding("gzip;q=0"));
+    }
+
+    private MockHttpServletResponse serve(String acceptEncoding, String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/records");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                resp.setContentType(contentType);
+                // written in parts like a serializer does, with a flush at the end
+                for (int offset = 0; offset < bytes.length; offset += 100) {
+                    resp.getOutputStream().write(bytes, offset, Math.min(100, bytes.length - offset));
+                }
+                resp.getOutputStream().flush();
+            }
+        }));
+
+        return response;
+    }
+
+    private static String json(int length) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < length - 40; i++) {
+            json.append("{\"info\":\"http://www.example.com/").append(i).append("\"},");
+        }
+        return json.append("{}]").toString();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+    }
+}
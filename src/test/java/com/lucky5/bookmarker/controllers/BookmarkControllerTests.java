@@ -1,19 +1,36 @@
 package com.lucky5.bookmarker.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lucky5.bookmarker.model.BatchItemResult;
 import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.services.AsyncConfiguration;
 import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.VersionConflictException;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -21,8 +38,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @RunWith(SpringRunner.class)
-@WebMvcTest
+@WebMvcTest(BookmarkController.class)
 @AutoConfigureMockMvc
+@Import(AsyncConfiguration.class)
 public class BookmarkControllerTests {
 
     @Autowired
@@ -31,24 +49,64 @@ public class BookmarkControllerTests {
     @MockBean
     private BookmarkerService bookmarkerService;
 
+    @Captor
+    private ArgumentCaptor<List<Record>> batch;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * Perform request on an asynchronous endpoint and dispatch its result once complete.
+     */
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    public void test_requestsShouldBeMeasuredByPattern() throws Exception {
+
+        String[] labelNames = {"method", "path", "status"};
+        String[] labelValues = {"GET", "/records", "200"};
+        Double before = CollectorRegistry.defaultRegistry.getSampleValue(
+                "bookmark_http_request_duration_seconds_count", labelNames, labelValues);
+
+        when(bookmarkerService.getRecordIterator(null)).thenReturn(new ArrayList<Record>().iterator());
+
+        mockMvc.perform(get("/records")).andExpect(status().isOk());
+
+        Assert.assertEquals("request not measured", (before == null ? 0 : before) + 1,
+                CollectorRegistry.defaultRegistry.getSampleValue(
+                        "bookmark_http_request_duration_seconds_count", labelNames, labelValues), 0);
+    }
+
     @Test
     public void test_addValidRecordShouldPass() throws Exception {
 
-        when(bookmarkerService.addRecord(any(), any())).thenReturn("test");
+        when(bookmarkerService.addRecord(any(), any(), any())).thenReturn("test");
 
-        mockMvc.perform(post("/records").content("{ \"info\" : \"test\" }")
+        performAsync(post("/records").content("{ \"info\" : \"test\" }")
                 .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(content().string("{\"id\": \"test\"}"));
     }
 
+    @Test
+    public void test_addRecordWithTtlShouldPassTtl() throws Exception {
+
+        when(bookmarkerService.addRecord(any(), any(), any())).thenReturn("test");
+
+        performAsync(post("/records").content("{ \"info\" : \"test\", \"ttl\" : 60 }")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(status().isOk());
+
+        verify(bookmarkerService).addRecord("test", null, 60L);
+    }
+
     @Test
     public void test_addNullInfoRecordShouldFail() throws Exception {
 
-        when(bookmarkerService.addRecord(any(), any())).thenThrow(new IllegalArgumentException("invalid input"));
+        when(bookmarkerService.addRecord(any(), any(), any())).thenThrow(new IllegalArgumentException("invalid input"));
 
         mockMvc.perform(post("/records").content("{}")
                 .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
@@ -58,13 +116,107 @@ public class BookmarkControllerTests {
     @Test
     public void test_addBlankInfoRecordShouldFail() throws Exception {
 
-        when(bookmarkerService.addRecord(any(), any())).thenThrow(new IllegalArgumentException("invalid input"));
+        when(bookmarkerService.addRecord(any(), any(), any())).thenThrow(new IllegalArgumentException("invalid input"));
 
         mockMvc.perform(post("/records").content("{ \"info\" : \"\"}")
                 .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    public void test_addRecordBatchShouldPass() throws Exception {
+
+        when(bookmarkerService.addRecords(any())).thenReturn(Arrays.asList(
+                BatchItemResult.created(0, "test"),
+                BatchItemResult.failed(1, "info cant be blank or null")));
+
+        mockMvc.perform(post("/records/batch").content("[{ \"info\" : \"test\" }, { \"info\" : \"\" }]")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value("test"))
+                .andExpect(jsonPath("$.results[1].error").value("info cant be blank or null"));
+    }
+
+    @Test
+    public void test_addRecordStreamShouldPass() throws Exception {
+
+        when(bookmarkerService.addRecords(any())).thenReturn(Arrays.asList(
+                BatchItemResult.created(0, "first"),
+                BatchItemResult.created(1, "second")));
+
+        mockMvc.perform(post("/records/batch").content("{ \"info\" : \"first\" }\n{ \"info\" : \"second\" }\n")
+                .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[1].id").value("second"));
+
+        verify(bookmarkerService).addRecords(batch.capture());
+        Assert.assertEquals("batch size mismatch", 2, batch.getValue().size());
+    }
+
+    @Test
+    public void test_addRecordStreamWithMalformedLineShouldReportIt() throws Exception {
+
+        when(bookmarkerService.addRecords(any())).thenReturn(Arrays.asList(BatchItemResult.created(0, "first")));
+
+        mockMvc.perform(post("/records/batch").content("{ \"info\" : \"first\" }\n{ \"info\" : \n")
+                .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("malformed record"));
+    }
+
+    @Test
+    public void test_searchShouldPass() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("https://www.apple.com");
+        record.setId("123");
+
+        when(bookmarkerService.search("apple", 20)).thenReturn(Arrays.asList(record));
+
+        performAsync(get("/records/search").param("q", "apple"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(Arrays.asList(record))));
+    }
+
+    @Test
+    public void test_searchWithBlankQueryShouldFail() throws Exception {
+
+        when(bookmarkerService.search(any(), anyInt())).thenThrow(new IllegalArgumentException("invalid input"));
+
+        performAsync(get("/records/search").param("q", ""))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    public void test_queryByTagsShouldPass() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("https://www.apple.com");
+        record.setId("123");
+
+        when(bookmarkerService.queryByTags("apple AND NOT archived", 100))
+                .thenReturn(new TagQueryResult(1, Arrays.asList(record)));
+
+        performAsync(get("/records/query").param("tags", "apple AND NOT archived"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.records[0].id").value("123"));
+    }
+
+    @Test
+    public void test_queryByTagsWithMalformedQueryShouldFail() throws Exception {
+
+        when(bookmarkerService.queryByTags(any(), anyInt())).thenThrow(new IllegalArgumentException("invalid input"));
+
+        performAsync(get("/records/query").param("tags", "apple AND"))
+                .andExpect(status().is4xxClientError());
+    }
+
     @Test
     public void test_getRecordShouldPass() throws Exception {
 
@@ -74,18 +226,74 @@ public class BookmarkControllerTests {
 
         when(bookmarkerService.getRecord("123")).thenReturn(record);
 
-        mockMvc.perform(get("/records/123"))
+        performAsync(get("/records/123"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(content().json(objectMapper.writeValueAsString(record)));
     }
 
+    @Test
+    public void test_getRecordAsSmileShouldPass() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("123");
+
+        when(bookmarkerService.getRecord("123")).thenReturn(record);
+
+        MvcResult result = performAsync(get("/records/123").accept(BookmarkController.SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookmarkController.SMILE_VALUE))
+                .andReturn();
+
+        Record sent = new ObjectMapper(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), Record.class);
+        Assert.assertEquals("123", sent.getId());
+        Assert.assertEquals("test", sent.getInfo());
+    }
+
+    @Test
+    public void test_getRecordShouldSendVersionAsETag() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("123");
+        record.setVersion(3);
+
+        when(bookmarkerService.getRecord("123")).thenReturn(record);
+
+        performAsync(get("/records/123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    public void test_getRecordWithMatchingIfNoneMatchShouldNotSendBody() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("123");
+        record.setVersion(3);
+
+        when(bookmarkerService.getRecord("123")).thenReturn(record);
+
+        performAsync(get("/records/123").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(content().string(""));
+
+        performAsync(get("/records/123").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(record)));
+    }
+
     @Test
     public void test_getRecordNotPresentShouldFail() throws Exception {
 
         when(bookmarkerService.getRecord("456")).thenReturn(null);
 
-        mockMvc.perform(get("/records/456"))
+        performAsync(get("/records/456"))
                 .andExpect(status().is4xxClientError());
     }
 
@@ -99,7 +307,7 @@ public class BookmarkControllerTests {
         List<Record> records = new ArrayList<>();
         records.add(record);
 
-        when(bookmarkerService.getAllRecords()).thenReturn(records);
+        when(bookmarkerService.getRecordIterator(null)).thenReturn(records.iterator());
 
         mockMvc.perform(get("/records"))
                 .andExpect(status().isOk())
@@ -107,6 +315,62 @@ public class BookmarkControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(records)));
     }
 
+    @Test
+    public void test_getRecordPageShouldPass() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("678");
+
+        List<Record> records = new ArrayList<>();
+        records.add(record);
+
+        RecordPage page = new RecordPage(records, "next");
+
+        when(bookmarkerService.getRecords("token", 1)).thenReturn(page);
+
+        performAsync(get("/records").param("limit", "1").param("cursor", "token"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    public void test_getRecordsUpdatedShouldParseIsoTimes() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("678");
+
+        RecordPage page = new RecordPage(Collections.singletonList(record), null);
+
+        when(bookmarkerService.getRecordsUpdated(new Date(1000), null, null, 100)).thenReturn(page);
+
+        performAsync(get("/records/updated").param("from", "1970-01-01T00:00:01.000Z"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    public void test_getRecordsCreatedWithInvalidRangeShouldFail() throws Exception {
+
+        when(bookmarkerService.getRecordsCreated(any(), any(), any(), eq(100)))
+                .thenThrow(new IllegalArgumentException("from cant be after to"));
+
+        performAsync(get("/records/created")
+                .param("from", "2026-10-18T10:00:00.000Z").param("to", "2026-10-17T10:00:00.000Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void test_getRecordPageWithInvalidLimitShouldFail() throws Exception {
+
+        when(bookmarkerService.getRecords(null, 0)).thenThrow(new IllegalArgumentException("invalid limit"));
+
+        performAsync(get("/records").param("limit", "0"))
+                .andExpect(status().is4xxClientError());
+    }
+
 
     @Test
     public void test_updateRecordShouldPass() throws Exception {
@@ -124,16 +388,90 @@ public class BookmarkControllerTests {
         record.setTags(tags);
 
         // Now we need to mock response for update operation
-        when(bookmarkerService.updateRecord(record)).thenReturn(true);
+        Record updated = new Record(record);
+        updated.setVersion(2);
+        when(bookmarkerService.updateRecord(record, null)).thenReturn(updated);
 
 
-        mockMvc.perform(put("/records/test")
+        performAsync(put("/records/test")
                 .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
                 .content(objectMapper.writeValueAsString(record)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2\""));
 
     }
 
+    @Test
+    public void test_updateRecordWithIfMatchShouldExpectVersion() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("test");
+
+        Record updated = new Record(record);
+        updated.setVersion(5);
+        when(bookmarkerService.updateRecord(record, 4L)).thenReturn(updated);
+
+        performAsync(put("/records/test")
+                .header("If-Match", "W/\"4\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(objectMapper.writeValueAsString(record)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"5\""));
+
+        verify(bookmarkerService).updateRecord(record, 4L);
+    }
+
+    @Test
+    public void test_updateRecordWithAnyIfMatchShouldExpectPresentRecord() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("test");
+
+        when(bookmarkerService.updateRecord(record, BookmarkerService.ANY_VERSION))
+                .thenThrow(new VersionConflictException("record test is not present"));
+
+        performAsync(put("/records/test")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(objectMapper.writeValueAsString(record)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void test_updateRecordWithStaleIfMatchShouldFail() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("test");
+
+        when(bookmarkerService.updateRecord(record, 4L))
+                .thenThrow(new VersionConflictException("record test is at version 5, expected 4"));
+
+        performAsync(put("/records/test")
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(objectMapper.writeValueAsString(record)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void test_updateRecordWithInvalidIfMatchShouldFail() throws Exception {
+
+        Record record = new Record();
+        record.setInfo("test");
+        record.setId("test");
+
+        performAsync(put("/records/test")
+                .header("If-Match", "\"4\", \"5\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(objectMapper.writeValueAsString(record)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookmarkerService, never()).updateRecord(any(), any());
+    }
+
     @Test
     public void test_updateRecordWithNoSetIdShouldPass() throws Exception {
 
@@ -150,7 +488,7 @@ public class BookmarkControllerTests {
         record.setTags(tags);
 
         // Now we need to mock response for update operation
-        when(bookmarkerService.updateRecord(record)).thenReturn(true);
+        when(bookmarkerService.updateRecord(record, null)).thenReturn(record);
 
         // Input record with no id set in the path
         Record inputRecord = new Record();
@@ -164,9 +502,9 @@ public class BookmarkControllerTests {
         inputRecord.setTags(inputTags);
 
         // If request is made with no id then an exception would be thrown
-        when(bookmarkerService.updateRecord(inputRecord)).thenThrow(new IllegalArgumentException("invalid input"));
+        when(bookmarkerService.updateRecord(inputRecord, null)).thenThrow(new IllegalArgumentException("invalid input"));
 
-        mockMvc.perform(put("/records/test")
+        performAsync(put("/records/test")
                 .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
                 .content(objectMapper.writeValueAsString(inputRecord)))
                 .andExpect(status().isOk());
@@ -177,7 +515,7 @@ public class BookmarkControllerTests {
     public void test_updateRecordWithInvalidInfoShouldFail() throws Exception {
 
         // Now we need to mock response for update operation
-        when(bookmarkerService.updateRecord(any())).thenReturn(false);
+        when(bookmarkerService.updateRecord(any(), any())).thenReturn(null);
 
 
         mockMvc.perform(put("/records/test")
@@ -192,7 +530,7 @@ public class BookmarkControllerTests {
 
         when(bookmarkerService.deleteRecord("test")).thenReturn(true);
 
-        mockMvc.perform(delete("/records/test"))
+        performAsync(delete("/records/test"))
                 .andExpect(status().isOk());
     }
 
@@ -201,7 +539,7 @@ public class BookmarkControllerTests {
 
         when(bookmarkerService.deleteRecord("test")).thenReturn(false);
 
-        mockMvc.perform(delete("/records/test"))
+        performAsync(delete("/records/test"))
                 .andExpect(status().is4xxClientError());
     }
 
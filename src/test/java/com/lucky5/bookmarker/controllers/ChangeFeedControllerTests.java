@@ -0,0 +1,172 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.feed.FeedProperties;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(ChangeFeedController.class)
+@AutoConfigureMockMvc
+public class ChangeFeedControllerTests {
+
+    @TestConfiguration
+    static class FeedTestConfiguration {
+
+        @Bean
+        RecordStore recordStore() {
+            return new RecordStore();
+        }
+
+        @Bean
+        FeedProperties feedProperties() {
+            return new FeedProperties();
+        }
+
+        @Bean
+        ChangeFeed changeFeed(RecordStore recordStore) {
+            ChangeFeed feed = new ChangeFeed(4, Runnable::run);
+            recordStore.addListener(feed);
+            return feed;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecordStore recordStore;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Test
+    public void test_pollShouldReturnChangesFollowingSince() throws Exception {
+
+        long since = changeFeed.lastSequence();
+        recordStore.insert(record("poll-1", "test"));
+        recordStore.remove("poll-1");
+
+        MvcResult result = mockMvc.perform(get("/records/changes").param("since", Long.toString(since)))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.events[0].type").value("ADDED"))
+                .andExpect(jsonPath("$.events[0].record.info").value("http://www.example.com/poll-1"))
+                .andExpect(jsonPath("$.events[1].type").value("REMOVED"))
+                .andExpect(jsonPath("$.last").value(since + 2));
+    }
+
+    @Test
+    public void test_pollShouldWaitForNextChange() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/records/changes"))
+                .andExpect(request().asyncStarted()).andReturn();
+        Assert.assertEquals("", result.getResponse().getContentAsString());
+
+        recordStore.insert(record("wait-1", "test"));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(1))
+                .andExpect(jsonPath("$.events[0].id").value("wait-1"));
+    }
+
+    @Test
+    public void test_pollShouldReturnLatestSequenceAndEpoch() throws Exception {
+
+        long since = changeFeed.lastSequence();
+        recordStore.insert(record("latest-1", "test"));
+        recordStore.insert(record("latest-2", "test"));
+
+        MvcResult result = mockMvc.perform(get("/records/changes")
+                .param("since", Long.toString(since)).param("limit", "1").param("timeout", "100"))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(1))
+                .andExpect(jsonPath("$.last").value(since + 1))
+                .andExpect(jsonPath("$.latest").value(since + 2))
+                .andExpect(jsonPath("$.epoch").value(changeFeed.epoch()));
+    }
+
+    @Test
+    public void test_pollWithInvalidTimeoutShouldFail() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/records/changes").param("timeout", "0"))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void test_pollForDroppedChangesShouldFail() throws Exception {
+
+        long since = changeFeed.lastSequence();
+        for (int i = 0; i < 5; i++) {
+            recordStore.insert(record("gone-" + i, "test"));
+        }
+
+        MvcResult result = mockMvc.perform(get("/records/changes").param("since", Long.toString(since)))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isGone());
+    }
+
+    @Test
+    public void test_streamShouldSendChangesAsEvents() throws Exception {
+
+        long since = changeFeed.lastSequence();
+        recordStore.insert(record("stream-1", "test"));
+
+        MvcResult result = mockMvc.perform(get("/records/changes/stream")
+                .header("Last-Event-ID", changeFeed.epoch() + ":" + since))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        recordStore.insert(record("stream-2", "test"));
+
+        String body = result.getResponse().getContentAsString();
+        String epoch = Long.toString(changeFeed.epoch());
+        Assert.assertTrue(body, body.contains("id:" + epoch + ":" + (since + 1) + "\nevent:added\n"));
+        Assert.assertTrue(body, body.contains("id:" + epoch + ":" + (since + 2) + "\nevent:added\n"));
+        Assert.assertTrue(body, body.contains("\"id\":\"stream-2\""));
+    }
+
+    @Test
+    public void test_streamResumedInEarlierEpochShouldReset() throws Exception {
+
+        recordStore.insert(record("restart-1", "test"));
+        long latest = changeFeed.lastSequence();
+
+        // sequence still kept by feed, but from before a restart of the service, stream ends right away
+        MvcResult result = mockMvc.perform(get("/records/changes/stream")
+                .header("Last-Event-ID", (changeFeed.epoch() - 1) + ":" + (latest - 1)))
+                .andExpect(request().asyncNotStarted()).andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        Assert.assertEquals("id:" + changeFeed.epoch() + ":" + latest + "\nevent:reset\ndata:" + latest + "\n\n", body);
+
+        // ids of streams from before epochs were sent can not be resumed either
+        result = mockMvc.perform(get("/records/changes/stream").header("Last-Event-ID", Long.toString(latest - 1)))
+                .andExpect(request().asyncNotStarted()).andReturn();
+        Assert.assertTrue(result.getResponse().getContentAsString().contains("event:reset\n"));
+    }
+}
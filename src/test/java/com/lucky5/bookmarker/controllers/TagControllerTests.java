@@ -0,0 +1,85 @@
+package com.lucky5.bookmarker.controllers;
+
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(TagController.class)
+@AutoConfigureMockMvc
+public class TagControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookmarkerService bookmarkerService;
+
+    @Test
+    public void test_tagStatsShouldReturnTopAndAskedCounts() throws Exception {
+
+        when(bookmarkerService.getTagStats(2, Arrays.asList("ipad", "unknown"))).thenReturn(new TagStats(4, 5,
+                Arrays.asList(new TagCount("apple", 3), new TagCount("ipad", 2)),
+                Arrays.asList(new TagCount("ipad", 2), new TagCount("unknown", 0))));
+
+        mockMvc.perform(get("/tags/stats?limit=2&tag=ipad&tag=unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(4))
+                .andExpect(jsonPath("$.tags").value(5))
+                .andExpect(jsonPath("$.top[0].tag").value("apple"))
+                .andExpect(jsonPath("$.top[0].count").value(3))
+                .andExpect(jsonPath("$.counts[1].count").value(0));
+    }
+
+    @Test
+    public void test_tagStatsWithoutTagsShouldOmitCounts() throws Exception {
+
+        when(bookmarkerService.getTagStats(10, null)).thenReturn(new TagStats(0, 0, Collections.emptyList(), null));
+
+        mockMvc.perform(get("/tags/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.top").isEmpty())
+                .andExpect(jsonPath("$.counts").doesNotExist());
+    }
+
+    @Test
+    public void test_tagStatsWithInvalidLimitShouldFail() throws Exception {
+
+        when(bookmarkerService.getTagStats(eq(0), any())).thenThrow(new IllegalArgumentException("limit"));
+
+        mockMvc.perform(get("/tags/stats?limit=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void test_suggestTagsShouldReturnRankedTags() throws Exception {
+
+        when(bookmarkerService.suggestTags("app", 10)).thenReturn(
+                Arrays.asList(new TagCount("apple", 3), new TagCount("appletv", 2)));
+
+        mockMvc.perform(get("/tags/suggest?prefix=app"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tag").value("apple"))
+                .andExpect(jsonPath("$[1].count").value(2));
+    }
+
+    @Test
+    public void test_suggestTagsWithoutPrefixShouldFail() throws Exception {
+
+        mockMvc.perform(get("/tags/suggest")).andExpect(status().isBadRequest());
+    }
+}
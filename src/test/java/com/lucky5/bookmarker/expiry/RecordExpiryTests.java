@@ -0,0 +1,121 @@
+package com.lucky5.bookmarker.expiry;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TestRecords;
+import com.lucky5.bookmarker.store.RecordStore;
+import com.lucky5.bookmarker.store.TagBitmapIndex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.RecordExpiryTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:40
+ * Description  : Junit test cases for removal of expired records
+ */
+@RunWith(JUnit4.class)
+public class RecordExpiryTests {
+
+    private RecordStore recordStore;
+
+    private TagBitmapIndex tagIndex;
+
+    private RecordExpiry recordExpiry;
+
+    private static final long HOUR = 3600000;
+
+    private static final long TICK = 1000;
+
+    private long now;
+
+    @Before
+    public void setup() {
+        now = System.currentTimeMillis();
+        recordStore = new RecordStore();
+        tagIndex = new TagBitmapIndex();
+        recordStore.addListener(tagIndex);
+
+        // restored before expiry starts
+        recordStore.insert(record("restored", now + HOUR));
+
+        // records expire hours ahead, background runs in between remove nothing. Records come
+        // out of wheel with first tick not before their expiry
+        recordExpiry = new RecordExpiry(recordStore, TICK);
+        recordExpiry.start();
+    }
+
+    @After
+    public void tearDown() {
+        recordExpiry.close();
+    }
+
+    @Test
+    public void expire_ShouldRemoveRecordsAndUpdateIndexes() {
+
+        recordStore.insert(record("soon", now + 2 * HOUR));
+        recordStore.insert(record("later", now + 60 * HOUR));
+        recordStore.insert(record("never", null));
+
+        Assert.assertEquals(0, recordExpiry.expire(now + HOUR / 2));
+        Assert.assertEquals("restored record not scheduled", 2, recordExpiry.expire(now + 2 * HOUR + TICK));
+
+        Assert.assertNull(recordStore.get("restored"));
+        Assert.assertNull(recordStore.get("soon"));
+        Assert.assertNotNull(recordStore.get("later"));
+        Assert.assertNotNull(recordStore.get("never"));
+        Assert.assertEquals("expired records left in tag index", 2, tagIndex.count("shared"));
+    }
+
+    @Test
+    public void expire_ShouldFollowChangedExpiry() {
+
+        recordStore.insert(record("extended", now + 2 * HOUR));
+        recordStore.insert(record("shortened", now + 60 * HOUR));
+
+        recordStore.update("extended", (record) -> {
+            Record updated = new Record(record);
+            updated.setExpiresAt(new Date(now + 60 * HOUR));
+            return updated;
+        });
+        recordStore.update("shortened", (record) -> {
+            Record updated = new Record(record);
+            updated.setExpiresAt(new Date(now + 2 * HOUR));
+            return updated;
+        });
+
+        Assert.assertEquals("restored or shortened record not removed", 2, recordExpiry.expire(now + 2 * HOUR + TICK));
+        Assert.assertNotNull("record removed before extended expiry", recordStore.get("extended"));
+        Assert.assertNull(recordStore.get("shortened"));
+
+        Assert.assertEquals(1, recordExpiry.expire(now + 60 * HOUR + TICK));
+        Assert.assertNull(recordStore.get("extended"));
+    }
+
+    @Test
+    public void expire_ShouldSkipRemovedAndReplacedRecords() {
+
+        recordStore.insert(record("removed", now + 2 * HOUR));
+        recordStore.remove("removed");
+        recordStore.remove("restored");
+        recordStore.insert(record("restored", null));
+
+        Assert.assertEquals(0, recordExpiry.expire(now + 2 * HOUR + TICK));
+        Assert.assertNotNull("replacement without expiry removed", recordStore.get("restored"));
+        Assert.assertEquals(0, recordExpiry.scheduled());
+    }
+
+    private static Record record(String id, Long expiresAt) {
+        Record record = TestRecords.record(id, "shared");
+        record.setCreationDate(new Date(0));
+        record.setLastUpdated(new Date(0));
+        record.setExpiresAt(expiresAt == null ? null : new Date(expiresAt));
+        return record;
+    }
+}
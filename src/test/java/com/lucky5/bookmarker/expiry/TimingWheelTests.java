@@ -0,0 +1,78 @@
+package com.lucky5.bookmarker.expiry;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.expiry.TimingWheelTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 23:30
+ * Description  : Junit test cases for timing wheel
+ */
+@RunWith(JUnit4.class)
+public class TimingWheelTests {
+
+    @Test
+    public void advance_ShouldReturnIdsOnceDeadlinePassed() {
+
+        TimingWheel wheel = new TimingWheel(10, 1000);
+        wheel.schedule("b", 1025);
+        wheel.schedule("a", 1011);
+        wheel.schedule("past", 500);
+
+        Assert.assertEquals("past deadline not due on next tick", Arrays.asList("past"), wheel.advance(1010));
+        Assert.assertEquals("deadline not rounded up to tick", Collections.emptyList(), wheel.advance(1019));
+        Assert.assertEquals(Arrays.asList("a", "b"), wheel.advance(1030));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void advance_ShouldCascadeFarDeadlines() {
+
+        TimingWheel wheel = new TimingWheel(1, 0);
+
+        // one deadline per level, plus one beyond the current turn of the highest level
+        long[] deadlines = {63, 64 * 64 + 5, 64 * 64 * 64 + 7, 64L * 64 * 64 * 60 + 9, 1L << 26};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(String.valueOf(i), deadlines[i]);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            Assert.assertEquals("due early at level " + i, Collections.emptyList(), wheel.advance(deadlines[i] - 1));
+            Assert.assertEquals("not due at level " + i, Arrays.asList(String.valueOf(i)), wheel.advance(deadlines[i]));
+        }
+    }
+
+    @Test
+    public void advance_ShouldMatchDeadlinesOfRandomSchedule() {
+
+        Random random = new Random(20);
+        long now = 1792300000L + random.nextInt(1 << 24);
+        TimingWheel wheel = new TimingWheel(1, now);
+        TreeMap<Long, Set<String>> expected = new TreeMap<>();
+
+        for (int round = 0; round < 2000; round++) {
+            for (int i = 0; i < 5; i++) {
+                String id = round + "-" + i;
+                long deadline = now + 1 + random.nextInt(random.nextBoolean() ? 100 : 20000000);
+                wheel.schedule(id, deadline);
+                expected.computeIfAbsent(deadline, (key) -> new HashSet<>()).add(id);
+            }
+
+            now += random.nextInt(500);
+            Set<String> due = new HashSet<>();
+            for (Set<String> ids : expected.headMap(now, true).values()) {
+                due.addAll(ids);
+            }
+            expected.headMap(now, true).clear();
+
+            Assert.assertEquals("wrong ids due at " + now, due, new HashSet<>(wheel.advance(now)));
+        }
+        Assert.assertEquals(expected.values().stream().mapToInt(Set::size).sum(), wheel.size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.lucky5.bookmarker.feed;
+
+import com.lucky5.bookmarker.model.ChangeEvent;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.feed.ChangeFeedTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:50
+ * Description  : Junit test cases for change feed
+ */
+@RunWith(JUnit4.class)
+public class ChangeFeedTests {
+
+    private RecordStore recordStore;
+
+    private ChangeFeed changeFeed;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        changeFeed = new ChangeFeed(4, Runnable::run);
+        recordStore.addListener(changeFeed);
+    }
+
+    @Test
+    public void read_ShouldReturnChangesInSequence() {
+
+        recordStore.insert(record("1", "test"));
+        recordStore.insertAll(Arrays.asList(record("2", "test"), record("3", "test")));
+        recordStore.update("1", (previous) -> {
+            Record next = new Record(previous);
+            next.setInfo("updated");
+            return next;
+        });
+        recordStore.remove("2");
+
+        Assert.assertEquals(5, changeFeed.lastSequence());
+
+        List<ChangeEvent> events = changeFeed.read(1, 10);
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals(2, events.get(0).getSequence());
+        Assert.assertEquals(ChangeEvent.Type.ADDED, events.get(1).getType());
+        Assert.assertEquals(ChangeEvent.Type.UPDATED, events.get(2).getType());
+        Assert.assertEquals("updated", events.get(2).getRecord().getInfo());
+        Assert.assertEquals(ChangeEvent.Type.REMOVED, events.get(3).getType());
+        Assert.assertEquals("2", events.get(3).getId());
+        Assert.assertNull(events.get(3).getRecord());
+
+        Assert.assertEquals(2, changeFeed.read(1, 2).size());
+        Assert.assertTrue(changeFeed.read(5, 10).isEmpty());
+    }
+
+    @Test
+    public void read_ShouldFailForChangesNoLongerKept() {
+
+        for (int i = 1; i <= 6; i++) {
+            recordStore.insert(record(Integer.toString(i), "test"));
+        }
+
+        // ring keeps 4 changes, 3 to 6
+        Assert.assertTrue(changeFeed.retains(2));
+        Assert.assertFalse(changeFeed.retains(1));
+        Assert.assertFalse(changeFeed.retains(7));
+        Assert.assertEquals(3, changeFeed.read(2, 10).get(0).getSequence());
+
+        try {
+            changeFeed.read(1, 10);
+            Assert.fail("read of dropped changes");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void await_ShouldRunCallbackOnceChangeArrives() {
+
+        AtomicInteger calls = new AtomicInteger();
+        changeFeed.await(0, calls::incrementAndGet);
+        Assert.assertEquals(0, calls.get());
+
+        recordStore.insert(record("1", "test"));
+        recordStore.insert(record("2", "test"));
+        Assert.assertEquals(1, calls.get());
+
+        // already present change runs callback right away
+        changeFeed.await(1, calls::incrementAndGet);
+        Assert.assertEquals(2, calls.get());
+
+        Runnable cancelled = calls::incrementAndGet;
+        changeFeed.await(2, cancelled);
+        changeFeed.cancel(cancelled);
+        recordStore.insert(record("3", "test"));
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void writers_ShouldNotWaitForSaturatedConsumers() throws Exception {
+
+        // single thread busy and no queue, every hand over to consumers is rejected
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+
+        try {
+            ChangeFeed feed = new ChangeFeed(1000, executor);
+            recordStore.addListener(feed);
+            feed.await(0, () -> { });
+
+            for (int i = 1; i <= 100; i++) {
+                recordStore.insert(record(Integer.toString(i), "test"));
+            }
+            Assert.assertEquals(100, feed.lastSequence());
+
+            try {
+                executor.execute(() -> { });
+                Assert.fail("executor not saturated");
+            } catch (RejectedExecutionException ex) {
+                // expected
+            }
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
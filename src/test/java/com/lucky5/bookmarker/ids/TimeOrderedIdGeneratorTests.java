@@ -0,0 +1,111 @@
+package com.lucky5.bookmarker.ids;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.ids.TimeOrderedIdGeneratorTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:20
+ * Description  : Junit test cases for time ordered id generator and id string form
+ */
+@RunWith(JUnit4.class)
+public class TimeOrderedIdGeneratorTests {
+
+    @Test
+    public void nextId_ShouldCarryTimeAndNode() {
+
+        long now = TimeOrderedIdGenerator.EPOCH + 123456;
+        long id = new TimeOrderedIdGenerator(42, () -> now).nextId();
+
+        Assert.assertTrue("id not positive", id > 0);
+        Assert.assertEquals("timestamp mismatch", now, TimeOrderedIdGenerator.timestamp(id));
+        Assert.assertEquals("node mismatch", 42, TimeOrderedIdGenerator.node(id));
+    }
+
+    @Test
+    public void nextId_ShouldIncreaseWhenSequenceOverflowsOrClockGoesBack() {
+
+        AtomicLong clock = new AtomicLong(TimeOrderedIdGenerator.EPOCH + 1000);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+
+        long previous = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (i == 5000) {
+                clock.addAndGet(-500);
+            }
+            long id = generator.nextId();
+            Assert.assertTrue("id not increasing", id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    public void nextId_ConcurrentCallsShouldBeUnique() throws Exception {
+
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        int threads = 8;
+        int perThread = 20000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals("duplicate ids generated", threads * perThread, ids.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_WithInvalidNodeShouldFail() {
+        new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE + 1);
+    }
+
+    @Test
+    public void encode_ShouldRoundTripAndKeepOrder() {
+
+        long[] ids = {1, 31, 32, 1L << 40, Long.MAX_VALUE};
+        String previous = "";
+        for (long id : ids) {
+            String encoded = RecordIds.encode(id);
+            Assert.assertEquals("length mismatch", RecordIds.LENGTH, encoded.length());
+            Assert.assertEquals("round trip mismatch", id, RecordIds.decode(encoded));
+            Assert.assertTrue("string order differs from numeric order", encoded.compareTo(previous) > 0);
+            previous = encoded;
+        }
+    }
+
+    @Test
+    public void key_ShouldMapLegacyIdsToNegativeKeys() {
+
+        String uuid = "f951c75c-7d84-4c87-99b7-006b29635cdd";
+
+        Assert.assertEquals("not a generated id", -1, RecordIds.decode(uuid));
+        Assert.assertEquals("non canonical id decoded", -1, RecordIds.decode("0000000000001".toUpperCase() + "x"));
+        Assert.assertEquals("upper case id decoded", -1, RecordIds.decode("000000000000A"));
+        Assert.assertTrue("legacy key not negative", RecordIds.key(uuid) < 0);
+        Assert.assertEquals("legacy key not stable", RecordIds.key(uuid), RecordIds.key(new String(uuid)));
+        Assert.assertEquals("generated key mismatch", 42, RecordIds.key(RecordIds.encode(42)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.lucky5.bookmarker.metrics;
+
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.metrics.RequestMetricsFilterTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 17:50
+ * Description  : Junit test cases for request metrics filter
+ */
+@RunWith(JUnit4.class)
+public class RequestMetricsFilterTests {
+
+    private final CollectorRegistry registry = CollectorRegistry.defaultRegistry;
+
+    private final RequestMetricsFilter filter = new RequestMetricsFilter();
+
+    @Test
+    public void filter_ShouldRecordLatencyAndSizesByPattern() throws Exception {
+
+        String[] labels = {"PUT", "/test/{id}", "200"};
+        double before = sample("bookmark_http_request_duration_seconds_count", labels);
+        double responseBytesBefore = sample("bookmark_http_response_size_bytes_sum", labels);
+        double requestBytesBefore = sample("bookmark_http_request_size_bytes_sum", "PUT", "/test/{id}");
+        // gauge is shared with asynchronous requests of other tests still pending
+        double inFlightBefore = sample("bookmark_http_requests_in_flight");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/test/1");
+        request.setContent("0123456789".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/test/{id}");
+                StreamUtils.copyToByteArray(req.getInputStream());
+                resp.getWriter().write("done");
+            }
+        }));
+
+        Assert.assertEquals("latency not observed", before + 1,
+                sample("bookmark_http_request_duration_seconds_count", labels), 0);
+        Assert.assertEquals("request bytes mismatch", requestBytesBefore + 10,
+                sample("bookmark_http_request_size_bytes_sum", "PUT", "/test/{id}"), 0);
+        Assert.assertEquals("response bytes mismatch", responseBytesBefore + 4,
+                sample("bookmark_http_response_size_bytes_sum", labels), 0);
+        Assert.assertEquals("request still in flight", inFlightBefore, sample("bookmark_http_requests_in_flight"), 0);
+    }
+
+    @Test
+    public void filter_ShouldRecordSubMillisecondLatency() throws Exception {
+
+        String[] labels = {"GET", "/fast", "200"};
+        double before = sample("bookmark_http_request_duration_seconds_sum", labels);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/fast"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet("/fast")));
+
+        // a call taking microseconds must not be truncated to zero
+        double elapsed = sample("bookmark_http_request_duration_seconds_sum", labels) - before;
+        Assert.assertTrue("latency lost sub millisecond precision", elapsed > 0 && elapsed < 1);
+    }
+
+    @Test
+    public void filter_ShouldRecordFailedRequests() throws Exception {
+
+        String[] labels = {"GET", RequestMetricsFilter.UNMATCHED, "500"};
+        double before = sample("bookmark_http_request_duration_seconds_count", labels);
+        double inFlightBefore = sample("bookmark_http_requests_in_flight");
+
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/broken"), new MockHttpServletResponse(),
+                    new MockFilterChain(new HttpServlet() {
+                        @Override
+                        protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                            throw new IllegalStateException("broken");
+                        }
+                    }));
+            Assert.fail("exception swallowed");
+        } catch (IllegalStateException ex) {
+            Assert.assertEquals("unexpected exception", "broken", ex.getMessage());
+        }
+
+        Assert.assertEquals("failure not observed", before + 1,
+                sample("bookmark_http_request_duration_seconds_count", labels), 0);
+        Assert.assertEquals("request still in flight", inFlightBefore, sample("bookmark_http_requests_in_flight"), 0);
+    }
+
+    private static Servlet servlet(String pattern) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+        };
+    }
+
+    private double sample(String name, String... labelValues) {
+        String[] labelNames;
+        if (name.startsWith("bookmark_http_request_size")) {
+            labelNames = new String[]{"method", "path"};
+        } else if (labelValues.length == 0) {
+            labelNames = new String[0];
+        } else {
+            labelNames = new String[]{"method", "path", "status"};
+        }
+        Double value = registry.getSampleValue(name, labelNames, labelValues);
+        return value == null ? 0 : value;
+    }
+}
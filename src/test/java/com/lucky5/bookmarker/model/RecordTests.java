@@ -0,0 +1,140 @@
+package com.lucky5.bookmarker.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.RecordTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 15:55
+ * Description  : Junit test cases for dictionary encoded tags of record
+ */
+@RunWith(JUnit4.class)
+public class RecordTests {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void store_ShouldShareTagInstancesAcrossRecords() {
+
+        RecordStore store = new RecordStore();
+        Record first = record("1", new String("apple"), "ipad");
+        Record second = record("2", new String("apple"));
+        store.insert(first);
+        store.insertAll(Arrays.asList(second));
+
+        Assert.assertEquals("tags mismatch", Arrays.asList("apple", "ipad"), first.getTags());
+        Assert.assertTrue("tags not acquired", TagDictionary.global().find("apple") >= 0);
+        Assert.assertSame("tag not interned", first.getTags().get(0), second.getTags().get(0));
+    }
+
+    @Test
+    public void setTags_ShouldNotInternTagsOfRecordsNotStored() throws IOException {
+
+        Record record = objectMapper.readValue("{\"info\":\"test\",\"tags\":[\"tag-read-only\"]}", Record.class);
+        new Record(record).setTags(Arrays.asList("tag-copied-only"));
+
+        Assert.assertEquals(Arrays.asList("tag-read-only"), record.getTags());
+        Assert.assertEquals(-1, TagDictionary.global().find("tag-read-only"));
+        Assert.assertEquals(-1, TagDictionary.global().find("tag-copied-only"));
+    }
+
+    @Test
+    public void release_ShouldReuseIdsOfDroppedTags() {
+
+        TagDictionary dictionary = new TagDictionary();
+        Assert.assertEquals(Arrays.asList("apple", null, "ipad", "apple"),
+                dictionary.acquire(Arrays.asList("apple", null, "ipad", "apple")));
+        int apple = dictionary.find("apple");
+
+        dictionary.release(Arrays.asList("apple"));
+        Assert.assertEquals("tag still held dropped", apple, dictionary.find("apple"));
+        dictionary.release(Arrays.asList("apple", null, "ipad"));
+        Assert.assertEquals("released tag kept", -1, dictionary.find("apple"));
+        Assert.assertEquals("released tag kept", 0, dictionary.size());
+
+        dictionary.acquire(Arrays.asList("macbook-pro"));
+        Assert.assertEquals("id not reused", apple, dictionary.find("macbook-pro"));
+        Assert.assertEquals("macbook-pro", dictionary.tag(apple));
+    }
+
+    @Test
+    public void store_ShouldReleaseTagsOfRemovedVersions() {
+
+        RecordStore store = new RecordStore();
+        store.insert(record("1", "tag-removed"));
+        store.update("1", (current) -> {
+            Record updated = new Record(current);
+            updated.setTags(Arrays.asList("tag-replaced"));
+            return updated;
+        });
+
+        Assert.assertEquals("replaced tag kept", -1, TagDictionary.global().find("tag-removed"));
+        Assert.assertTrue("current tag dropped", TagDictionary.global().find("tag-replaced") >= 0);
+
+        store.remove("1");
+        Assert.assertEquals("removed tag kept", -1, TagDictionary.global().find("tag-replaced"));
+    }
+
+    @Test
+    public void setTags_ShouldCopyInput() {
+
+        List<String> tags = new ArrayList<>(Arrays.asList("apple"));
+        Record record = new Record();
+        record.setTags(tags);
+        tags.add("ipad");
+
+        Assert.assertEquals("input change visible", Arrays.asList("apple"), record.getTags());
+    }
+
+    @Test
+    public void getTags_ShouldKeepNulls() {
+
+        Record record = new Record();
+        Assert.assertNull("tags not null", record.getTags());
+
+        record.setTags(Arrays.asList("apple", null));
+        Assert.assertTrue("null tag lost", record.getTags().contains(null));
+        Assert.assertFalse("unknown tag found", record.getTags().contains("never-used-tag"));
+    }
+
+    @Test
+    public void json_ShouldKeepTagsAsStringArray() throws IOException {
+
+        Record record = objectMapper.readValue("{\"id\":\"1\",\"info\":\"test\",\"tags\":[\"apple\",\"ipad\"]}", Record.class);
+
+        Assert.assertEquals("tags not read", Arrays.asList("apple", "ipad"), record.getTags());
+        Assert.assertEquals("json shape changed",
+                "[\"apple\",\"ipad\"]",
+                objectMapper.readTree(objectMapper.writeValueAsString(record)).get("tags").toString());
+    }
+
+    @Test
+    public void hasSameTags_ShouldCompareTagIds() {
+
+        Record first = new Record();
+        first.setTags(Arrays.asList("apple", "ipad"));
+
+        Record copy = new Record(first);
+        Record second = new Record();
+        second.setTags(Arrays.asList("apple", "ipad"));
+        Record other = new Record();
+        other.setTags(Arrays.asList("ipad", "apple"));
+
+        Assert.assertTrue("copy differs", first.hasSameTags(copy));
+        Assert.assertTrue("equal tags differ", first.hasSameTags(second));
+        Assert.assertFalse("tag order ignored", first.hasSameTags(other));
+    }
+}
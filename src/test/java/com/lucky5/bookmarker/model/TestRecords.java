@@ -0,0 +1,37 @@
+package com.lucky5.bookmarker.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.model.TestRecords.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 04:10
+ * Description  : Records built by test cases, dates are left for tests to set
+ */
+public final class TestRecords {
+
+    private TestRecords() {
+    }
+
+    /**
+     * @return - record of id with an example info and tags
+     */
+    public static Record record(String id, String... tags) {
+        Record record = new Record();
+        record.setId(id);
+        record.setInfo("http://www.example.com/" + id);
+        record.setTags(new ArrayList<>(Arrays.asList(tags)));
+        return record;
+    }
+
+    /**
+     * @return - record of id with info and no tags
+     */
+    public static Record withInfo(String id, String info) {
+        Record record = record(id);
+        record.setInfo(info);
+        return record;
+    }
+}
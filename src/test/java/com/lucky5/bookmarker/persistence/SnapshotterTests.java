@@ -0,0 +1,151 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.lucky5.bookmarker.model.TestRecords.withInfo;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.SnapshotterTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 14:30
+ * Description  : Junit test cases for snapshots and recovery from snapshot plus log
+ */
+@RunWith(JUnit4.class)
+public class SnapshotterTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<WriteAheadLog> logs = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        for (WriteAheadLog writeAheadLog : logs) {
+            writeAheadLog.close();
+        }
+        logs.clear();
+    }
+
+    @Test
+    public void load_ShouldRestoreWrittenRecords() throws IOException {
+
+        Record google = record("google", "www.google.com", Arrays.asList("search", "google"));
+        Record apple = record("apple", "www.apple.com", Arrays.asList("apple", "search"));
+        Record empty = record("empty", "www.empty.com", null);
+        empty.setLastUpdated(null);
+        google.setExpiresAt(new Date(1000000));
+
+        Snapshotter snapshotter = new Snapshotter(folder.getRoot().toPath());
+        Assert.assertEquals("written record count mismatch", 3,
+                snapshotter.write(Arrays.asList(google, apple, empty), 42));
+
+        RecordStore store = new RecordStore();
+        Assert.assertEquals("log sequence mismatch", 42, snapshotter.load(store));
+
+        Assert.assertEquals("record count mismatch", 3, store.size());
+        Assert.assertEquals("info mismatch", "www.google.com", store.get("google").getInfo());
+        Assert.assertEquals("tags mismatch", Arrays.asList("apple", "search"), store.get("apple").getTags());
+        Assert.assertEquals("creation date mismatch", google.getCreationDate(), store.get("google").getCreationDate());
+        Assert.assertNull("null tags not kept", store.get("empty").getTags());
+        Assert.assertNull("null date not kept", store.get("empty").getLastUpdated());
+        Assert.assertEquals("expiry mismatch", google.getExpiresAt(), store.get("google").getExpiresAt());
+        Assert.assertNull("null expiry not kept", store.get("apple").getExpiresAt());
+        Assert.assertSame("dictionary tags not shared",
+                store.get("google").getTags().get(0),
+                store.get("apple").getTags().get(1));
+    }
+
+    @Test
+    public void load_WithoutSnapshotShouldRestoreNothing() throws IOException {
+
+        RecordStore store = new RecordStore();
+
+        Assert.assertEquals("log sequence mismatch", 0,
+                new Snapshotter(folder.getRoot().toPath()).load(store));
+        Assert.assertEquals("record count mismatch", 0, store.size());
+    }
+
+    @Test
+    public void recover_ShouldReplayLogOnTopOfSnapshot() throws IOException {
+
+        RecordPersistence persistence = persistence();
+        BookmarkerService bookmarkerService = new BookmarkerServiceImpl(persistence);
+
+        String google = bookmarkerService.addRecord("www.google.com", Arrays.asList("google"));
+        String microsoft = bookmarkerService.addRecord("www.microsoft.com", Arrays.asList("windows"));
+
+        Assert.assertEquals("snapshot record count mismatch", 2, persistence.snapshot());
+        Assert.assertEquals("covered log segments not deleted", 1, segments().size());
+
+        String apple = bookmarkerService.addRecord("www.apple.com", Arrays.asList("apple"));
+        bookmarkerService.deleteRecord(microsoft);
+
+        // crash, only log has changes made after snapshot
+        tearDown();
+
+        bookmarkerService = new BookmarkerServiceImpl(persistence());
+
+        Assert.assertEquals("record count mismatch", 2, bookmarkerService.getAllRecords().size());
+        Assert.assertNotNull("snapshot record lost", bookmarkerService.getRecord(google));
+        Assert.assertNotNull("log record lost", bookmarkerService.getRecord(apple));
+        Assert.assertNull("deleted record restored", bookmarkerService.getRecord(microsoft));
+        Assert.assertEquals("tag index not rebuilt", 1, bookmarkerService.getFilteredRecord("google").size());
+    }
+
+    @Test
+    public void close_ShouldWriteFinalSnapshot() throws IOException {
+
+        RecordPersistence persistence = new RecordPersistence(null,
+                new Snapshotter(folder.getRoot().toPath()), 0);
+        BookmarkerService bookmarkerService = new BookmarkerServiceImpl(persistence);
+        String google = bookmarkerService.addRecord("www.google.com", null);
+        persistence.close();
+
+        bookmarkerService = new BookmarkerServiceImpl(new RecordPersistence(null,
+                new Snapshotter(folder.getRoot().toPath()), 0));
+
+        Assert.assertNotNull("record lost", bookmarkerService.getRecord(google));
+    }
+
+    private RecordPersistence persistence() throws IOException {
+        WriteAheadLog writeAheadLog = new WriteAheadLog(folder.getRoot().toPath(), FsyncPolicy.ALWAYS, 10, 1024);
+        logs.add(writeAheadLog);
+        return new RecordPersistence(writeAheadLog, new Snapshotter(folder.getRoot().toPath()), 0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> paths = Files.list(folder.getRoot().toPath())) {
+            return paths.filter((path) -> path.getFileName().toString().endsWith(".wal"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Record record(String id, String info, List<String> tags) {
+        Record record = withInfo(id, info);
+        record.setTags(tags);
+        record.setCreationDate(new Date(1000));
+        record.setLastUpdated(new Date(2000));
+        return record;
+    }
+}
@@ -0,0 +1,214 @@
+package com.lucky5.bookmarker.persistence;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.services.BookmarkerService;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.persistence.WriteAheadLogTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 12:50
+ * Description  : Junit test cases for write ahead log persistence and replay
+ */
+@RunWith(JUnit4.class)
+public class WriteAheadLogTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<WriteAheadLog> logs = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        for (WriteAheadLog writeAheadLog : logs) {
+            writeAheadLog.close();
+        }
+    }
+
+    @Test
+    public void recover_ShouldRestoreRecordsAfterRestart() throws IOException {
+
+        BookmarkerService bookmarkerService = restart(FsyncPolicy.ALWAYS);
+
+        String google = bookmarkerService.addRecord("www.google.com", Arrays.asList("search", "google"), 3600L);
+        String apple = bookmarkerService.addRecord("www.apple.com", Arrays.asList("apple"));
+        String microsoft = bookmarkerService.addRecord("www.microsoft.com", null);
+
+        Record update = new Record();
+        update.setId(apple);
+        update.setInfo("www.apple.com/ipad");
+        update.setTags(Arrays.asList("apple", "ipad"));
+        bookmarkerService.updateRecord(update);
+
+        bookmarkerService.deleteRecord(microsoft);
+
+        Record expectedApple = bookmarkerService.getRecord(apple);
+        Date expectedExpiry = bookmarkerService.getRecord(google).getExpiresAt();
+
+        closeAll();
+
+        BookmarkerService restored = restart(FsyncPolicy.ALWAYS);
+
+        Assert.assertEquals("record count mismatch", 2, restored.getAllRecords().size());
+        Assert.assertNull("deleted record restored", restored.getRecord(microsoft));
+        Assert.assertEquals("tags not restored",
+                Arrays.asList("search", "google"),
+                restored.getRecord(google).getTags());
+        Assert.assertEquals("update not restored",
+                expectedApple.getInfo(),
+                restored.getRecord(apple).getInfo());
+        Assert.assertEquals("dates not restored",
+                expectedApple.getLastUpdated(),
+                restored.getRecord(apple).getLastUpdated());
+        Assert.assertEquals("tag index not rebuilt",
+                1,
+                restored.getFilteredRecord("ipad").size());
+        Assert.assertEquals("expiry not restored",
+                expectedExpiry,
+                restored.getRecord(google).getExpiresAt());
+        Assert.assertEquals("version not restored",
+                2,
+                restored.getRecord(apple).getVersion());
+    }
+
+    @Test
+    public void recover_ShouldCutOffTornTail() throws IOException {
+
+        BookmarkerService bookmarkerService = restart(FsyncPolicy.NEVER);
+        String google = bookmarkerService.addRecord("www.google.com", null);
+        closeAll();
+
+        Path file = lastSegment();
+        long validSize;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            validSize = channel.size();
+            // header of an entry whose payload never made it to disk
+            ByteBuffer tornEntry = ByteBuffer.allocate(6);
+            tornEntry.putInt(100).putShort((short) 1);
+            tornEntry.flip();
+            channel.write(tornEntry, validSize);
+        }
+
+        bookmarkerService = restart(FsyncPolicy.NEVER);
+
+        Assert.assertNotNull("valid record lost", bookmarkerService.getRecord(google));
+        Assert.assertEquals("torn tail kept", validSize, file.toFile().length());
+
+        String apple = bookmarkerService.addRecord("www.apple.com", null);
+        closeAll();
+
+        bookmarkerService = restart(FsyncPolicy.NEVER);
+
+        Assert.assertNotNull("record appended after recovery lost", bookmarkerService.getRecord(apple));
+    }
+
+    @Test
+    public void recover_IntervalPolicyShouldRestoreRecords() throws IOException {
+
+        BookmarkerService bookmarkerService = restart(FsyncPolicy.INTERVAL);
+        for (int i = 0; i < 1000; i++) {
+            bookmarkerService.addRecord("www.google.com/" + i, Arrays.asList("google"));
+        }
+        closeAll();
+
+        Assert.assertEquals("records lost",
+                1000,
+                restart(FsyncPolicy.INTERVAL).getFilteredRecord("google").size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void append_BeforeRecoverShouldFail() throws IOException {
+
+        WriteAheadLog writeAheadLog = new WriteAheadLog(folder.getRoot().toPath(), FsyncPolicy.NEVER, 100, 16);
+        logs.add(writeAheadLog);
+
+        Record record = new Record();
+        record.setId("test");
+        writeAheadLog.recordAdded(record);
+    }
+
+    @Test
+    public void recover_ShouldRestoreBatch() throws IOException {
+
+        BookmarkerService bookmarkerService = restart(FsyncPolicy.ALWAYS);
+
+        List<Record> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Record record = new Record();
+            record.setInfo("www.google.com/" + i);
+            record.setTags(Arrays.asList("google"));
+            batch.add(record);
+        }
+        bookmarkerService.addRecords(batch);
+        closeAll();
+
+        Assert.assertEquals("batch not restored",
+                100,
+                restart(FsyncPolicy.ALWAYS).getFilteredRecord("google").size());
+    }
+
+    @Test
+    public void roll_ShouldKeepRecordsAcrossSegments() throws IOException {
+
+        WriteAheadLog writeAheadLog = new WriteAheadLog(folder.getRoot().toPath(), FsyncPolicy.ALWAYS, 10, 1024);
+        logs.add(writeAheadLog);
+        BookmarkerService bookmarkerService = new BookmarkerServiceImpl(new RecordPersistence(writeAheadLog, null, 0));
+
+        String google = bookmarkerService.addRecord("www.google.com", null);
+        Assert.assertEquals("roll sequence mismatch", 1, writeAheadLog.roll());
+        String apple = bookmarkerService.addRecord("www.apple.com", null);
+        closeAll();
+
+        Assert.assertEquals("segment count mismatch", 2, segments().size());
+
+        bookmarkerService = restart(FsyncPolicy.ALWAYS);
+
+        Assert.assertNotNull("record of first segment lost", bookmarkerService.getRecord(google));
+        Assert.assertNotNull("record of second segment lost", bookmarkerService.getRecord(apple));
+    }
+
+    private BookmarkerService restart(FsyncPolicy fsyncPolicy) throws IOException {
+        WriteAheadLog writeAheadLog = new WriteAheadLog(folder.getRoot().toPath(), fsyncPolicy, 10, 1024);
+        logs.add(writeAheadLog);
+        return new BookmarkerServiceImpl(new RecordPersistence(writeAheadLog, null, 0));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> paths = Files.list(folder.getRoot().toPath())) {
+            return paths.filter((path) -> path.getFileName().toString().endsWith(".wal"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = segments();
+        return segments.get(segments.size() - 1);
+    }
+
+    private void closeAll() throws IOException {
+        tearDown();
+        logs.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package com.lucky5.bookmarker.replication;
+
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.persistence.RecordPersistence;
+import com.lucky5.bookmarker.services.BookmarkerServiceImpl;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.replication.ReplicationFollowerTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:00
+ * Description  : Junit test cases for following records of a replication leader
+ */
+@RunWith(JUnit4.class)
+public class ReplicationFollowerTests {
+
+    private BookmarkerServiceImpl leaderService;
+
+    private ChangeFeed changeFeed;
+
+    private RecordStore followerStore;
+
+    private BookmarkerServiceImpl followerService;
+
+    private ReplicationFollower follower;
+
+    @Before
+    public void setup() throws IOException {
+        RecordStore leaderStore = new RecordStore();
+        leaderService = new BookmarkerServiceImpl(new RecordPersistence(null, null, 0),
+                new TimeOrderedIdGenerator(0), leaderStore);
+        changeFeed = new ChangeFeed(8, Runnable::run);
+        leaderStore.addListener(changeFeed);
+
+        followerStore = new RecordStore();
+        followerService = new BookmarkerServiceImpl(new RecordPersistence(null, null, 0),
+                new TimeOrderedIdGenerator(1), followerStore);
+
+        follower = new ReplicationFollower(new LocalLeader(leaderService, changeFeed), followerService,
+                followerStore, 3, 0);
+    }
+
+    @Test
+    public void replicate_ShouldLoadRecordsThenApplyChangesInOrder() {
+        String google = leaderService.addRecord("www.google.com", Arrays.asList("search"));
+        follower.replicate();
+
+        Assert.assertEquals(1, follower.applied());
+        Assert.assertEquals("www.google.com", followerService.getRecord(google).getInfo());
+
+        String apple = leaderService.addRecord("www.apple.com", Arrays.asList("apple"));
+        Record record = new Record(leaderService.getRecord(google));
+        record.setInfo("www.bing.com");
+        leaderService.updateRecord(record);
+        leaderService.deleteRecord(apple);
+        String amazon = leaderService.addRecord("www.amazon.com", Arrays.asList("shop"), 60000L);
+
+        follower.replicate();
+        Assert.assertEquals("batch of 3 changes", 4, follower.applied());
+        follower.replicate();
+        Assert.assertEquals(5, follower.applied());
+
+        Assert.assertEquals(ids(leaderService.getAllRecords()), ids(followerService.getAllRecords()));
+        Assert.assertEquals("www.bing.com", followerService.getRecord(google).getInfo());
+        Assert.assertNull(followerService.getRecord(apple));
+        Assert.assertEquals(leaderService.getRecord(amazon).getExpiresAt(),
+                followerService.getRecord(amazon).getExpiresAt());
+        Assert.assertEquals(1, followerService.getFilteredRecord("shop").size());
+    }
+
+    @Test
+    public void replicate_ShouldLoadRecordsAgainWhenChangesAreGone() {
+        String google = leaderService.addRecord("www.google.com", Arrays.asList("search"));
+        follower.replicate();
+
+        // local record missing on leader, dropped by load
+        followerService.addRecord("www.local.com", Arrays.asList("local"));
+        leaderService.deleteRecord(google);
+        for (int i = 0; i < 10; i++) {
+            leaderService.addRecord("www.site" + i + ".com", Arrays.asList("web"));
+        }
+
+        follower.replicate();
+        follower.replicate();
+
+        Assert.assertEquals(12, follower.applied());
+        Assert.assertEquals(ids(leaderService.getAllRecords()), ids(followerService.getAllRecords()));
+    }
+
+    @Test
+    public void await_ShouldWaitForRecordsToBeLoaded() throws InterruptedException {
+        Assert.assertFalse(follower.awaitSequence(changeFeed.epoch(), 0, 10));
+        Assert.assertFalse(follower.awaitFresh(60000, 10));
+        Assert.assertEquals(Long.MAX_VALUE, follower.staleness(System.currentTimeMillis()));
+
+        leaderService.addRecord("www.google.com", Arrays.asList("search"));
+        follower.replicate();
+
+        Assert.assertTrue(follower.awaitSequence(changeFeed.epoch(), 1, 10));
+        Assert.assertFalse(follower.awaitSequence(changeFeed.epoch(), 2, 10));
+        Assert.assertTrue(follower.awaitFresh(60000, 10));
+    }
+
+    private static Set<String> ids(List<Record> records) {
+        return records.stream().map(Record::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,91 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.model.Record;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.AsyncBookmarkerServiceTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:30
+ * Description  : Junit test cases for asynchronous book marker service
+ */
+public class AsyncBookmarkerServiceTests {
+
+    private ThreadPoolExecutor executor;
+    private AsyncBookmarkerService asyncBookmarkerService;
+
+    @Before
+    public void setup() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        asyncBookmarkerService = new AsyncBookmarkerService(new BookmarkerServiceImpl(), executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void operations_ShouldCompleteWithResultOfService() throws Exception {
+
+        String id = asyncBookmarkerService.addRecord("http://www.example.com", Collections.singletonList("test"), null)
+                .get(5, TimeUnit.SECONDS);
+
+        Record record = asyncBookmarkerService.getRecord(id).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals("http://www.example.com", record.getInfo());
+
+        Assert.assertTrue(asyncBookmarkerService.deleteRecord(id).get(5, TimeUnit.SECONDS));
+        Assert.assertNull(asyncBookmarkerService.getRecord(id).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void operations_ShouldFailWithExceptionOfService() throws Exception {
+
+        try {
+            asyncBookmarkerService.addRecord("", null, null).get(5, TimeUnit.SECONDS);
+            Assert.fail("blank info accepted");
+        } catch (ExecutionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void operations_ShouldBeRejectedWhenExecutorIsSaturated() throws Exception {
+
+        // occupy the only thread and the only queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Record> queued = asyncBookmarkerService.getRecord("missing");
+
+        CompletableFuture<Record> rejected = asyncBookmarkerService.getRecord("missing");
+        Assert.assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.join();
+            Assert.fail("saturated executor accepted operation");
+        } catch (RuntimeException ex) {
+            Assert.assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+
+        release.countDown();
+        Assert.assertNull(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -1,6 +1,11 @@
 package com.lucky5.bookmarker.services;
 
+import com.lucky5.bookmarker.model.BatchItemResult;
 import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -9,9 +14,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * Project      : bookmarker
@@ -66,6 +69,32 @@ public class BookmarkerServiceImplTests {
                 bookmarkerService.getAllRecords().size());
     }
 
+    @Test
+    public void addRecords_ShouldReportIdsAndErrorsPerItem() {
+
+        Record google = new Record();
+        google.setInfo("www.google.com");
+        google.setTags(Arrays.asList("search"));
+
+        Record blank = new Record();
+        blank.setInfo(" ");
+
+        Record apple = new Record();
+        apple.setInfo("www.apple.com");
+
+        List<BatchItemResult> results = bookmarkerService.addRecords(Arrays.asList(google, blank, null, apple));
+
+        Assert.assertEquals("result count mismatch", 4, results.size());
+        Assert.assertEquals("record not added", "www.google.com",
+                bookmarkerService.getRecord(results.get(0).getId()).getInfo());
+        Assert.assertEquals("blank info accepted", "info cant be blank or null", results.get(1).getError());
+        Assert.assertEquals("null record accepted", "record cant be null", results.get(2).getError());
+        Assert.assertEquals("index mismatch", 3, results.get(3).getIndex());
+        Assert.assertNotNull("record not added", bookmarkerService.getRecord(results.get(3).getId()));
+        Assert.assertEquals("record count mismatch", 2, bookmarkerService.getAllRecords().size());
+        Assert.assertEquals("tag index not updated", 1, bookmarkerService.getFilteredRecord("search").size());
+    }
+
     @Test
     public void addRecord_WithValidInfoNullTagsShouldBeSuccessful() {
 
@@ -79,6 +108,23 @@ public class BookmarkerServiceImplTests {
                 bookmarkerService.getAllRecords().size());
     }
 
+    @Test
+    public void addRecord_WithTtlShouldSetExpiry() {
+
+        String id = bookmarkerService.addRecord("www.google.com", null, 60L);
+
+        Record record = bookmarkerService.getRecord(id);
+        Assert.assertEquals("expiry mismatch", record.getCreationDate().getTime() + 60000,
+                record.getExpiresAt().getTime());
+        Assert.assertNull("record without ttl expires",
+                bookmarkerService.getRecord(bookmarkerService.addRecord("www.apple.com", null)).getExpiresAt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addRecord_WithNonPositiveTtlShouldFail() {
+        bookmarkerService.addRecord("www.google.com", null, 0L);
+    }
+
     @Test
     public void addRecord_WithValidInfoValidTagsShouldBeSuccessful() {
 
@@ -178,6 +224,64 @@ public class BookmarkerServiceImplTests {
 
     }
 
+    @Test
+    public void getRecords_WalkingAllPagesShouldReturnEachRecordOnce() {
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(bookmarkerService.addRecord("www.google.com/" + i, null));
+        }
+
+        Set<String> visited = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            RecordPage page = bookmarkerService.getRecords(cursor, 10);
+            page.getRecords().forEach((record) -> Assert.assertTrue("record returned twice",
+                    visited.add(record.getId())));
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+
+        Assert.assertEquals("page count mismatch", 3, pages);
+        Assert.assertEquals("records missing", ids, visited);
+    }
+
+    @Test
+    public void getRecords_WithInvalidLimitShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("limit must be between");
+
+        bookmarkerService.getRecords(null, 0);
+    }
+
+    @Test
+    public void getRecords_WithInvalidCursorShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("invalid cursor");
+
+        bookmarkerService.getRecords("not a cursor!", 10);
+    }
+
+    @Test
+    public void getRecordIterator_ShouldSkipRecordsDeletedWhileIterating() {
+
+        bookmarkerService.addRecord("www.google.com", null);
+        bookmarkerService.addRecord("www.apple.com", null);
+
+        Iterator<Record> iterator = bookmarkerService.getRecordIterator(null);
+        Record first = iterator.next();
+
+        bookmarkerService.getAllRecords().stream()
+                .filter((record) -> !record.equals(first))
+                .forEach((record) -> bookmarkerService.deleteRecord(record.getId()));
+
+        Assert.assertFalse("deleted record returned", iterator.hasNext());
+    }
+
     @Test
     public void getFilteredRecord_NoMatchingTagShouldReturnNoRecord() {
 
@@ -236,6 +340,43 @@ public class BookmarkerServiceImplTests {
                 bookmarkerService.getFilteredRecord("google1").size());
     }
 
+    @Test
+    public void getFilteredRecord_UpdatedTagsShouldReturnRecordOnlyForNewTag() {
+
+        String id = bookmarkerService.addRecord("www.google.com", Arrays.asList("test", "google"));
+
+        bookmarkerService.updateTags(bookmarkerService.getRecord(id), Arrays.asList("search", "google"));
+
+        Assert.assertEquals("record present for removed tag",
+                0,
+                bookmarkerService.getFilteredRecord("test").size());
+
+        Assert.assertEquals("record missing for kept tag",
+                1,
+                bookmarkerService.getFilteredRecord("google").size());
+
+        Assert.assertEquals("record missing for added tag",
+                1,
+                bookmarkerService.getFilteredRecord("search").size());
+    }
+
+    @Test
+    public void getFilteredRecord_DeletedRecordShouldNotBeReturned() {
+
+        String id = bookmarkerService.addRecord("www.google.com", Arrays.asList("test", "google"));
+        bookmarkerService.addRecord("www.apple.com", Arrays.asList("test", "apple"));
+
+        bookmarkerService.deleteRecord(id);
+
+        Assert.assertEquals("deleted record present",
+                1,
+                bookmarkerService.getFilteredRecord("test").size());
+
+        Assert.assertEquals("deleted record present",
+                0,
+                bookmarkerService.getFilteredRecord("google").size());
+    }
+
     @Test
     public void updateRecord_WithNullRecordShouldFail() {
 
@@ -293,6 +434,70 @@ public class BookmarkerServiceImplTests {
         bookmarkerService.updateRecord(record);
     }
 
+    @Test
+    public void updateRecord_ShouldStoreNextVersion() {
+
+        String id = bookmarkerService.addRecord("test", Arrays.asList("apple"));
+        Assert.assertEquals(1, bookmarkerService.getRecord(id).getVersion());
+
+        Record update = new Record();
+        update.setId(id);
+        update.setInfo("updated");
+
+        Record updated = bookmarkerService.updateRecord(update, 1L);
+
+        Assert.assertEquals(2, updated.getVersion());
+        Assert.assertEquals("updated", updated.getInfo());
+        Assert.assertEquals(2, bookmarkerService.getRecord(id).getVersion());
+
+        bookmarkerService.updateTags(bookmarkerService.getRecord(id), Arrays.asList("pear"));
+        Assert.assertEquals(3, bookmarkerService.getRecord(id).getVersion());
+
+        Assert.assertEquals(4, bookmarkerService.updateRecord(update, null).getVersion());
+    }
+
+    @Test
+    public void updateRecord_WithStaleVersionShouldFail() {
+
+        String id = bookmarkerService.addRecord("test", Arrays.asList("apple"));
+
+        Record update = new Record();
+        update.setId(id);
+        update.setInfo("first");
+        bookmarkerService.updateRecord(update, 1L);
+
+        update.setInfo("second");
+        try {
+            bookmarkerService.updateRecord(update, 1L);
+            Assert.fail("stale version updated record");
+        } catch (VersionConflictException ex) {
+            Assert.assertEquals("record " + id + " is at version 2, expected 1", ex.getMessage());
+        }
+
+        Record stored = bookmarkerService.getRecord(id);
+        Assert.assertEquals("first", stored.getInfo());
+        Assert.assertEquals(2, stored.getVersion());
+    }
+
+    @Test
+    public void updateRecord_WithExpectedVersionOfMissingRecordShouldFail() {
+
+        Record update = new Record();
+        update.setId("missing");
+        update.setInfo("test");
+
+        try {
+            bookmarkerService.updateRecord(update, BookmarkerService.ANY_VERSION);
+            Assert.fail("missing record updated");
+        } catch (VersionConflictException ex) {
+            Assert.assertEquals("record missing is not present", ex.getMessage());
+        }
+
+        String id = bookmarkerService.addRecord("test", null);
+        update.setId(id);
+        Assert.assertEquals(2, bookmarkerService.updateRecord(update, BookmarkerService.ANY_VERSION).getVersion());
+    }
+
     @Test
     public void getRecord_WithBlankIdShouldFail() {
 
@@ -440,4 +645,171 @@ public class BookmarkerServiceImplTests {
         record.setId("--");
         bookmarkerService.updateTags(record, Arrays.asList("test1", "test2"));
     }
+
+    @Test
+    public void search_ShouldReturnRankedRecords() {
+
+        String ipad = bookmarkerService.addRecord("https://www.apple.com/ipad", null);
+        String iphone = bookmarkerService.addRecord("https://www.apple.com/iphone", null);
+        bookmarkerService.addRecord("https://www.google.com", null);
+
+        List<Record> results = bookmarkerService.search("apple ip", 10);
+
+        Assert.assertEquals("result count mismatch", 2, results.size());
+
+        bookmarkerService.deleteRecord(iphone);
+
+        Assert.assertEquals("deleted record found",
+                ipad,
+                bookmarkerService.search("apple", 10).get(0).getId());
+        Assert.assertEquals("deleted record found", 1, bookmarkerService.search("apple", 10).size());
+    }
+
+    @Test
+    public void search_WithBlankQueryShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("query cant be blank or null");
+
+        bookmarkerService.search(" ", 10);
+    }
+
+    @Test
+    public void search_WithInvalidLimitShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("limit must be between 1 and 100");
+
+        bookmarkerService.search("apple", 101);
+    }
+
+    @Test
+    public void queryByTags_ShouldReturnCountAndMatchingRecords() {
+
+        String ipad = bookmarkerService.addRecord("https://www.apple.com/ipad", Arrays.asList("apple", "ipad"));
+        bookmarkerService.addRecord("https://www.apple.com/mac", Arrays.asList("apple", "mac", "archived"));
+        bookmarkerService.addRecord("https://www.google.com", Arrays.asList("google"));
+
+        TagQueryResult result = bookmarkerService.queryByTags("apple AND (ipad OR mac) AND NOT archived", 10);
+
+        Assert.assertEquals("count mismatch", 1, result.getCount());
+        Assert.assertEquals("record mismatch", ipad, result.getRecords().get(0).getId());
+    }
+
+    @Test
+    public void queryByTags_WithMalformedQueryShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("invalid tag query");
+
+        bookmarkerService.queryByTags("apple AND (ipad", 10);
+    }
+
+    @Test
+    public void queryByTags_WithInvalidLimitShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("limit must be between 1 and 1000");
+
+        bookmarkerService.queryByTags("apple", 0);
+    }
+
+    @Test
+    public void getTagStats_ShouldFollowTagChanges() {
+
+        String ipad = bookmarkerService.addRecord("https://www.apple.com/ipad", Arrays.asList("apple", "ipad"));
+        String mac = bookmarkerService.addRecord("https://www.apple.com/mac", Arrays.asList("apple", "mac"));
+
+        Record record = bookmarkerService.getRecord(mac);
+        bookmarkerService.updateTags(record, Arrays.asList("apple", "ipad"));
+        bookmarkerService.deleteRecord(ipad);
+
+        TagStats stats = bookmarkerService.getTagStats(10, Arrays.asList("ipad", "mac"));
+
+        Assert.assertEquals("records mismatch", 1, stats.getRecords());
+        Assert.assertEquals("tags mismatch", 2, stats.getTags());
+        Assert.assertEquals("top mismatch", 2, stats.getTop().size());
+        Assert.assertEquals("ipad count mismatch", 1, stats.getCounts().get(0).getCount());
+        Assert.assertEquals("mac count mismatch", 0, stats.getCounts().get(1).getCount());
+    }
+
+    @Test
+    public void getTagStats_WithInvalidLimitShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("limit must be between 1 and 100");
+
+        bookmarkerService.getTagStats(101, null);
+    }
+
+    @Test
+    public void suggestTags_ShouldRankTagsOfPrefixByCount() {
+
+        bookmarkerService.addRecord("https://www.apple.com/tv", Arrays.asList("suggest-apple", "suggest-appletv"));
+        bookmarkerService.addRecord("https://www.apple.com", Arrays.asList("suggest-apple"));
+        bookmarkerService.addRecord("https://www.google.com", Arrays.asList("suggest-google"));
+
+        List<TagCount> suggestions = bookmarkerService.suggestTags("suggest-app", 10);
+
+        Assert.assertEquals("suggestion count mismatch", 2, suggestions.size());
+        Assert.assertEquals("ranking mismatch", "suggest-apple", suggestions.get(0).getTag());
+        Assert.assertEquals("count mismatch", 2, suggestions.get(0).getCount());
+    }
+
+    @Test
+    public void suggestTags_WithInvalidLimitShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("limit must be between 1 and 20");
+
+        bookmarkerService.suggestTags("app", 21);
+    }
+
+    @Test
+    public void getRecordsUpdated_ShouldPageRecordsUpdatedSince() throws InterruptedException {
+
+        String first = bookmarkerService.addRecord("https://www.apple.com", Arrays.asList("apple"));
+        Thread.sleep(2);
+        Date since = new Date();
+        String second = bookmarkerService.addRecord("https://www.google.com", Arrays.asList("google"));
+        String third = bookmarkerService.addRecord("https://www.yahoo.com", Arrays.asList("yahoo"));
+
+        RecordPage page = bookmarkerService.getRecordsUpdated(since, null, null, 1);
+        Assert.assertEquals("page mismatch", second, page.getRecords().get(0).getId());
+        Assert.assertNotNull("next token missing", page.getNext());
+
+        page = bookmarkerService.getRecordsUpdated(since, null, page.getNext(), 1);
+        Assert.assertEquals("page mismatch", third, page.getRecords().get(0).getId());
+        Assert.assertNull("unexpected next token", page.getNext());
+
+        Record update = new Record();
+        update.setId(first);
+        update.setInfo("https://www.apple.com/ipad");
+        bookmarkerService.updateRecord(update);
+
+        page = bookmarkerService.getRecordsUpdated(since, null, null, 10);
+        Assert.assertEquals("updated record not found", first, page.getRecords().get(2).getId());
+        Assert.assertEquals("creation range mismatch", 2,
+                bookmarkerService.getRecordsCreated(since, null, null, 10).getRecords().size());
+        Assert.assertEquals("creation range mismatch", first,
+                bookmarkerService.getRecordsCreated(null, since, null, 10).getRecords().get(0).getId());
+    }
+
+    @Test
+    public void getRecordsCreated_WithInvertedRangeShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("from cant be after to");
+
+        bookmarkerService.getRecordsCreated(new Date(2000), new Date(1000), null, 10);
+    }
+
+    @Test
+    public void getRecordsCreated_WithInvalidCursorShouldFail() {
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("invalid cursor");
+
+        bookmarkerService.getRecordsCreated(null, null, "bm90LWEtcG9zaXRpb24", 10);
+    }
 }
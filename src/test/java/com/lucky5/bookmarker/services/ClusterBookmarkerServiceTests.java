@@ -0,0 +1,301 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.cluster.HashRing;
+import com.lucky5.bookmarker.cluster.LocalShard;
+import com.lucky5.bookmarker.cluster.Shard;
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagStats;
+import com.lucky5.bookmarker.persistence.RecordPersistence;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.ClusterBookmarkerServiceTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 01:00
+ * Description  : Junit test cases for spreading records over cluster nodes. Nodes run in
+ *                process and reach each other through their local shards.
+ */
+@RunWith(JUnit4.class)
+public class ClusterBookmarkerServiceTests {
+
+    private static final List<String> MEMBERS = Arrays.asList("a", "b", "c");
+
+    private final Map<String, BookmarkerServiceImpl> locals = new HashMap<>();
+
+    private final Map<String, RecordStore> stores = new HashMap<>();
+
+    private final Map<String, ClusterBookmarkerService> nodes = new HashMap<>();
+
+    // runs before records are put on a node through its shard
+    private volatile Runnable beforePut = () -> { };
+
+    @Before
+    public void setup() throws IOException {
+        for (String node : MEMBERS) {
+            start(node, MEMBERS);
+        }
+    }
+
+    @Test
+    public void addRecord_ShouldStoreRecordOnOwnerOnly() {
+        HashRing ring = new HashRing(MEMBERS, 128);
+
+        for (int i = 0; i < 30; i++) {
+            String id = nodes.get(MEMBERS.get(i % 3)).addRecord("www.site" + i + ".com", Arrays.asList("web"));
+
+            for (String node : MEMBERS) {
+                Assert.assertEquals("record kept by owner only", node.equals(ring.owner(id)),
+                        stores.get(node).get(id) != null);
+                Assert.assertEquals("www.site" + i + ".com", nodes.get(node).getRecord(id).getInfo());
+            }
+        }
+    }
+
+    @Test
+    public void getRecords_ShouldMergePagesOfAllNodes() {
+        // ids of different nodes interleave, sort them as one node would
+        List<String> ids = add(50);
+        ids.sort(Comparator.comparingLong(RecordIds::key));
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            RecordPage page = nodes.get("b").getRecords(cursor, 7);
+            page.getRecords().forEach((record) -> paged.add(record.getId()));
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        Assert.assertEquals("pages in id order", ids, paged);
+
+        List<String> iterated = new ArrayList<>();
+        nodes.get("c").getRecordIterator(null).forEachRemaining((record) -> iterated.add(record.getId()));
+        Assert.assertEquals(ids, iterated);
+        Assert.assertEquals(50, nodes.get("a").getAllRecords().size());
+    }
+
+    @Test
+    public void queries_ShouldGatherAllNodes() {
+        add(40);
+
+        ClusterBookmarkerService node = nodes.get("a");
+        Assert.assertEquals(20, node.getFilteredRecord("even").size());
+        Assert.assertEquals(20, node.queryByTags("even AND web", 100).getCount());
+        Assert.assertEquals(5, node.queryByTags("even AND web", 5).getRecords().size());
+        Assert.assertEquals(10, node.search("site", 10).size());
+
+        TagStats stats = node.getTagStats(2, Arrays.asList("odd", "missing"));
+        Assert.assertEquals(40, stats.getRecords());
+        Assert.assertEquals("web", stats.getTop().get(0).getTag());
+        Assert.assertEquals(40, stats.getTop().get(0).getCount());
+        Assert.assertEquals(20, stats.getCounts().get(0).getCount());
+        Assert.assertEquals(0, stats.getCounts().get(1).getCount());
+
+        Assert.assertEquals(Arrays.asList("even", "odd"),
+                node.suggestTags("", 3).stream().skip(1).map((count) -> count.getTag()).sorted()
+                        .collect(Collectors.toList()));
+
+        RecordPage created = node.getRecordsCreated(null, null, null, 1000);
+        Assert.assertEquals(40, created.getRecords().size());
+        Assert.assertNull(created.getNext());
+    }
+
+    @Test
+    public void addRecords_ShouldReportIdsAndErrorsPerItem() {
+        Record valid = new Record();
+        valid.setInfo("www.google.com");
+        Record blank = new Record();
+        blank.setInfo(" ");
+
+        List<BatchItemResult> results = nodes.get("a").addRecords(Arrays.asList(valid, blank, null));
+
+        Assert.assertNotNull(nodes.get("c").getRecord(results.get(0).getId()));
+        Assert.assertEquals("info cant be blank or null", results.get(1).getError());
+        Assert.assertEquals("record cant be null", results.get(2).getError());
+    }
+
+    @Test
+    public void updateAndDelete_ShouldBeRoutedToOwner() {
+        String id = nodes.get("a").addRecord("www.google.com", Arrays.asList("search"));
+
+        Record record = new Record(nodes.get("b").getRecord(id));
+        record.setInfo("www.bing.com");
+        Assert.assertTrue(nodes.get("b").updateRecord(record));
+        Assert.assertTrue(nodes.get("c").updateTags(nodes.get("c").getRecord(id), Arrays.asList("engine")));
+
+        Record updated = nodes.get("a").getRecord(id);
+        Assert.assertEquals("www.bing.com", updated.getInfo());
+        Assert.assertEquals(Arrays.asList("engine"), updated.getTags());
+
+        Assert.assertTrue(nodes.get("c").deleteRecord(id));
+        Assert.assertNull(nodes.get("a").getRecord(id));
+    }
+
+    @Test
+    public void join_ShouldMoveRecordsToJoiningNode() throws IOException {
+        List<String> ids = add(300);
+
+        ClusterBookmarkerService joining = start("d", MEMBERS);
+        for (String node : MEMBERS) {
+            nodes.get(node).prepareJoin("d");
+        }
+
+        // changed while records were being copied
+        String late = nodes.get("a").addRecord("www.late.com", Arrays.asList("late"));
+        ids.add(late);
+
+        for (String node : MEMBERS) {
+            nodes.get(node).join("d");
+        }
+        joining.join("d");
+
+        HashRing ring = new HashRing(Arrays.asList("a", "b", "c", "d"), 128);
+        int total = 0;
+        for (String node : nodes.keySet()) {
+            Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), nodes.get(node).getNodes());
+            for (Record record : stores.get(node).values()) {
+                Assert.assertEquals("record kept by owner", ring.owner(record.getId()), node);
+                total++;
+            }
+        }
+
+        Assert.assertEquals("no record lost or duplicated", ids.size(), total);
+        Assert.assertTrue("joining node got its share", stores.get("d").size() > 30);
+        for (String id : ids) {
+            Assert.assertNotNull(nodes.get("d").getRecord(id));
+            Assert.assertNotNull(nodes.get("a").getRecord(id));
+        }
+    }
+
+    @Test
+    public void join_ShouldKeepWritesMadeAfterRingChanged() throws Exception {
+        add(300);
+
+        ClusterBookmarkerService joining = start("d", MEMBERS);
+        for (String node : MEMBERS) {
+            nodes.get(node).prepareJoin("d");
+        }
+
+        // record moving from a to d, updated between the two steps of joining
+        HashRing next = new HashRing(Arrays.asList("a", "b", "c", "d"), 128);
+        String id = stores.get("a").values().stream().map(Record::getId)
+                .filter((candidate) -> "d".equals(next.owner(candidate))).findFirst().get();
+        Record changed = new Record(nodes.get("a").getRecord(id));
+        changed.setInfo("www.changed.com");
+        nodes.get("a").updateRecord(changed);
+
+        // a write through a arrives while a copies the changed record again
+        Record latest = new Record(nodes.get("a").getRecord(id));
+        latest.setInfo("www.latest.com");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                nodes.get("a").updateRecord(latest);
+            } catch (RuntimeException ex) {
+                failure.set(ex);
+            }
+        });
+        beforePut = () -> {
+            beforePut = () -> { };
+            writer.start();
+            try {
+                writer.join(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        nodes.get("a").join("d");
+        writer.join();
+        Assert.assertNull(failure.get());
+
+        for (String node : Arrays.asList("b", "c")) {
+            nodes.get(node).join("d");
+        }
+        joining.join("d");
+
+        Assert.assertNull(stores.get("a").get(id));
+        Assert.assertEquals("write made after ring changed kept", "www.latest.com",
+                nodes.get("d").getRecord(id).getInfo());
+    }
+
+    @Test
+    public void join_ShouldCopyChangesInBatches() throws IOException {
+        add(300);
+
+        ClusterBookmarkerService joining = start("d", MEMBERS);
+        for (String node : MEMBERS) {
+            nodes.get(node).prepareJoin("d");
+        }
+
+        // records moving to d, added and removed between the two steps of joining
+        HashRing next = new HashRing(Arrays.asList("a", "b", "c", "d"), 128);
+        List<String> removed = new ArrayList<>();
+        for (Record record : stores.get("a").values()) {
+            if ("d".equals(next.owner(record.getId())) && removed.size() < 10) {
+                removed.add(record.getId());
+            }
+        }
+        removed.forEach(nodes.get("a")::deleteRecord);
+        List<String> added = add(60);
+
+        AtomicInteger puts = new AtomicInteger();
+        beforePut = puts::incrementAndGet;
+        for (String node : MEMBERS) {
+            nodes.get(node).join("d");
+        }
+        joining.join("d");
+
+        Assert.assertTrue("changes copied one record at a time, " + puts.get() + " puts", puts.get() <= MEMBERS.size());
+        for (String id : removed) {
+            Assert.assertNull("removed record copied", stores.get("d").get(id));
+        }
+        for (String id : added) {
+            Assert.assertNotNull("added record lost", nodes.get("b").getRecord(id));
+        }
+    }
+
+    private List<String> add(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(nodes.get(MEMBERS.get(i % 3)).addRecord("www.site" + i + ".com",
+                    Arrays.asList("web", i % 2 == 0 ? "even" : "odd")));
+        }
+        return ids;
+    }
+
+    private ClusterBookmarkerService start(String node, List<String> members) throws IOException {
+        RecordStore store = new RecordStore();
+        BookmarkerServiceImpl local = new BookmarkerServiceImpl(new RecordPersistence(null, null, 0),
+                new TimeOrderedIdGenerator(locals.size()), store);
+        locals.put(node, local);
+        stores.put(node, store);
+
+        ClusterBookmarkerService service = new ClusterBookmarkerService(node, members, 128, local, store,
+                (name) -> new LocalShard(locals.get(name)) {
+
+                    @Override
+                    public void put(List<Record> records) {
+                        beforePut.run();
+                        super.put(records);
+                    }
+                }, Runnable::run);
+        nodes.put(node, service);
+        return service;
+    }
+}
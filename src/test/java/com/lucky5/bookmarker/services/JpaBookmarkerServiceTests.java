@@ -0,0 +1,264 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.expiry.JpaRecordExpiry;
+import com.lucky5.bookmarker.ids.IdConfiguration;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.RecordPage;
+import com.lucky5.bookmarker.model.TagCount;
+import com.lucky5.bookmarker.model.TagQueryResult;
+import com.lucky5.bookmarker.model.TagStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.JpaBookmarkerServiceTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 20:10
+ * Description  : Junit test cases for jpa book marker service, every service call runs in its
+ *                own transaction
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({JpaBookmarkerService.class, IdConfiguration.class})
+@TestPropertySource(properties = "bookmarker.store.engine=jpa")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JpaBookmarkerServiceTests {
+
+    @Autowired
+    private BookmarkerService bookmarkerService;
+
+    @Autowired
+    private JpaBookmarkerService jpaBookmarkerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setup() {
+        bookmarkerService.getAllRecords().forEach((record) -> bookmarkerService.deleteRecord(record.getId()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void expiredRecords_ShouldBeDeletedInBatches() {
+
+        String kept = bookmarkerService.addRecord("http://www.apple.com", Arrays.asList("apple"));
+        String later = bookmarkerService.addRecord("http://www.google.com", Arrays.asList("search"), 3600L);
+        for (int i = 0; i < 3; i++) {
+            bookmarkerService.addRecord("http://www.microsoft.com/" + i, Arrays.asList("microsoft"), 1L);
+        }
+
+        long now = System.currentTimeMillis() + 2000;
+        Assert.assertEquals("batch limit ignored", 2, jpaBookmarkerService.deleteExpired(new Date(now), 2));
+        Assert.assertEquals(1, new JpaRecordExpiry(jpaBookmarkerService, 1000).expire(now));
+
+        List<String> ids = new ArrayList<>();
+        bookmarkerService.getAllRecords().forEach((record) -> ids.add(record.getId()));
+        Assert.assertEquals(Arrays.asList(kept, later), ids);
+        Assert.assertTrue("tags of expired records kept", bookmarkerService.getFilteredRecord("microsoft").isEmpty());
+    }
+
+    @Test
+    public void records_ShouldBeAddedUpdatedAndDeleted() {
+
+        String id = bookmarkerService.addRecord("http://www.apple.com", Arrays.asList("apple", "ipad"));
+
+        Record record = bookmarkerService.getRecord(id);
+        Assert.assertEquals("http://www.apple.com", record.getInfo());
+        Assert.assertEquals(Arrays.asList("apple", "ipad"), record.getTags());
+        Assert.assertNotNull(record.getCreationDate());
+
+        Record update = new Record();
+        update.setId(id);
+        update.setTags(Arrays.asList("apple", "macbook-pro", "archived"));
+        Assert.assertTrue(bookmarkerService.updateRecord(update));
+
+        record = bookmarkerService.getRecord(id);
+        Assert.assertEquals("http://www.apple.com", record.getInfo());
+        Assert.assertEquals(Arrays.asList("apple", "macbook-pro", "archived"), record.getTags());
+
+        Assert.assertTrue(bookmarkerService.deleteRecord(id));
+        Assert.assertFalse(bookmarkerService.deleteRecord(id));
+        Assert.assertNull(bookmarkerService.getRecord(id));
+    }
+
+    @Test
+    public void getRecord_ShouldBeServedFromSecondLevelCache() {
+
+        String id = bookmarkerService.addRecord("http://www.apple.com", Arrays.asList("apple", "ipad"));
+        bookmarkerService.getRecord(id);
+
+        statistics.clear();
+        Record record = bookmarkerService.getRecord(id);
+
+        Assert.assertEquals(Arrays.asList("apple", "ipad"), record.getTags());
+        Assert.assertEquals("database was queried", 0, statistics.getPrepareStatementCount());
+        Assert.assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    public void lists_ShouldLoadTagsWithoutQueryPerRecord() {
+
+        for (int i = 0; i < 20; i++) {
+            bookmarkerService.addRecord("http://www.example.com/" + i, Arrays.asList("tag-" + i % 2, "common"));
+        }
+
+        statistics.clear();
+        List<Record> all = bookmarkerService.getAllRecords();
+        Assert.assertEquals(20, all.size());
+        Assert.assertEquals(Arrays.asList("tag-0", "common"), all.get(0).getTags());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<Record> filtered = bookmarkerService.getFilteredRecord("tag-1");
+        Assert.assertEquals(10, filtered.size());
+        for (Record record : filtered) {
+            Assert.assertEquals(Arrays.asList("tag-1", "common"), record.getTags());
+        }
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        RecordPage page = bookmarkerService.getRecords(null, 5);
+        Assert.assertEquals(5, page.getRecords().size());
+        Assert.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void addRecords_ShouldInsertAllValidItems() {
+
+        List<Record> batch = new ArrayList<>();
+        for (int i = 0; i < 2 * JpaBookmarkerService.BATCH_SIZE + 10; i++) {
+            Record record = new Record();
+            record.setInfo(i == 3 ? "" : "http://www.example.com/" + i);
+            record.setTags(Collections.singletonList("batch"));
+            batch.add(record);
+        }
+
+        List<BatchItemResult> results = bookmarkerService.addRecords(batch);
+        Assert.assertEquals(batch.size(), results.size());
+        Assert.assertNull(results.get(3).getId());
+
+        // walk pages, every record is visited once in id order
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            RecordPage page = bookmarkerService.getRecords(cursor, 25);
+            for (Record record : page.getRecords()) {
+                Assert.assertTrue(seen.add(record.getId()));
+            }
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        Assert.assertEquals(batch.size() - 1, seen.size());
+        Assert.assertEquals(batch.size() - 1, bookmarkerService.getFilteredRecord("batch").size());
+    }
+
+    @Test
+    public void searchAndTagQuery_ShouldMatchRecords() {
+
+        String ipad = bookmarkerService.addRecord("https://www.apple.com/ipad", Arrays.asList("apple", "ipad"));
+        bookmarkerService.addRecord("https://www.apple.com/mac", Arrays.asList("apple", "archived"));
+        bookmarkerService.addRecord("https://www.google.com", Collections.singletonList("google"));
+
+        List<Record> found = bookmarkerService.search("apple ipa", 10);
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals(ipad, found.get(0).getId());
+
+        Assert.assertEquals(2, bookmarkerService.search("apple", 10).size());
+
+        Assert.assertEquals(1, bookmarkerService.queryByTags("apple AND NOT archived", 10).getCount());
+        Assert.assertEquals(3, bookmarkerService.queryByTags("apple OR google", 10).getCount());
+    }
+
+    @Test
+    public void queryByTags_ShouldMatchRecordsOfEveryPage() {
+
+        List<Record> batch = new ArrayList<>();
+        for (int i = 0; i < BookmarkerServiceImpl.MAX_PAGE_SIZE + 10; i++) {
+            Record record = new Record();
+            record.setInfo("http://www.example.com/" + i);
+            record.setTags(Arrays.asList("page", i % 100 == 0 ? "even" : "odd"));
+            batch.add(record);
+        }
+        bookmarkerService.addRecords(batch);
+
+        TagQueryResult result = bookmarkerService.queryByTags("page AND NOT odd", 5);
+        Assert.assertEquals(11, result.getCount());
+        Assert.assertEquals(5, result.getRecords().size());
+        // found records are detached by then, tags were fetched along with them
+        Assert.assertEquals(Arrays.asList("page", "even"), result.getRecords().get(0).getTags());
+    }
+
+    @Test
+    public void getTagStats_ShouldCountRecordsPerTag() {
+
+        bookmarkerService.addRecord("https://www.apple.com/ipad", Arrays.asList("apple", "ipad", "apple"));
+        bookmarkerService.addRecord("https://www.apple.com/mac", Arrays.asList("apple", "mac"));
+        bookmarkerService.addRecord("https://www.google.com", Collections.singletonList("google"));
+
+        TagStats stats = bookmarkerService.getTagStats(1, Arrays.asList("mac", "unknown"));
+
+        Assert.assertEquals(3, stats.getRecords());
+        Assert.assertEquals(4, stats.getTags());
+        Assert.assertEquals("apple", stats.getTop().get(0).getTag());
+        Assert.assertEquals(2, stats.getTop().get(0).getCount());
+        Assert.assertEquals(1, stats.getCounts().get(0).getCount());
+        Assert.assertEquals(0, stats.getCounts().get(1).getCount());
+    }
+
+    @Test
+    public void suggestTags_ShouldMatchPrefixLiterally() {
+
+        bookmarkerService.addRecord("https://www.apple.com/tv", Arrays.asList("apple", "apple_tv"));
+        bookmarkerService.addRecord("https://www.apple.com", Arrays.asList("apple", "applet"));
+
+        List<TagCount> suggestions = bookmarkerService.suggestTags("app", 10);
+        Assert.assertEquals(3, suggestions.size());
+        Assert.assertEquals("apple", suggestions.get(0).getTag());
+        Assert.assertEquals(2, suggestions.get(0).getCount());
+
+        suggestions = bookmarkerService.suggestTags("apple_", 10);
+        Assert.assertEquals(1, suggestions.size());
+        Assert.assertEquals("apple_tv", suggestions.get(0).getTag());
+    }
+
+    @Test
+    public void getRecordsUpdated_ShouldPageRecordsUpdatedSince() throws InterruptedException {
+
+        String first = bookmarkerService.addRecord("https://www.apple.com", Arrays.asList("apple"));
+        Thread.sleep(2);
+        Date since = new Date();
+        String second = bookmarkerService.addRecord("https://www.google.com", Arrays.asList("google"));
+        String third = bookmarkerService.addRecord("https://www.yahoo.com", Arrays.asList("yahoo"));
+
+        RecordPage page = bookmarkerService.getRecordsUpdated(since, null, null, 1);
+        Assert.assertEquals(second, page.getRecords().get(0).getId());
+        Assert.assertEquals(Collections.singletonList("google"), page.getRecords().get(0).getTags());
+
+        page = bookmarkerService.getRecordsUpdated(since, null, page.getNext(), 1);
+        Assert.assertEquals(third, page.getRecords().get(0).getId());
+        Assert.assertNull(page.getNext());
+
+        Assert.assertEquals(first, bookmarkerService.getRecordsCreated(null, since, null, 10).getRecords().get(0).getId());
+    }
+}
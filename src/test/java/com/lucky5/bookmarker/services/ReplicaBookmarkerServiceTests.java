@@ -0,0 +1,244 @@
+package com.lucky5.bookmarker.services;
+
+import com.lucky5.bookmarker.feed.ChangeFeed;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.BatchItemResult;
+import com.lucky5.bookmarker.model.ChangeBatch;
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.ReplicatedWrite;
+import com.lucky5.bookmarker.model.ReplicationSnapshot;
+import com.lucky5.bookmarker.persistence.RecordPersistence;
+import com.lucky5.bookmarker.replication.Leader;
+import com.lucky5.bookmarker.replication.LocalLeader;
+import com.lucky5.bookmarker.replication.ReplicationFollower;
+import com.lucky5.bookmarker.replication.ReplicationProperties.Consistency;
+import com.lucky5.bookmarker.replication.StaleReplicaException;
+import com.lucky5.bookmarker.store.RecordStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.services.ReplicaBookmarkerServiceTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 02:00
+ * Description  : Junit test cases for reads and writes of a replication follower. Follower
+ *                applies changes of leader only when asked to by the test.
+ */
+@RunWith(JUnit4.class)
+public class ReplicaBookmarkerServiceTests {
+
+    private static final long WAIT = 50;
+
+    private RecordStore leaderStore;
+
+    private BookmarkerServiceImpl leaderService;
+
+    private LocalLeader leader;
+
+    private RecordStore followerStore;
+
+    private BookmarkerServiceImpl followerService;
+
+    private ReplicationFollower follower;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setup() throws IOException {
+        leaderStore = new RecordStore();
+        leaderService = new BookmarkerServiceImpl(new RecordPersistence(null, null, 0),
+                new TimeOrderedIdGenerator(0), leaderStore);
+        ChangeFeed changeFeed = new ChangeFeed(1000, Runnable::run);
+        leaderStore.addListener(changeFeed);
+        leader = new LocalLeader(leaderService, changeFeed);
+
+        followerStore = new RecordStore();
+        followerService = new BookmarkerServiceImpl(new RecordPersistence(null, null, 0),
+                new TimeOrderedIdGenerator(1), followerStore);
+        follower = new ReplicationFollower(leader, followerService, followerStore, 1000, 0);
+        follower.replicate();
+    }
+
+    @Test
+    public void readYourWrites_ShouldWaitForWritesMadeThroughFollower() {
+        BookmarkerService replica = replica(Consistency.READ_YOUR_WRITES);
+
+        String id = replica.addRecord("www.google.com", Arrays.asList("search"), 60000L);
+        Assert.assertNotNull("written on leader", leaderService.getRecord(id));
+        Assert.assertNull("not applied yet", followerService.getRecord(id));
+
+        try {
+            replica.getRecord(id);
+            Assert.fail("read served before write was applied");
+        } catch (StaleReplicaException ex) {
+            // expected
+        }
+
+        follower.replicate();
+        Assert.assertEquals("www.google.com", replica.getRecord(id).getInfo());
+        Assert.assertNotNull(replica.getRecord(id).getExpiresAt());
+
+        Record record = new Record(replica.getRecord(id));
+        record.setInfo("www.bing.com");
+        Assert.assertTrue(replica.updateRecord(record));
+        Assert.assertTrue(replica.updateTags(record, Arrays.asList("engine")));
+        follower.replicate();
+        Assert.assertEquals("www.bing.com", replica.getRecord(id).getInfo());
+        Assert.assertEquals(Arrays.asList("engine"), replica.getRecord(id).getTags());
+
+        Assert.assertTrue(replica.deleteRecord(id));
+        Assert.assertFalse(replica.deleteRecord(id));
+        follower.replicate();
+        Assert.assertNull(replica.getRecord(id));
+    }
+
+    @Test
+    public void readYourWrites_ShouldFollowEpochOfLeader() throws InterruptedException {
+        RestartedLeader restarted = new RestartedLeader(leader);
+        ReplicationFollower follower = new ReplicationFollower(restarted, followerService, followerStore, 1000, 0);
+        follower.replicate();
+        BookmarkerService replica = new ReplicaBookmarkerService(followerService, restarted, follower,
+                Consistency.READ_YOUR_WRITES, 60000, WAIT);
+
+        for (int i = 0; i < 3; i++) {
+            replica.addRecord("www.google.com/" + i, Arrays.asList("search"));
+        }
+        follower.replicate();
+        Assert.assertEquals(3, replica.getAllRecords().size());
+
+        // leader restarts with its records, its new feed starts over at sequence 1
+        Thread.sleep(2);
+        ChangeFeed changeFeed = new ChangeFeed(1000, Runnable::run);
+        leaderStore.addListener(changeFeed);
+        restarted.leader = new LocalLeader(leaderService, changeFeed);
+
+        String id = replica.addRecord("www.bing.com", Arrays.asList("search"));
+        try {
+            replica.getRecord(id);
+            Assert.fail("read served before write of later epoch was applied");
+        } catch (StaleReplicaException ex) {
+            // expected, follower applied a higher sequence of the earlier epoch only
+        }
+
+        follower.replicate();
+        Assert.assertEquals(changeFeed.epoch(), follower.epoch());
+        Assert.assertEquals("www.bing.com", replica.getRecord(id).getInfo());
+        Assert.assertEquals(4, replica.getAllRecords().size());
+    }
+
+    @Test
+    public void readYourWrites_ShouldNotWaitForSequenceOfEarlierEpoch() throws InterruptedException {
+        RestartedLeader restarted = new RestartedLeader(leader);
+        ReplicationFollower follower = new ReplicationFollower(restarted, followerService, followerStore, 1000, 0);
+        follower.replicate();
+        BookmarkerService replica = new ReplicaBookmarkerService(followerService, restarted, follower,
+                Consistency.READ_YOUR_WRITES, 60000, WAIT);
+
+        for (int i = 0; i < 3; i++) {
+            replica.addRecord("www.google.com/" + i, Arrays.asList("search"));
+        }
+
+        // leader restarts before follower applied the writes, records loaded from the new
+        // epoch hold them although its sequence is lower
+        Thread.sleep(2);
+        ChangeFeed changeFeed = new ChangeFeed(1000, Runnable::run);
+        leaderStore.addListener(changeFeed);
+        restarted.leader = new LocalLeader(leaderService, changeFeed);
+
+        follower.replicate();
+        Assert.assertEquals(0, follower.applied());
+        Assert.assertEquals(3, replica.getAllRecords().size());
+    }
+
+    @Test
+    public void boundedStaleness_ShouldServeReadsOfRecentFollower() {
+        BookmarkerService replica = replica(Consistency.BOUNDED_STALENESS);
+
+        leaderService.addRecord("www.google.com", Arrays.asList("search"));
+        Assert.assertEquals("served within bound, write not applied yet", 0, replica.getAllRecords().size());
+
+        follower.replicate();
+        Assert.assertEquals(1, replica.getFilteredRecord("search").size());
+    }
+
+    @Test
+    public void boundedStaleness_ShouldFailReadsOfStaleFollower() {
+        BookmarkerService replica = new ReplicaBookmarkerService(followerService, leader, follower,
+                Consistency.BOUNDED_STALENESS, -1, WAIT);
+
+        expectedException.expect(StaleReplicaException.class);
+
+        replica.getAllRecords();
+    }
+
+    @Test
+    public void addRecords_ShouldReportErrorsOfLeader() {
+        BookmarkerService replica = replica(Consistency.READ_YOUR_WRITES);
+
+        Record blank = new Record();
+        blank.setInfo(" ");
+        List<BatchItemResult> results = replica.addRecords(Arrays.asList(blank));
+        Assert.assertEquals("info cant be blank or null", results.get(0).getError());
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("info cant be blank or null");
+
+        replica.addRecord(" ", new ArrayList<>());
+    }
+
+    private BookmarkerService replica(Consistency consistency) {
+        return new ReplicaBookmarkerService(followerService, leader, follower, consistency, 60000, WAIT);
+    }
+
+    /**
+     * Leader replaced by a new instance when the test restarts it.
+     */
+    private static class RestartedLeader implements Leader {
+
+        private volatile Leader leader;
+
+        private RestartedLeader(Leader leader) {
+            this.leader = leader;
+        }
+
+        @Override
+        public ReplicationSnapshot snapshot() {
+            return leader.snapshot();
+        }
+
+        @Override
+        public ChangeBatch changes(long after, int limit, long timeout) {
+            return leader.changes(after, limit, timeout);
+        }
+
+        @Override
+        public ReplicatedWrite add(List<Record> records) {
+            return leader.add(records);
+        }
+
+        @Override
+        public ReplicatedWrite update(Record record, Long expectedVersion) {
+            return leader.update(record, expectedVersion);
+        }
+
+        @Override
+        public ReplicatedWrite updateTags(String id, List<String> tags) {
+            return leader.updateTags(id, tags);
+        }
+
+        @Override
+        public ReplicatedWrite delete(String id) {
+            return leader.delete(id);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.lucky5.bookmarker.model.TestRecords.withInfo;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.InfoIndexTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 16:30
+ * Description  : Junit test cases for full text index over record info
+ */
+@RunWith(JUnit4.class)
+public class InfoIndexTests {
+
+    private RecordStore recordStore;
+
+    private InfoIndex infoIndex;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        infoIndex = new InfoIndex();
+        recordStore.addListener(infoIndex);
+    }
+
+    @Test
+    public void words_ShouldSplitUrlsAndText() {
+
+        Assert.assertEquals("words mismatch",
+                new ArrayList<>(Arrays.asList("apple", "com", "ipad", "pro", "review")),
+                new ArrayList<>(InfoIndex.words("https://www.Apple.com/iPad-Pro?a=review")));
+    }
+
+    @Test
+    public void search_ShouldRequireEveryWord() {
+
+        recordStore.insert(withInfo("1", "https://www.apple.com/ipad"));
+        recordStore.insert(withInfo("2", "https://www.apple.com/iphone"));
+        recordStore.insert(withInfo("3", "ipad buying guide"));
+
+        Assert.assertEquals("single word mismatch", 2, infoIndex.search("ipad", 10).size());
+        Assert.assertEquals("two words mismatch",
+                Collections.singletonList("1"),
+                infoIndex.search("Apple iPad", 10));
+        Assert.assertTrue("unknown word matched", infoIndex.search("apple android", 10).isEmpty());
+    }
+
+    @Test
+    public void search_ShouldFindMatchesAmongManyPostings() {
+
+        // both words are common, only few records hold both, wherever they are in the postings
+        for (int i = 0; i < 100000; i++) {
+            recordStore.insert(withInfo("apple" + i, "apple store"));
+            recordStore.insert(withInfo("pie" + i, "pie recipe"));
+        }
+        for (int i = 0; i < 10; i++) {
+            recordStore.insert(withInfo("both" + i, "apple pie " + i));
+        }
+
+        Assert.assertEquals("exact matches left out", 10, infoIndex.search("apple pie", 20).size());
+        Assert.assertEquals("prefix matches left out", 10, infoIndex.search("apple pi", 20).size());
+    }
+
+    @Test
+    public void search_ShouldMatchPrefixesAndRankExactFirst() {
+
+        recordStore.insert(withInfo("1", "applesauce recipe"));
+        recordStore.insert(withInfo("2", "apple pie recipe"));
+
+        Assert.assertEquals("ranking mismatch", Arrays.asList("2", "1"), infoIndex.search("apple", 10));
+        Assert.assertEquals("prefix not matched", 2, infoIndex.search("app rec", 10).size());
+        Assert.assertEquals("ranking mismatch", Arrays.asList("2", "1"), infoIndex.search("apple rec", 10));
+        Assert.assertEquals("limit not applied", 1, infoIndex.search("recipe", 1).size());
+    }
+
+    @Test
+    public void update_ShouldReindexChangedInfo() {
+
+        recordStore.insert(withInfo("1", "apple ipad"));
+        recordStore.update("1", (current) -> {
+            Record updated = new Record(current);
+            updated.setInfo("apple iphone");
+            return updated;
+        });
+
+        Assert.assertTrue("old word still indexed", infoIndex.search("ipad", 10).isEmpty());
+        Assert.assertEquals("new word not indexed", 1, infoIndex.search("iphone", 10).size());
+
+        recordStore.remove("1");
+
+        Assert.assertTrue("removed record still indexed", infoIndex.search("apple", 10).isEmpty());
+        Assert.assertEquals("dead words kept", 0, infoIndex.size());
+    }
+}
@@ -0,0 +1,136 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagDictionary;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.lucky5.bookmarker.model.TestRecords.withInfo;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.OffHeapRecordMapTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 19:00
+ * Description  : Junit test cases for off heap record storage
+ */
+@RunWith(JUnit4.class)
+public class OffHeapRecordMapTests {
+
+    private final OffHeapRecordMap records = new OffHeapRecordMap(OffHeapRecordMap.MIN_SLAB_SIZE);
+
+    @Test
+    public void put_ShouldRoundTripEveryField() {
+
+        Record record = record(1, "https://www.apple.com/ipad");
+        record.setTags(TagDictionary.global().acquire(Arrays.asList("apple", null, "ipad")));
+        record.setCreationDate(new Date(1000));
+        record.setLastUpdated(new Date(2000));
+
+        Assert.assertNull("unexpected previous record", records.put(1, record));
+
+        Record stored = records.get(1);
+        Assert.assertNotSame("stored instance returned", record, stored);
+        Assert.assertEquals("id mismatch", record.getId(), stored.getId());
+        Assert.assertEquals("info mismatch", record.getInfo(), stored.getInfo());
+        Assert.assertEquals("tags mismatch", record.getTags(), stored.getTags());
+        Assert.assertEquals("creation date mismatch", record.getCreationDate(), stored.getCreationDate());
+        Assert.assertEquals("update date mismatch", record.getLastUpdated(), stored.getLastUpdated());
+
+        Record empty = new Record();
+        empty.setId("2");
+        records.put(2, empty);
+        Assert.assertNull("null info not kept", records.get(2).getInfo());
+        Assert.assertNull("null tags not kept", records.get(2).getTags());
+        Assert.assertNull("null date not kept", records.get(2).getCreationDate());
+    }
+
+    @Test
+    public void put_ShouldReplaceAndRemove() {
+
+        Assert.assertNull("previous record of new key returned", records.put(1, record(1, "first")));
+        Assert.assertEquals("previous record not returned", "first", records.put(1, record(1, "third")).getInfo());
+        Assert.assertEquals("record not replaced", "third", records.get(1).getInfo());
+        Assert.assertEquals("removed record mismatch", "third", records.remove(1).getInfo());
+        Assert.assertNull("removed record found", records.get(1));
+        Assert.assertNull("missing record removed", records.remove(1));
+        Assert.assertEquals("size mismatch", 0, records.size());
+    }
+
+    @Test
+    public void update_ShouldReclaimDeadSpaceByCompaction() {
+
+        for (int i = 1; i <= 500; i++) {
+            records.put(i, record(i, "version 0"));
+        }
+
+        // every round rewrites all records, far more than fits into the slabs in use
+        for (int round = 1; round <= 200; round++) {
+            for (int i = 1; i <= 500; i++) {
+                records.put(i, record(i, "version " + round));
+            }
+        }
+
+        Assert.assertEquals("size mismatch", 500, records.size());
+        Assert.assertTrue("dead space not reclaimed", records.capacity() <= 4 * OffHeapRecordMap.MIN_SLAB_SIZE);
+        for (int i = 1; i <= 500; i++) {
+            Assert.assertEquals("record lost in compaction", "version 200", records.get(i).getInfo());
+        }
+
+        List<String> ids = new ArrayList<>();
+        records.values().forEachRemaining((record) -> ids.add(record.getId()));
+        Assert.assertEquals("iterated records mismatch", 500, new HashSet<>(ids).size());
+    }
+
+    @Test
+    public void get_ConcurrentWithUpdatesShouldNeverSeeTornRecords() throws Exception {
+
+        for (int i = 1; i <= 100; i++) {
+            records.put(i, record(i, "info " + i + " version 0"));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            Random random = new Random(7);
+            while (running.get()) {
+                int key = 1 + random.nextInt(100);
+                Record record = records.get(key);
+                if (record == null || !record.getInfo().startsWith("info " + key + " ")
+                        || !record.getId().equals(Integer.toString(key))) {
+                    failure.set("torn record " + record);
+                }
+            }
+        });
+        reader.start();
+
+        for (int round = 1; round <= 300; round++) {
+            for (int i = 1; i <= 100; i++) {
+                records.put(i, record(i, "info " + i + " version " + round));
+            }
+        }
+        running.set(false);
+        reader.join();
+
+        Assert.assertNull(failure.get(), failure.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void put_RecordLargerThanSlabShouldFail() {
+        char[] info = new char[OffHeapRecordMap.MIN_SLAB_SIZE];
+        Arrays.fill(info, 'a');
+        records.put(1, record(1, new String(info)));
+    }
+
+    private static Record record(long key, String info) {
+        Record record = withInfo(Long.toString(key), info);
+        record.setTags(TagDictionary.global().acquire(Collections.singletonList("tag")));
+        return record;
+    }
+}
@@ -0,0 +1,98 @@
+package com.lucky5.bookmarker.store;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.OrderedKeysTests.java
+ * Author       : yashpalrawat
+ * Created      : 19/10/2026 03:20
+ * Description  : Junit test cases for sorted primitive keys
+ */
+@RunWith(JUnit4.class)
+public class OrderedKeysTests {
+
+    private static final int STRIPES = 8;
+
+    @Test
+    public void iterator_ShouldMatchSortedSetAcrossChunkSplitsAndRemovals() {
+
+        OrderedKeys keys = new OrderedKeys(STRIPES);
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        // mostly ascending keys like generated ids, with some out of order and negative ones
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(10) == 0 ? random.nextLong() : i * 10L + 1;
+            keys.add(stripe(key), key);
+            expected.add(key);
+        }
+        for (int i = 0; i < 5000; i++) {
+            long key = random.nextInt(200000);
+            keys.remove(stripe(key), key);
+            expected.remove(key);
+        }
+
+        Assert.assertEquals(new ArrayList<>(expected), toList(keys.iterator()));
+
+        long after = expected.floor(100001L);
+        Assert.assertEquals("keys after position mismatch",
+                new ArrayList<>(expected.tailSet(after, false)), toList(keys.iterator(after)));
+        Assert.assertEquals("keys after missing position mismatch",
+                new ArrayList<>(expected.tailSet(100002L, false)), toList(keys.iterator(100002L)));
+    }
+
+    @Test
+    public void add_ShouldIgnoreKeysAlreadyPresent() {
+
+        OrderedKeys keys = new OrderedKeys(STRIPES);
+        keys.add(stripe(5), 5);
+        keys.add(stripe(5), 5);
+        keys.remove(stripe(7), 7);
+
+        Assert.assertEquals(Collections.singletonList(5L), toList(keys.iterator()));
+        Assert.assertFalse(keys.iterator(5).hasNext());
+    }
+
+    @Test
+    public void iterator_ShouldContinueByKeyAfterConcurrentChanges() {
+
+        OrderedKeys keys = new OrderedKeys(1);
+        for (long key = 1; key <= OrderedKeys.CHUNK_SIZE * 3; key++) {
+            keys.add(0, key);
+        }
+
+        PrimitiveIterator.OfLong iterator = keys.iterator();
+        Assert.assertEquals(1, iterator.nextLong());
+
+        // keys are removed and added meanwhile, keys present throughout are still walked in order
+        for (long key = 2; key <= OrderedKeys.CHUNK_SIZE; key++) {
+            keys.remove(0, key);
+        }
+        keys.add(0, OrderedKeys.CHUNK_SIZE * 10);
+
+        List<Long> rest = toList(iterator);
+        for (int i = 1; i < rest.size(); i++) {
+            Assert.assertTrue("keys out of order", rest.get(i - 1) < rest.get(i));
+        }
+        for (long key = OrderedKeys.CHUNK_SIZE + 1; key <= OrderedKeys.CHUNK_SIZE * 3; key++) {
+            Assert.assertTrue("key " + key + " skipped", rest.contains(key));
+        }
+        Assert.assertEquals("added key missing", OrderedKeys.CHUNK_SIZE * 10, (long) rest.get(rest.size() - 1));
+    }
+
+    private static int stripe(long key) {
+        return (int) (key & (STRIPES - 1));
+    }
+
+    private static List<Long> toList(PrimitiveIterator.OfLong iterator) {
+        List<Long> keys = new ArrayList<>();
+        iterator.forEachRemaining((long key) -> keys.add(key));
+        return keys;
+    }
+}
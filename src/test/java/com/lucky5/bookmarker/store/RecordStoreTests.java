@@ -0,0 +1,327 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.ids.TimeOrderedIdGenerator;
+import com.lucky5.bookmarker.model.Record;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.lucky5.bookmarker.model.TestRecords.withInfo;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.RecordStoreTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 11:05
+ * Description  : Concurrency stress tests for record store
+ */
+@RunWith(JUnit4.class)
+public class RecordStoreTests {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordStoreTests.class);
+
+    private static final int THREADS = 8;
+
+    private final RecordStore recordStore = new RecordStore();
+
+    @Test
+    public void insert_ConcurrentInsertsShouldKeepAllRecords() throws Exception {
+
+        final int perThread = 5000;
+
+        runConcurrently(THREADS, (thread) -> {
+            for (int i = 0; i < perThread; i++) {
+                recordStore.insert(withInfo(thread + "-" + i, "0"));
+            }
+        });
+
+        Assert.assertEquals("records lost",
+                THREADS * perThread,
+                recordStore.size());
+    }
+
+    @Test
+    public void insert_DuplicateIdShouldFail() {
+
+        Assert.assertTrue("insert failed", recordStore.insert(withInfo("test", "first")));
+        Assert.assertFalse("duplicate inserted", recordStore.insert(withInfo("test", "second")));
+
+        Assert.assertEquals("record overwritten",
+                "first",
+                recordStore.get("test").getInfo());
+    }
+
+    @Test
+    public void insertAll_ShouldNotifyOnceAndRejectDuplicates() {
+
+        List<List<Record>> notified = new ArrayList<>();
+        recordStore.addListener(new RecordListener() {
+            @Override
+            public void recordAdded(Record record) {
+                Assert.fail("record notified one by one");
+            }
+
+            @Override
+            public void recordsAdded(List<Record> records) {
+                notified.add(new ArrayList<>(records));
+            }
+
+            @Override
+            public void recordUpdated(Record previous, Record current) {
+            }
+
+            @Override
+            public void recordRemoved(Record record) {
+            }
+        });
+
+        recordStore.insertAll(Arrays.asList(withInfo("a", "first")));
+        List<Record> rejected = recordStore.insertAll(Arrays.asList(
+                withInfo("a", "second"), withInfo("b", "first"), withInfo("c", "first"), withInfo("b", "second")));
+
+        Assert.assertEquals("rejected count mismatch", 2, rejected.size());
+        Assert.assertEquals("record overwritten", "first", recordStore.get("a").getInfo());
+        Assert.assertEquals("record overwritten", "first", recordStore.get("b").getInfo());
+        Assert.assertEquals("notification count mismatch", 2, notified.size());
+        Assert.assertEquals("notified records mismatch", 2, notified.get(1).size());
+    }
+
+    @Test
+    public void get_LegacyIdsShouldResolveNextToGeneratedIds() {
+
+        String legacy = "f951c75c-7d84-4c87-99b7-006b29635cdd";
+        String first = RecordIds.encode(new TimeOrderedIdGenerator(0).nextId());
+        String second = RecordIds.encode(RecordIds.decode(first) + 1);
+
+        recordStore.put(withInfo(second, "second"));
+        recordStore.put(withInfo(legacy, "legacy"));
+        recordStore.put(withInfo(first, "first"));
+
+        Assert.assertEquals("legacy record not found", "legacy", recordStore.get(legacy).getInfo());
+        Assert.assertNull("unknown id found", recordStore.get("db26e70d-6565-4e0a-ab50-839c5b053ae3"));
+
+        List<String> order = new ArrayList<>();
+        recordStore.iterator(null).forEachRemaining((record) -> order.add(record.getInfo()));
+        Assert.assertEquals("walk order mismatch", Arrays.asList("legacy", "first", "second"), order);
+
+        Assert.assertEquals("removed wrong record", "legacy", recordStore.remove(legacy).getInfo());
+        Assert.assertEquals("record count mismatch", 2, recordStore.values().size());
+    }
+
+    @Test
+    public void offHeap_ShouldBehaveLikeHeapStore() {
+
+        RecordStore offHeapStore = RecordStore.offHeap(1 << 20);
+
+        offHeapStore.insert(withInfo("b", "second"));
+        offHeapStore.insert(withInfo("a", "first"));
+        offHeapStore.update("a", (current) -> {
+            Record updated = new Record(current);
+            updated.setInfo("updated");
+            return updated;
+        });
+        offHeapStore.remove("b");
+
+        Assert.assertEquals("updated record mismatch", "updated", offHeapStore.get("a").getInfo());
+        Assert.assertNull("removed record found", offHeapStore.get("b"));
+        Assert.assertEquals("record count mismatch", 1, offHeapStore.values().size());
+        Assert.assertEquals("walk mismatch", "a", offHeapStore.iterator(null).next().getId());
+    }
+
+    @Test
+    public void update_ConcurrentUpdatesOnSameRecordShouldNotLoseUpdates() throws Exception {
+
+        final int perThread = 2000;
+
+        recordStore.insert(withInfo("counter", "0"));
+
+        runConcurrently(THREADS, (thread) -> {
+            for (int i = 0; i < perThread; i++) {
+                recordStore.update("counter", (current) -> {
+                    Record next = new Record(current);
+                    next.setInfo(String.valueOf(Integer.parseInt(current.getInfo()) + 1));
+                    return next;
+                });
+            }
+        });
+
+        Assert.assertEquals("updates lost",
+                String.valueOf(THREADS * perThread),
+                recordStore.get("counter").getInfo());
+    }
+
+    @Test
+    public void update_ShouldNotModifyPreviousVersion() {
+
+        recordStore.insert(withInfo("test", "first"));
+        Record previous = recordStore.get("test");
+
+        recordStore.update("test", (current) -> {
+            Record next = new Record(current);
+            next.setInfo("second");
+            return next;
+        });
+
+        Assert.assertEquals("previous version modified", "first", previous.getInfo());
+        Assert.assertEquals("update not visible", "second", recordStore.get("test").getInfo());
+    }
+
+    @Test
+    public void insert_ShouldFreezeStoredVersionsOnly() {
+
+        Record stored = withInfo("test", "first");
+        Record rejected = withInfo("test", "second");
+
+        Assert.assertTrue(recordStore.insert(stored));
+        Assert.assertFalse(recordStore.insert(rejected));
+
+        Assert.assertTrue("stored version not frozen", recordStore.get("test").isFrozen());
+        Assert.assertFalse("rejected record frozen", rejected.isFrozen());
+        Assert.assertFalse("copy frozen", new Record(stored).isFrozen());
+
+        try {
+            stored.setInfo("changed");
+            Assert.fail("stored version modified");
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertEquals("first", recordStore.get("test").getInfo());
+        }
+
+        Assert.assertTrue("updated version not frozen", recordStore.update("test", Record::new).isFrozen());
+    }
+
+    @Test
+    public void update_ReadersShouldOnlySeeWholeVersions() throws Exception {
+
+        final int updates = 20000;
+        final AtomicInteger torn = new AtomicInteger();
+
+        recordStore.insert(withInfo("test", "0"));
+
+        // one writer moves info and tags together, readers check both belong to one version
+        runConcurrently(THREADS, (thread) -> {
+            for (int i = 1; i <= updates; i++) {
+                if (thread == 0) {
+                    final String version = String.valueOf(i);
+                    recordStore.update("test", (current) -> {
+                        Record next = new Record(current);
+                        next.setInfo(version);
+                        next.setTags(Arrays.asList(version));
+                        return next;
+                    });
+                } else {
+                    Record read = recordStore.get("test");
+                    String info = read.getInfo();
+                    List<String> tags = read.getTags();
+                    if (!tags.isEmpty() && !tags.get(0).equals(info)) {
+                        torn.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        Assert.assertEquals("half updated versions seen", 0, torn.get());
+        Assert.assertEquals(String.valueOf(updates), recordStore.get("test").getInfo());
+    }
+
+    @Test
+    public void update_MissingRecordShouldReturnNull() {
+
+        Assert.assertNull("update applied",
+                recordStore.update("missing", (current) -> current));
+    }
+
+    @Test
+    public void remove_ConcurrentRemovesShouldRemoveEachRecordOnce() throws Exception {
+
+        final int records = 10000;
+        final AtomicInteger removed = new AtomicInteger();
+
+        for (int i = 0; i < records; i++) {
+            recordStore.insert(withInfo(String.valueOf(i), "0"));
+        }
+
+        runConcurrently(THREADS, (thread) -> {
+            for (int i = 0; i < records; i++) {
+                if (recordStore.remove(String.valueOf(i)) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+
+        Assert.assertEquals("record removed more than once", records, removed.get());
+        Assert.assertEquals("records left behind", 0, recordStore.size());
+    }
+
+    @Test
+    public void mixedWorkload_ThroughputPerThreadCount() throws Exception {
+
+        final int opsPerThread = 50000;
+
+        for (int i = 0; i < 1000; i++) {
+            recordStore.insert(withInfo(String.valueOf(i), "0"));
+        }
+
+        for (int threads = 1; threads <= THREADS; threads *= 2) {
+
+            final long start = System.nanoTime();
+
+            runConcurrently(threads, (thread) -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerThread; i++) {
+                    String id = String.valueOf(random.nextInt(1000));
+                    int op = random.nextInt(10);
+                    if (op < 8) {
+                        recordStore.get(id);
+                    } else if (op == 8) {
+                        recordStore.update(id, Record::new);
+                    } else if (recordStore.remove(id) != null) {
+                        recordStore.insert(withInfo(id, "0"));
+                    }
+                }
+            });
+
+            final long elapsed = System.nanoTime() - start;
+            log.info("{} threads: {} ops/s", threads,
+                    (long) (threads * (double) opsPerThread * TimeUnit.SECONDS.toNanos(1) / elapsed));
+        }
+
+        Assert.assertEquals("records lost", 1000, recordStore.size());
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                final int thread = i;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
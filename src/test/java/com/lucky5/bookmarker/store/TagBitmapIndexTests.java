@@ -0,0 +1,196 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.ids.RecordIds;
+import com.lucky5.bookmarker.model.Record;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagBitmapIndexTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 18:20
+ * Description  : Junit test cases for tag bitmap index and boolean tag queries
+ */
+@RunWith(JUnit4.class)
+public class TagBitmapIndexTests {
+
+    private RecordStore recordStore;
+
+    private TagBitmapIndex tagIndex;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        tagIndex = new TagBitmapIndex();
+        recordStore.addListener(tagIndex);
+
+        recordStore.insert(record("1", "apple", "ipad"));
+        recordStore.insert(record("2", "apple", "macbook-pro", "archived"));
+        recordStore.insert(record("3", "apple", "macbook-pro"));
+        recordStore.insert(record("4", "google", "ipad"));
+        recordStore.insert(record("5", "not"));
+    }
+
+    @Test
+    public void query_ShouldCombineTagsWithAndOrNot() {
+
+        Assert.assertEquals("boolean query mismatch", Arrays.asList("1", "3"),
+                ids("apple AND (ipad OR macbook-pro) AND NOT archived"));
+        Assert.assertEquals("or mismatch", Arrays.asList("1", "2", "3", "4"), ids("apple or ipad"));
+        Assert.assertEquals("implicit and mismatch", Arrays.asList("1"), ids("apple ipad"));
+        Assert.assertEquals("top level not mismatch", Arrays.asList("4", "5"), ids("NOT apple"));
+        Assert.assertEquals("quoted tag mismatch", Arrays.asList("5"), ids("\"not\""));
+        Assert.assertEquals("precedence mismatch", Arrays.asList("1", "4", "5"), ids("ipad OR not apple"));
+        Assert.assertTrue("unknown tag matched", ids("apple AND unknown").isEmpty());
+    }
+
+    @Test
+    public void query_ShouldCountAllMatchesAndLimitIds() {
+
+        TagBitmapIndex.Matches matches = tagIndex.query(TagQuery.parse("apple"), 2);
+
+        Assert.assertEquals("count mismatch", 3, matches.getCount());
+        Assert.assertEquals("limit not applied", 2, matches.getIds().size());
+    }
+
+    @Test
+    public void update_ShouldMoveRecordBetweenTagsAndReuseOrdinals() {
+
+        recordStore.update("2", (current) -> {
+            Record updated = new Record(current);
+            updated.setTags(Arrays.asList("apple", "macbook-pro"));
+            return updated;
+        });
+        Assert.assertEquals("archived tag not cleared", 0, tagIndex.count("archived"));
+
+        recordStore.remove("1");
+        recordStore.insert(record("6", "android"));
+
+        Assert.assertEquals("removed record still indexed", Arrays.asList("4"), ids("ipad"));
+        Assert.assertEquals("new record not indexed", Arrays.asList("6"), ids("android"));
+        Assert.assertEquals("not must skip removed records", Arrays.asList("4", "5", "6"), ids("NOT apple"));
+        Assert.assertEquals("dead tags counted", 6, tagIndex.size());
+    }
+
+    @Test
+    public void concurrentWriters_ShouldKeepEveryChange() throws Exception {
+
+        int writers = 8;
+        int perWriter = 2000;
+        RecordStore store = new RecordStore();
+        TagBitmapIndex index = new TagBitmapIndex();
+        store.addListener(index);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch done = new CountDownLatch(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < perWriter; i++) {
+                            String id = RecordIds.encode(writer * 1000000L + i + 1);
+                            store.insert(record(id, "shared", "writer-" + writer, "new"));
+                            if (i % 2 == 0) {
+                                store.update(id, (current) -> {
+                                    Record updated = new Record(current);
+                                    updated.setTags(Arrays.asList("shared", "writer-" + writer, "even"));
+                                    return updated;
+                                });
+                            }
+                            if (i % 4 == 0) {
+                                store.remove(id);
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }));
+            }
+            // queries run meanwhile, they only hold back writers of the segment they read
+            futures.add(executor.submit(() -> {
+                TagQuery query = TagQuery.parse("shared AND NOT new");
+                while (done.getCount() > 0) {
+                    Assert.assertTrue(index.query(query, 10).getCount() <= writers * perWriter);
+                }
+                return null;
+            }));
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals("shared count mismatch", writers * perWriter * 3 / 4, index.count("shared"));
+        Assert.assertEquals("updated count mismatch", writers * perWriter / 4, index.count("even"));
+        Assert.assertEquals("added count mismatch", writers * perWriter / 2, index.count("new"));
+        for (int w = 0; w < writers; w++) {
+            Assert.assertEquals(perWriter * 3 / 4, index.count("writer-" + w));
+        }
+        Assert.assertEquals("query count mismatch", writers * perWriter / 4,
+                index.query(TagQuery.parse("shared AND NOT new"), 10).getCount());
+    }
+
+    @Test
+    public void parse_MalformedQueriesShouldFail() {
+
+        for (String query : Arrays.asList("apple AND", "(apple", "apple)", "OR apple", "\"apple", " ")) {
+            try {
+                TagQuery.parse(query);
+                Assert.fail("malformed query accepted: " + query);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void parse_DeeplyNestedQueriesShouldFail() {
+
+        StringBuilder nested = new StringBuilder();
+        StringBuilder negated = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            nested.append('(');
+            negated.append("NOT ");
+        }
+
+        for (String query : Arrays.asList(nested + "apple", negated + "apple")) {
+            try {
+                TagQuery.parse(query);
+                Assert.fail("deeply nested query accepted");
+            } catch (IllegalArgumentException ex) {
+                Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("query nested too deeply"));
+            }
+        }
+
+        // nesting within the limit is fine
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), ids("((NOT (NOT apple)))"));
+    }
+
+    @Test
+    public void matches_ShouldAgreeWithIndex() {
+
+        TagQuery query = TagQuery.parse("apple AND (ipad OR macbook-pro) AND NOT archived");
+
+        Assert.assertTrue("record not matched", query.matches(Arrays.asList("apple", "ipad")));
+        Assert.assertFalse("archived record matched", query.matches(Arrays.asList("apple", "ipad", "archived")));
+        Assert.assertFalse("record without tags matched", query.matches(null));
+    }
+
+    private List<String> ids(String query) {
+        List<String> ids = new ArrayList<>(tagIndex.query(TagQuery.parse(query), 100).getIds());
+        Collections.sort(ids);
+        return ids;
+    }
+}
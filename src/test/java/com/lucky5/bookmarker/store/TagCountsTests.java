@@ -0,0 +1,186 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagCount;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagCountsTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 21:30
+ * Description  : Junit test cases for tag counters and most carried tags
+ */
+@RunWith(JUnit4.class)
+public class TagCountsTests {
+
+    private RecordStore recordStore;
+
+    private TagCounts tagCounts;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        tagCounts = new TagCounts();
+        recordStore.addListener(tagCounts);
+
+        recordStore.insert(record("1", "apple", "ipad", "apple"));
+        recordStore.insert(record("2", "apple", "macbook-pro", "archived"));
+        recordStore.insert(record("3", "apple", "macbook-pro"));
+        recordStore.insert(record("4", "google", "ipad"));
+    }
+
+    @Test
+    public void counts_ShouldFollowAddUpdateAndRemove() {
+
+        Assert.assertEquals("duplicate tag counted twice", 3, tagCounts.count("apple"));
+        Assert.assertEquals(2, tagCounts.count("ipad"));
+        Assert.assertEquals(0, tagCounts.count("unknown"));
+        Assert.assertEquals(4, tagCounts.records());
+        Assert.assertEquals(5, tagCounts.size());
+
+        recordStore.update("2", (record) -> {
+            Record updated = new Record(record);
+            updated.setTags(Arrays.asList("apple", "ipad"));
+            return updated;
+        });
+        Assert.assertEquals(3, tagCounts.count("apple"));
+        Assert.assertEquals(3, tagCounts.count("ipad"));
+        Assert.assertEquals(1, tagCounts.count("macbook-pro"));
+        Assert.assertEquals("tag carried by no record counted", 0, tagCounts.count("archived"));
+        Assert.assertEquals(4, tagCounts.size());
+
+        recordStore.remove("4");
+        Assert.assertEquals(0, tagCounts.count("google"));
+        Assert.assertEquals(2, tagCounts.count("ipad"));
+        Assert.assertEquals(3, tagCounts.records());
+        Assert.assertEquals(3, tagCounts.size());
+    }
+
+    @Test
+    public void top_ShouldReturnMostCarriedTagsFirst() {
+
+        Assert.assertEquals(Arrays.asList("apple=3"), strings(tagCounts.top(1)));
+        Assert.assertEquals(5, tagCounts.top(10).size());
+        Assert.assertEquals(3, tagCounts.top(10).get(0).getCount());
+        Assert.assertEquals(2, tagCounts.top(10).get(2).getCount());
+        Assert.assertEquals(1, tagCounts.top(10).get(4).getCount());
+
+        recordStore.insert(record("5", "ipad"));
+        recordStore.insert(record("6", "ipad"));
+        recordStore.remove("1");
+
+        Assert.assertEquals(Arrays.asList("ipad=3", "apple=2", "macbook-pro=2"),
+                sorted(tagCounts.top(3)));
+    }
+
+    @Test
+    public void top_ShouldMatchCountsAfterRandomChanges() {
+
+        recordStore = new RecordStore();
+        tagCounts = new TagCounts();
+        recordStore.addListener(tagCounts);
+
+        Random random = new Random(17);
+        Map<String, List<String>> tagsById = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            String id = "r" + random.nextInt(200);
+            List<String> tags = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                tags.add("counted-" + random.nextInt(30));
+            }
+
+            if (random.nextInt(4) == 0) {
+                recordStore.remove(id);
+                tagsById.remove(id);
+            } else if (tagsById.containsKey(id)) {
+                recordStore.update(id, (record) -> {
+                    Record updated = new Record(record);
+                    updated.setTags(tags);
+                    return updated;
+                });
+                tagsById.put(id, tags);
+            } else {
+                recordStore.insert(record(id, tags.toArray(new String[0])));
+                tagsById.put(id, tags);
+            }
+        }
+
+        Map<String, Long> expected = new HashMap<>();
+        for (List<String> tags : tagsById.values()) {
+            for (String tag : new HashSet<>(tags)) {
+                expected.merge(tag, 1L, Long::sum);
+            }
+        }
+
+        List<TagCount> top = tagCounts.top(100);
+        Assert.assertEquals(expected.size(), top.size());
+        for (int i = 0; i < top.size(); i++) {
+            TagCount count = top.get(i);
+            Assert.assertEquals(count.getTag(), expected.get(count.getTag()).longValue(), count.getCount());
+            Assert.assertEquals(count.getCount(), tagCounts.count(count.getTag()));
+            Assert.assertTrue("top not ordered", i == 0 || top.get(i - 1).getCount() >= count.getCount());
+        }
+    }
+
+    @Test
+    public void counts_ShouldMatchAfterConcurrentWrites() throws InterruptedException {
+
+        recordStore = new RecordStore();
+        TagPrefixIndex prefixIndex = new TagPrefixIndex(10);
+        tagCounts = new TagCounts(prefixIndex);
+        recordStore.addListener(tagCounts);
+
+        int writers = 4;
+        int recordsPerWriter = 2000;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < recordsPerWriter; i++) {
+                    String id = "w" + writer + "-" + i;
+                    recordStore.insert(record(id, "concurrent", "concurrent-" + (i % 4), "writer-" + writer));
+                    if (i % 2 == 0) {
+                        recordStore.remove(id);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int kept = writers * recordsPerWriter / 2;
+        Assert.assertEquals(kept, tagCounts.records());
+        Assert.assertEquals(kept, tagCounts.count("concurrent"));
+        Assert.assertEquals("removed records counted", 0, tagCounts.count("concurrent-0"));
+        Assert.assertEquals(kept / 2, tagCounts.count("concurrent-1"));
+        Assert.assertEquals(recordsPerWriter / 2, tagCounts.count("writer-0"));
+        Assert.assertEquals("concurrent=" + kept, prefixIndex.suggest("concurrent", 1).get(0).toString());
+    }
+
+    private static List<String> strings(List<TagCount> counts) {
+        List<String> strings = new ArrayList<>();
+        for (TagCount count : counts) {
+            strings.add(count.toString());
+        }
+        return strings;
+    }
+
+    // order of tags with equal count is unspecified
+    private static List<String> sorted(List<TagCount> counts) {
+        List<TagCount> sorted = new ArrayList<>(counts);
+        sorted.sort(Comparator.comparingLong(TagCount::getCount).reversed().thenComparing(TagCount::getTag));
+        return strings(sorted);
+    }
+}
@@ -0,0 +1,138 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TagCount;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+import static com.lucky5.bookmarker.model.TestRecords.record;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TagPrefixIndexTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 22:10
+ * Description  : Junit test cases for tag suggestions of prefix index
+ */
+@RunWith(JUnit4.class)
+public class TagPrefixIndexTests {
+
+    private RecordStore recordStore;
+
+    private TagPrefixIndex prefixIndex;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        prefixIndex = new TagPrefixIndex(3);
+        recordStore.addListener(new TagCounts(prefixIndex));
+
+        recordStore.insert(record("1", "apple", "appletv", "app"));
+        recordStore.insert(record("2", "apple", "application"));
+        recordStore.insert(record("3", "apple", "ipad"));
+        recordStore.insert(record("4", "appletv", "ipad"));
+    }
+
+    @Test
+    public void suggest_ShouldRankByCountThenTag() {
+
+        Assert.assertEquals(Arrays.asList("apple=3", "appletv=2", "app=1"), strings(prefixIndex.suggest("ap", 10)));
+        Assert.assertEquals("prefix within label not matched", Arrays.asList("apple=3", "appletv=2"),
+                strings(prefixIndex.suggest("appl", 2)));
+        Assert.assertEquals(Arrays.asList("application=1"), strings(prefixIndex.suggest("appli", 10)));
+        Assert.assertEquals(Arrays.asList("appletv=2"), strings(prefixIndex.suggest("appletv", 10)));
+        Assert.assertEquals(Arrays.asList("apple=3", "appletv=2", "ipad=2"), strings(prefixIndex.suggest("", 10)));
+        Assert.assertTrue(prefixIndex.suggest("apx", 10).isEmpty());
+        Assert.assertTrue(prefixIndex.suggest("appletvs", 10).isEmpty());
+        Assert.assertTrue(prefixIndex.suggest("b", 10).isEmpty());
+    }
+
+    @Test
+    public void suggest_ShouldFollowRemovedAndChangedTags() {
+
+        recordStore.remove("1");
+        recordStore.remove("4");
+
+        Assert.assertEquals("tag carried by no record suggested", Arrays.asList("apple=2", "application=1"),
+                strings(prefixIndex.suggest("app", 10)));
+
+        recordStore.update("3", (record) -> {
+            Record updated = new Record(record);
+            updated.setTags(Arrays.asList("application", "ipod"));
+            return updated;
+        });
+
+        Assert.assertEquals(Arrays.asList("application=2", "apple=1"), strings(prefixIndex.suggest("ap", 10)));
+        Assert.assertEquals(Arrays.asList("ipod=1"), strings(prefixIndex.suggest("i", 10)));
+    }
+
+    @Test
+    public void suggest_ShouldMatchCountsAfterRandomChanges() {
+
+        recordStore = new RecordStore();
+        prefixIndex = new TagPrefixIndex(5);
+        recordStore.addListener(new TagCounts(prefixIndex));
+
+        Random random = new Random(18);
+        Map<String, List<String>> tagsById = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            String id = "r" + random.nextInt(300);
+            List<String> tags = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                // short alphabet, so tags share prefixes and prefixes are tags themselves
+                char[] tag = new char[1 + random.nextInt(4)];
+                for (int k = 0; k < tag.length; k++) {
+                    tag[k] = (char) ('a' + random.nextInt(3));
+                }
+                tags.add(new String(tag));
+            }
+
+            if (random.nextInt(4) == 0) {
+                recordStore.remove(id);
+                tagsById.remove(id);
+            } else if (tagsById.containsKey(id)) {
+                recordStore.update(id, (record) -> {
+                    Record updated = new Record(record);
+                    updated.setTags(tags);
+                    return updated;
+                });
+                tagsById.put(id, tags);
+            } else {
+                recordStore.insert(record(id, tags.toArray(new String[0])));
+                tagsById.put(id, tags);
+            }
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        for (List<String> tags : tagsById.values()) {
+            for (String tag : new HashSet<>(tags)) {
+                counts.merge(tag, 1L, Long::sum);
+            }
+        }
+
+        for (String prefix : Arrays.asList("", "a", "b", "ab", "ca", "abc", "bbb", "cccc")) {
+            List<String> expected = new ArrayList<>();
+            counts.entrySet().stream()
+                    .filter((entry) -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(5)
+                    .forEach((entry) -> expected.add(entry.getKey() + "=" + entry.getValue()));
+
+            Assert.assertEquals("prefix " + prefix, expected, strings(prefixIndex.suggest(prefix, 5)));
+        }
+    }
+
+    private static List<String> strings(List<TagCount> counts) {
+        List<String> strings = new ArrayList<>();
+        for (TagCount count : counts) {
+            strings.add(count.toString());
+        }
+        return strings;
+    }
+}
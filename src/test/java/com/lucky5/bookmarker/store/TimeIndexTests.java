@@ -0,0 +1,89 @@
+package com.lucky5.bookmarker.store;
+
+import com.lucky5.bookmarker.model.Record;
+import com.lucky5.bookmarker.model.TestRecords;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+/**
+ * Project      : bookmarker
+ * Name         : com.lucky5.bookmarker.store.TimeIndexTests.java
+ * Author       : yashpalrawat
+ * Created      : 18/10/2026 22:50
+ * Description  : Junit test cases for time index ranges
+ */
+@RunWith(JUnit4.class)
+public class TimeIndexTests {
+
+    private RecordStore recordStore;
+
+    private TimeIndex updateIndex;
+
+    @Before
+    public void setup() {
+        recordStore = new RecordStore();
+        updateIndex = new TimeIndex(Record::getLastUpdated);
+        recordStore.addListener(updateIndex);
+
+        recordStore.insert(record("b", 100));
+        recordStore.insert(record("a", 100));
+        recordStore.insert(record("c", 200));
+        recordStore.insert(record("d", 300));
+        recordStore.insert(record("e", 400));
+    }
+
+    @Test
+    public void range_ShouldReturnRecordsOrderedByTimeThenId() {
+
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), ids(updateIndex.range(Long.MIN_VALUE, Long.MAX_VALUE, null, 10)));
+        Assert.assertEquals("to must be exclusive", Arrays.asList("a", "b", "c"), ids(updateIndex.range(100, 300, null, 10)));
+        Assert.assertEquals(Arrays.asList("c", "d"), ids(updateIndex.range(150, 1000, null, 2)));
+        Assert.assertTrue(updateIndex.range(500, 1000, null, 10).isEmpty());
+    }
+
+    @Test
+    public void range_ShouldContinueAfterPosition() {
+
+        List<TimeIndex.Position> first = updateIndex.range(100, 1000, null, 1);
+        Assert.assertEquals(Arrays.asList("a"), ids(first));
+
+        Assert.assertEquals("records of same time skipped", Arrays.asList("b", "c"),
+                ids(updateIndex.range(100, 1000, first.get(0), 2)));
+        Assert.assertEquals("position before from not ignored", Arrays.asList("d"),
+                ids(updateIndex.range(300, 1000, first.get(0), 1)));
+    }
+
+    @Test
+    public void range_ShouldFollowUpdatedAndRemovedRecords() {
+
+        recordStore.update("a", (record) -> {
+            Record updated = new Record(record);
+            updated.setLastUpdated(new Date(500));
+            return updated;
+        });
+        recordStore.remove("d");
+
+        Assert.assertEquals(Arrays.asList("b", "c", "e", "a"), ids(updateIndex.range(0, 1000, null, 10)));
+        Assert.assertEquals(4, updateIndex.size());
+    }
+
+    private static List<String> ids(List<TimeIndex.Position> positions) {
+        List<String> ids = new ArrayList<>();
+        for (TimeIndex.Position position : positions) {
+            ids.add(position.getId());
+        }
+        return ids;
+    }
+
+    private static Record record(String id, long lastUpdated) {
+        Record record = TestRecords.record(id);
+        record.setCreationDate(new Date(0));
+        record.setLastUpdated(new Date(lastUpdated));
+        return record;
+    }
+}